@@ -0,0 +1,253 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.modules.orm;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.Criteria;
+import org.hibernate.FetchMode;
+import org.hibernate.HibernateException;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.type.EntityType;
+import org.hibernate.type.Type;
+
+import ortus.boxlang.modules.orm.config.ORMConfig;
+import ortus.boxlang.modules.orm.config.ORMKeys;
+import ortus.boxlang.runtime.dynamic.casters.ArrayCaster;
+import ortus.boxlang.runtime.dynamic.casters.StringCaster;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.types.Array;
+import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
+import ortus.boxlang.runtime.types.util.ListUtil;
+
+/**
+ * A per-call fetch plan: the association paths to load eagerly alongside a query's results, without changing the mapped laziness.
+ * <p>
+ * Each path is fetched with one of two styles:
+ * <ul>
+ * <li><code>join</code> - joined into the query itself. Only to-one paths are joined: joining a collection multiplies the result rows, which breaks
+ * <code>maxResults</code> and <code>offset</code>, so paths through a collection are always fetched in the <code>subselect</code> style.</li>
+ * <li><code>subselect</code> - loaded after the query by one extra query per path, which join-fetches the association for all returned entities at
+ * once.</li>
+ * </ul>
+ * HQL is not rewritten, so for <code>ormExecuteQuery()</code> every path is fetched in the <code>subselect</code> style.
+ *
+ * @since 1.7.0
+ */
+public class FetchPlan {
+
+	public static final String	STYLE_JOIN		= "join";
+	public static final String	STYLE_SUBSELECT	= "subselect";
+
+	/**
+	 * Maximum number of root entities bound into a single subselect fetch query.
+	 */
+	private static final int	CHUNK_SIZE		= 1000;
+
+	/**
+	 * A single association path and its fetch style.
+	 *
+	 * @param path The association path, like `customer` or `items.product`.
+	 * @param join True to join the path into the query, false to fetch it by subselect.
+	 */
+	public record FetchPath( String path, boolean join ) {
+	}
+
+	private final List<FetchPath> paths;
+
+	private FetchPlan( List<FetchPath> paths ) {
+		this.paths = Collections.unmodifiableList( paths );
+	}
+
+	/**
+	 * Parse a fetch specification.
+	 *
+	 * @param spec A list or array of association paths, fetched by join, or a struct of association path to fetch style (`join` or `subselect`).
+	 *
+	 * @throws BoxRuntimeException if a fetch style is not recognized.
+	 */
+	public static FetchPlan parse( Object spec ) {
+		Map<String, FetchPath> paths = new LinkedHashMap<>();
+		if ( spec instanceof IStruct specStruct ) {
+			specStruct.entrySet().forEach( entry -> {
+				String style = StringCaster.cast( entry.getValue() ).trim().toLowerCase();
+				if ( !style.equals( STYLE_JOIN ) && !style.equals( STYLE_SUBSELECT ) ) {
+					throw new BoxRuntimeException(
+					    "Invalid fetch style [%s] for path [%s]. Valid styles are: join, subselect".formatted( style, entry.getKey().getName() ) );
+				}
+				String path = entry.getKey().getName().trim();
+				paths.put( path, new FetchPath( path, style.equals( STYLE_JOIN ) ) );
+			} );
+		} else {
+			Array pathList = spec instanceof String pathString ? ListUtil.asList( pathString, "," ) : ArrayCaster.cast( spec );
+			for ( Object item : pathList ) {
+				String path = StringCaster.cast( item ).trim();
+				if ( !path.isEmpty() ) {
+					paths.put( path, new FetchPath( path, true ) );
+				}
+			}
+		}
+		return new FetchPlan( new ArrayList<>( paths.values() ) );
+	}
+
+	/**
+	 * Build the fetch plan for a query from its `fetch` and `fetchProfile` options.
+	 *
+	 * @param options The query options.
+	 * @param config  The ORM configuration, which holds the named fetch profiles.
+	 *
+	 * @throws BoxRuntimeException if the named fetch profile is not configured.
+	 *
+	 * @return The fetch plan, or null if neither option is set.
+	 */
+	public static FetchPlan fromOptions( IStruct options, ORMConfig config ) {
+		Object	fetch		= options.get( ORMKeys.fetch );
+		Object	profileName	= options.get( ORMKeys.fetchProfile );
+		if ( fetch == null && profileName == null ) {
+			return null;
+		}
+		Map<String, FetchPath> paths = new LinkedHashMap<>();
+		if ( profileName != null ) {
+			FetchPlan profile = ( FetchPlan ) config.fetchProfiles.get( Key.of( StringCaster.cast( profileName ) ) );
+			if ( profile == null ) {
+				throw new BoxRuntimeException( "Fetch profile [%s] is not defined. Declare it via the 'fetchProfiles' ORM setting.".formatted( profileName ) );
+			}
+			profile.paths.forEach( fetchPath -> paths.put( fetchPath.path(), fetchPath ) );
+		}
+		if ( fetch != null ) {
+			parse( fetch ).paths.forEach( fetchPath -> paths.put( fetchPath.path(), fetchPath ) );
+		}
+		return new FetchPlan( new ArrayList<>( paths.values() ) );
+	}
+
+	/**
+	 * Get the paths in this plan.
+	 */
+	public List<FetchPath> getPaths() {
+		return this.paths;
+	}
+
+	/**
+	 * Join the `join` style to-one paths into the given criteria query. Paths through a collection are left to {@link #initialize}.
+	 *
+	 * @param criteria   The criteria query.
+	 * @param session    The session the criteria query runs in.
+	 * @param entityName The root entity of the criteria query.
+	 */
+	public void applyTo( Criteria criteria, Session session, String entityName ) {
+		for ( FetchPath fetchPath : this.paths ) {
+			if ( fetchPath.join() && !isCollectionPath( session, entityName, fetchPath.path() ) ) {
+				criteria.setFetchMode( fetchPath.path(), FetchMode.JOIN );
+			}
+		}
+	}
+
+	/**
+	 * Fetch the plan's paths for the given query results, with one join-fetch query per path and entity type.
+	 * <p>
+	 * The fetched associations are attached to the entities already in the session, so the results themselves are unchanged. Results which are not
+	 * managed entities, such as scalar projections, are ignored.
+	 *
+	 * @param session  The session the results were loaded in.
+	 * @param results  The query results.
+	 * @param allPaths True to fetch every path, false to skip the paths joined by {@link #applyTo}.
+	 */
+	public void initialize( Session session, List<?> results, boolean allPaths ) {
+		if ( results.isEmpty() ) {
+			return;
+		}
+		Map<String, List<Object>> rootsByEntity = new LinkedHashMap<>();
+		for ( Object result : results ) {
+			String entityName = resolveEntityName( session, result );
+			if ( entityName != null ) {
+				rootsByEntity.computeIfAbsent( entityName, key -> new ArrayList<>() ).add( result );
+			}
+		}
+		for ( FetchPath fetchPath : this.paths ) {
+			rootsByEntity.forEach( ( entityName, roots ) -> {
+				if ( fetchPath.join() && !allPaths && !isCollectionPath( session, entityName, fetchPath.path() ) ) {
+					return;
+				}
+				String hql = buildFetchHQL( entityName, fetchPath.path() );
+				for ( int i = 0; i < roots.size(); i += CHUNK_SIZE ) {
+					session.createQuery( hql )
+					    .setParameterList( "roots", roots.subList( i, Math.min( i + CHUNK_SIZE, roots.size() ) ) )
+					    .list();
+				}
+			} );
+		}
+	}
+
+	/**
+	 * Build the HQL which join-fetches the given path for a set of root entities, like
+	 * `select distinct e from Order e left join fetch e.items f0 left join fetch f0.product f1 where e in (:roots)`.
+	 */
+	private static String buildFetchHQL( String entityName, String path ) {
+		StringBuilder	hql		= new StringBuilder( "select distinct e from " ).append( entityName ).append( " e" );
+		String			alias	= "e";
+		String[]		parts	= path.split( "\\." );
+		for ( int i = 0; i < parts.length; i++ ) {
+			hql.append( " left join fetch " ).append( alias ).append( '.' ).append( parts[ i ] ).append( " f" ).append( i );
+			alias = "f" + i;
+		}
+		return hql.append( " where e in (:roots)" ).toString();
+	}
+
+	/**
+	 * Whether the given association path passes through a collection, like `items` or `customer.orders`.
+	 */
+	private static boolean isCollectionPath( Session session, String entityName, String path ) {
+		SessionFactoryImplementor	factory		= ( SessionFactoryImplementor ) session.getSessionFactory();
+		String						ownerName	= entityName;
+		for ( String part : path.split( "\\." ) ) {
+			Type type;
+			try {
+				type = factory.getMetamodel().entityPersister( ownerName ).getPropertyType( part );
+			} catch ( HibernateException e ) {
+				// Not a mapped path; let Hibernate report it when the path is fetched
+				return false;
+			}
+			if ( type.isCollectionType() ) {
+				return true;
+			}
+			if ( !type.isEntityType() ) {
+				return false;
+			}
+			ownerName = ( ( EntityType ) type ).getAssociatedEntityName();
+		}
+		return false;
+	}
+
+	private static String resolveEntityName( Session session, Object result ) {
+		if ( result == null || result instanceof Object[] ) {
+			return null;
+		}
+		try {
+			return session.getEntityName( result );
+		} catch ( HibernateException e ) {
+			// Not a managed entity
+			return null;
+		}
+	}
+}
@@ -18,12 +18,17 @@
 package ortus.boxlang.modules.orm;
 
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.Map;
 
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
 import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.transform.ResultTransformer;
 
 import ortus.boxlang.modules.orm.config.ORMKeys;
 import ortus.boxlang.runtime.BoxRuntime;
@@ -32,13 +37,18 @@ import ortus.boxlang.runtime.context.IJDBCCapableContext;
 import ortus.boxlang.runtime.dynamic.casters.ArrayCaster;
 import ortus.boxlang.runtime.dynamic.casters.BooleanCaster;
 import ortus.boxlang.runtime.dynamic.casters.CastAttempt;
+import ortus.boxlang.runtime.dynamic.casters.StringCaster;
 import ortus.boxlang.runtime.dynamic.casters.StructCaster;
 import ortus.boxlang.runtime.jdbc.QueryParameter;
 import ortus.boxlang.runtime.scopes.Key;
 import ortus.boxlang.runtime.types.Array;
 import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.Query;
+import ortus.boxlang.runtime.types.QueryColumnType;
 import ortus.boxlang.runtime.types.Struct;
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
 import ortus.boxlang.runtime.types.exceptions.DatabaseException;
+import ortus.boxlang.runtime.types.util.ListUtil;
 
 /**
  * HQL Query representation
@@ -49,35 +59,152 @@ import ortus.boxlang.runtime.types.exceptions.DatabaseException;
  */
 public class HQLQuery {
 
-	private static BoxRuntime		runtime				= BoxRuntime.getInstance();
-	private static ORMService		ormService			= ( ORMService ) runtime.getGlobalService( ORMKeys.ORMService );
-	private Key						datasource;
-	private Session					session;
-	private ORMApp					ormApp;
-	private IBoxContext				context;
-	private ORMContext				ormContext;
+	private static BoxRuntime				runtime			= BoxRuntime.getInstance();
+	private static ORMService				ormService		= ( ORMService ) runtime.getGlobalService( ORMKeys.ORMService );
+	private Key								datasource;
+	private Session							session;
+	private ORMApp							ormApp;
+	private IBoxContext						context;
+	private ORMContext						ormContext;
 
-	private List<QueryParameter>	parameters;
-	private int						parameterCount;
-	private IStruct					options;
-	private String					hql;
-	private List<String>			HQLWithParamTokens	= new ArrayList<>();
+	private List<QueryParameter>			parameters;
+	private IStruct							options;
+	private String							hql;
+	private String							queryName;
+	private boolean							nativeSQL		= false;
+	private String							sourceHQL;
+	private HQLTemplate						template;
+	private int								templateParameterCount;
+	private Map<String, QueryParameter>		namedBindings	= new LinkedHashMap<>();
+	private Keyset							keyset;
+	private FetchPlan						fetchPlan;
+	private Array							nextCursor;
 
-	private static final String		UPDATE_PREFIX		= "UPDATE";
-	private static final String		DELETE_PREFIX		= "DELETE";
+	private static final String				UPDATE_PREFIX		= "UPDATE";
+	private static final String				DELETE_PREFIX		= "DELETE";
+	private static final String				INSERT_PREFIX		= "INSERT";
+
+	private static final String				RETURN_TYPE_ARRAY	= "array";
+	private static final String				RETURN_TYPE_QUERY	= "query";
+	private static final String				RETURN_TYPE_STRUCT	= "struct";
 
 	public HQLQuery( IBoxContext context, String hql, Object bindings, IStruct options ) {
-		this.options		= options;
-		this.context		= context.getParentOfType( IJDBCCapableContext.class );
-		this.hql			= hql;
+		this( context, null, hql, bindings, options );
+	}
+
+	/**
+	 * Create a query which runs on the given Hibernate session instead of the context's session for the datasource.
+	 *
+	 * @param context  The BoxLang context.
+	 * @param session  The Hibernate session to run the query on, or null to use the context's session.
+	 * @param hql      The HQL query string.
+	 * @param bindings Array or struct of query parameters, or null.
+	 * @param options  Query options.
+	 */
+	public HQLQuery( IBoxContext context, Session session, String hql, Object bindings, IStruct options ) {
+		this( context, session, options );
+		this.hql					= hql;
+		this.sourceHQL				= hql;
+		this.parameters				= processBindings( bindings );
+		this.templateParameterCount	= this.parameters.size();
+		this.keyset					= Keyset.fromOptions( options );
+		if ( this.keyset != null ) {
+			applyKeyset();
+		}
+	}
+
+	private HQLQuery( IBoxContext context, Session session, IStruct options ) {
+		this.options	= options;
+		this.context	= context.getParentOfType( IJDBCCapableContext.class );
+
+		this.ormApp		= ormService.getORMAppByContext( this.context );
+		this.ormContext	= ORMContext.getForContext( this.context );
+		this.datasource	= options.containsKey( Key.datasource ) ? Key.of( options.getAsString( Key.datasource ) ) : null;
+		this.session	= session != null ? session : ormContext.getSession( datasource );
+		this.fetchPlan	= FetchPlan.fromOptions( options, ormContext.getConfig() );
+	}
+
+	/**
+	 * Create a query which executes a named query registered with the session factory, either via the `namedQueries` ORM setting or entity
+	 * annotation.
+	 * <p>
+	 * Named queries are compiled when the session factory is built, so no HQL is parsed here. Struct bindings are bound by parameter name, while array
+	 * bindings are bound to the ordinal `?1`, `?2`... placeholders in order.
+	 *
+	 * @param context   The BoxLang context.
+	 * @param queryName The name of the registered query.
+	 * @param bindings  Array or struct of query parameters, or null.
+	 * @param options   Query options.
+	 *
+	 * @throws DatabaseException if no query with the given name is registered for the datasource.
+	 *
+	 * @return An HQLQuery ready for execution.
+	 */
+	public static HQLQuery named( IBoxContext context, String queryName, Object bindings, IStruct options ) {
+		HQLQuery query = new HQLQuery( context, null, options );
+		if ( ( ( SessionFactoryImplementor ) query.session.getSessionFactory() ).getNamedQueryRepository()
+		    .getNamedQueryDefinition( queryName ) == null ) {
+			throw new DatabaseException( "Named query [" + queryName + "] is not defined. Declare it via the 'namedQueries' ORM setting or entity annotation." );
+		}
+		if ( options.get( ORMKeys.keyset ) != null ) {
+			throw new DatabaseException( "Keyset pagination is not supported for named queries; they are compiled at startup and can not be rewritten." );
+		}
+		query.queryName		= queryName;
+		query.parameters	= query.processBindings( bindings );
+		return query;
+	}
 
-		this.ormApp			= ormService.getORMAppByContext( this.context );
-		this.ormContext		= ORMContext.getForContext( this.context );
-		this.datasource		= options.containsKey( Key.datasource ) ? Key.of( options.getAsString( Key.datasource ) ) : null;
-		this.session		= ormContext.getSession( datasource );
+	/**
+	 * Create a query which executes native SQL rather than HQL.
+	 * <p>
+	 * Bindings are processed exactly as for HQL, so both `?` and `:name` placeholders are supported. Rows are returned as scalars by default, or mapped
+	 * to the entity named in the `entity` option, in which case the SQL must select all of the entity's mapped columns. The `scalars` option restricts
+	 * the result to the given column aliases.
+	 *
+	 * @param context  The BoxLang context.
+	 * @param sql      The native SQL query string.
+	 * @param bindings Array or struct of query parameters, or null.
+	 * @param options  Query options.
+	 *
+	 * @return An HQLQuery ready for execution.
+	 */
+	public static HQLQuery nativeSQL( IBoxContext context, String sql, Object bindings, IStruct options ) {
+		if ( options.get( ORMKeys.keyset ) != null ) {
+			throw new DatabaseException( "Keyset pagination is not supported for native SQL queries." );
+		}
+		HQLQuery query = new HQLQuery( context, null, options );
+		query.nativeSQL					= true;
+		query.hql						= sql;
+		query.sourceHQL					= sql;
+		query.parameters				= query.processBindings( bindings );
+		query.templateParameterCount	= query.parameters.size();
+		return query;
+	}
 
-		this.parameterCount	= 0;
-		this.parameters		= processBindings( bindings );
+	/**
+	 * Rewrite the HQL for keyset pagination, appending the cursor values to the bound parameters.
+	 */
+	private void applyKeyset() {
+		boolean rowValueSyntax = ( ( SessionFactoryImplementor ) this.session.getSessionFactory() ).getJdbcServices().getDialect()
+		    .supportsRowValueConstructorSyntax();
+		this.hql = this.keyset.rewriteHQL( this.hql, this.parameters.size(), rowValueSyntax );
+		this.keyset.getBindValues( rowValueSyntax ).forEach( value -> this.parameters.add( QueryParameter.fromAny( value ) ) );
+	}
+
+	/**
+	 * Get the keyset cursor for the page following the last execution.
+	 *
+	 * @return The cursor to pass as the `after` keyset value, or null if keyset pagination is not in use or there are no further rows.
+	 */
+	public Array getNextCursor() {
+		return this.nextCursor;
+	}
+
+	/**
+	 * Whether this query uses keyset pagination.
+	 */
+	public boolean hasKeyset() {
+		return this.keyset != null;
 	}
 
 	private List<QueryParameter> processBindings( Object bindings ) {
@@ -124,17 +251,16 @@ public class HQLQuery {
 	}
 
 	/**
-	 * Process a struct of named query bindings into a list of
-	 * {@link QueryParameter} instances.
+	 * Resolve the positional or named query bindings into a list of
+	 * {@link QueryParameter} instances, in order of appearance in the HQL.
 	 * <p>
-	 * Also performs SQL string replacement to convert named parameters to
-	 * positional placeholders.
+	 * Also rewrites the HQL to convert named parameters to positional
+	 * placeholders, using the cached template for this HQL where available.
 	 *
-	 * @param sql        The SQL string to execute
-	 * @param parameters An `IStruct` of `String` `name` to either an `Object`
-	 *                   `value` or a `queryparam` `IStruct`.
+	 * @param positionalParameters An `Array` of positional parameter values or `queryparam` structs, or null.
+	 * @param namedParameters      An `IStruct` of `String` `name` to either an `Object`
+	 *                             `value` or a `queryparam` `IStruct`, or null.
 	 */
-	@SuppressWarnings( { "null", "unchecked" } )
 	private List<QueryParameter> buildParameterList( Array positionalParameters, IStruct namedParameters ) {
 		List<QueryParameter> params = new ArrayList<>();
 		// Short circuit for no parameters
@@ -146,211 +272,54 @@ public class HQLQuery {
 			return params;
 		}
 
-		boolean			isPositional		= positionalParameters != null;
-		String			HQL					= sanitizeHQL( this.hql );
-		// This is the HQL string with the named parameters replaced with positional placeholders
-		StringBuilder	newHQL				= new StringBuilder();
-		// This is the name of the current named parameter being processed
-		StringBuilder	paramName			= new StringBuilder();
-		// This is the name (index) of the current positional parameter being processed, like ?1 or ?23
-		StringBuilder	positionName		= new StringBuilder();
-		// This is the current HQL token being processed. We'll save these for later when we apply the parameters.
-		// We could techincally finalize this string now, but we'd end up casting all the values twice which seems inefficient.
-		StringBuilder	HQLWithParamToken	= new StringBuilder();
-		// Track the named params we encounter for validation below
-		Set<Key>		foundNamedParams	= new HashSet<>();
-
-		// 0 = Default state, processing HQL
-		// 1 = Inside a string literal
-		// 2 = Inside a single line comment
-		// 3 = Inside a multi-line comment
-		// 4 = Inside a named parameter
-		// 5 = Inside a positional parameter, like ? or ?1 or ?23
-		int				state				= 0;
-
-		// This should always match params.size(), but is a little easier to use
-		final int[]		paramsEncountered	= { 0 };
-		// Pop this into a lambda so we can re-use it for the last named parameter
-		Runnable		processNamed		= () -> {
-												HQLWithParamTokens.add( HQLWithParamToken.toString() );
-												HQLWithParamToken.setLength( 0 );
-												Key finalParamName = Key.of( paramName.toString() );
-												if ( isPositional ) {
-													throw new DatabaseException(
-													    "Named parameter [:" + finalParamName.getName() + "] found in query with positional parameters." );
-												} else {
-													if ( namedParameters.containsKey( finalParamName ) ) {
-														QueryParameter newParam = QueryParameter.fromAny( namedParameters.get( finalParamName ) );
-														foundNamedParams.add( finalParamName );
-														params.add( newParam );
-														// List params add ?1, ?2, ?3 etc. to the HQL string
-														if ( newParam.isListParam() ) {
-															List<Object> values = ( List<Object> ) newParam.getValue();
-															newHQL.append(
-															    values.stream()
-															        .map( v -> "?" + ( ++this.parameterCount ) )
-															        .collect( Collectors.joining( ", " ) )
-															);
-														} else {
-															newHQL.append( "?" + ( ++this.parameterCount ) );
-														}
-													} else {
-														throw new DatabaseException(
-														    "Named parameter [:" + finalParamName.getName() + "] not provided to query." );
-													}
-												}
-											};
-		// Pop this into a lambda so we can re-use it for the last positional parameter
-		Runnable		processPositional	= () -> {
-												if ( paramsEncountered[ 0 ] > positionalParameters.size() ) {
-													throw new DatabaseException( "Too few positional parameters [" + positionalParameters.size()
-													    + "] provided for query having at least [" + paramsEncountered[ 0 ] + "] '?' char(s)." );
-												}
-												HQLWithParamTokens.add( HQLWithParamToken.toString() );
-												HQLWithParamToken.setLength( 0 );
-												var newParam = QueryParameter.fromAny( positionalParameters.get( paramsEncountered[ 0 ] - 1 ) );
-												params.add( newParam );
-												// List params add ?1, ?2, ?3 etc. to the HQL string
-												if ( newParam.isListParam() ) {
-													List<Object> values = ( List<Object> ) newParam.getValue();
-													newHQL.append(
-													    values.stream()
-													        .map( v -> "?" + ( ++this.parameterCount ) )
-													        .collect( Collectors.joining( ", " ) )
-													);
-												} else {
-													newHQL.append( "?" + ( ++this.parameterCount ) );
-												}
-											};
-
-		for ( int i = 0; i < HQL.length(); i++ ) {
-			char c = HQL.charAt( i );
-
-			switch ( state ) {
-				// Default state, processing HQL
-				case 0 : {
-					if ( c == '\'' ) {
-						// If we've reached a ' then we're inside a string literal
-						state = 1;
-					} else if ( c == '-' && i < HQL.length() - 1 && HQL.charAt( i + 1 ) == '-' ) {
-						// If we've reached a -- then we're inside a single line comment
-						state = 2;
-					} else if ( c == '/' && i < HQL.length() - 1 && HQL.charAt( i + 1 ) == '*' ) {
-						// If we've reached a /* then we're inside a multi-line comment
-						state = 3;
-					} else if ( c == '?' ) {
-						// We've encountered a positional parameter
-						paramsEncountered[ 0 ]++;
-						if ( !isPositional ) {
-							throw new DatabaseException( "Positional parameter [?] found in query with named parameters." );
-						}
-
-						state = 5;
-						// Do not append anything
-						break;
-					} else if ( c == ':' ) {
-						// We've encountered a named parameter
-						state = 4;
-						// Do not append anything
-						break;
-					}
-					newHQL.append( c );
-					HQLWithParamToken.append( c );
-					break;
-				}
-				// Inside a string literal
-				case 1 : {
-					// If we've reached the ending ' and it wasn't escaped as \' then we're done
-					if ( c == '\'' && ( i == HQL.length() - 1 || HQL.charAt( i + 1 ) != '\'' ) ) {
-						state = 0;
-						// if we reached ' but the next char is also ' then this is just an escaped ''
-						// Append them both and move on
-					} else if ( c == '\'' && i < HQL.length() - 1 && HQL.charAt( i + 1 ) == '\'' ) {
-						newHQL.append( c ); // Append the first single quote
-						HQLWithParamToken.append( c );
-						c = HQL.charAt( ++i ); // Skip the next single quote
-					}
-					newHQL.append( c );
-					HQLWithParamToken.append( c );
-					break;
-				}
-				// Inside a single line comment
-				case 2 : {
-					if ( c == '\n' || c == '\r' ) {
-						state = 0;
-					}
-					newHQL.append( c );
-					HQLWithParamToken.append( c );
-					break;
-				}
-				// Inside a multi-line comment
-				case 3 : {
-					if ( c == '*' && i < HQL.length() - 1 && HQL.charAt( i + 1 ) == '/' ) {
-						state = 0;
-						newHQL.append( c );
-						HQLWithParamToken.append( c );
-						c = HQL.charAt( ++i );
-					}
-					newHQL.append( c );
-					HQLWithParamToken.append( c );
-					break;
-				}
-				// Inside a named parameter
-				case 4 : {
-					if ( ! ( Character.isLetterOrDigit( c ) || c == '_' ) ) {
-						processNamed.run();
-						paramName.setLength( 0 );
-						// reset the state and backup to re-precess the next char again
-						state = 0;
-						i--;
-						break;
-					}
-					paramName.append( c );
-					break;
-				}
-				// Inside a numbered positional parameter, like ?1 or ?23
-				case 5 : {
-					if ( ! ( Character.isDigit( c ) ) ) {
-						processPositional.run();
-						positionName.setLength( 0 );
-						// reset the state and backup to re-precess the next char again
-						state = 0;
-						i--;
-						break;
-					}
-					positionName.append( c );
-					break;
-				}
+		boolean		isPositional	= positionalParameters != null;
+		if ( this.queryName != null ) {
+			// Named queries are already compiled; bind by name or by position without touching the HQL
+			if ( isPositional ) {
+				positionalParameters.forEach( value -> params.add( QueryParameter.fromAny( value ) ) );
+			} else {
+				namedParameters.entrySet()
+				    .forEach( entry -> this.namedBindings.put( entry.getKey().getName(), QueryParameter.fromAny( entry.getValue() ) ) );
 			}
+			return params;
 		}
+		HQLTemplate	template		= ormService.getHQLTemplateCache().get( this.hql, isPositional, this.nativeSQL );
+		this.template = template;
 
-		// If named param is the last thing in the query
-		if ( state == 4 ) {
-			processNamed.run();
-		}
-		// If positional param is the last thing in the query
-		if ( state == 5 ) {
-			processPositional.run();
+		for ( Object ref : template.getParameterRefs() ) {
+			if ( isPositional ) {
+				int position = ( Integer ) ref;
+				if ( position > positionalParameters.size() ) {
+					throw new DatabaseException( "Too few positional parameters [" + positionalParameters.size()
+					    + "] provided for query having at least [" + position + "] '?' char(s)." );
+				}
+				params.add( QueryParameter.fromAny( positionalParameters.get( position - 1 ) ) );
+			} else {
+				Key paramName = ( Key ) ref;
+				if ( !namedParameters.containsKey( paramName ) ) {
+					throw new DatabaseException( "Named parameter [:" + paramName.getName() + "] not provided to query." );
+				}
+				params.add( QueryParameter.fromAny( namedParameters.get( paramName ) ) );
+			}
 		}
 
-		HQLWithParamTokens.add( HQLWithParamToken.toString() );
-		this.hql = newHQL.toString();
+		this.hql = template.getHQL();
 		return params;
 	}
 
 	public Object execute() {
-		boolean							isUpdate	= this.hql.trim().toUpperCase().startsWith( UPDATE_PREFIX )
-		    || this.hql.trim().toUpperCase().startsWith( DELETE_PREFIX );
-
-		org.hibernate.query.Query<?>	hqlQuery	= session.createQuery( this.hql );
+		org.hibernate.query.Query<?>	hqlQuery	= this.queryName != null
+		    ? session.getNamedQuery( this.queryName )
+		    : this.nativeSQL ? createNativeQuery() : session.createQuery( this.hql );
+		String							queryString	= hqlQuery.getQueryString().trim().toUpperCase();
+		boolean							isUpdate	= queryString.startsWith( UPDATE_PREFIX ) || queryString.startsWith( DELETE_PREFIX )
+		    || queryString.startsWith( INSERT_PREFIX );
 
 		if ( !ormContext.getConfig().autoManageSession ) {
 			hqlQuery.setHibernateFlushMode( org.hibernate.FlushMode.MANUAL );
 		}
 
-		// Ensure the query respects the session cache to maintain entity identity
-		// This prevents returning duplicate instances of entities already in the session
-		hqlQuery.setCacheMode( org.hibernate.CacheMode.NORMAL );
+		applyCacheOptions( hqlQuery );
 
 		if ( this.options.containsKey( Key.offset ) ) {
 			hqlQuery.getQueryOptions().setFirstRow( this.options.getAsInteger( Key.offset ) );
@@ -363,41 +332,293 @@ public class HQLQuery {
 		}
 
 		if ( this.parameters != null ) {
-			int parameterIndex = 1;
-			for ( QueryParameter param : this.parameters ) {
-				if ( param.isListParam() ) {
-					Array list = ( Array ) param.getValue();
-					for ( Object value : list ) {
-						hqlQuery.setParameter( parameterIndex++, value );
-					}
-				} else {
-					hqlQuery.setParameter( parameterIndex++, param.getValue() );
-				}
+			bindParameters( hqlQuery, this.parameters );
+		}
+		for ( Map.Entry<String, QueryParameter> entry : this.namedBindings.entrySet() ) {
+			if ( entry.getValue().isListParam() ) {
+				hqlQuery.setParameterList( entry.getKey(), ( Array ) entry.getValue().getValue() );
+			} else {
+				hqlQuery.setParameter( entry.getKey(), entry.getValue().getValue() );
 			}
 		}
 		if ( isUpdate ) {
 			return hqlQuery.executeUpdate();
-		} else {
-			return hqlQuery.list();
 		}
+		String returnType = StringCaster.cast( this.options.getOrDefault( ORMKeys.returnType, RETURN_TYPE_ARRAY ) ).toLowerCase();
+		Object results = switch ( returnType ) {
+			case RETURN_TYPE_ARRAY -> hqlQuery.list();
+			case RETURN_TYPE_QUERY, RETURN_TYPE_STRUCT -> this.nativeSQL
+			    ? nativeProjection( ( NativeQuery<?> ) hqlQuery, returnType.equals( RETURN_TYPE_QUERY ) )
+			    : scrollProjection( hqlQuery, returnType.equals( RETURN_TYPE_QUERY ) );
+			default -> throw new BoxRuntimeException( "Invalid returnType [" + returnType + "]. Valid options are: array, query, struct" );
+		};
+		if ( this.fetchPlan != null && results instanceof List<?> resultList ) {
+			// The HQL itself is not rewritten, so every path is fetched by a follow-up query
+			this.fetchPlan.initialize( session, resultList, true );
+		}
+		if ( this.keyset != null ) {
+			this.nextCursor = buildNextCursor( results );
+		}
+		return results;
+	}
+
+	/**
+	 * Count the total number of rows the query would return, ignoring any offset, max results and keyset cursor.
+	 * <p>
+	 * Runs a single `select count(*)` aggregate derived from the parsed HQL template, bound to the same parameters. The count HQL is cached on the
+	 * template, so repeated counts of the same query do not re-parse or rewrite it.
+	 *
+	 * @throws DatabaseException if this is a named query, or the HQL can not be rewritten as a count.
+	 *
+	 * @return The total row count.
+	 */
+	public long count() {
+		if ( this.queryName != null || this.nativeSQL ) {
+			throw new DatabaseException( "Counting results is only supported for HQL queries, not named or native SQL queries." );
+		}
+		// Queries without bindings skip template parsing in buildParameterList, so look the template up here
+		HQLTemplate					countTemplate	= this.template != null
+		    ? this.template
+		    : ormService.getHQLTemplateCache().get( this.sourceHQL, false );
+		org.hibernate.query.Query<?>	countQuery		= session.createQuery( countTemplate.getCountHQL() );
+		if ( !ormContext.getConfig().autoManageSession ) {
+			countQuery.setHibernateFlushMode( org.hibernate.FlushMode.MANUAL );
+		}
+		applyCacheOptions( countQuery );
+		// Keyset cursor values are appended after the template parameters and do not apply to the total
+		bindParameters( countQuery, this.parameters.subList( 0, this.templateParameterCount ) );
+		return ( ( Number ) countQuery.uniqueResult() ).longValue();
+	}
+
+	/**
+	 * Apply the cacheMode, cacheable and cacheName options to the given query.
+	 */
+	private void applyCacheOptions( org.hibernate.query.Query<?> hqlQuery ) {
+		// Ensure the query respects the session cache to maintain entity identity
+		// This prevents returning duplicate instances of entities already in the session
+		hqlQuery.setCacheMode( this.options.get( ORMKeys.cacheMode ) != null
+		    ? ORMApp.toCacheMode( this.options.getAsString( ORMKeys.cacheMode ) )
+		    : org.hibernate.CacheMode.NORMAL );
+
+		if ( this.options.containsKey( ORMKeys.cacheable ) ) {
+			hqlQuery.setCacheable( BooleanCaster.cast( this.options.get( ORMKeys.cacheable ) ) );
+		}
+		if ( this.options.get( ORMKeys.cacheName ) != null ) {
+			hqlQuery.setCacheRegion( this.options.getAsString( ORMKeys.cacheName ) );
+		}
+	}
+
+	/**
+	 * Bind the given parameters to the ordinal `?1`, `?2`... placeholders of the query, in order.
+	 */
+	private static void bindParameters( org.hibernate.query.Query<?> hqlQuery, List<QueryParameter> parameters ) {
+		int parameterIndex = 1;
+		for ( QueryParameter param : parameters ) {
+			if ( param.isListParam() ) {
+				hqlQuery.setParameterList( parameterIndex++, ( Array ) param.getValue() );
+			} else {
+				hqlQuery.setParameter( parameterIndex++, param.getValue() );
+			}
+		}
+	}
+
+	/**
+	 * Build the keyset cursor from the last row of the results.
+	 *
+	 * @param results The query results - a List or a Query.
+	 */
+	private Array buildNextCursor( Object results ) {
+		Integer pageSize = this.options.getAsInteger( ORMKeys.maxResults );
+		if ( results instanceof Query query ) {
+			if ( pageSize == null || query.size() == 0 || query.size() < pageSize ) {
+				return null;
+			}
+			return this.keyset.cursorFrom( query.getRowAsStruct( query.size() - 1 ) );
+		}
+		return this.keyset.nextCursor( ( List<?> ) results, pageSize );
+	}
+
+	/**
+	 * Stream the query results row by row into a BoxLang Query, or a list of structs, using the select aliases as column names.
+	 * <p>
+	 * Rows are read through a forward-only cursor, so no intermediate list of result arrays is built. Scalar projections are never hydrated into
+	 * entities; selecting an entity alias will place the entity itself in the column.
+	 *
+	 * @param hqlQuery The prepared Hibernate query.
+	 * @param asQuery  True to return a {@link Query}, false for a list of structs.
+	 *
+	 * @return A Query, or a List of IStruct rows.
+	 */
+	private Object scrollProjection( org.hibernate.query.Query<?> hqlQuery, boolean asQuery ) {
+		Key[]				columns	= getColumnNames( getReturnAliases( hqlQuery ) );
+		Query				query	= new Query();
+		List<IStruct>		rows	= new ArrayList<>();
+		if ( asQuery ) {
+			for ( Key column : columns ) {
+				query.addColumn( column, QueryColumnType.OBJECT );
+			}
+		}
+
+		ScrollableResults results = hqlQuery.scroll( ScrollMode.FORWARD_ONLY );
+		try {
+			while ( results.next() ) {
+				Object[] row = results.get();
+				if ( asQuery ) {
+					query.addRow( row );
+				} else {
+					IStruct rowStruct = new Struct( IStruct.TYPES.LINKED );
+					for ( int i = 0; i < columns.length; i++ ) {
+						rowStruct.put( columns[ i ], row[ i ] );
+					}
+					rows.add( rowStruct );
+				}
+			}
+		} finally {
+			results.close();
+		}
+		return asQuery ? query : rows;
+	}
+
+	/**
+	 * Get the select aliases of an HQL query from its compiled query plan, which Hibernate caches by query string.
+	 *
+	 * @param hqlQuery The prepared Hibernate query.
+	 *
+	 * @return The alias of each selected item. Unaliased items come back as null or as their position.
+	 */
+	private String[] getReturnAliases( org.hibernate.query.Query<?> hqlQuery ) {
+		// Compile with the session's enabled filters, so the plan is the one Hibernate runs and no extra plan is cached
+		return ( ( SessionFactoryImplementor ) this.session.getSessionFactory() ).getQueryPlanCache()
+		    .getHQLQueryPlan( hqlQuery.getQueryString(), false,
+		        ( ( SharedSessionContractImplementor ) this.session ).getLoadQueryInfluencers().getEnabledFilters() )
+		    .getReturnMetadata()
+		    .getReturnAliases();
+	}
+
+	/**
+	 * Create the native SQL query, registering the entity or scalar result mappings and the query spaces from the options.
+	 * <p>
+	 * Hibernate can not tell which tables a native query reads, so cached results are only invalidated by writes to the tables registered as its
+	 * query spaces: the table of the `entity` option, plus any listed in the `querySpaces` option.
+	 *
+	 * @throws BoxRuntimeException if the query is cacheable but has no query spaces, since its cached results would never be invalidated.
+	 */
+	private NativeQuery<?> createNativeQuery() {
+		NativeQuery<?> sqlQuery = session.createNativeQuery( this.hql );
+		if ( this.options.get( ORMKeys.entity ) != null ) {
+			String entityName = this.ormApp.lookupEntity( this.options.getAsString( ORMKeys.entity ), true ).getEntityName();
+			sqlQuery.addEntity( entityName );
+			sqlQuery.addSynchronizedEntityName( entityName );
+		}
+		Object querySpaces = this.options.get( ORMKeys.querySpaces );
+		if ( querySpaces != null ) {
+			Array tables = querySpaces instanceof String tableList ? ListUtil.asList( tableList, "," ) : ArrayCaster.cast( querySpaces );
+			for ( Object table : tables ) {
+				sqlQuery.addSynchronizedQuerySpace( StringCaster.cast( table ).trim() );
+			}
+		}
+		if ( BooleanCaster.cast( this.options.getOrDefault( ORMKeys.cacheable, false ) ) && sqlQuery.getSynchronizedQuerySpaces().isEmpty() ) {
+			throw new BoxRuntimeException( "Cacheable native SQL queries must declare the tables they read with the [entity] or [querySpaces] option, "
+			    + "so that writes invalidate the cached results." );
+		}
+		for ( String column : getDeclaredScalars() ) {
+			sqlQuery.addScalar( column );
+		}
+		return sqlQuery;
+	}
 
+	/**
+	 * Get the column aliases listed in the `scalars` option, in order.
+	 *
+	 * @return The declared scalar aliases, or an empty array if the option is not set.
+	 */
+	private String[] getDeclaredScalars() {
+		Object scalars = this.options.get( ORMKeys.scalars );
+		if ( scalars == null ) {
+			return new String[ 0 ];
+		}
+		Array		columns	= scalars instanceof String scalarList ? ListUtil.asList( scalarList, "," ) : ArrayCaster.cast( scalars );
+		String[]	aliases	= new String[ columns.size() ];
+		for ( int i = 0; i < aliases.length; i++ ) {
+			aliases[ i ] = StringCaster.cast( columns.get( i ) ).trim();
+		}
+		return aliases;
 	}
 
 	/**
-	 * Sanitize the HQL string to ensure that common strings are cast correctly
+	 * Read native SQL rows into a BoxLang Query, or a list of structs, using the declared `scalars` as column names.
+	 * <p>
+	 * Without declared scalars the result set column labels are used instead. Hibernate only reports those alongside a row, so a query without
+	 * `scalars` which matches no rows has no columns.
 	 *
-	 * @param hql
+	 * @param sqlQuery The prepared native query.
+	 * @param asQuery  True to return a {@link Query}, false for a list of structs.
 	 *
-	 * @return
+	 * @return A Query, or a List of IStruct rows.
 	 */
-	private String sanitizeHQL( String hql ) {
-		final String	EQUALS_FALSE	= "= false";
-		final String	EQUALS_TRUE		= "= true";
-		final String	CAST_TRUE		= "= cast( %s as boolean )";
-		final String	TRUE			= String.format( CAST_TRUE, "true" );
-		final String	FALSE			= String.format( CAST_TRUE, "false" );
-		return hql.replaceAll( EQUALS_TRUE, TRUE )
-		    .replaceAll( EQUALS_FALSE, FALSE );
+	@SuppressWarnings( "deprecation" )
+	private Object nativeProjection( NativeQuery<?> sqlQuery, boolean asQuery ) {
+		if ( this.options.get( ORMKeys.entity ) != null ) {
+			throw new BoxRuntimeException( "The [query] and [struct] return types can not be combined with the [entity] option." );
+		}
+		String[]	scalars	= getDeclaredScalars();
+		String[][]	aliases	= new String[ 1 ][];
+		// Hibernate does not expose the column labels of an undeclared native query up front, so capture them as the rows are transformed
+		sqlQuery.setResultTransformer( new ResultTransformer() {
+
+			@Override
+			public Object transformTuple( Object[] tuple, String[] tupleAliases ) {
+				aliases[ 0 ] = tupleAliases;
+				return tuple;
+			}
 
+			@Override
+			@SuppressWarnings( "rawtypes" )
+			public List transformList( List collection ) {
+				return collection;
+			}
+		} );
+		List<?>			rows	= sqlQuery.list();
+		Key[]			columns	= scalars.length > 0 ? getColumnNames( scalars )
+		    : aliases[ 0 ] == null ? new Key[ 0 ] : getColumnNames( aliases[ 0 ] );
+		Query			query	= new Query();
+		List<IStruct>	structs	= new ArrayList<>();
+		if ( asQuery ) {
+			for ( Key column : columns ) {
+				query.addColumn( column, QueryColumnType.OBJECT );
+			}
+		}
+		for ( Object result : rows ) {
+			Object[] row = ( Object[] ) result;
+			if ( asQuery ) {
+				query.addRow( row );
+			} else {
+				IStruct rowStruct = new Struct( IStruct.TYPES.LINKED );
+				for ( int i = 0; i < columns.length; i++ ) {
+					rowStruct.put( columns[ i ], row[ i ] );
+				}
+				structs.add( rowStruct );
+			}
+		}
+		return asQuery ? query : structs;
+	}
+
+	/**
+	 * Build column names from the HQL select aliases. Select items without an alias are named `column_1`, `column_2`, etc.
+	 *
+	 * @param aliases The select aliases reported by Hibernate. Unaliased items are reported as their (numeric) position, or null.
+	 */
+	private static Key[] getColumnNames( String[] aliases ) {
+		if ( aliases == null ) {
+			return new Key[] { Key.of( "column_1" ) };
+		}
+		Key[] columns = new Key[ aliases.length ];
+		for ( int i = 0; i < aliases.length; i++ ) {
+			String alias = aliases[ i ];
+			columns[ i ] = alias == null || alias.isBlank() || alias.chars().allMatch( Character::isDigit )
+			    ? Key.of( "column_" + ( i + 1 ) )
+			    : Key.of( alias );
+		}
+		return columns;
 	}
 }
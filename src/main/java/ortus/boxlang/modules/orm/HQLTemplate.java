@@ -0,0 +1,394 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.modules.orm;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.types.exceptions.DatabaseException;
+
+/**
+ * A tokenized HQL statement.
+ * <p>
+ * Holds the sanitized HQL split into the literal segments between parameter placeholders, along with a reference to the parameter at each
+ * placeholder - a {@link Key} for named parameters, or the 1-based occurrence index for positional parameters.
+ * <p>
+ * Templates are immutable once parsed and are shared across executions via the {@link HQLTemplateCache}.
+ *
+ * @since 1.7.0
+ */
+public class HQLTemplate {
+
+	private static final Pattern		FROM_PATTERN			= Pattern.compile( "\\bfrom\\b", Pattern.CASE_INSENSITIVE );
+	private static final Pattern		GROUP_BY_PATTERN		= Pattern.compile( "\\bgroup\\s+by\\b", Pattern.CASE_INSENSITIVE );
+	private static final Pattern		ORDER_BY_PATTERN		= Pattern.compile( "\\border\\s+by\\b", Pattern.CASE_INSENSITIVE );
+	private static final Pattern		SELECT_DISTINCT_PATTERN	= Pattern.compile( "^\\s*select\\s+distinct\\b", Pattern.CASE_INSENSITIVE );
+	private static final Pattern		JOIN_FETCH_PATTERN		= Pattern.compile( "\\bjoin\\s+(fetch\\s+)", Pattern.CASE_INSENSITIVE );
+
+	/**
+	 * Parameter references, in order of appearance in the HQL.
+	 */
+	private final List<Object>			parameterRefs;
+
+	/**
+	 * Whether this template uses positional (`?`) rather than named (`:name`) parameters.
+	 */
+	private final boolean				positional;
+
+	/**
+	 * The HQL with all parameters replaced by ordinal placeholders.
+	 */
+	private final String				hql;
+
+	/**
+	 * The `select count(*)` form of the HQL, computed on first use.
+	 */
+	private volatile String				countHQL;
+
+	/**
+	 * Constructor
+	 *
+	 * @param segments      Literal HQL segments. There is always one more segment than there are parameter references.
+	 * @param parameterRefs Parameter references, in order of appearance.
+	 * @param positional    Whether the template uses positional parameters.
+	 */
+	private HQLTemplate( List<String> segments, List<Object> parameterRefs, boolean positional ) {
+		this.parameterRefs	= Collections.unmodifiableList( parameterRefs );
+		this.positional		= positional;
+
+		StringBuilder newHQL = new StringBuilder( segments.get( 0 ) );
+		for ( int i = 1; i < segments.size(); i++ ) {
+			newHQL.append( '?' ).append( i ).append( segments.get( i ) );
+		}
+		this.hql = newHQL.toString();
+	}
+
+	/**
+	 * Parse the given HQL into a template.
+	 *
+	 * @param hql          The HQL string, as provided by the user.
+	 * @param isPositional Whether the query bindings are positional (an array) or named (a struct).
+	 *
+	 * @throws DatabaseException if the HQL mixes named and positional parameters.
+	 *
+	 * @return The parsed template.
+	 */
+	public static HQLTemplate parse( String hql, boolean isPositional ) {
+		return parse( hql, isPositional, false );
+	}
+
+	/**
+	 * Parse the given HQL or native SQL into a template.
+	 *
+	 * @param hql          The HQL or SQL string, as provided by the user.
+	 * @param isPositional Whether the query bindings are positional (an array) or named (a struct).
+	 * @param isNative     Whether the string is native SQL. Native SQL is passed to the database as-is, so the HQL boolean sanitization is skipped.
+	 *
+	 * @throws DatabaseException if the query mixes named and positional parameters.
+	 *
+	 * @return The parsed template.
+	 */
+	public static HQLTemplate parse( String hql, boolean isPositional, boolean isNative ) {
+		String			HQL				= isNative ? hql : sanitizeHQL( hql );
+		List<String>	segments		= new ArrayList<>();
+		List<Object>	parameterRefs	= new ArrayList<>();
+		// This is the current HQL token being processed, up to the next parameter
+		StringBuilder	segment			= new StringBuilder();
+		// This is the name of the current named parameter being processed
+		StringBuilder	paramName		= new StringBuilder();
+		int				positionalCount	= 0;
+		// The closing character of the current quoted identifier
+		char			identifierQuote	= '"';
+
+		// 0 = Default state, processing HQL
+		// 1 = Inside a string literal
+		// 2 = Inside a single line comment
+		// 3 = Inside a multi-line comment
+		// 4 = Inside a named parameter
+		// 5 = Inside a positional parameter, like ? or ?1 or ?23
+		// 6 = Inside a quoted identifier, like "name" or `name`
+		int				state			= 0;
+
+		for ( int i = 0; i < HQL.length(); i++ ) {
+			char c = HQL.charAt( i );
+
+			switch ( state ) {
+				// Default state, processing HQL
+				case 0 : {
+					if ( c == '\'' ) {
+						// If we've reached a ' then we're inside a string literal
+						state = 1;
+					} else if ( c == '"' || c == '`' ) {
+						// If we've reached a " or ` then we're inside a quoted identifier
+						identifierQuote	= c;
+						state			= 6;
+					} else if ( c == ':' && i < HQL.length() - 1 && HQL.charAt( i + 1 ) == ':' ) {
+						// A :: is a cast operator in native SQL, like col::int, not a named parameter
+						segment.append( c );
+						c = HQL.charAt( ++i );
+					} else if ( c == '-' && i < HQL.length() - 1 && HQL.charAt( i + 1 ) == '-' ) {
+						// If we've reached a -- then we're inside a single line comment
+						state = 2;
+					} else if ( c == '/' && i < HQL.length() - 1 && HQL.charAt( i + 1 ) == '*' ) {
+						// If we've reached a /* then we're inside a multi-line comment
+						state = 3;
+					} else if ( c == '?' ) {
+						// We've encountered a positional parameter
+						if ( !isPositional ) {
+							throw new DatabaseException( "Positional parameter [?] found in query with named parameters." );
+						}
+						segments.add( segment.toString() );
+						segment.setLength( 0 );
+						parameterRefs.add( ++positionalCount );
+						state = 5;
+						// Do not append anything
+						break;
+					} else if ( c == ':' ) {
+						// We've encountered a named parameter
+						state = 4;
+						// Do not append anything
+						break;
+					}
+					segment.append( c );
+					break;
+				}
+				// Inside a string literal
+				case 1 : {
+					// If we've reached the ending ' and it wasn't escaped as \' then we're done
+					if ( c == '\'' && ( i == HQL.length() - 1 || HQL.charAt( i + 1 ) != '\'' ) ) {
+						state = 0;
+						// if we reached ' but the next char is also ' then this is just an escaped ''
+						// Append them both and move on
+					} else if ( c == '\'' && i < HQL.length() - 1 && HQL.charAt( i + 1 ) == '\'' ) {
+						segment.append( c ); // Append the first single quote
+						c = HQL.charAt( ++i ); // Skip the next single quote
+					}
+					segment.append( c );
+					break;
+				}
+				// Inside a single line comment
+				case 2 : {
+					if ( c == '\n' || c == '\r' ) {
+						state = 0;
+					}
+					segment.append( c );
+					break;
+				}
+				// Inside a multi-line comment
+				case 3 : {
+					if ( c == '*' && i < HQL.length() - 1 && HQL.charAt( i + 1 ) == '/' ) {
+						state = 0;
+						segment.append( c );
+						c = HQL.charAt( ++i );
+					}
+					segment.append( c );
+					break;
+				}
+				// Inside a named parameter
+				case 4 : {
+					if ( ! ( Character.isLetterOrDigit( c ) || c == '_' ) && paramName.isEmpty() ) {
+						// A lone colon, like MySQL's := operator, is not a parameter
+						segment.append( ':' );
+						state = 0;
+						i--;
+						break;
+					}
+					if ( ! ( Character.isLetterOrDigit( c ) || c == '_' ) ) {
+						addNamedParameter( paramName, isPositional, segment, segments, parameterRefs );
+						// reset the state and backup to re-precess the next char again
+						state = 0;
+						i--;
+						break;
+					}
+					paramName.append( c );
+					break;
+				}
+				// Inside a numbered positional parameter, like ?1 or ?23. Parameters are bound in order of appearance, so the number is dropped.
+				case 5 : {
+					if ( !Character.isDigit( c ) ) {
+						// reset the state and backup to re-precess the next char again
+						state = 0;
+						i--;
+					}
+					break;
+				}
+				// Inside a quoted identifier
+				case 6 : {
+					if ( c == identifierQuote ) {
+						state = 0;
+					}
+					segment.append( c );
+					break;
+				}
+			}
+		}
+
+		// If named param is the last thing in the query
+		if ( state == 4 ) {
+			if ( paramName.isEmpty() ) {
+				segment.append( ':' );
+			} else {
+				addNamedParameter( paramName, isPositional, segment, segments, parameterRefs );
+			}
+		}
+
+		segments.add( segment.toString() );
+		return new HQLTemplate( segments, parameterRefs, isPositional );
+	}
+
+	private static void addNamedParameter( StringBuilder paramName, boolean isPositional, StringBuilder segment, List<String> segments,
+	    List<Object> parameterRefs ) {
+		Key finalParamName = Key.of( paramName.toString() );
+		paramName.setLength( 0 );
+		if ( isPositional ) {
+			throw new DatabaseException( "Named parameter [:" + finalParamName.getName() + "] found in query with positional parameters." );
+		}
+		segments.add( segment.toString() );
+		segment.setLength( 0 );
+		parameterRefs.add( finalParamName );
+	}
+
+	/**
+	 * Sanitize the HQL string to ensure that common strings are cast correctly
+	 *
+	 * @param hql
+	 *
+	 * @return
+	 */
+	private static String sanitizeHQL( String hql ) {
+		final String	EQUALS_FALSE	= "= false";
+		final String	EQUALS_TRUE		= "= true";
+		final String	CAST_TRUE		= "= cast( %s as boolean )";
+		final String	TRUE			= String.format( CAST_TRUE, "true" );
+		final String	FALSE			= String.format( CAST_TRUE, "false" );
+		return hql.replaceAll( EQUALS_TRUE, TRUE )
+		    .replaceAll( EQUALS_FALSE, FALSE );
+
+	}
+
+	/**
+	 * Get the parameter references, in order of appearance. Each is either a {@link Key} (named) or an {@link Integer} (positional, 1-based).
+	 */
+	public List<Object> getParameterRefs() {
+		return this.parameterRefs;
+	}
+
+	/**
+	 * Whether this template uses positional parameters.
+	 */
+	public boolean isPositional() {
+		return this.positional;
+	}
+
+	/**
+	 * Get the HQL with each parameter replaced by an ordinal `?N` placeholder, in order of appearance.
+	 * <p>
+	 * List parameters occupy a single placeholder and are bound as parameter lists, so the HQL is the same regardless of how many values are bound.
+	 * Hibernate expands the list at execution time, padding it to the next power of two so the number of distinct query plans stays small.
+	 *
+	 * @return The HQL string ready for Hibernate.
+	 */
+	public String getHQL() {
+		return this.hql;
+	}
+
+	/**
+	 * Get the HQL rewritten to count the rows the query would return, with the same parameter placeholders.
+	 * <p>
+	 * The select clause is replaced by `select count(*)` (or `select count(distinct ...)` for a distinct select), `join fetch` is reduced to a plain
+	 * `join` since Hibernate does not allow fetching in a count, and any ORDER BY clause is dropped. The result is computed once per template and
+	 * cached alongside it.
+	 *
+	 * @throws DatabaseException if the query has a GROUP BY clause, no FROM clause, or a distinct select of more than one column.
+	 *
+	 * @return The count HQL.
+	 */
+	public String getCountHQL() {
+		if ( this.countHQL == null ) {
+			this.countHQL = buildCountHQL( this.hql );
+		}
+		return this.countHQL;
+	}
+
+	private static String buildCountHQL( String hql ) {
+		String	masked		= maskNested( hql );
+		Matcher	fromMatcher	= FROM_PATTERN.matcher( masked );
+		if ( !fromMatcher.find() ) {
+			throw new DatabaseException( "Unable to count results of a query with no FROM clause: " + hql );
+		}
+		if ( GROUP_BY_PATTERN.matcher( masked ).find() ) {
+			throw new DatabaseException( "Unable to count results of a query with a GROUP BY clause: " + hql );
+		}
+		int		fromStart	= fromMatcher.start();
+		Matcher	orderBy		= ORDER_BY_PATTERN.matcher( masked );
+		int		end			= orderBy.find( fromStart ) ? orderBy.start() : hql.length();
+
+		// select distinct x from ... => select count(distinct x) from ...
+		Matcher	distinct	= SELECT_DISTINCT_PATTERN.matcher( masked.substring( 0, fromStart ) );
+		String	countClause	= "select count(*) ";
+		if ( distinct.find() ) {
+			// count(distinct a, b) is not valid HQL, and there is no portable way to count distinct tuples
+			if ( masked.substring( distinct.end(), fromStart ).indexOf( ',' ) >= 0 ) {
+				throw new DatabaseException( "Unable to count results of a query with a distinct select of more than one column: " + hql );
+			}
+			countClause = "select count(distinct " + hql.substring( distinct.end(), fromStart ).trim() + ") ";
+		}
+
+		// from A a join fetch a.b => from A a join a.b
+		StringBuilder	body		= new StringBuilder();
+		int				position	= fromStart;
+		Matcher			joinFetch	= JOIN_FETCH_PATTERN.matcher( masked ).region( fromStart, end );
+		while ( joinFetch.find() ) {
+			body.append( hql, position, joinFetch.start( 1 ) );
+			position = joinFetch.end( 1 );
+		}
+		body.append( hql, position, end );
+		return countClause + body.toString().trim();
+	}
+
+	/**
+	 * Replace string literals and parenthesized content with spaces, preserving character positions.
+	 */
+	static String maskNested( String hql ) {
+		StringBuilder	masked		= new StringBuilder( hql.length() );
+		int				depth		= 0;
+		boolean			inString	= false;
+		for ( char c : hql.toCharArray() ) {
+			if ( inString ) {
+				inString = c != '\'';
+				masked.append( ' ' );
+			} else if ( c == '\'' ) {
+				inString = true;
+				masked.append( ' ' );
+			} else if ( c == '(' ) {
+				depth++;
+				masked.append( ' ' );
+			} else if ( c == ')' ) {
+				depth--;
+				masked.append( ' ' );
+			} else {
+				masked.append( depth > 0 ? ' ' : c );
+			}
+		}
+		return masked.toString();
+	}
+}
@@ -0,0 +1,156 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.modules.orm;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import ortus.boxlang.modules.orm.config.ORMKeys;
+import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.Struct;
+
+/**
+ * Bounded, concurrent cache of parsed {@link HQLTemplate}s, keyed by HQL text and parameter style (named or positional).
+ * <p>
+ * Templates do not depend on the ORM application or datasource, so a single cache is held by the {@link ORMService} and shared by all applications.
+ * When the cache is full, arbitrary entries are evicted to make room.
+ *
+ * @since 1.7.0
+ */
+public class HQLTemplateCache {
+
+	/**
+	 * Default maximum number of templates to hold.
+	 */
+	public static final int							DEFAULT_MAX_SIZE	= 1000;
+
+	/**
+	 * Cache key: the raw HQL string plus the parameter style and query language.
+	 */
+	private record TemplateKey( String hql, boolean positional, boolean nativeSQL ) {
+	}
+
+	private final Map<TemplateKey, HQLTemplate>	templates			= new ConcurrentHashMap<>();
+	private final int								maxSize;
+	private final LongAdder							hits				= new LongAdder();
+	private final LongAdder							misses				= new LongAdder();
+
+	/**
+	 * Constructor
+	 */
+	public HQLTemplateCache() {
+		this( DEFAULT_MAX_SIZE );
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param maxSize Maximum number of templates to hold.
+	 */
+	public HQLTemplateCache( int maxSize ) {
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * Get the parsed template for the given HQL, parsing and caching it on a miss.
+	 *
+	 * @param hql          The HQL string.
+	 * @param isPositional Whether the query bindings are positional.
+	 *
+	 * @return The parsed template.
+	 */
+	public HQLTemplate get( String hql, boolean isPositional ) {
+		return get( hql, isPositional, false );
+	}
+
+	/**
+	 * Get the parsed template for the given HQL or native SQL, parsing and caching it on a miss.
+	 *
+	 * @param hql          The HQL or SQL string.
+	 * @param isPositional Whether the query bindings are positional.
+	 * @param isNative     Whether the string is native SQL.
+	 *
+	 * @return The parsed template.
+	 */
+	public HQLTemplate get( String hql, boolean isPositional, boolean isNative ) {
+		TemplateKey	key			= new TemplateKey( hql, isPositional, isNative );
+		HQLTemplate	template	= this.templates.get( key );
+		if ( template != null ) {
+			this.hits.increment();
+			return template;
+		}
+		this.misses.increment();
+		// Parse errors propagate without caching anything
+		template = HQLTemplate.parse( hql, isPositional, isNative );
+		if ( this.templates.size() >= this.maxSize ) {
+			Iterator<TemplateKey> keys = this.templates.keySet().iterator();
+			while ( this.templates.size() >= this.maxSize && keys.hasNext() ) {
+				keys.next();
+				keys.remove();
+			}
+		}
+		HQLTemplate existing = this.templates.putIfAbsent( key, template );
+		return existing != null ? existing : template;
+	}
+
+	/**
+	 * Number of lookups served from the cache.
+	 */
+	public long getHits() {
+		return this.hits.sum();
+	}
+
+	/**
+	 * Number of lookups which required parsing the HQL.
+	 */
+	public long getMisses() {
+		return this.misses.sum();
+	}
+
+	/**
+	 * Number of templates currently cached.
+	 */
+	public int size() {
+		return this.templates.size();
+	}
+
+	/**
+	 * Remove all cached templates and reset the counters.
+	 */
+	public void clear() {
+		this.templates.clear();
+		this.hits.reset();
+		this.misses.reset();
+	}
+
+	/**
+	 * Get the cache statistics as a struct.
+	 *
+	 * @return Struct with the keys `hits`, `misses`, `size` and `maxSize`.
+	 */
+	public IStruct getStats() {
+		return Struct.of(
+		    ORMKeys.hits, getHits(),
+		    ORMKeys.misses, getMisses(),
+		    ORMKeys.size, size(),
+		    ORMKeys.maxSize, this.maxSize
+		);
+	}
+}
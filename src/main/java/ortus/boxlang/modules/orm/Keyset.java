@@ -0,0 +1,381 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.modules.orm;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.hibernate.Criteria;
+import org.hibernate.criterion.Criterion;
+import org.hibernate.criterion.Order;
+import org.hibernate.criterion.Restrictions;
+
+import ortus.boxlang.modules.orm.config.ORMKeys;
+import ortus.boxlang.modules.orm.hibernate.BoxProxy;
+import ortus.boxlang.runtime.dynamic.casters.ArrayCaster;
+import ortus.boxlang.runtime.dynamic.casters.StringCaster;
+import ortus.boxlang.runtime.runnables.IClassRunnable;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.types.Array;
+import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.util.ListUtil;
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
+
+/**
+ * Keyset (a.k.a. seek) pagination for HQL and criteria queries.
+ * <p>
+ * Instead of skipping `offset` rows, the query is ordered by one or more sort keys and filtered to rows which sort after the last-seen key values,
+ * so the database can seek directly to the next page via an index. Configured via the `keyset` query option:
+ *
+ * <pre>
+ * { keyset : { keys : "created desc, id desc", after : cursor } }
+ * </pre>
+ *
+ * `keys` is a list or array of sort keys, each a property path such as `o.customer.name` (or an entity property name, for `entityLoad()`) with an
+ * optional `asc`/`desc` direction. `after` is the cursor returned by the previous page, or omitted for the first page. The sort keys should
+ * uniquely identify a row - append the entity id as the final key if in doubt - and must not be null, since a null value can not be sought past.
+ *
+ * @since 1.7.0
+ */
+public class Keyset {
+
+	/**
+	 * A single sort key.
+	 *
+	 * @param expression The property path to sort on: an optional alias followed by one or more property names, separated by dots.
+	 * @param descending Whether the key sorts descending.
+	 */
+	public record SortKey( String expression, boolean descending ) {
+
+		/**
+		 * Constructor
+		 *
+		 * @throws BoxRuntimeException if the expression is not a property path, since it is spliced into the query.
+		 */
+		public SortKey {
+			if ( expression == null || !PATH_PATTERN.matcher( expression ).matches() ) {
+				throw new BoxRuntimeException(
+				    "Invalid keyset sort key [" + expression + "]; keys must be property paths such as 'o.customer.name', with an optional "
+				        + "direction." );
+			}
+		}
+
+		/**
+		 * The property name of the key, i.e. the last segment of its path, as used for select aliases.
+		 */
+		public String propertyName() {
+			return expression.substring( expression.lastIndexOf( '.' ) + 1 );
+		}
+	}
+
+	private static final Pattern	CLAUSE_PATTERN	= Pattern.compile( "\\b(where|group\\s+by|having|order\\s+by)\\b", Pattern.CASE_INSENSITIVE );
+	private static final Pattern	PATH_PATTERN	= Pattern.compile( "[A-Za-z_$][A-Za-z0-9_$]*(\\.[A-Za-z_$][A-Za-z0-9_$]*)*" );
+
+	private final List<SortKey>		keys;
+	private final Array				after;
+
+	/**
+	 * Constructor
+	 *
+	 * @param keys  The sort keys.
+	 * @param after The last-seen key values, in key order, or null for the first page.
+	 */
+	public Keyset( List<SortKey> keys, Array after ) {
+		if ( keys.isEmpty() ) {
+			throw new BoxRuntimeException( "Keyset pagination requires at least one sort key." );
+		}
+		if ( after != null && after.size() != keys.size() ) {
+			throw new BoxRuntimeException(
+			    "Keyset cursor has [" + after.size() + "] values, but [" + keys.size() + "] sort keys were given." );
+		}
+		for ( int i = 0; after != null && i < after.size(); i++ ) {
+			if ( after.get( i ) == null ) {
+				throw new BoxRuntimeException(
+				    "Keyset cursor value for sort key [" + keys.get( i ).expression() + "] is null; keyset sort keys must not be null." );
+			}
+		}
+		this.keys	= keys;
+		this.after	= after;
+	}
+
+	/**
+	 * Read the `keyset` option from a struct of query options.
+	 *
+	 * @param options The query options.
+	 *
+	 * @throws BoxRuntimeException if the option is malformed, or combined with `offset`.
+	 *
+	 * @return The keyset, or null if the option is not present.
+	 */
+	public static Keyset fromOptions( IStruct options ) {
+		Object keysetOption = options.get( ORMKeys.keyset );
+		if ( keysetOption == null ) {
+			return null;
+		}
+		if ( ! ( keysetOption instanceof IStruct keyset ) ) {
+			throw new BoxRuntimeException( "The keyset option must be a struct with 'keys' and (optional) 'after' entries." );
+		}
+		Object offset = options.get( Key.offset );
+		if ( offset != null && !"0".equals( StringCaster.cast( offset ) ) ) {
+			throw new BoxRuntimeException( "The keyset and offset options can not be combined." );
+		}
+
+		Object	keyList	= keyset.get( ORMKeys.keys );
+		Array	keys	= keyList instanceof String keyString ? ListUtil.asList( keyString, "," ) : ArrayCaster.cast( keyList );
+		Object	after	= keyset.get( ORMKeys.after );
+		return new Keyset(
+		    keys.stream().map( key -> parseSortKey( StringCaster.cast( key ) ) ).collect( Collectors.toList() ),
+		    after != null ? ArrayCaster.cast( after ) : null
+		);
+	}
+
+	/**
+	 * Parse a sort key of the form <code>path [asc|desc]</code>.
+	 */
+	private static SortKey parseSortKey( String key ) {
+		String[] parts = key.trim().split( "\\s+" );
+		if ( parts.length > 2 || ( parts.length == 2 && !parts[ 1 ].equalsIgnoreCase( "asc" ) && !parts[ 1 ].equalsIgnoreCase( "desc" ) ) ) {
+			throw new BoxRuntimeException(
+			    "Invalid keyset sort key [" + key + "]; expected a property path followed by an optional 'asc' or 'desc'." );
+		}
+		return new SortKey( parts[ 0 ], parts.length == 2 && parts[ 1 ].equalsIgnoreCase( "desc" ) );
+	}
+
+	/**
+	 * Get the sort keys.
+	 */
+	public List<SortKey> getKeys() {
+		return this.keys;
+	}
+
+	/**
+	 * Whether a cursor was given, i.e. this is not the first page.
+	 */
+	public boolean hasCursor() {
+		return this.after != null;
+	}
+
+	/**
+	 * Get the cursor values to bind, in the order their placeholders appear in {@link #rewriteHQL(String, int, boolean)}.
+	 *
+	 * @param rowValueSyntax The same flag passed to {@link #rewriteHQL(String, int, boolean)}.
+	 */
+	public List<Object> getBindValues( boolean rowValueSyntax ) {
+		List<Object> values = new ArrayList<>();
+		if ( this.after == null ) {
+			return values;
+		}
+		if ( rowValueSyntax && isUniformDirection() ) {
+			values.addAll( this.after );
+			return values;
+		}
+		// Expanded form: for each key i, bind the values of keys 0..i
+		for ( int i = 0; i < this.keys.size(); i++ ) {
+			for ( int j = 0; j <= i; j++ ) {
+				values.add( this.after.get( j ) );
+			}
+		}
+		return values;
+	}
+
+	/**
+	 * Rewrite an HQL query into its keyset form: add the seek predicate to the WHERE clause and append the ORDER BY clause.
+	 * <p>
+	 * When every key sorts in the same direction and the dialect supports it, the predicate uses the row-value form `(k1, k2) > (?, ?)`. Otherwise it
+	 * is expanded to `k1 > ? or (k1 = ? and k2 > ?)`, which is equivalent and still index-friendly.
+	 *
+	 * @param hql            The HQL, with parameters already rendered as ordinal `?N` placeholders.
+	 * @param parameterCount The number of ordinal parameters already present in the HQL.
+	 * @param rowValueSyntax Whether the dialect supports row-value comparisons.
+	 *
+	 * @throws BoxRuntimeException if the HQL already has an ORDER BY clause.
+	 *
+	 * @return The rewritten HQL.
+	 */
+	public String rewriteHQL( String hql, int parameterCount, boolean rowValueSyntax ) {
+		// Mask out string literals and parenthesized expressions, so only top-level clauses are matched
+		Matcher	matcher		= CLAUSE_PATTERN.matcher( HQLTemplate.maskNested( hql ) );
+		int		whereStart	= -1;
+		int		whereEnd	= hql.length();
+		while ( matcher.find() ) {
+			String clause = matcher.group( 1 ).toLowerCase();
+			if ( clause.startsWith( "order" ) ) {
+				throw new BoxRuntimeException( "HQL queries using keyset pagination must not have an ORDER BY clause; it is generated from the keyset keys." );
+			}
+			if ( clause.equals( "where" ) ) {
+				whereStart = matcher.end();
+			} else if ( whereEnd == hql.length() ) {
+				whereEnd = matcher.start();
+			}
+		}
+
+		StringBuilder newHQL = new StringBuilder( hql );
+		if ( this.after != null ) {
+			String predicate = buildPredicate( parameterCount + 1, rowValueSyntax );
+			if ( whereStart >= 0 ) {
+				newHQL.insert( whereEnd, " ) and ( " + predicate + " ) " );
+				newHQL.insert( whereStart, " ( " );
+			} else {
+				newHQL.insert( whereEnd, " where " + predicate + " " );
+			}
+		}
+		newHQL.append( " order by " )
+		    .append( this.keys.stream().map( key -> key.expression() + ( key.descending() ? " desc" : " asc" ) ).collect( Collectors.joining( ", " ) ) );
+		return newHQL.toString();
+	}
+
+	/**
+	 * Apply the keyset to a criteria query: add the seek restriction and sort orders.
+	 *
+	 * @param criteria The criteria query.
+	 */
+	public void applyTo( Criteria criteria ) {
+		if ( this.after != null ) {
+			Criterion seek = null;
+			for ( int i = this.keys.size() - 1; i >= 0; i-- ) {
+				SortKey		key		= this.keys.get( i );
+				Object		value	= this.after.get( i );
+				Criterion	beyond	= key.descending() ? Restrictions.lt( key.expression(), value ) : Restrictions.gt( key.expression(), value );
+				seek = seek == null ? beyond : Restrictions.or( beyond, Restrictions.and( Restrictions.eq( key.expression(), value ), seek ) );
+			}
+			criteria.add( seek );
+		}
+		for ( SortKey key : this.keys ) {
+			criteria.addOrder( key.descending() ? Order.desc( key.expression() ) : Order.asc( key.expression() ) );
+		}
+	}
+
+	/**
+	 * Build the cursor for the page after the given row.
+	 *
+	 * @param row The last row of the current page: an entity, or a struct keyed by select alias or property name.
+	 *
+	 * @throws BoxRuntimeException if the row type does not expose the key values, or a key value is null.
+	 *
+	 * @return The cursor values, in key order.
+	 */
+	public Array cursorFrom( Object row ) {
+		if ( row instanceof BoxProxy proxy ) {
+			row = proxy.getRunnable();
+		}
+		Array cursor = new Array();
+		for ( SortKey key : this.keys ) {
+			Object value;
+			if ( row instanceof IClassRunnable entity ) {
+				value = resolvePath( entity, key.expression() );
+			} else if ( row instanceof IStruct struct ) {
+				Key name = Key.of( key.propertyName() );
+				value = struct.containsKey( Key.of( key.expression() ) ) ? struct.get( Key.of( key.expression() ) ) : struct.get( name );
+			} else {
+				throw new BoxRuntimeException(
+				    "Unable to build a keyset cursor from a row of type [" + row.getClass().getSimpleName()
+				        + "]. Select the entity, or use returnType 'struct' or 'query' with the sort keys in the select clause." );
+			}
+			if ( value == null ) {
+				throw new BoxRuntimeException(
+				    "Keyset sort key [" + key.expression() + "] is null on the last row of the page, so the next page can not be sought; keyset sort "
+				        + "keys must not be null." );
+			}
+			cursor.add( value );
+		}
+		return cursor;
+	}
+
+	/**
+	 * Resolve a sort key path against an entity row, following each association. A leading segment which is not a property of the entity is
+	 * taken as the query alias of the row.
+	 *
+	 * @param entity The entity row.
+	 * @param path   The sort key path.
+	 *
+	 * @throws BoxRuntimeException if a segment is not a property of the entity it is resolved against.
+	 *
+	 * @return The value, or null if the value or an association on the path is null.
+	 */
+	private static Object resolvePath( IClassRunnable entity, String path ) {
+		String[]	segments	= path.split( "\\." );
+		int			start		= segments.length > 1 && !entity.getProperties().containsKey( Key.of( segments[ 0 ] ) ) ? 1 : 0;
+		Object		value		= entity;
+		for ( int i = start; i < segments.length; i++ ) {
+			if ( value instanceof BoxProxy proxy ) {
+				value = proxy.getRunnable();
+			}
+			if ( value == null ) {
+				return null;
+			}
+			Key segment = Key.of( segments[ i ] );
+			if ( ! ( value instanceof IClassRunnable current ) || !current.getProperties().containsKey( segment ) ) {
+				throw new BoxRuntimeException( "Unable to resolve keyset sort key [" + path + "] against the selected entity: [" + segments[ i ]
+				    + "] is not an entity property. Select the root entity of the path, or use returnType 'struct' with the key as a select alias." );
+			}
+			value = current.getVariablesScope().get( segment );
+		}
+		return value;
+	}
+
+	/**
+	 * Build the cursor for the page following the given page of rows. A short (or unlimited) page means there are no further rows.
+	 *
+	 * @param rows     The rows of the current page.
+	 * @param pageSize The requested page size (`maxResults`), or null if unlimited.
+	 *
+	 * @return The next cursor, or null if this is the last page.
+	 */
+	public Array nextCursor( List<?> rows, Integer pageSize ) {
+		if ( pageSize == null || rows.isEmpty() || rows.size() < pageSize ) {
+			return null;
+		}
+		return cursorFrom( rows.getLast() );
+	}
+
+	private boolean isUniformDirection() {
+		return this.keys.stream().map( SortKey::descending ).distinct().count() == 1;
+	}
+
+	private String buildPredicate( int firstOrdinal, boolean rowValueSyntax ) {
+		int ordinal = firstOrdinal;
+		if ( rowValueSyntax && isUniformDirection() ) {
+			StringBuilder	columns			= new StringBuilder();
+			StringBuilder	placeholders	= new StringBuilder();
+			for ( SortKey key : this.keys ) {
+				if ( columns.length() > 0 ) {
+					columns.append( ", " );
+					placeholders.append( ", " );
+				}
+				columns.append( key.expression() );
+				placeholders.append( '?' ).append( ordinal++ );
+			}
+			return "( " + columns + " ) " + ( this.keys.get( 0 ).descending() ? "<" : ">" ) + " ( " + placeholders + " )";
+		}
+
+		List<String> disjuncts = new ArrayList<>();
+		for ( int i = 0; i < this.keys.size(); i++ ) {
+			List<String> conjuncts = new ArrayList<>();
+			for ( int j = 0; j < i; j++ ) {
+				conjuncts.add( this.keys.get( j ).expression() + " = ?" + ordinal++ );
+			}
+			SortKey key = this.keys.get( i );
+			conjuncts.add( key.expression() + ( key.descending() ? " < ?" : " > ?" ) + ordinal++ );
+			disjuncts.add( "( " + String.join( " and ", conjuncts ) + " )" );
+		}
+		return String.join( " or ", disjuncts );
+	}
+}
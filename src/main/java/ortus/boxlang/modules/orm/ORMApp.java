@@ -25,10 +25,16 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
+import org.hibernate.Cache;
+import org.hibernate.CacheMode;
 import org.hibernate.Criteria;
+import org.hibernate.MultiIdentifierLoadAccess;
+import org.hibernate.NaturalIdLoadAccess;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.hibernate.criterion.Order;
+import org.hibernate.criterion.ProjectionList;
+import org.hibernate.criterion.Projections;
 import org.hibernate.metadata.ClassMetadata;
 
 import ch.qos.logback.classic.Level;
@@ -38,12 +44,15 @@ import ortus.boxlang.modules.orm.config.ORMKeys;
 import ortus.boxlang.modules.orm.hibernate.BoxProxy;
 import ortus.boxlang.modules.orm.mapping.EntityRecord;
 import ortus.boxlang.modules.orm.mapping.MappingGenerator;
+import ortus.boxlang.modules.orm.mapping.PropertyIndex;
+import ortus.boxlang.modules.orm.mapping.PropertyIndex.IndexedProperty;
+import ortus.boxlang.modules.orm.mapping.inspectors.IPropertyMeta;
 import ortus.boxlang.runtime.BoxRuntime;
 import ortus.boxlang.runtime.context.IBoxContext;
 import ortus.boxlang.runtime.context.IJDBCCapableContext;
+import ortus.boxlang.runtime.context.RequestBoxContext;
 import ortus.boxlang.runtime.dynamic.casters.BooleanCaster;
 import ortus.boxlang.runtime.dynamic.casters.GenericCaster;
-import ortus.boxlang.runtime.dynamic.casters.KeyCaster;
 import ortus.boxlang.runtime.jdbc.ConnectionManager;
 import ortus.boxlang.runtime.jdbc.DataSource;
 import ortus.boxlang.runtime.logging.BoxLangLogger;
@@ -51,6 +60,8 @@ import ortus.boxlang.runtime.runnables.IClassRunnable;
 import ortus.boxlang.runtime.scopes.Key;
 import ortus.boxlang.runtime.types.Array;
 import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.Query;
+import ortus.boxlang.runtime.types.QueryColumnType;
 import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
 
 /**
@@ -109,6 +120,11 @@ public class ORMApp {
 	 */
 	private Map<Key, List<EntityRecord>>	entityMap;
 
+	/**
+	 * Background preloader of the second-level cache. Null until {@link #startCacheWarmup(RequestBoxContext)} is called.
+	 */
+	private ORMCacheWarmer					cacheWarmer;
+
 	/**
 	 * ------------------------------------------------------------------------------------------------------------
 	 * Constructor(s)
@@ -199,6 +215,28 @@ public class ORMApp {
 		return this;
 	}
 
+	/**
+	 * Start preloading the configured entities and queries into the second-level cache, in the background. Only the first call starts a warm-up.
+	 * <p>
+	 * Must be called once this app is registered with the ORM service, since loading entities looks the app up from the request context.
+	 *
+	 * @param context The request which started this app. The warm-up runs in its own context, bound to the same application.
+	 */
+	public synchronized void startCacheWarmup( RequestBoxContext context ) {
+		if ( this.cacheWarmer == null ) {
+			this.cacheWarmer = new ORMCacheWarmer( this, this.config, context ).start();
+		}
+	}
+
+	/**
+	 * Get the second-level cache warm-up of this ORM application.
+	 *
+	 * @return The warm-up, or null if it was not started.
+	 */
+	public ORMCacheWarmer getCacheWarmer() {
+		return this.cacheWarmer;
+	}
+
 	/**
 	 * Build a session factory for the given datasource using the provided JDBC context.
 	 *
@@ -297,12 +335,143 @@ public class ORMApp {
 	 *                   keys.
 	 */
 	public IClassRunnable loadEntityById( IBoxContext context, String entityName, Object keyValue ) {
+		EntityRecord entityRecord = this.lookupEntity( entityName, true );
+		return loadEntityById( context, ORMContext.getForContext( context ).getSession( entityRecord.getDatasource() ), entityName, keyValue );
+	}
+
+	/**
+	 * Load an entity by its primary key, using the given Hibernate session.
+	 *
+	 * @param context    Boxlang JDBC context
+	 * @param session    The Hibernate session to load the entity with.
+	 * @param entityName The name of the entity to load
+	 * @param keyValue   The primary key value to load the entity by.
+	 */
+	public IClassRunnable loadEntityById( IBoxContext context, Session session, String entityName, Object keyValue ) {
+		EntityRecord	entityRecord	= this.lookupEntity( entityName, true );
+		Serializable	id				= toIdentifier( context, entityName, getKeyJavaType( session, entityName ), keyValue );
+		return unwrapEntity( session.get( entityRecord.getEntityName(), id ) );
+	}
+
+	/**
+	 * Load multiple entities by primary key, returning them in the order of the given keys.
+	 * <p>
+	 * Entities already in the session or the second-level cache are returned from there; the remaining keys are loaded with Hibernate's multi-load,
+	 * which fetches them with one `IN` query per batch instead of one query per key.
+	 *
+	 * @param context     Boxlang JDBC context
+	 * @param session     The Hibernate session to load the entities with, or null to use the context's session for the entity datasource.
+	 * @param entityName  The name of the entity to load
+	 * @param keyValues   The primary key values to load. Composite keys are passed as structs.
+	 * @param batchSize   Maximum number of keys per query, or null to use the dialect's default.
+	 * @param returnNulls Whether to return null for keys with no matching entity, instead of omitting them.
+	 */
+	public Array loadEntitiesByIds( IBoxContext context, Session session, String entityName, Array keyValues, Integer batchSize, boolean returnNulls ) {
+		EntityRecord				entityRecord		= this.lookupEntity( entityName, true );
+		Session						loadSession			= session != null
+		    ? session
+		    : ORMContext.getForContext( context ).getSession( entityRecord.getDatasource() );
+		Class<?>					keyClass			= getKeyJavaType( loadSession, entityName );
+		Cache						secondLevelCache	= loadSession.getSessionFactory().getCache();
+
+		List<Serializable>			ids					= new ArrayList<>( keyValues.size() );
+		Map<Serializable, Object>	loaded				= new HashMap<>();
+		List<Serializable>			toLoad				= new ArrayList<>();
+		for ( Object keyValue : keyValues ) {
+			Serializable id = toIdentifier( context, entityName, keyClass, keyValue );
+			ids.add( id );
+			if ( loaded.containsKey( id ) ) {
+				continue;
+			}
+			if ( secondLevelCache.containsEntity( entityRecord.getEntityName(), id ) ) {
+				// Resolves from the session or second-level cache without a query
+				loaded.put( id, loadSession.get( entityRecord.getEntityName(), id ) );
+			} else {
+				loaded.put( id, null );
+				toLoad.add( id );
+			}
+		}
+
+		if ( !toLoad.isEmpty() ) {
+			MultiIdentifierLoadAccess<?> multiLoad = loadSession.byMultipleIds( entityRecord.getEntityName() )
+			    .enableSessionCheck( true )
+			    .enableOrderedReturn( true )
+			    .enableReturnOfDeletedEntities( false );
+			if ( batchSize != null && batchSize > 0 ) {
+				multiLoad.withBatchSize( batchSize );
+			}
+			// Ordered return places each entity (or null) at the position of its key
+			List<?> entities = multiLoad.multiLoad( toLoad );
+			for ( int i = 0; i < toLoad.size(); i++ ) {
+				loaded.put( toLoad.get( i ), entities.get( i ) );
+			}
+		}
+
+		Array results = new Array();
+		for ( Serializable id : ids ) {
+			IClassRunnable entity = unwrapEntity( loaded.get( id ) );
+			if ( entity != null || returnNulls ) {
+				results.add( entity );
+			}
+		}
+		return results;
+	}
+
+	/**
+	 * Load an entity by its natural id.
+	 * <p>
+	 * Resolves through Hibernate's natural id cross-reference: natural ids already resolved in the session, or in the natural id cache of a cached
+	 * entity, are translated to the primary key without a query, and the entity is then loaded from the session or second-level cache where possible.
+	 *
+	 * @param context    Boxlang JDBC context
+	 * @param entityName The name of the entity to load
+	 * @param naturalId  The natural id value, or a struct of property name to value for a natural id of several properties.
+	 *
+	 * @throws BoxRuntimeException if the entity has no natural id, or the natural id value does not match its properties.
+	 */
+	public IClassRunnable loadEntityByNaturalId( IBoxContext context, String entityName, Object naturalId ) {
 		EntityRecord	entityRecord	= this.lookupEntity( entityName, true );
 		Session			session			= ORMContext.getForContext( context ).getSession( entityRecord.getDatasource() );
+		ClassMetadata	metadata		= session.getSessionFactory().getClassMetadata( entityRecord.getEntityName() );
+		if ( !metadata.hasNaturalIdentifier() ) {
+			throw new BoxRuntimeException(
+			    "Entity '" + entityName + "' has no natural id. Annotate one or more properties with `naturalid` to load by natural id." );
+		}
 
-		Class<?>		keyClass		= getKeyJavaType( session, entityName );
-		Serializable	id;
+		PropertyIndex			propertyIndex		= entityRecord.getPropertyIndex( session.getSessionFactory() );
+		int[]					naturalIdIndexes	= metadata.getNaturalIdentifierProperties();
+		String[]				propertyNames		= metadata.getPropertyNames();
+		NaturalIdLoadAccess<?>	loadAccess			= session.byNaturalId( entityRecord.getEntityName() );
+		for ( int index : naturalIdIndexes ) {
+			Key		propertyName	= Key.of( propertyNames[ index ] );
+			Object	value;
+			if ( naturalId instanceof IStruct naturalIdStruct ) {
+				if ( !naturalIdStruct.containsKey( propertyName ) ) {
+					throw new BoxRuntimeException(
+					    "Missing natural id property '" + propertyName.getName() + "' when loading entity '" + entityName + "'." );
+				}
+				value = naturalIdStruct.get( propertyName );
+			} else if ( naturalIdIndexes.length == 1 ) {
+				value = naturalId;
+			} else {
+				throw new BoxRuntimeException(
+				    "Entity '" + entityName + "' has a natural id of several properties. Pass a struct of { propertyName: value } pairs." );
+			}
+			IndexedProperty property = propertyIndex.get( propertyName );
+			loadAccess.using( propertyName.getName(), property != null ? property.coerce( value ) : value );
+		}
+		return unwrapEntity( loadAccess.load() );
+	}
 
+	/**
+	 * Convert a BoxLang key value to the identifier type Hibernate expects for the entity.
+	 *
+	 * @param context    Boxlang JDBC context
+	 * @param entityName The name of the entity.
+	 * @param keyClass   The Java type of the entity identifier.
+	 * @param keyValue   The key value. Must be a struct for composite keys.
+	 */
+	private Serializable toIdentifier( IBoxContext context, String entityName, Class<?> keyClass, Object keyValue ) {
 		if ( java.util.Map.class.isAssignableFrom( keyClass ) ) {
 			// Composite key: Hibernate expects a HashMap<String, Object> with String keys (not Key objects)
 			if ( ! ( keyValue instanceof IStruct compositeStruct ) ) {
@@ -316,11 +485,12 @@ public class ORMApp {
 			for ( Key k : compositeStruct.keySet() ) {
 				compositeId.put( k.getName(), compositeStruct.get( k ) );
 			}
-			id = compositeId;
-		} else {
-			id = ( Serializable ) GenericCaster.cast( context, keyValue, keyClass.getSimpleName() );
+			return compositeId;
 		}
-		var entity = session.get( entityRecord.getEntityName(), id );
+		return ( Serializable ) GenericCaster.cast( context, keyValue, keyClass.getSimpleName() );
+	}
+
+	private static IClassRunnable unwrapEntity( Object entity ) {
 		if ( entity instanceof BoxProxy castProxy ) {
 			return castProxy.getRunnable();
 		} else {
@@ -337,46 +507,151 @@ public class ORMApp {
 	 * @param options    Struct of options, including maxResults, offset, order, etc.
 	 */
 	public Array loadEntitiesByFilter( IBoxContext context, String entityName, IStruct filter, IStruct options ) {
+		EntityRecord entityRecord = this.lookupEntity( entityName, true );
+		return loadEntitiesByFilter( ORMContext.getForContext( context ).getSession( entityRecord.getDatasource() ), entityName, filter, options );
+	}
+
+	/**
+	 * Load an array of entities by filter criteria, using the given Hibernate session.
+	 *
+	 * @param session    The Hibernate session to run the query with.
+	 * @param entityName The name of the entity to load.
+	 * @param filter     Struct of filter criteria.
+	 * @param options    Struct of options, including maxResults, offset, order, etc.
+	 */
+	public Array loadEntitiesByFilter( Session session, String entityName, IStruct filter, IStruct options ) {
+		FetchPlan	fetchPlan	= FetchPlan.fromOptions( options, this.config );
+		Criteria	criteria	= createFilterCriteria( session, entityName, filter );
+		if ( fetchPlan != null ) {
+			fetchPlan.applyTo( criteria, session, this.lookupEntity( entityName, true ).getEntityName() );
+		}
+		List<?> results = executeCriteriaQuery( criteria, options );
+		if ( fetchPlan != null ) {
+			fetchPlan.initialize( session, results, false );
+		}
+		return Array.of(
+		    results
+		        .stream()
+		        .map( entity -> ( IClassRunnable ) entity )
+		        .toArray()
+		);
+	}
+
+	/**
+	 * Load the entities matching the given filter criteria straight into a Query object.
+	 *
+	 * @param context    JDBC-capable context in which the BIF was invoked.
+	 * @param entityName The name of the entity to load.
+	 * @param filter     Struct of filter criteria, or null to load all entities.
+	 * @param options    Struct of options, including maxResults, offset, order, etc.
+	 */
+	public Query loadQueryByFilter( IBoxContext context, String entityName, IStruct filter, IStruct options ) {
+		EntityRecord entityRecord = this.lookupEntity( entityName, true );
+		return loadQueryByFilter( ORMContext.getForContext( context ).getSession( entityRecord.getDatasource() ), entityName, filter, options );
+	}
+
+	/**
+	 * Load the entities matching the given filter criteria straight into a Query object, using the given Hibernate session.
+	 * <p>
+	 * Only the persistent column properties are selected, via a Criteria projection, and the Query is filled column by column; no entities are
+	 * instantiated or attached to the session. The Query has the same columns as <code>entityToQuery()</code> of the loaded entities, with
+	 * association and collection columns left empty.
+	 *
+	 * @param session    The Hibernate session to run the query with.
+	 * @param entityName The name of the entity to load.
+	 * @param filter     Struct of filter criteria, or null to load all entities.
+	 * @param options    Struct of options, including maxResults, offset, order, etc.
+	 */
+	public Query loadQueryByFilter( Session session, String entityName, IStruct filter, IStruct options ) {
+		if ( Keyset.fromOptions( options ) != null ) {
+			throw new BoxRuntimeException( "Keyset pagination can not be combined with a query result." );
+		}
+		List<IPropertyMeta>	props		= this.lookupEntity( entityName, true ).getEntityMeta().getAllPersistentProperties();
+		boolean[]			projected	= new boolean[ props.size() ];
+		ProjectionList		projection	= Projections.projectionList();
+		for ( int i = 0; i < props.size(); i++ ) {
+			IPropertyMeta prop = props.get( i );
+			projected[ i ] = !prop.isAssociationType() && prop.getFieldType() != IPropertyMeta.FIELDTYPE.COLLECTION;
+			if ( projected[ i ] ) {
+				projection.add( Projections.property( prop.getName() ) );
+			}
+		}
+
+		Criteria criteria = createFilterCriteria( session, entityName, filter );
+		criteria.setProjection( projection );
+		List<?>		rows		= executeCriteriaQuery( criteria, options );
+		// A single projected property comes back as a bare value rather than a one-element array
+		boolean		singleValue	= projection.getLength() == 1;
+
+		Query		result		= new Query();
+		int			position	= 0;
+		for ( int i = 0; i < props.size(); i++ ) {
+			IPropertyMeta	prop	= props.get( i );
+			Object[]		column	= new Object[ rows.size() ];
+			if ( projected[ i ] ) {
+				for ( int row = 0; row < column.length; row++ ) {
+					column[ row ] = singleValue ? rows.get( row ) : ( ( Object[] ) rows.get( row ) )[ position ];
+				}
+				position++;
+			}
+			result.addColumn( Key.of( prop.getName() ), QueryColumnType.fromString( prop.getORMType() ), column );
+		}
+		return result;
+	}
+
+	/**
+	 * Count the entities matching the given filter criteria.
+	 * <p>
+	 * Runs a single `select count(*)` aggregate; no entities are loaded.
+	 *
+	 * @param context    JDBC-capable context in which the BIF was invoked.
+	 * @param entityName The name of the entity to count.
+	 * @param filter     Struct of filter criteria, or null to count all entities.
+	 */
+	public long countEntitiesByFilter( IBoxContext context, String entityName, IStruct filter ) {
+		EntityRecord	entityRecord	= this.lookupEntity( entityName, true );
+		Criteria		criteria		= createFilterCriteria(
+		    ORMContext.getForContext( context ).getSession( entityRecord.getDatasource() ),
+		    entityName,
+		    filter
+		);
+		criteria.setProjection( Projections.rowCount() );
+		return ( ( Number ) criteria.uniqueResult() ).longValue();
+	}
+
+	/**
+	 * Create a Criteria query for the given entity, restricted by the given filter criteria.
+	 *
+	 * @param session    The Hibernate session to create the criteria on.
+	 * @param entityName The name of the entity to query.
+	 * @param filter     Struct of property names to values. Null values match null properties.
+	 *
+	 * @throws BoxRuntimeException if a filter key is not a persistent property of the entity.
+	 */
+	private Criteria createFilterCriteria( Session session, String entityName, IStruct filter ) {
 		EntityRecord			entityRecord	= this.lookupEntity( entityName, true );
-		Session					session			= ORMContext.getForContext( context ).getSession( entityRecord.getDatasource() );
 		org.hibernate.Criteria	criteria		= session.createCriteria( entityRecord.getEntityName() );
 
 		if ( filter != null ) {
 
-			Array properties = entityRecord.getEntityMeta().getPropertyNamesArray();
+			PropertyIndex propertyIndex = entityRecord.getPropertyIndex( session.getSessionFactory() );
 
 			// Ensure that all filter keys are valid properties of the entity or its parent
-			filter.keySet()
-			    .stream()
-			    .filter( key -> !properties.contains( key ) )
-			    .findFirst()
-			    .ifPresent( key -> {
-				    throw new BoxRuntimeException(
-				        "No persistent filter property found with the name of '" + key.getName() + "' in entity '" + entityName + "'" );
-			    } );
-
 			for ( Key entryKey : filter.keySet() ) {
-				int		propertyIndex	= properties.indexOf( KeyCaster.cast( entryKey ) );
-				Object	propertyValue	= filter.get( entryKey );
+				IndexedProperty property = propertyIndex.get( entryKey );
+				if ( property == null ) {
+					throw new BoxRuntimeException(
+					    "No persistent filter property found with the name of '" + entryKey.getName() + "' in entity '" + entityName + "'" );
+				}
+				Object propertyValue = filter.get( entryKey );
 				criteria.add(
 				    propertyValue != null
-				        ? org.hibernate.criterion.Restrictions.eq(
-				            KeyCaster.cast( properties.get( propertyIndex ) ).getName(),
-				            propertyValue
-				        )
-				        : org.hibernate.criterion.Restrictions.isNull(
-				            KeyCaster.cast( properties.get( propertyIndex ) ).getName()
-				        )
+				        ? org.hibernate.criterion.Restrictions.eq( property.path(), property.coerce( propertyValue ) )
+				        : org.hibernate.criterion.Restrictions.isNull( property.path() )
 				);
 			}
 		}
-
-		return Array.of(
-		    executeCriteriaQuery( criteria, options )
-		        .stream()
-		        .map( entity -> ( IClassRunnable ) entity )
-		        .toArray()
-		);
+		return criteria;
 	}
 
 	/**
@@ -389,6 +664,12 @@ public class ORMApp {
 		if ( options.containsKey( ORMKeys.cacheable ) ) {
 			criteria.setCacheable( BooleanCaster.cast( options.get( ORMKeys.cacheable ) ) );
 		}
+		if ( options.get( ORMKeys.cacheName ) != null ) {
+			criteria.setCacheRegion( options.getAsString( ORMKeys.cacheName ) );
+		}
+		if ( options.get( ORMKeys.cacheMode ) != null ) {
+			criteria.setCacheMode( toCacheMode( options.getAsString( ORMKeys.cacheMode ) ) );
+		}
 		if ( options.containsKey( Key.timeout ) ) {
 			Integer timeout = options.getAsInteger( Key.timeout );
 			if ( timeout != null ) {
@@ -408,6 +689,14 @@ public class ORMApp {
 			}
 		}
 
+		Keyset keyset = Keyset.fromOptions( options );
+		if ( keyset != null ) {
+			if ( options.get( ORMKeys.orderBy ) != null ) {
+				throw new BoxRuntimeException( "Keyset pagination can not be combined with a sort order; the order is taken from the keyset keys." );
+			}
+			keyset.applyTo( criteria );
+		}
+
 		if ( options.containsKey( ORMKeys.orderBy ) ) {
 			options.getAsArray( ORMKeys.orderBy ).forEach( ( item ) -> {
 				IStruct	order		= ( IStruct ) item;
@@ -422,6 +711,25 @@ public class ORMApp {
 		return criteria.list();
 	}
 
+	/**
+	 * Translate a `cacheMode` query option into a Hibernate cache mode.
+	 *
+	 * @param cacheMode One of `normal`, `get`, `put`, `refresh` or `ignore`.
+	 *
+	 * @throws BoxRuntimeException if the cache mode is not recognized.
+	 */
+	public static CacheMode toCacheMode( String cacheMode ) {
+		return switch ( cacheMode.trim().toLowerCase() ) {
+			case "normal" -> CacheMode.NORMAL;
+			case "get" -> CacheMode.GET;
+			case "put" -> CacheMode.PUT;
+			case "refresh" -> CacheMode.REFRESH;
+			case "ignore" -> CacheMode.IGNORE;
+			default -> throw new BoxRuntimeException(
+			    "Invalid cacheMode [" + cacheMode + "]. Valid options are: normal, get, put, refresh, ignore" );
+		};
+	}
+
 	/**
 	 * Get the java type for the primary key of an entity.
 	 *
@@ -530,6 +838,11 @@ public class ORMApp {
 	public void shutdown() {
 		logger.debug( "Shutting down ORM App: " + this.name );
 
+		// Stop warming caches which are about to be closed
+		if ( this.cacheWarmer != null ) {
+			this.cacheWarmer.cancel();
+		}
+
 		// Close all session factories, which should also close any open sessions and connections.
 		// Log each close for visibility into shutdown progress, since it can
 		for ( Map.Entry<Key, SessionFactory> entry : this.sessionFactories.entrySet() ) {
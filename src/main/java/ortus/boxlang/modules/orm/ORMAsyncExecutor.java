@@ -0,0 +1,95 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.modules.orm;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiFunction;
+
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+
+import ortus.boxlang.runtime.async.BoxFuture;
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.context.IJDBCCapableContext;
+import ortus.boxlang.runtime.context.RequestBoxContext;
+import ortus.boxlang.runtime.context.ThreadBoxContext;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
+
+/**
+ * Runs ORM work off the request thread.
+ * <p>
+ * Each task runs on its own virtual thread with its own read-only Hibernate session, which is closed as soon as the task completes. Results are
+ * therefore detached: lazy associations which were not initialized by the task can not be loaded afterwards, and changes made to the returned
+ * entities are never flushed.
+ * <p>
+ * Each task runs in its own {@link ThreadBoxContext}, a child of the calling context, just like BoxLang's own threads. Datasource lookups and entity
+ * instantiation still resolve against the request's application and ORM configuration, but the task never shares the request's scopes or ORM
+ * sessions, which are not thread safe and may be gone by the time the task runs.
+ *
+ * @since 1.7.0
+ */
+public class ORMAsyncExecutor {
+
+	/**
+	 * Virtual thread per task executor.
+	 */
+	private final ExecutorService executor = Executors.newThreadPerTaskExecutor( Thread.ofVirtual().name( "bx-orm-async-", 0 ).factory() );
+
+	/**
+	 * Run the given work asynchronously on a new session for the given datasource.
+	 *
+	 * @param context    The calling context. Must have a request context parent.
+	 * @param datasource The datasource to open the session on, or null for the default ORM datasource.
+	 * @param work       The work to run. Receives the task's own context, and the session, which is closed once the work returns.
+	 *
+	 * @return A future which completes with the result of the work, or exceptionally with any error it threw.
+	 */
+	public BoxFuture<Object> submit( IBoxContext context, Key datasource, BiFunction<IBoxContext, Session, Object> work ) {
+		RequestBoxContext requestContext = context.getParentOfType( RequestBoxContext.class );
+		if ( requestContext == null ) {
+			throw new BoxRuntimeException( "Asynchronous ORM operations require a request context." );
+		}
+		// Resolve the session factory on the calling thread, so configuration errors are thrown to the caller
+		IBoxContext			jdbcContext		= context.getParentOfType( IJDBCCapableContext.class );
+		ORMContext			ormContext		= ORMContext.getForContext( jdbcContext );
+		SessionFactory		sessionFactory	= ormContext.getORMApp().getSessionFactoryOrThrow( ormContext.getDatasource( datasource ) );
+
+		BoxFuture<Object>	future			= new BoxFuture<>();
+		this.executor.execute( () -> ThreadBoxContext.runInContext( context, taskContext -> {
+			try ( Session session = sessionFactory.openSession() ) {
+				session.setDefaultReadOnly( true );
+				session.setHibernateFlushMode( FlushMode.MANUAL );
+				future.complete( work.apply( taskContext, session ) );
+			} catch ( Throwable e ) {
+				future.completeExceptionally( e );
+			}
+			return null;
+		} ) );
+		return future;
+	}
+
+	/**
+	 * Stop accepting new tasks. Running tasks are left to complete.
+	 */
+	public void shutdown() {
+		this.executor.shutdown();
+	}
+}
@@ -0,0 +1,401 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.modules.orm;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.CacheMode;
+import org.hibernate.FlushMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import ortus.boxlang.modules.orm.config.ORMConfig;
+import ortus.boxlang.modules.orm.config.ORMKeys;
+import ortus.boxlang.modules.orm.mapping.EntityRecord;
+import ortus.boxlang.runtime.BoxRuntime;
+import ortus.boxlang.runtime.context.ApplicationBoxContext;
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.context.RequestBoxContext;
+import ortus.boxlang.runtime.context.ScriptingRequestBoxContext;
+import ortus.boxlang.runtime.context.ThreadBoxContext;
+import ortus.boxlang.runtime.logging.BoxLangLogger;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.types.Array;
+import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.Struct;
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
+
+/**
+ * Preloads entities and HQL query results into the second-level cache in the background, after the ORM application starts.
+ * <p>
+ * Each warm-up target runs on its own virtual thread, in a read-only session which only writes to the second-level cache. Entities are scrolled
+ * rather than listed, and the session is cleared every `batchSize` rows, so even large tables are warmed in constant memory. At most `concurrency`
+ * targets run at once, and each pauses `batchDelay` milliseconds after every batch, so the warm-up never holds more than a few pooled connections
+ * or floods the database while the application takes traffic.
+ * <p>
+ * The warm-up outlives the request which started the ORM application, so it runs in a request context of its own, bound to the same application,
+ * and each target runs in a child thread context of that. Progress is logged as each target finishes, and reported by {@link #getStatus()}.
+ *
+ * @since 1.7.0
+ */
+public class ORMCacheWarmer {
+
+	public static final String				STATE_PENDING	= "pending";
+	public static final String				STATE_RUNNING	= "running";
+	public static final String				STATE_COMPLETED	= "completed";
+	public static final String				STATE_PARTIAL	= "partial";
+	public static final String				STATE_FAILED	= "failed";
+	public static final String				STATE_CANCELLED	= "cancelled";
+
+	/**
+	 * Virtual thread per task executor shared by all ORM applications. Concurrency is bounded per warmer by {@link #permits}.
+	 */
+	private static final ExecutorService	EXECUTOR		= Executors
+	    .newThreadPerTaskExecutor( Thread.ofVirtual().name( "bx-orm-cache-warmup-", 0 ).factory() );
+
+	private final BoxLangLogger				logger;
+	private final ORMApp					ormApp;
+	private final RequestBoxContext			context;
+	private final List<Target>				targets			= new ArrayList<>();
+	private final Semaphore					permits;
+	private final int						batchSize;
+	private final long						batchDelay;
+	private final CountDownLatch			remaining;
+	private volatile boolean				cancelled		= false;
+
+	/**
+	 * Constructor
+	 *
+	 * @param ormApp  The started ORM application whose caches to warm.
+	 * @param config  The ORM configuration listing the targets to warm, and how fast.
+	 * @param context The request which started the ORM application. Only its application is used, so entities and datasources resolve against it;
+	 *                the request itself is not retained.
+	 */
+	public ORMCacheWarmer( ORMApp ormApp, ORMConfig config, RequestBoxContext context ) {
+		this.logger		= BoxRuntime.getInstance().getLoggingService().getLogger( "orm" );
+		this.ormApp		= ormApp;
+		this.context	= createWarmupContext( context );
+		this.permits	= new Semaphore( config.cacheWarmupConcurrency );
+		this.batchSize	= config.cacheWarmupBatchSize;
+		this.batchDelay	= config.cacheWarmupBatchDelay;
+
+		Set<String> warmedEntities = new HashSet<>();
+		for ( Object definition : config.cacheWarmup ) {
+			Target target = new Target( ( IStruct ) definition );
+			if ( target.entityName == null || warmedEntities.add( target.entityName.toLowerCase() ) ) {
+				this.targets.add( target );
+			}
+		}
+		for ( EntityRecord entity : ormApp.getEntityRecords() ) {
+			if ( entity.getEntityMeta() != null && entity.getEntityMeta().isCacheWarmup() && warmedEntities.add( entity.getEntityName().toLowerCase() ) ) {
+				this.targets.add( new Target( Struct.of( ORMKeys.entity, entity.getEntityName() ) ) );
+			}
+		}
+		if ( !config.secondaryCacheEnabled && !this.targets.isEmpty() ) {
+			logger.warn( "Cache warm-up is configured, but the second-level cache is disabled; nothing will be preloaded." );
+			this.targets.clear();
+		}
+		this.remaining = new CountDownLatch( this.targets.size() );
+	}
+
+	/**
+	 * Start warming every target in the background.
+	 *
+	 * @return This warmer.
+	 */
+	public ORMCacheWarmer start() {
+		if ( !this.targets.isEmpty() ) {
+			logger.info( "Starting second-level cache warm-up of {} targets for ORM app [{}]", this.targets.size(), this.ormApp.getName() );
+		}
+		this.targets.forEach( target -> EXECUTOR.execute( () -> run( target ) ) );
+		return this;
+	}
+
+	/**
+	 * Stop the warm-up. Running targets stop after the row or query they are loading, and pending targets are skipped.
+	 */
+	public void cancel() {
+		this.cancelled = true;
+	}
+
+	/**
+	 * Wait for every target to finish.
+	 *
+	 * @param timeout The most time to wait.
+	 * @param unit    The unit of the timeout.
+	 *
+	 * @return true if the warm-up finished, false if the timeout elapsed first.
+	 *
+	 * @throws InterruptedException If interrupted while waiting.
+	 */
+	public boolean await( long timeout, TimeUnit unit ) throws InterruptedException {
+		return this.remaining.await( timeout, unit );
+	}
+
+	/**
+	 * Report the progress of the warm-up.
+	 * <p>
+	 * The overall state is <code>running</code> until every target finished, then <code>failed</code> if every target failed,
+	 * <code>partial</code> if only some did, <code>cancelled</code> if the warm-up was cancelled, and <code>completed</code> otherwise.
+	 *
+	 * @return A struct with the overall <code>state</code>, the <code>total</code>, <code>completed</code> and <code>failed</code> target counts,
+	 *         the number of rows <code>loaded</code> so far, and the progress of each of the <code>targets</code>.
+	 */
+	public IStruct getStatus() {
+		Array	targetStatus	= new Array();
+		long	loaded			= 0;
+		int		completed		= 0;
+		int		failed			= 0;
+		for ( Target target : this.targets ) {
+			targetStatus.add( target.getStatus() );
+			loaded += target.loaded;
+			if ( target.isFinished() ) {
+				completed++;
+				if ( STATE_FAILED.equals( target.state ) ) {
+					failed++;
+				}
+			}
+		}
+		String state;
+		if ( completed < this.targets.size() ) {
+			state = this.cancelled ? STATE_CANCELLED : STATE_RUNNING;
+		} else if ( failed > 0 ) {
+			state = failed == this.targets.size() ? STATE_FAILED : STATE_PARTIAL;
+		} else {
+			state = this.cancelled ? STATE_CANCELLED : STATE_COMPLETED;
+		}
+		return Struct.of(
+		    ORMKeys.state, state,
+		    ORMKeys.total, this.targets.size(),
+		    ORMKeys.completed, completed,
+		    ORMKeys.failed, failed,
+		    ORMKeys.loaded, loaded,
+		    ORMKeys.targets, targetStatus
+		);
+	}
+
+	/**
+	 * Warm a single target, once a permit is free.
+	 */
+	private void run( Target target ) {
+		try {
+			this.permits.acquire();
+		} catch ( InterruptedException e ) {
+			Thread.currentThread().interrupt();
+			target.finish( STATE_CANCELLED, null );
+			this.remaining.countDown();
+			return;
+		}
+		try {
+			if ( this.cancelled ) {
+				target.finish( STATE_CANCELLED, null );
+				return;
+			}
+			target.begin();
+			ThreadBoxContext.runInContext( this.context, targetContext -> {
+				try ( Session session = getSessionFactory( targetContext, target ).openSession() ) {
+					session.setDefaultReadOnly( true );
+					session.setHibernateFlushMode( FlushMode.MANUAL );
+					session.setCacheMode( CacheMode.PUT );
+					if ( target.entityName != null ) {
+						warmEntity( session, target );
+					} else {
+						warmQuery( targetContext, session, target );
+					}
+				}
+				return null;
+			} );
+			target.finish( this.cancelled ? STATE_CANCELLED : STATE_COMPLETED, null );
+			logger.info( "Cache warm-up of [{}] loaded {} rows in {} batches in {}ms", target.label, target.loaded, target.batches,
+			    target.getDuration() );
+		} catch ( Exception e ) {
+			target.finish( this.cancelled ? STATE_CANCELLED : STATE_FAILED, e.getMessage() );
+			if ( !this.cancelled ) {
+				logger.error( "Cache warm-up of [{}] failed: {}", target.label, e.getMessage(), e );
+			}
+		} finally {
+			this.permits.release();
+			this.remaining.countDown();
+		}
+	}
+
+	/**
+	 * Scroll every row of an entity into its cache region, a batch at a time.
+	 */
+	private void warmEntity( Session session, Target target ) {
+		SessionFactoryImplementor factory = ( SessionFactoryImplementor ) session.getSessionFactory();
+		if ( !factory.getMetamodel().entityPersister( target.entityName ).canWriteToCache() ) {
+			throw new BoxRuntimeException( "Entity [" + target.entityName + "] is not cached; add a cacheUse annotation to warm it up." );
+		}
+		ScrollableResults results = session.createQuery( "from " + target.entityName )
+		    .setFetchSize( this.batchSize )
+		    .scroll( ScrollMode.FORWARD_ONLY );
+		try {
+			int inBatch = 0;
+			while ( !this.cancelled && results.next() ) {
+				target.loaded++;
+				if ( ++inBatch == this.batchSize ) {
+					// Entities are in the cache once loaded, so release them from the session
+					session.clear();
+					target.batches++;
+					inBatch = 0;
+					logger.debug( "Cache warm-up of [{}]: {} rows loaded", target.label, target.loaded );
+					if ( this.batchDelay > 0 ) {
+						pause();
+					}
+				}
+			}
+			if ( inBatch > 0 ) {
+				target.batches++;
+			}
+		} finally {
+			results.close();
+		}
+	}
+
+	/**
+	 * Run an HQL query as a cacheable query, caching its results and the entities it returns.
+	 * <p>
+	 * The query is run through {@link HQLQuery}, so it is cached under the same key as the equivalent <code>ormExecuteQuery( hql, params, {
+	 * cacheable: true } )</code> call.
+	 */
+	private void warmQuery( IBoxContext context, Session session, Target target ) {
+		IStruct options = Struct.of( ORMKeys.cacheable, true, ORMKeys.cacheMode, "put" );
+		if ( target.datasource != null ) {
+			options.put( ORMKeys.datasource, target.datasource.getName() );
+		}
+		Object results = new HQLQuery( context, session, target.hql, target.params, options ).execute();
+		target.loaded	= results instanceof List<?> list ? list.size() : 0;
+		target.batches	= 1;
+	}
+
+	/**
+	 * Get the session factory of the datasource a target is loaded from.
+	 */
+	private SessionFactory getSessionFactory( IBoxContext context, Target target ) {
+		if ( target.entityName != null ) {
+			EntityRecord entity = this.ormApp.lookupEntity( target.entityName, true );
+			target.entityName = entity.getEntityName();
+			return this.ormApp.getSessionFactoryOrThrow( entity.getDatasource(), context );
+		} else if ( target.datasource != null ) {
+			return this.ormApp.getSessionFactoryOrThrow( target.datasource, context );
+		}
+		return this.ormApp.getDefaultSessionFactoryOrThrow();
+	}
+
+	/**
+	 * Wait <code>batchDelay</code> milliseconds between batches.
+	 */
+	private void pause() {
+		try {
+			Thread.sleep( this.batchDelay );
+		} catch ( InterruptedException e ) {
+			Thread.currentThread().interrupt();
+			throw new BoxRuntimeException( "Cache warm-up was interrupted", e );
+		}
+	}
+
+	/**
+	 * Create the request context the warm-up runs in: a standalone request, bound to the application and settings of the request which started
+	 * the ORM application, so it stays valid once that request ends.
+	 *
+	 * @param requestContext The request which started the ORM application.
+	 */
+	private static RequestBoxContext createWarmupContext( RequestBoxContext requestContext ) {
+		RequestBoxContext warmupContext = new ScriptingRequestBoxContext( BoxRuntime.getInstance().getRuntimeContext() );
+		warmupContext.setApplicationListener( requestContext.getApplicationListener() );
+		ApplicationBoxContext applicationContext = requestContext.getApplicationContext();
+		if ( applicationContext != null ) {
+			warmupContext.injectParentContext( new ApplicationBoxContext( applicationContext.getApplication() ) );
+		}
+		return warmupContext;
+	}
+
+	/**
+	 * A warm-up target, and its progress. Progress is only written by the thread warming the target.
+	 */
+	private static final class Target {
+
+		private final String	label;
+		private final String	hql;
+		private final Object	params;
+		private final Key		datasource;
+		private volatile String	entityName;
+		private volatile String	state	= STATE_PENDING;
+		private volatile long	loaded;
+		private volatile int	batches;
+		private volatile long	startedAt;
+		private volatile long	finishedAt;
+		private volatile String	error;
+
+		private Target( IStruct definition ) {
+			this.entityName	= definition.get( ORMKeys.entity ) instanceof String name && !name.isBlank() ? name : null;
+			this.hql		= this.entityName == null ? definition.getAsString( ORMKeys.hql ) : null;
+			this.params		= definition.get( Key.params );
+			this.datasource	= definition.get( ORMKeys.datasource ) instanceof String name && !name.isBlank() ? Key.of( name ) : null;
+			this.label		= this.entityName != null ? this.entityName : this.hql;
+		}
+
+		private void begin() {
+			this.startedAt	= System.currentTimeMillis();
+			this.state		= STATE_RUNNING;
+		}
+
+		private void finish( String finalState, String errorMessage ) {
+			this.finishedAt	= System.currentTimeMillis();
+			this.error		= errorMessage;
+			this.state		= finalState;
+		}
+
+		private boolean isFinished() {
+			return this.finishedAt > 0;
+		}
+
+		private long getDuration() {
+			if ( this.startedAt == 0 ) {
+				return 0;
+			}
+			return ( this.finishedAt > 0 ? this.finishedAt : System.currentTimeMillis() ) - this.startedAt;
+		}
+
+		private IStruct getStatus() {
+			IStruct status = Struct.of(
+			    this.hql == null ? ORMKeys.entity : ORMKeys.hql, this.label,
+			    ORMKeys.state, this.state,
+			    ORMKeys.loaded, this.loaded,
+			    ORMKeys.batches, this.batches,
+			    ORMKeys.durationMs, getDuration()
+			);
+			if ( this.error != null ) {
+				status.put( ORMKeys.error, this.error );
+			}
+			return status;
+		}
+	}
+}
@@ -22,10 +22,15 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 
 import org.hibernate.Session;
+import org.hibernate.SessionBuilder;
 import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
 
 import ortus.boxlang.modules.orm.config.ORMConfig;
 import ortus.boxlang.modules.orm.config.ORMKeys;
+import ortus.boxlang.modules.orm.hibernate.ChangeTracker;
+import ortus.boxlang.modules.orm.hibernate.ChangeTrackingInterceptor;
+import ortus.boxlang.modules.orm.hibernate.LoadMonitor;
 import ortus.boxlang.runtime.BoxRuntime;
 import ortus.boxlang.runtime.context.IBoxContext;
 import ortus.boxlang.runtime.context.IJDBCCapableContext;
@@ -113,6 +118,16 @@ public class ORMContext {
 	 */
 	private Map<Key, Session>				sessions			= new ConcurrentHashMap<>();
 
+	/**
+	 * Tracks entity property changes for this context, if `changeTracking` is enabled. Null otherwise.
+	 */
+	private ChangeTracker					changeTracker;
+
+	/**
+	 * Counts statements and lazy loads for this context, if `loadMonitor` is enabled. Null otherwise.
+	 */
+	private LoadMonitor						loadMonitor;
+
 	/**
 	 * Retrieve the ORMContext for the given boxlang context (whatever JDBC-capable context inside which we are currently executing).
 	 *
@@ -160,6 +175,12 @@ public class ORMContext {
 		this.ormService	= ( ORMService ) runtime.getGlobalService( ORMKeys.ORMService );
 		this.ormApp		= this.ormService.getORMAppByContext( context );
 		this.logger		= this.ormService.getLogger();
+		if ( config.changeTracking ) {
+			this.changeTracker = new ChangeTracker();
+		}
+		if ( config.loadMonitor ) {
+			this.loadMonitor = new LoadMonitor( config.lazyLoadThreshold, config.statementThreshold );
+		}
 		this.logger.debug( "Initializing ORM context on context type: {}", context.getClass().getSimpleName() );
 	}
 
@@ -191,6 +212,24 @@ public class ORMContext {
 		return this.sessions;
 	}
 
+	/**
+	 * Retrieve the change tracker for this context.
+	 *
+	 * @return The change tracker, or null if `changeTracking` is not enabled.
+	 */
+	public ChangeTracker getChangeTracker() {
+		return this.changeTracker;
+	}
+
+	/**
+	 * Retrieve the load monitor for this context.
+	 *
+	 * @return The load monitor, or null if `loadMonitor` is not enabled.
+	 */
+	public LoadMonitor getLoadMonitor() {
+		return this.loadMonitor;
+	}
+
 	/**
 	 * Get the default Hibernate session, opening one if it does not already exist.
 	 *
@@ -223,8 +262,17 @@ public class ORMContext {
 		return this.sessions.computeIfAbsent( sessionKey, ( key ) -> {
 			logger.debug( "opening NEW session for key: {}", sessionKey.getName() );
 
-			SessionFactory	sessionFactory	= this.ormApp.getSessionFactoryOrThrow( datasource );
-			Session			session			= sessionFactory.openSession();
+			SessionFactory		sessionFactory	= this.ormApp.getSessionFactoryOrThrow( datasource );
+			SessionBuilder<?>	builder			= sessionFactory.withOptions();
+			if ( this.changeTracker != null ) {
+				builder.interceptor( new ChangeTrackingInterceptor( this.changeTracker ) );
+			}
+			if ( this.loadMonitor != null ) {
+				// Chain to the session factory's own statement inspector, which the builder would otherwise replace
+				builder.statementInspector( this.loadMonitor.chain(
+				    ( ( SessionFactoryImplementor ) sessionFactory ).getSessionFactoryOptions().getStatementInspector() ) );
+			}
+			Session session = builder.openSession();
 			if ( !config.autoManageSession ) {
 				session.setHibernateFlushMode( org.hibernate.FlushMode.MANUAL );
 			}
@@ -270,6 +318,13 @@ public class ORMContext {
 		// Close all ORM sessions
 		this.logger.debug( "onRequestEnd - closing ORM sessions" );
 		this.closeAllSessions();
+		if ( this.changeTracker != null ) {
+			this.changeTracker.clear();
+		}
+		if ( this.loadMonitor != null ) {
+			this.loadMonitor.report( this.context, this.logger );
+			this.loadMonitor.reset();
+		}
 
 		return this;
 	}
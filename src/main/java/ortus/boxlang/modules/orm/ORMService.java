@@ -74,12 +74,23 @@ public class ORMService extends BaseService {
 	 */
 	private Map<Key, ORMApp>	ormApps					= new ConcurrentHashMap<>();
 
+	/**
+	 * Parsed HQL templates, shared across all ORM applications.
+	 */
+	private HQLTemplateCache	hqlTemplateCache		= new HQLTemplateCache();
+
+	/**
+	 * Executor for asynchronous ORM queries, shared across all ORM applications.
+	 */
+	private ORMAsyncExecutor	asyncExecutor			= new ORMAsyncExecutor();
+
 	/**
 	 * Interception points for the ORM service.
 	 */
 	private static final Key[]	ORM_INTERCEPTION_POINTS	= List.of(
 	    ORMKeys.EVENT_POST_NEW,
-	    ORMKeys.EVENT_POST_LOAD ).toArray( new Key[ 0 ] );
+	    ORMKeys.EVENT_POST_LOAD,
+	    ORMKeys.EVENT_ORM_LOAD_THRESHOLD ).toArray( new Key[ 0 ] );
 
 	/**
 	 * --------------------------------------------------------------------------
@@ -158,6 +169,7 @@ public class ORMService extends BaseService {
 	@Override
 	public void onShutdown( Boolean force ) {
 		getLogger().debug( "+ ORMService shutdown requested" );
+		this.asyncExecutor.shutdown();
 		this.ormApps.forEach( ( key, ormApp ) -> ormApp.shutdown() );
 		this.ormApps.clear();
 	}
@@ -274,9 +286,12 @@ public class ORMService extends BaseService {
 		// Derive the key the same way getORMAppByContext() does so lookups always hit.
 		Key appName = ORMService.getAppNameFromContext( context );
 		// Atomically create or get the ORMApp for the given context.
-		return this.ormApps.computeIfAbsent(
+		ORMApp ormApp = this.ormApps.computeIfAbsent(
 		    appName,
 		    key -> new ORMApp( config, appName ).startup( context ) );
+		// Warm the second-level cache only once the app is registered, since loading entities looks it up by context
+		ormApp.startCacheWarmup( context );
+		return ormApp;
 	}
 
 	/**
@@ -469,6 +484,7 @@ public class ORMService extends BaseService {
 		// Step 3: Atomically swap — put the new app into the map and retrieve the old
 		// one.
 		ORMApp	oldApp	= this.ormApps.put( appName, newApp );
+		newApp.startCacheWarmup( requestContext );
 
 		// Step 4: Shut down the old app's session factories AFTER the new one is live,
 		// minimising the disruption window for any requests still using the old
@@ -556,6 +572,24 @@ public class ORMService extends BaseService {
 		return List.copyOf( this.ormApps.keySet().stream().map( Key::getName ).toList() );
 	}
 
+	/**
+	 * Get the cache of parsed HQL templates.
+	 *
+	 * @return The HQL template cache.
+	 */
+	public HQLTemplateCache getHQLTemplateCache() {
+		return this.hqlTemplateCache;
+	}
+
+	/**
+	 * Get the executor for asynchronous ORM queries.
+	 *
+	 * @return The async executor.
+	 */
+	public ORMAsyncExecutor getAsyncExecutor() {
+		return this.asyncExecutor;
+	}
+
 	/**
 	 * --------------------------------------------------------------------------
 	 * Helper methods
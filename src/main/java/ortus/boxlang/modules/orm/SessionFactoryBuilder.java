@@ -17,9 +17,17 @@
  */
 package ortus.boxlang.modules.orm;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
@@ -32,6 +40,8 @@ import org.hibernate.cfg.Configuration;
 import ortus.boxlang.modules.orm.config.ORMConfig;
 import ortus.boxlang.modules.orm.config.ORMConnectionProvider;
 import ortus.boxlang.modules.orm.hibernate.EntityTuplizer;
+import ortus.boxlang.modules.orm.hibernate.cache.BoxHibernateCachingProvider;
+import ortus.boxlang.modules.orm.hibernate.cache.EhcacheRegionFactory;
 import ortus.boxlang.modules.orm.mapping.EntityRecord;
 import ortus.boxlang.runtime.BoxRuntime;
 import ortus.boxlang.runtime.context.IBoxContext;
@@ -40,6 +50,8 @@ import ortus.boxlang.runtime.dynamic.casters.StringCaster;
 import ortus.boxlang.runtime.logging.BoxLangLogger;
 import ortus.boxlang.runtime.modules.ModuleRecord;
 import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
 
 /**
  * Configures and starts up Hibernate - specifically, configures and starts up a session factory specific to a single datasource.
@@ -182,6 +194,16 @@ public class SessionFactoryBuilder {
 		properties.put( AvailableSettings.CLASSLOADERS, classLoaders );
 		properties.put( AvailableSettings.TC_CLASSLOADER, "org.hibernate.boot.registry.classloading.internal.AggregatedClassLoader" );
 		properties.put( AvailableSettings.GLOBALLY_QUOTED_IDENTIFIERS, StringCaster.cast( ormConfig.quoteIdentifiers ) );
+		if ( ormConfig.secondaryCacheEnabled && ormConfig.isEhcacheCacheProvider() ) {
+			// Name the Ehcache storage after this session factory, so its disk tiers are found again on the next startup or reload, and version it by
+			// the entity mappings, so entries disassembled under a previous mapping are never read back
+			properties.put( EhcacheRegionFactory.STORAGE_NAME, getUniqueName().getName() );
+			properties.put( EhcacheRegionFactory.STORAGE_VERSION, getMappingVersion() );
+		} else if ( ormConfig.secondaryCacheEnabled && !ormConfig.isHeapCacheProvider() ) {
+			// Hand Hibernate a cache manager bound to this configuration, so cache regions resolve their BoxLang cache once, without a request context.
+			// Its keys are namespaced by this session factory, since region caches are shared by every application and datasource.
+			properties.put( "hibernate.javax.cache.cache_manager", new BoxHibernateCachingProvider().createCacheManager( ormConfig, getUniqueName() ) );
+		}
 
 		configuration.getEntityTuplizerFactory().registerDefaultTuplizerClass( EntityMode.MAP, EntityTuplizer.class );
 		configuration.getEntityTuplizerFactory().registerDefaultTuplizerClass( EntityMode.POJO, EntityTuplizer.class );
@@ -200,8 +222,63 @@ public class SessionFactoryBuilder {
 		    .map( Path::toString )
 		    .forEach( configuration::addFile );
 
+		addNamedQueries( configuration );
+
 		configuration.addProperties( properties );
 
 		return configuration;
 	}
+
+	/**
+	 * Get a version of the entity mappings of this session factory: a hash of their mapping files, which changes whenever any entity's mapping does.
+	 *
+	 * @return The mapping version, as hex digits.
+	 */
+	private String getMappingVersion() {
+		try {
+			MessageDigest digest = MessageDigest.getInstance( "SHA-256" );
+			for ( EntityRecord entity : this.entities.stream().sorted( Comparator.comparing( EntityRecord::getEntityName ) ).toList() ) {
+				digest.update( entity.getEntityName().getBytes( StandardCharsets.UTF_8 ) );
+				digest.update( Files.readAllBytes( entity.getXmlFilePath() ) );
+			}
+			return HexFormat.of().formatHex( digest.digest(), 0, 8 );
+		} catch ( NoSuchAlgorithmException | IOException e ) {
+			throw new BoxRuntimeException( "Unable to hash the entity mappings of datasource [" + this.datasourceName.getName() + "]: "
+			    + e.getMessage(), e );
+		}
+	}
+
+	/**
+	 * Register the named queries declared in the ORM settings for this datasource.
+	 * <p>
+	 * Settings-level queries are not tied to an entity mapping file, so they are registered via a standalone mapping document containing only
+	 * &lt;query /&gt; elements.
+	 *
+	 * @param configuration The Hibernate configuration to add the queries to.
+	 */
+	private void addNamedQueries( Configuration configuration ) {
+		IStruct namedQueries = ormConfig.getNamedQueries( this.datasourceName );
+		if ( namedQueries.isEmpty() ) {
+			return;
+		}
+		StringBuilder xml = new StringBuilder( """
+		    <?xml version="1.0" encoding="UTF-8"?>
+		    <!DOCTYPE hibernate-mapping PUBLIC "-//Hibernate/Hibernate Mapping DTD 3.0//EN" "http://www.hibernate.org/dtd/hibernate-mapping-3.0.dtd">
+		    <hibernate-mapping>
+		    """ );
+		namedQueries.entrySet().forEach( entry -> xml
+		    .append( "<query name=\"" )
+		    .append( escapeXMLAttribute( entry.getKey().getName() ) )
+		    .append( "\"><![CDATA[" )
+		    .append( StringCaster.cast( entry.getValue() ).replace( "]]>", "]]]]><![CDATA[>" ) )
+		    .append( "]]></query>\n" ) );
+		xml.append( "</hibernate-mapping>" );
+
+		logger.debug( "Registering {} named queries for datasource {}", namedQueries.size(), this.datasourceName.getName() );
+		configuration.addInputStream( new ByteArrayInputStream( xml.toString().getBytes( StandardCharsets.UTF_8 ) ) );
+	}
+
+	private static String escapeXMLAttribute( String value ) {
+		return value.replace( "&", "&amp;" ).replace( "\"", "&quot;" ).replace( "<", "&lt;" );
+	}
 }
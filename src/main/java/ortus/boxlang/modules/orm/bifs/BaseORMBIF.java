@@ -17,10 +17,14 @@
  */
 package ortus.boxlang.modules.orm.bifs;
 
+import org.hibernate.SessionFactory;
+
 import ortus.boxlang.modules.orm.ORMService;
 import ortus.boxlang.modules.orm.config.ORMKeys;
 import ortus.boxlang.runtime.bifs.BIF;
+import ortus.boxlang.runtime.context.IBoxContext;
 import ortus.boxlang.runtime.runnables.IClassRunnable;
+import ortus.boxlang.runtime.scopes.Key;
 
 /**
  * Abstract, parent BIF utility class which all ORM bifs should extend for reuse.
@@ -58,4 +62,17 @@ public abstract class BaseORMBIF extends BIF {
 	protected String getClassNameFromFQN( String fqn ) {
 		return ORMService.getClassNameFromFQN( fqn );
 	}
+
+	/**
+	 * Get the session factory of the current ORM application for the given datasource, without opening a session.
+	 *
+	 * @param context        The context in which the BIF is being invoked.
+	 * @param datasourceName The datasource name, or null or blank for the default ORM datasource.
+	 */
+	protected SessionFactory getSessionFactory( IBoxContext context, String datasourceName ) {
+		if ( datasourceName != null && !datasourceName.isBlank() ) {
+			return this.ormService.getORMAppByContext( context ).getSessionFactoryOrThrow( Key.of( datasourceName ), context );
+		}
+		return this.ormService.getORMAppByContext( context ).getDefaultSessionFactoryOrThrow();
+	}
 }
@@ -0,0 +1,75 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.modules.orm.bifs;
+
+import java.util.Set;
+
+import ortus.boxlang.modules.orm.config.ORMKeys;
+import ortus.boxlang.runtime.bifs.BoxBIF;
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.context.IJDBCCapableContext;
+import ortus.boxlang.runtime.dynamic.casters.StructCaster;
+import ortus.boxlang.runtime.scopes.ArgumentsScope;
+import ortus.boxlang.runtime.types.Argument;
+import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.validation.Validator;
+
+/**
+ * BIF to count entities matching a filter, without loading them.
+ *
+ * @since 1.7.0
+ */
+@BoxBIF
+public class EntityCount extends BaseORMBIF {
+
+	/**
+	 * Constructor
+	 */
+	public EntityCount() {
+		super();
+		declaredArguments = new Argument[] {
+		    new Argument( true, "String", ORMKeys.entityName, Set.of( Validator.REQUIRED, Validator.NON_EMPTY ) ),
+		    new Argument( false, "Struct", ORMKeys.filter, Set.of() )
+		};
+	}
+
+	/**
+	 * Count the entities of the given type, optionally matching a struct of property filters.
+	 * <p>
+	 * The count runs as a single aggregate query, so no entities are loaded into the session.
+	 * <p>
+	 * Example:
+	 *
+	 * <pre>
+	 * var allAutos = entityCount( "Automobile" );
+	 * var fords    = entityCount( "Automobile", { make : "Ford" } );
+	 * </pre>
+	 *
+	 * @param context   The context in which the BIF is being invoked.
+	 * @param arguments Argument scope for the BIF.
+	 *
+	 * @argument.entityName The name of the entity to count.
+	 *
+	 * @argument.filter Optional struct of property names to values, using the same equality matching as <code>entityLoad</code>.
+	 */
+	public Object _invoke( IBoxContext context, ArgumentsScope arguments ) {
+		IStruct		filter			= arguments.get( ORMKeys.filter ) != null ? StructCaster.cast( arguments.get( ORMKeys.filter ) ) : null;
+		IBoxContext	jdbcBoxContext	= context.getParentOfType( IJDBCCapableContext.class );
+		return ormService.getORMAppByContext( context ).countEntitiesByFilter( jdbcBoxContext, arguments.getAsString( ORMKeys.entityName ), filter );
+	}
+}
@@ -17,29 +17,41 @@
  */
 package ortus.boxlang.modules.orm.bifs;
 
+import org.hibernate.Session;
+
+import ortus.boxlang.modules.orm.Keyset;
+import ortus.boxlang.modules.orm.ORMApp;
 import ortus.boxlang.modules.orm.config.ORMKeys;
 import ortus.boxlang.runtime.bifs.BoxBIF;
 import ortus.boxlang.runtime.context.IBoxContext;
 import ortus.boxlang.runtime.context.IJDBCCapableContext;
 import ortus.boxlang.runtime.dynamic.casters.ArrayCaster;
 import ortus.boxlang.runtime.dynamic.casters.BooleanCaster;
+import ortus.boxlang.runtime.dynamic.casters.IntegerCaster;
 import ortus.boxlang.runtime.dynamic.casters.StringCaster;
 import ortus.boxlang.runtime.dynamic.casters.StringCasterStrict;
+import ortus.boxlang.runtime.runnables.IClassRunnable;
 import ortus.boxlang.runtime.scopes.ArgumentsScope;
 import ortus.boxlang.runtime.types.Argument;
 import ortus.boxlang.runtime.types.Array;
 import ortus.boxlang.runtime.types.IStruct;
 import ortus.boxlang.runtime.types.Struct;
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
 import ortus.boxlang.runtime.types.util.BLCollector;
 import ortus.boxlang.runtime.types.util.ListUtil;
 
 @BoxBIF
 public class EntityLoad extends BaseORMBIF {
 
+	/**
+	 * The `returnType` option value which loads filter results straight into a Query object.
+	 */
+	private static final String	RETURN_TYPE_QUERY	= "query";
+
 	/**
 	 * Default options for loading entities.
 	 */
-	private final IStruct DEFAULT_OPTIONS = Struct.of(
+	private final IStruct		DEFAULT_OPTIONS		= Struct.of(
 	    // Specifies whether to retrieve a single, unique item. Default is false.
 	    "unique", Boolean.FALSE,
 	    // Ignores the case of sort order when set to true. Use only if you specify the sortorder parameter.
@@ -88,7 +100,23 @@ public class EntityLoad extends BaseORMBIF {
 	 * <li><strong><code>maxresults</code></strong> - Number. Specifies the maximum number of objects to be retrieved.</li>
 	 * <li><strong><code>cacheable</code></strong> - Boolean. Whether the result has to be cached in the secondary cache. Default is `false`.</li>
 	 * <li><strong><code>cachename</code></strong> - String. Name of the cache in secondary cache.</li>
+	 * <li><strong><code>cacheMode</code></strong> - String. One of `normal`, `get`, `put`, `refresh` or `ignore`. Defaults to the session cache mode.</li>
 	 * <li><strong><code>timeout</code></strong> - Number. Specifies the timeout value (in seconds) for the query. No timeout by default.</li>
+	 * <li><strong><code>batchsize</code></strong> - Number. When loading by an array of IDs, the maximum number of IDs to fetch per query. Defaults to
+	 * the database dialect's limit.</li>
+	 * <li><strong><code>returnNulls</code></strong> - Boolean. When loading by an array of IDs, return null in place of IDs with no matching entity
+	 * instead of omitting them. Default is `false`.</li>
+	 * <li><strong><code>fetch</code></strong> - String, Array or Struct. Association paths to load eagerly with the results, like
+	 * <code>"customer,items.product"</code>. To-one paths are joined into the query by default; pass a struct of path to style to fetch a path
+	 * with a follow-up <code>subselect</code> query instead. Paths through a collection are always fetched by subselect, so they do not multiply the
+	 * rows counted by <code>maxResults</code> and <code>offset</code>. The mapped laziness is not changed.</li>
+	 * <li><strong><code>fetchProfile</code></strong> - String. Name of a fetch plan declared in the <code>fetchProfiles</code> ORM setting, combined with
+	 * any <code>fetch</code> paths.</li>
+	 * <li><strong><code>returnType</code></strong> - String. Pass <code>query</code> with a filter to select the entity's column properties straight
+	 * into a Query object, without instantiating any entities. Association and collection columns are left empty. Defaults to <code>array</code>.</li>
+	 * <li><strong><code>keyset</code></strong> - Struct. Keyset pagination for filter-based loads, with <code>keys</code> (a list of property names
+	 * with optional <code>asc</code>/<code>desc</code>) and <code>after</code> (the cursor from the previous page). Returns a struct of
+	 * <code>results</code> and the <code>next</code> cursor, which is null on the last page.</li>
 	 * </ul>
 	 *
 	 * @param context   The context in which the BIF is being invoked.
@@ -96,7 +124,9 @@ public class EntityLoad extends BaseORMBIF {
 	 * 
 	 * @argument.entityName The name of the entity to load.
 	 * 
-	 * @argument.idOrFilter Either the ID of the entity to load, or a struct of filter criteria.
+	 * @argument.idOrFilter Either the ID of the entity to load, an array of IDs, or a struct of filter criteria. An array of IDs is loaded in as few
+	 *                      queries as possible, skipping entities already in the session or second-level cache, and returned in the order given. It
+	 *                      can not be combined with a sort order.
 	 * 
 	 * @argument.uniqueOrOrder Either a boolean indicating whether to return a unique result, or a string/array of order by clauses.
 	 * 
@@ -104,6 +134,16 @@ public class EntityLoad extends BaseORMBIF {
 	 */
 	public Object _invoke( IBoxContext context, ArgumentsScope arguments ) {
 		IBoxContext jdbcBoxContext = context.getParentOfType( IJDBCCapableContext.class );
+		normalizeArguments( arguments );
+		return load( jdbcBoxContext, arguments, null );
+	}
+
+	/**
+	 * Move a struct passed as the `uniqueOrOrder` argument to `options`, and stringify any other `uniqueOrOrder` value.
+	 *
+	 * @param arguments Arguments scope of the BIF.
+	 */
+	protected void normalizeArguments( ArgumentsScope arguments ) {
 		if ( arguments.get( ORMKeys.uniqueOrOrder ) != null && arguments.get( ORMKeys.options ) == null
 		    && arguments.get( ORMKeys.uniqueOrOrder ) instanceof IStruct ) {
 			// If the uniqueOrOrder is a struct, we need to move it to options
@@ -112,15 +152,28 @@ public class EntityLoad extends BaseORMBIF {
 		} else if ( arguments.get( ORMKeys.uniqueOrOrder ) != null ) {
 			arguments.put( ORMKeys.uniqueOrOrder, StringCaster.cast( arguments.get( ORMKeys.uniqueOrOrder ) ) );
 		}
+	}
+
+	/**
+	 * Load an entity or array of entities, according to the (normalized) BIF arguments.
+	 *
+	 * @param context   JDBC context in which the BIF was invoked.
+	 * @param arguments Arguments scope of the BIF.
+	 * @param session   The Hibernate session to load with, or null to use the context's session for the entity datasource.
+	 */
+	protected Object load( IBoxContext context, ArgumentsScope arguments, Session session ) {
+		if ( arguments.get( ORMKeys.idOrFilter ) instanceof Array ) {
+			return loadEntitiesByIds( context, arguments, session );
+		}
 		if ( arguments.containsKey( ORMKeys.idOrFilter ) ) {
 			boolean idIsSimpleValue = StringCasterStrict.attempt( arguments.get( ORMKeys.idOrFilter ) ).wasSuccessful();
 			if ( idIsSimpleValue ) {
-				return loadEntityById( jdbcBoxContext, arguments );
+				return loadEntityById( context, arguments, session );
 			}
 		}
 		// EITHER: No filter or was ID provided, so load all entities as an array...
 		// OR a non-simple value was provided (i.e. a struct or array), so load by filter.
-		return loadEntitiesByFilter( jdbcBoxContext, arguments );
+		return loadEntitiesByFilter( context, arguments, session );
 	}
 
 	/**
@@ -128,32 +181,82 @@ public class EntityLoad extends BaseORMBIF {
 	 *
 	 * @param context   JDBC context in which the BIF was invoked.
 	 * @param arguments Arguments scope of the BIF.
+	 * @param session   The Hibernate session to load with, or null.
 	 */
-	private Object loadEntityById( IBoxContext context, ArgumentsScope arguments ) {
+	private Object loadEntityById( IBoxContext context, ArgumentsScope arguments, Session session ) {
+		ORMApp			ormApp		= ormService.getORMAppByContext( context );
+		String			entityName	= arguments.getAsString( ORMKeys.entityName );
+		IClassRunnable	entity		= session != null
+		    ? ormApp.loadEntityById( context, session, entityName, arguments.get( ORMKeys.idOrFilter ) )
+		    : ormApp.loadEntityById( context, entityName, arguments.get( ORMKeys.idOrFilter ) );
 		if ( BooleanCaster.cast( arguments.getOrDefault( ORMKeys.uniqueOrOrder, "false" ) ) ) {
-			return ormService.getORMAppByContext( context ).loadEntityById( context, arguments.getAsString( ORMKeys.entityName ),
-			    arguments.get( ORMKeys.idOrFilter ) );
+			return entity;
 		}
-		var entity = ormService.getORMAppByContext( context ).loadEntityById( context, arguments.getAsString( ORMKeys.entityName ),
-		    arguments.get( ORMKeys.idOrFilter ) );
 		return entity == null ? Array.EMPTY : Array.of( entity );
 	}
 
+	/**
+	 * Load an array of entities by an array of IDs, in the order given.
+	 *
+	 * @param context   JDBC context in which the BIF was invoked.
+	 * @param arguments Arguments scope of the BIF.
+	 * @param session   The Hibernate session to load with, or null.
+	 *
+	 * @throws BoxRuntimeException if a sort order is given, since the entities are returned in the order of the IDs.
+	 */
+	private Object loadEntitiesByIds( IBoxContext context, ArgumentsScope arguments, Session session ) {
+		IStruct	options		= buildCriteriaOptions( arguments );
+		Object	batchSize	= options.get( ORMKeys.batchsize );
+		if ( options.get( ORMKeys.orderBy ) != null ) {
+			throw new BoxRuntimeException(
+			    "Loading by an array of IDs can not be combined with a sort order; the entities are returned in the order of the IDs." );
+		}
+		Array	results		= ormService.getORMAppByContext( context ).loadEntitiesByIds(
+		    context,
+		    session,
+		    arguments.getAsString( ORMKeys.entityName ),
+		    arguments.getAsArray( ORMKeys.idOrFilter ),
+		    batchSize != null ? IntegerCaster.cast( batchSize ) : null,
+		    BooleanCaster.cast( options.getOrDefault( ORMKeys.returnNulls, false ) )
+		);
+		if ( options.getAsBoolean( ORMKeys.unique ) ) {
+			return results.isEmpty() ? null : results.getFirst();
+		}
+		return results;
+	}
+
 	/**
 	 * Load an array of entities by filter criteria.
 	 *
 	 * @param context   JDBC context in which the BIF was invoked.
 	 * @param arguments Arguments scope of the BIF.
+	 * @param session   The Hibernate session to load with, or null.
 	 */
-	private Object loadEntitiesByFilter( IBoxContext context, ArgumentsScope arguments ) {
-		IStruct	options	= buildCriteriaOptions( arguments );
-		IStruct	filter	= arguments.getAsStruct( ORMKeys.idOrFilter );
+	private Object loadEntitiesByFilter( IBoxContext context, ArgumentsScope arguments, Session session ) {
+		IStruct	options		= buildCriteriaOptions( arguments );
+		IStruct	filter		= arguments.getAsStruct( ORMKeys.idOrFilter );
+		ORMApp	ormApp		= ormService.getORMAppByContext( context );
+		String	entityName	= arguments.getAsString( ORMKeys.entityName );
+
+		if ( RETURN_TYPE_QUERY.equalsIgnoreCase( StringCaster.cast( options.getOrDefault( ORMKeys.returnType, "array" ) ) ) ) {
+			return session != null
+			    ? ormApp.loadQueryByFilter( session, entityName, filter, options )
+			    : ormApp.loadQueryByFilter( context, entityName, filter, options );
+		}
 
-		Array	results	= ormService.getORMAppByContext( context ).loadEntitiesByFilter( context,
-		    arguments.getAsString( ORMKeys.entityName ), filter, options );
+		Array	results		= session != null
+		    ? ormApp.loadEntitiesByFilter( session, entityName, filter, options )
+		    : ormApp.loadEntitiesByFilter( context, entityName, filter, options );
 		if ( options.getAsBoolean( ORMKeys.unique ) ) {
 			return results.isEmpty() ? null : results.getFirst();
 		}
+		Keyset keyset = Keyset.fromOptions( options );
+		if ( keyset != null ) {
+			return Struct.of(
+			    ORMKeys.results, results,
+			    ORMKeys.next, keyset.nextCursor( results, options.getAsInteger( ORMKeys.maxResults ) )
+			);
+		}
 		return results;
 	}
 
@@ -0,0 +1,74 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.modules.orm.bifs;
+
+import ortus.boxlang.modules.orm.ORMApp;
+import ortus.boxlang.modules.orm.config.ORMKeys;
+import ortus.boxlang.runtime.async.BoxFuture;
+import ortus.boxlang.runtime.bifs.BoxBIF;
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.context.IJDBCCapableContext;
+import ortus.boxlang.runtime.scopes.ArgumentsScope;
+
+/**
+ * Asynchronous variant of {@link EntityLoad}.
+ *
+ * @since 1.7.0
+ */
+@BoxBIF
+public class EntityLoadAsync extends EntityLoad {
+
+	/**
+	 * Load an entity or array of entities on a background virtual thread, returning a future.
+	 * <p>
+	 * Accepts the same arguments and options as <code>entityLoad()</code>. The load runs in its own read-only Hibernate session which is closed once
+	 * the load completes, so the resulting entities are detached: uninitialized lazy associations can not be loaded and changes are never persisted.
+	 * <p>
+	 * Example:
+	 *
+	 * <pre>
+	 * future = entityLoadAsync( "Auto", { make : "Ford" } );
+	 * // ... other work ...
+	 * autos = future.get();
+	 * </pre>
+	 *
+	 * @param context   The context in which the BIF is being invoked.
+	 * @param arguments Argument scope for the BIF.
+	 *
+	 * @argument.entityName The name of the entity to load.
+	 *
+	 * @argument.idOrFilter Either the ID of the entity to load, or a struct of filter criteria.
+	 *
+	 * @argument.uniqueOrOrder Either a boolean indicating whether to return a unique result, or a string/array of order by clauses.
+	 *
+	 * @argument.options A struct of options to modify the load operation.
+	 *
+	 * @return A BoxFuture which completes with the loaded entity or entities.
+	 */
+	@Override
+	public BoxFuture<Object> _invoke( IBoxContext context, ArgumentsScope arguments ) {
+		IBoxContext	jdbcBoxContext	= context.getParentOfType( IJDBCCapableContext.class );
+		ORMApp		ormApp			= ormService.getORMAppByContext( jdbcBoxContext );
+		normalizeArguments( arguments );
+		return ormService.getAsyncExecutor().submit(
+		    jdbcBoxContext,
+		    ormApp.lookupEntity( arguments.getAsString( ORMKeys.entityName ), true ).getDatasource(),
+		    ( taskContext, session ) -> load( taskContext, arguments, session )
+		);
+	}
+}
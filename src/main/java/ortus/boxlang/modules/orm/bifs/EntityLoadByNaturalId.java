@@ -0,0 +1,82 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.modules.orm.bifs;
+
+import java.util.Set;
+
+import ortus.boxlang.modules.orm.config.ORMKeys;
+import ortus.boxlang.runtime.bifs.BoxBIF;
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.context.IJDBCCapableContext;
+import ortus.boxlang.runtime.scopes.ArgumentsScope;
+import ortus.boxlang.runtime.types.Argument;
+import ortus.boxlang.runtime.validation.Validator;
+
+/**
+ * BIF to load an entity by its natural id.
+ *
+ * @since 1.7.0
+ */
+@BoxBIF
+public class EntityLoadByNaturalId extends BaseORMBIF {
+
+	/**
+	 * Constructor
+	 */
+	public EntityLoadByNaturalId() {
+		super();
+		declaredArguments = new Argument[] {
+		    new Argument( true, "String", ORMKeys.entity, Set.of( Validator.REQUIRED, Validator.NON_EMPTY ) ),
+		    new Argument( true, "Any", ORMKeys.naturalId, Set.of( Validator.REQUIRED ) )
+		};
+	}
+
+	/**
+	 * Load a single entity by its natural id, like a slug, email address or SKU.
+	 * <p>
+	 * The natural id is declared by annotating one or more properties with <code>naturalid</code>. It is immutable by default; use
+	 * <code>naturalid="mutable"</code> if the value may change.
+	 *
+	 * <pre>
+	 * // models/Product.bx
+	 * property name="sku" naturalid;
+	 *
+	 * var product = entityLoadByNaturalId( "Product", "ABC-123" );
+	 * </pre>
+	 *
+	 * Unlike a filtered <code>entityLoad()</code>, repeated lookups are resolved from the session, and from the second-level cache when the entity is
+	 * cached, without querying the database.
+	 *
+	 * @param context   The context in which the BIF is being invoked.
+	 * @param arguments Argument scope for the BIF.
+	 *
+	 * @argument.entity The name of the entity to load.
+	 *
+	 * @argument.naturalId The natural id value, or a struct of property name to value for a natural id made up of several properties.
+	 *
+	 * @return The entity, or null if no entity matches the natural id.
+	 */
+	public Object _invoke( IBoxContext context, ArgumentsScope arguments ) {
+		IBoxContext jdbcBoxContext = context.getParentOfType( IJDBCCapableContext.class );
+		return ormService.getORMAppByContext( context ).loadEntityByNaturalId(
+		    jdbcBoxContext,
+		    arguments.getAsString( ORMKeys.entity ),
+		    arguments.get( ORMKeys.naturalId )
+		);
+	}
+}
@@ -26,6 +26,7 @@ import ortus.boxlang.runtime.context.IJDBCCapableContext;
 import ortus.boxlang.runtime.scopes.ArgumentsScope;
 import ortus.boxlang.runtime.scopes.Key;
 import ortus.boxlang.runtime.types.Argument;
+import ortus.boxlang.runtime.types.Array;
 import ortus.boxlang.runtime.validation.Validator;
 
 @BoxBIF
@@ -59,13 +60,20 @@ public class EntityLoadByPK extends BaseORMBIF {
 	 * <pre>
 	 * entityLoadByPK( "VehicleType", { make : "Ford", model: "Fusion" } );
 	 * </pre>
+	 * <p>
+	 * Pass an array of keys to load several entities at once. They are fetched in batches with a single query per batch, and returned as an array in
+	 * the order of the keys. Keys with no matching entity are omitted.
+	 *
+	 * <pre>
+	 * var autos = entityLoadByPK( "Automobile", [ "1HGCM82633A123456", "2HGCM82633A654321" ] );
+	 * </pre>
 	 *
 	 * @param context   The context in which the BIF is being invoked.
 	 * @param arguments Argument scope for the BIF.
 	 * 
 	 * @argument.entity The name of the entity to load.
 	 * 
-	 * @argument.id The primary key value, or a struct of key/value pairs for composite keys.
+	 * @argument.id The primary key value, or a struct of key/value pairs for composite keys. May also be an array of either.
 	 * 
 	 * @argument.unique Not implemented. In BoxLang, a single entity is always returned.
 	 */
@@ -74,6 +82,9 @@ public class EntityLoadByPK extends BaseORMBIF {
 		Object		keyValue		= arguments.get( Key.id );
 
 		IBoxContext	jdbcBoxContext	= context.getParentOfType( IJDBCCapableContext.class );
+		if ( keyValue instanceof Array keyValues ) {
+			return ormService.getORMAppByContext( context ).loadEntitiesByIds( jdbcBoxContext, null, entityName, keyValues, null, false );
+		}
 		return ormService.getORMAppByContext( context ).loadEntityById( jdbcBoxContext, entityName, keyValue );
 	}
 }
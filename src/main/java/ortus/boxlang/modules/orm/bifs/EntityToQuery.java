@@ -33,6 +33,7 @@ import ortus.boxlang.runtime.scopes.ArgumentsScope;
 import ortus.boxlang.runtime.scopes.Key;
 import ortus.boxlang.runtime.types.Argument;
 import ortus.boxlang.runtime.types.Array;
+import ortus.boxlang.runtime.types.IStruct;
 import ortus.boxlang.runtime.types.Query;
 import ortus.boxlang.runtime.types.QueryColumnType;
 import ortus.boxlang.runtime.types.Struct;
@@ -48,19 +49,29 @@ public class EntityToQuery extends BaseORMBIF {
 		super();
 		declaredArguments = new Argument[] {
 		    new Argument( true, "Any", ORMKeys.entity ),
-		    new Argument( false, "Any", Key._name )
+		    new Argument( false, "Any", Key._name ),
+		    new Argument( false, "Struct", Key.options )
 		};
 	}
 
 	/**
 	 * Convert an entity or array of entities to a Query object.
+	 * <p>
+	 * Alternatively, pass an entity name and an (optional) filter struct to select the matching rows straight into a Query, without loading any
+	 * entities:
+	 *
+	 * <pre>
+	 * entityToQuery( "Vehicle", { make : "Honda" }, { maxResults : 10 } );
+	 * </pre>
 	 *
 	 * @param context   The context in which the BIF is being invoked.
 	 * @param arguments Argument scope for the BIF.
 	 *
-	 * @argument.entity An instance of an ORM entity or an array of entities.
+	 * @argument.entity An instance of an ORM entity, an array of entities, or the name of an entity to query.
+	 *
+	 * @argument.name The name of the entity. Required if `entity` is an empty array. When `entity` is an entity name, a struct of filter criteria.
 	 *
-	 * @argument.name The name of the entity. Required if `entity` is an array.
+	 * @argument.options When `entity` is an entity name, a struct of query options, as accepted by <code>entityLoad()</code>.
 	 */
 	public Object _invoke( IBoxContext context, ArgumentsScope arguments ) {
 		IBoxContext	jdbcBoxContext	= context.getParentOfType( IJDBCCapableContext.class );
@@ -75,6 +86,14 @@ public class EntityToQuery extends BaseORMBIF {
 		    : null;
 
 		Object			item			= arguments.get( ORMKeys.entity );
+		if ( item instanceof String queryEntityName ) {
+			Object	filter	= arguments.get( Key._name );
+			IStruct	options	= arguments.get( Key.options ) != null ? arguments.getAsStruct( Key.options ) : new Struct();
+			if ( filter != null && ! ( filter instanceof IStruct ) ) {
+				throw new BoxRuntimeException( "The filter for entity [" + queryEntityName + "] must be a struct." );
+			}
+			return ormApp.loadQueryByFilter( jdbcBoxContext, queryEntityName, ( IStruct ) filter, options );
+		}
 		if ( item instanceof List entities ) {
 			if ( entities.isEmpty() ) {
 				// if we have an empty list then we'll need to create a blank query
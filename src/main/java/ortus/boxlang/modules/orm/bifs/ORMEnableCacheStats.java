@@ -0,0 +1,74 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.modules.orm.bifs;
+
+import java.util.Set;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import ortus.boxlang.modules.orm.config.ORMKeys;
+import ortus.boxlang.modules.orm.hibernate.cache.RegionStatisticsProvider;
+import ortus.boxlang.runtime.bifs.BoxBIF;
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.dynamic.casters.BooleanCaster;
+import ortus.boxlang.runtime.scopes.ArgumentsScope;
+import ortus.boxlang.runtime.types.Argument;
+import ortus.boxlang.runtime.validation.Validator;
+
+/**
+ * BIF to start or stop collecting second-level cache statistics at runtime.
+ *
+ * @since 1.7.0
+ */
+@BoxBIF
+public class ORMEnableCacheStats extends BaseORMBIF {
+
+	/**
+	 * Constructor
+	 */
+	public ORMEnableCacheStats() {
+		super();
+		declaredArguments = new Argument[] {
+		    new Argument( false, "Boolean", ORMKeys.enabled, true ),
+		    new Argument( false, "String", ORMKeys.datasource, Set.of( Validator.NON_EMPTY ) )
+		};
+	}
+
+	/**
+	 * Start or stop collecting statistics on every second-level cache region of the named or default datasource, without reloading the ORM
+	 * application. While enabled, each region is also published as a JCache <code>CacheStatisticsMXBean</code>. Counts collected so far are kept when
+	 * statistics are disabled.
+	 *
+	 * @param context   The context in which the BIF is being invoked.
+	 * @param arguments Argument scope for the BIF.
+	 *
+	 * @argument.enabled Whether to collect statistics. Defaults to true.
+	 *
+	 * @argument.datasource The name of the datasource whose cache regions to toggle. If not provided, the default datasource will be used.
+	 *
+	 * @return True if the datasource has a second-level cache whose statistics could be toggled.
+	 */
+	public Boolean _invoke( IBoxContext context, ArgumentsScope arguments ) {
+		SessionFactoryImplementor factory = ( SessionFactoryImplementor ) getSessionFactory( context, arguments.getAsString( ORMKeys.datasource ) );
+		if ( factory.getCache().getRegionFactory() instanceof RegionStatisticsProvider provider ) {
+			provider.setStatisticsEnabled( BooleanCaster.cast( arguments.get( ORMKeys.enabled ) ) );
+			return true;
+		}
+		return false;
+	}
+}
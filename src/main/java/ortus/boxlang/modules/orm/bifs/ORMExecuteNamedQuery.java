@@ -0,0 +1,118 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.modules.orm.bifs;
+
+import java.util.List;
+import java.util.Set;
+
+import ortus.boxlang.modules.orm.HQLQuery;
+import ortus.boxlang.modules.orm.config.ORMKeys;
+import ortus.boxlang.runtime.bifs.BoxBIF;
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.dynamic.casters.BooleanCaster;
+import ortus.boxlang.runtime.dynamic.casters.StructCaster;
+import ortus.boxlang.runtime.scopes.ArgumentsScope;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.types.Argument;
+import ortus.boxlang.runtime.types.Array;
+import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.Struct;
+import ortus.boxlang.runtime.types.util.BLCollector;
+import ortus.boxlang.runtime.validation.Validator;
+
+/**
+ * BIF to execute a named HQL query declared in the ORM settings or via an entity annotation.
+ *
+ * @since 1.7.0
+ */
+@BoxBIF
+public class ORMExecuteNamedQuery extends BaseORMBIF {
+
+	/**
+	 * Constructor
+	 */
+	public ORMExecuteNamedQuery() {
+		super();
+		declaredArguments = new Argument[] {
+		    new Argument( true, "String", Key._NAME, Set.of( Validator.REQUIRED, Validator.NON_EMPTY ) ),
+		    new Argument( false, "Any", Key.params, Set.of() ),
+		    new Argument( false, "Struct", Key.options, Set.of() )
+		};
+	}
+
+	/**
+	 * Execute a named HQL query with (optional) parameters and specific query options.
+	 * <p>
+	 * Named queries are declared via the `namedQueries` ORM setting or entity annotation, and are compiled and validated when the ORM application
+	 * starts up.
+	 * <p>
+	 * Example:
+	 *
+	 * <pre>
+	 * // Application.bx
+	 * this.ormSettings.namedQueries = {
+	 *   "autosByMake" : "FROM autos WHERE make = :make"
+	 * };
+	 *
+	 * ORMExecuteNamedQuery( "autosByMake", { make: 'Ford' } );
+	 * </pre>
+	 *
+	 * The options struct accepts the same keys as {@link ORMExecuteQuery}: <code>unique</code>, <code>datasource</code>, <code>offset</code>,
+	 * <code>maxresults</code> and <code>readonly</code>.
+	 *
+	 * @param context   The context in which the BIF is being invoked.
+	 * @param arguments Argument scope for the BIF.
+	 *
+	 * @argument.name The name of the query to execute.
+	 *
+	 * @argument.params Optional parameters for the query. Can be a struct of named parameters or an array of positional (<code>?1</code>,
+	 *                  <code>?2</code>...) parameters.
+	 *
+	 * @argument.options Optional struct of additional query options.
+	 */
+	public Object _invoke( IBoxContext context, ArgumentsScope arguments ) {
+		IStruct	options	= arguments.get( Key.options ) != null
+		    ? new Struct( StructCaster.cast( arguments.get( Key.options ) ) )
+		    : new Struct();
+		Object	params	= arguments.get( Key.params );
+
+		if ( params instanceof Array paramsArray ) {
+			params = paramsArray.stream().map( param -> ORMExecuteQuery.castParam( param, context ) ).collect( BLCollector.toArray() );
+		} else if ( params instanceof IStruct paramsStruct ) {
+			params = paramsStruct.entrySet().stream()
+			    .map( entry -> {
+				    entry.setValue( ORMExecuteQuery.castParam( entry.getValue(), context ) );
+				    return entry;
+			    } ).collect( BLCollector.toStruct() );
+		}
+
+		boolean isUnique = BooleanCaster.cast( options.getOrDefault( ORMKeys.unique, false ) );
+		if ( isUnique ) {
+			options.put( ORMKeys.maxResults, 1 );
+		}
+
+		Object results = HQLQuery.named( context, arguments.getAsString( Key._NAME ), params, options ).execute();
+		if ( results instanceof List<?> castList ) {
+			if ( isUnique ) {
+				return castList.isEmpty() ? null : castList.getFirst();
+			}
+			return Array.fromList( castList );
+		}
+		return results;
+	}
+}
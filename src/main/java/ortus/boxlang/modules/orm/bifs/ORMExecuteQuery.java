@@ -21,6 +21,8 @@ import java.time.LocalTime;
 import java.util.List;
 import java.util.Set;
 
+import org.hibernate.Session;
+
 import ortus.boxlang.modules.orm.HQLQuery;
 import ortus.boxlang.modules.orm.ORMService;
 import ortus.boxlang.modules.orm.config.ORMKeys;
@@ -84,6 +86,23 @@ public class ORMExecuteQuery extends BaseORMBIF {
 	 * <li><strong><code>offset</code></strong> - Specifies the position from which to retrieve the objects. Default is 0.</li>
 	 * <li><strong><code>maxresults</code></strong> - Specifies the maximum number of objects to be retrieved. Default is no limit.</li>
 	 * <li><strong><code>readonly</code></strong> - If true, the query will be read-only. Default is false.</li>
+	 * <li><strong><code>cacheable</code></strong> - Whether the query results should be stored in the query cache. Default is false.</li>
+	 * <li><strong><code>cachename</code></strong> - Name of the query cache region to use. Evict it with <code>ORMEvictQueries( cachename )</code>.</li>
+	 * <li><strong><code>cacheMode</code></strong> - How the query interacts with the second-level cache: one of <code>normal</code> (default),
+	 * <code>get</code>, <code>put</code>, <code>refresh</code> or <code>ignore</code>.</li>
+	 * <li><strong><code>returnType</code></strong> - One of <code>array</code> (default), <code>query</code> or <code>struct</code>. <code>query</code>
+	 * returns a Query object and <code>struct</code> an array of structs, both using the select aliases as column names.</li>
+	 * <li><strong><code>keyset</code></strong> - Keyset pagination, as a struct of <code>keys</code> (a list of sort keys such as
+	 * <code>"a.created desc, a.id desc"</code>, each a non-null property path) and <code>after</code> (the cursor from the previous page). The HQL
+	 * must not have an ORDER BY clause.
+	 * Combine with <code>maxResults</code> to set the page size. Returns a struct of <code>results</code> and the <code>next</code> cursor, which is
+	 * null on the last page.</li>
+	 * <li><strong><code>fetch</code></strong> - Association paths (list, array or struct of path to style) to load eagerly for the entities returned.
+	 * Each path is loaded for all results at once by a single follow-up join-fetch query, instead of lazily per entity.</li>
+	 * <li><strong><code>fetchProfile</code></strong> - Name of a fetch plan declared in the <code>fetchProfiles</code> ORM setting.</li>
+	 * <li><strong><code>withTotal</code></strong> - If true, also count the total number of rows the query matches, ignoring <code>offset</code>,
+	 * <code>maxResults</code> and any keyset cursor. Returns a struct of <code>results</code> and <code>total</code>. The count is derived from the same
+	 * HQL as a single <code>select count(*)</code> query, so the HQL must not use GROUP BY or a distinct select of more than one column.</li>
 	 * </ul>
 	 *
 	 * @param context   The context in which the BIF is being invoked.
@@ -99,6 +118,17 @@ public class ORMExecuteQuery extends BaseORMBIF {
 	 * @argument.options Optional struct of additional query options.
 	 */
 	public Object _invoke( IBoxContext context, ArgumentsScope arguments ) {
+		return execute( context, arguments, null );
+	}
+
+	/**
+	 * Execute the query described by the BIF arguments.
+	 *
+	 * @param context   The context in which the BIF is being invoked.
+	 * @param arguments Argument scope for the BIF.
+	 * @param session   The Hibernate session to run the query on, or null to use the context's session.
+	 */
+	protected Object execute( IBoxContext context, ArgumentsScope arguments, Session session ) {
 		IStruct	options		= arguments.containsKey( Key.options ) && arguments.get( Key.options ) != null
 		    ? StructCaster.cast( arguments.getOrDefault( Key.options, Struct.EMPTY ) )
 		    : new Struct();
@@ -138,7 +168,19 @@ public class ORMExecuteQuery extends BaseORMBIF {
 		if ( isUnique ) {
 			options.put( ORMKeys.maxResults, 1 );
 		}
-		Object results = new HQLQuery( context, arguments.getAsString( ORMKeys.hql ), params, options ).execute();
+		HQLQuery	query		= new HQLQuery( context, session, arguments.getAsString( ORMKeys.hql ), params, options );
+		Object		results		= query.execute();
+		boolean		withTotal	= BooleanCaster.cast( options.getOrDefault( ORMKeys.withTotal, false ) );
+		if ( query.hasKeyset() || ( withTotal && ! ( results instanceof Integer ) ) ) {
+			IStruct page = Struct.of( ORMKeys.results, results instanceof List<?> castList ? Array.fromList( castList ) : results );
+			if ( query.hasKeyset() ) {
+				page.put( ORMKeys.next, query.getNextCursor() );
+			}
+			if ( withTotal ) {
+				page.put( ORMKeys.total, query.count() );
+			}
+			return page;
+		}
 		if ( results instanceof List<?> castList ) {
 			if ( options.getAsBoolean( ORMKeys.unique ) ) {
 				return castList.isEmpty() ? null : castList.getFirst();
@@ -149,7 +191,7 @@ public class ORMExecuteQuery extends BaseORMBIF {
 		}
 	}
 
-	private Object castParam( Object param, IBoxContext context ) {
+	static Object castParam( Object param, IBoxContext context ) {
 		if ( param instanceof String ) {
 			CastAttempt<LocalTime> timeCastAttempt = TimeCaster.attempt( param );
 			if ( timeCastAttempt.wasSuccessful() ) {
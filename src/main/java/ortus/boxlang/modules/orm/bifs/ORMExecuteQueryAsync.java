@@ -0,0 +1,80 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.modules.orm.bifs;
+
+import java.util.stream.Stream;
+
+import ortus.boxlang.modules.orm.config.ORMKeys;
+import ortus.boxlang.runtime.async.BoxFuture;
+import ortus.boxlang.runtime.bifs.BoxBIF;
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.context.IJDBCCapableContext;
+import ortus.boxlang.runtime.scopes.ArgumentsScope;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.types.IStruct;
+
+/**
+ * Asynchronous variant of {@link ORMExecuteQuery}.
+ *
+ * @since 1.7.0
+ */
+@BoxBIF
+public class ORMExecuteQueryAsync extends ORMExecuteQuery {
+
+	/**
+	 * Execute an HQL query on a background virtual thread, returning a future.
+	 * <p>
+	 * Accepts the same arguments and options as <code>ORMExecuteQuery()</code>. The query runs in its own read-only Hibernate session on the requested
+	 * (or default) datasource, which is closed once the query completes. Any returned entities are detached, so several independent queries can run
+	 * concurrently with each other and with the rest of the request.
+	 * <p>
+	 * Example:
+	 *
+	 * <pre>
+	 * totals = ORMExecuteQueryAsync( "SELECT make, count(*) AS total FROM autos GROUP BY make", [], { returnType : "query" } );
+	 * latest = ORMExecuteQueryAsync( "FROM autos ORDER BY created DESC", [], { maxResults : 10 } );
+	 * report( totals.get(), latest.get() );
+	 * </pre>
+	 *
+	 * @param context   The context in which the BIF is being invoked.
+	 * @param arguments Argument scope for the BIF.
+	 *
+	 * @argument.hql The HQL query string to execute.
+	 *
+	 * @argument.params Optional parameters for the HQL query. Can be a struct of named parameters or an array of positional parameters.
+	 *
+	 * @argument.unique Optional boolean indicating whether to return a unique result (true) or a list of results (false).
+	 *
+	 * @argument.options Optional struct of additional query options.
+	 *
+	 * @return A BoxFuture which completes with the query results.
+	 */
+	@Override
+	public BoxFuture<Object> _invoke( IBoxContext context, ArgumentsScope arguments ) {
+		IBoxContext	jdbcBoxContext	= context.getParentOfType( IJDBCCapableContext.class );
+		// Options may be passed in place of the "unique" argument
+		Key			datasource		= Stream.of( arguments.get( Key.options ), arguments.get( ORMKeys.unique ) )
+		    .filter( IStruct.class::isInstance )
+		    .map( options -> ( ( IStruct ) options ).getAsString( Key.datasource ) )
+		    .filter( name -> name != null && !name.isBlank() )
+		    .findFirst()
+		    .map( Key::of )
+		    .orElse( null );
+		return ormService.getAsyncExecutor().submit( jdbcBoxContext, datasource, ( taskContext, session ) -> execute( taskContext, arguments, session ) );
+	}
+}
@@ -0,0 +1,126 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.modules.orm.bifs;
+
+import java.util.List;
+import java.util.Set;
+
+import ortus.boxlang.modules.orm.HQLQuery;
+import ortus.boxlang.modules.orm.config.ORMKeys;
+import ortus.boxlang.runtime.bifs.BoxBIF;
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.dynamic.casters.BooleanCaster;
+import ortus.boxlang.runtime.dynamic.casters.StructCaster;
+import ortus.boxlang.runtime.scopes.ArgumentsScope;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.types.Argument;
+import ortus.boxlang.runtime.types.Array;
+import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.Struct;
+import ortus.boxlang.runtime.types.util.BLCollector;
+import ortus.boxlang.runtime.validation.Validator;
+
+/**
+ * BIF to execute a native SQL query on the ORM session, optionally mapping the rows to entities.
+ *
+ * @since 1.7.0
+ */
+@BoxBIF
+public class ORMExecuteSQL extends BaseORMBIF {
+
+	/**
+	 * Constructor
+	 */
+	public ORMExecuteSQL() {
+		super();
+		declaredArguments = new Argument[] {
+		    new Argument( true, "String", ORMKeys.sql, Set.of( Validator.REQUIRED, Validator.NON_EMPTY ) ),
+		    new Argument( false, "Any", Key.params, Set.of() ),
+		    new Argument( false, "Struct", Key.options, Set.of() )
+		};
+	}
+
+	/**
+	 * Execute a native SQL query with (optional) parameters and specific query options.
+	 * <p>
+	 * Use this for database-specific SQL which HQL can not express, such as window functions or index hints. The query runs on the ORM session for
+	 * the datasource, so pending changes are flushed first (unless <code>autoManageSession</code> is disabled) and entity results join the session.
+	 * <p>
+	 * Example:
+	 *
+	 * <pre>
+	 * // Map rows to entities. The SQL must select every mapped column of the entity.
+	 * var autos = ORMExecuteSQL( "SELECT * FROM autos USE INDEX (idx_make) WHERE make = :make", { make : "Ford" }, { entity : "Auto" } );
+	 *
+	 * // Scalar projections as a Query object
+	 * var ranked = ORMExecuteSQL( "SELECT make, RANK() OVER (ORDER BY sales DESC) AS salesRank FROM autos", [], { returnType : "query" } );
+	 * </pre>
+	 *
+	 * The options struct accepts the following keys:
+	 * <ul>
+	 * <li><strong><code>entity</code></strong> - Name of the entity to map each row to. Default is to return the raw column values.</li>
+	 * <li><strong><code>scalars</code></strong> - Array or list of column aliases to return, typed by Hibernate from the result set. They also name
+	 * the columns of the <code>query</code> and <code>struct</code> return types, so a query result keeps its columns when no rows match.</li>
+	 * <li><strong><code>querySpaces</code></strong> - Array or list of the tables the query reads, so that writes to them invalidate its cached results.
+	 * Required for a <code>cacheable</code> query without an <code>entity</code>.</li>
+	 * <li><strong><code>returnType</code></strong> - One of <code>array</code> (default), <code>query</code> or <code>struct</code>. Not supported
+	 * together with <code>entity</code>.</li>
+	 * <li><strong><code>unique</code></strong>, <code>datasource</code>, <code>offset</code>, <code>maxresults</code>, <code>readonly</code>,
+	 * <code>cacheable</code>, <code>cachename</code> and <code>cacheMode</code> - as for {@link ORMExecuteQuery}.</li>
+	 * </ul>
+	 *
+	 * @param context   The context in which the BIF is being invoked.
+	 * @param arguments Argument scope for the BIF.
+	 *
+	 * @argument.sql The native SQL query string to execute.
+	 *
+	 * @argument.params Optional parameters for the query. Can be a struct of named parameters or an array of positional parameters.
+	 *
+	 * @argument.options Optional struct of additional query options.
+	 */
+	public Object _invoke( IBoxContext context, ArgumentsScope arguments ) {
+		IStruct	options	= arguments.get( Key.options ) != null
+		    ? new Struct( StructCaster.cast( arguments.get( Key.options ) ) )
+		    : new Struct();
+		Object	params	= arguments.get( Key.params );
+
+		if ( params instanceof Array paramsArray ) {
+			params = paramsArray.stream().map( param -> ORMExecuteQuery.castParam( param, context ) ).collect( BLCollector.toArray() );
+		} else if ( params instanceof IStruct paramsStruct ) {
+			params = paramsStruct.entrySet().stream()
+			    .map( entry -> {
+				    entry.setValue( ORMExecuteQuery.castParam( entry.getValue(), context ) );
+				    return entry;
+			    } ).collect( BLCollector.toStruct() );
+		}
+
+		boolean isUnique = BooleanCaster.cast( options.getOrDefault( ORMKeys.unique, false ) );
+		if ( isUnique ) {
+			options.put( ORMKeys.maxResults, 1 );
+		}
+
+		Object results = HQLQuery.nativeSQL( context, arguments.getAsString( ORMKeys.sql ), params, options ).execute();
+		if ( results instanceof List<?> castList ) {
+			if ( isUnique ) {
+				return castList.isEmpty() ? null : castList.getFirst();
+			}
+			return Array.fromList( castList );
+		}
+		return results;
+	}
+}
@@ -0,0 +1,84 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.modules.orm.bifs;
+
+import java.util.Set;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import ortus.boxlang.modules.orm.config.ORMKeys;
+import ortus.boxlang.modules.orm.hibernate.cache.RegionStatisticsProvider;
+import ortus.boxlang.runtime.bifs.BoxBIF;
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.scopes.ArgumentsScope;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.types.Argument;
+import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.Struct;
+import ortus.boxlang.runtime.validation.Validator;
+
+/**
+ * BIF to retrieve the second-level cache statistics of each cache region.
+ *
+ * @since 1.7.0
+ */
+@BoxBIF
+public class ORMGetCacheStats extends BaseORMBIF {
+
+	/**
+	 * Constructor
+	 */
+	public ORMGetCacheStats() {
+		super();
+		declaredArguments = new Argument[] {
+		    new Argument( false, "String", ORMKeys.datasource, Set.of( Validator.NON_EMPTY ) )
+		};
+	}
+
+	/**
+	 * Get the second-level cache statistics of every cache region on the named or default datasource.
+	 * <p>
+	 * Returns a struct keyed by region name. Each region reports <code>enabled</code>, <code>hits</code>, <code>misses</code>, <code>hitRatio</code>,
+	 * <code>puts</code>, <code>removals</code>, <code>evictions</code>, <code>size</code> and <code>maxSize</code>. Counters only move while statistics
+	 * are enabled, via the <code>cacheStatistics</code> ORM setting or {@link ORMEnableCacheStats}. Regions backed by a BoxLang cache report no
+	 * evictions and a <code>maxSize</code> of 0, since the BoxLang cache evicts on its own.
+	 * <p>
+	 * Example:
+	 *
+	 * <pre>
+	 * ormEnableCacheStats();
+	 * var stats = ormGetCacheStats();
+	 * writeDump( stats[ "Vehicle" ].hitRatio );
+	 * </pre>
+	 *
+	 * @param context   The context in which the BIF is being invoked.
+	 * @param arguments Argument scope for the BIF.
+	 *
+	 * @argument.datasource The name of the datasource whose cache regions to report on. If not provided, the default datasource will be used.
+	 *
+	 * @return A struct of region name to region statistics, empty if the second-level cache is not enabled.
+	 */
+	public IStruct _invoke( IBoxContext context, ArgumentsScope arguments ) {
+		SessionFactoryImplementor	factory	= ( SessionFactoryImplementor ) getSessionFactory( context, arguments.getAsString( ORMKeys.datasource ) );
+		IStruct						result	= new Struct( IStruct.TYPES.LINKED );
+		if ( factory.getCache().getRegionFactory() instanceof RegionStatisticsProvider provider ) {
+			provider.getRegionStatistics().forEach( ( regionName, statistics ) -> result.put( Key.of( regionName ), statistics.getStats() ) );
+		}
+		return result;
+	}
+}
@@ -0,0 +1,76 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.modules.orm.bifs;
+
+import ortus.boxlang.modules.orm.ORMCacheWarmer;
+import ortus.boxlang.runtime.bifs.BoxBIF;
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.scopes.ArgumentsScope;
+import ortus.boxlang.runtime.types.Argument;
+import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.Struct;
+
+/**
+ * BIF to report the progress of the second-level cache warm-up.
+ *
+ * @since 1.7.0
+ */
+@BoxBIF
+public class ORMGetCacheWarmupStatus extends BaseORMBIF {
+
+	/**
+	 * Constructor
+	 */
+	public ORMGetCacheWarmupStatus() {
+		super();
+		declaredArguments = new Argument[] {};
+	}
+
+	/**
+	 * Report the progress of the background second-level cache warm-up, which preloads the entities and queries listed in the
+	 * <code>cacheWarmup</code> ORM setting, and the entities annotated with <code>cacheWarmup</code>, once the ORM application starts.
+	 * <p>
+	 * Returns a struct with the overall <code>state</code> (<code>running</code>, <code>completed</code>, <code>partial</code> if some targets
+	 * failed, <code>failed</code> if all did, or <code>cancelled</code>), the <code>total</code>, <code>completed</code> and <code>failed</code>
+	 * target counts, the number of rows <code>loaded</code>, and an array of <code>targets</code>. Each
+	 * target reports its <code>entity</code> or <code>hql</code>, <code>state</code>, <code>loaded</code>, <code>batches</code>,
+	 * <code>durationMs</code> and, if it failed, the <code>error</code>.
+	 * <p>
+	 * Example:
+	 *
+	 * <pre>
+	 * // Application.bx
+	 * this.ormSettings.cacheWarmup = {
+	 *   targets : [ "Country", { hql : "from Product where featured = true" } ],
+	 *   batchSize : 1000,
+	 *   concurrency : 2
+	 * };
+	 *
+	 * writeDump( ormGetCacheWarmupStatus() );
+	 * </pre>
+	 *
+	 * @param context   The context in which the BIF is being invoked.
+	 * @param arguments Argument scope for the BIF.
+	 *
+	 * @return The warm-up progress, or an empty struct if no warm-up was started.
+	 */
+	public IStruct _invoke( IBoxContext context, ArgumentsScope arguments ) {
+		ORMCacheWarmer warmer = this.ormService.getORMAppByContext( context ).getCacheWarmer();
+		return warmer == null ? new Struct() : warmer.getStatus();
+	}
+}
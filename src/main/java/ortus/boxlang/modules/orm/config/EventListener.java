@@ -187,6 +187,10 @@ public class EventListener
 
 	@Override
 	public void onPostLoad( PostLoadEvent event ) {
+		// Hydration goes through BoxPropertySetter, which marks properties as changed when change tracking is enabled. A freshly loaded entity is clean.
+		event.getSession().getFactory().getSessionFactoryOptions().getCustomEntityDirtinessStrategy()
+		    .resetDirty( event.getEntity(), event.getPersister(), event.getSession() );
+
 		IStruct args = Struct.of(
 		    ORMKeys.event, event,
 		    ORMKeys.entity, event.getEntity()
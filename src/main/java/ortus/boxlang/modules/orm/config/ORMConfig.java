@@ -31,14 +31,21 @@ import org.hibernate.cfg.AvailableSettings;
 import org.hibernate.cfg.Configuration;
 import org.hibernate.tool.schema.Action;
 
+import ortus.boxlang.modules.orm.FetchPlan;
 import ortus.boxlang.modules.orm.config.naming.BoxLangClassNamingStrategy;
 import ortus.boxlang.modules.orm.config.naming.MacroCaseNamingStrategy;
+import ortus.boxlang.modules.orm.hibernate.BoxEntityDirtinessStrategy;
+import ortus.boxlang.modules.orm.hibernate.LoadMonitorListener;
+import ortus.boxlang.modules.orm.hibernate.cache.BoxJCacheRegionFactory;
+import ortus.boxlang.modules.orm.hibernate.cache.EhcacheRegionFactory;
+import ortus.boxlang.modules.orm.hibernate.cache.HeapRegionFactory;
 import ortus.boxlang.runtime.BoxRuntime;
 import ortus.boxlang.runtime.config.segments.CacheConfig;
 import ortus.boxlang.runtime.context.IBoxContext;
 import ortus.boxlang.runtime.context.RequestBoxContext;
 import ortus.boxlang.runtime.dynamic.casters.BooleanCaster;
 import ortus.boxlang.runtime.dynamic.casters.IntegerCaster;
+import ortus.boxlang.runtime.dynamic.casters.StringCaster;
 import ortus.boxlang.runtime.interop.DynamicObject;
 import ortus.boxlang.runtime.loader.ClassLocator;
 import ortus.boxlang.runtime.logging.BoxLangLogger;
@@ -61,6 +68,16 @@ public class ORMConfig {
 
 	public static final String			DEFAULT_CACHEPROVIDER	= "BoxCacheProvider";
 
+	/**
+	 * The `cacheProvider` value which selects the built-in, bounded in-heap region factory instead of the JCache path.
+	 */
+	public static final String			CACHEPROVIDER_HEAP		= "heap";
+
+	/**
+	 * The `cacheProvider` value which selects the built-in region factory backed by native, tiered Ehcache 3 caches.
+	 */
+	public static final String			CACHEPROVIDER_EHCACHE	= "ehcache";
+
 	/**
 	 * Runtime
 	 */
@@ -122,7 +139,8 @@ public class ORMConfig {
 	/**
 	 * Specify the alias name OR full class path of a jCache provider to use for the second-level cache. Must be one of the following:
 	 * <ul>
-	 * <li><code>ehcache</code> - use the EHCache jCache implementation bundled with the BoxLang ORM module</li>
+	 * <li><code>ehcache</code> - keep regions in native Ehcache 3 caches with heap, off-heap and disk tiers, sized via the <code>cacheConfig</code> struct</li>
+	 * <li><code>heap</code> - keep regions in bounded, in-heap maps with frequency-aware eviction, sized via the <code>cacheConfig</code> struct</li>
 	 * <li><code>com.foo.MyJCacheProvider</code> - String path to a custom jCache provider loaded into your BoxLang application.</li>
 	 * </ul>
 	 */
@@ -242,6 +260,33 @@ public class ORMConfig {
 	 */
 	public boolean						secondaryCacheEnabled	= false;
 
+	/**
+	 * Whether second-level cache regions collect hit, miss, put, removal and eviction counters from startup. Can be switched at runtime with
+	 * `ormEnableCacheStats()`.
+	 */
+	public boolean						cacheStatistics			= false;
+
+	/**
+	 * Entities and HQL queries to preload into the second-level cache after startup. Each item is a struct with either an `entity` name or an `hql`
+	 * query, plus optional `params` and `datasource` keys. Entities annotated with `cacheWarmup` are warmed as well.
+	 */
+	public Array						cacheWarmup				= new Array();
+
+	/**
+	 * Rows loaded per cache warm-up batch. The warm-up session is cleared after each batch, so memory use stays flat on large tables.
+	 */
+	public int							cacheWarmupBatchSize	= 500;
+
+	/**
+	 * Most cache warm-up targets loaded at once. Each running target holds one pooled connection.
+	 */
+	public int							cacheWarmupConcurrency	= 2;
+
+	/**
+	 * Pause in milliseconds after each cache warm-up batch, to spread the load on the database.
+	 */
+	public long							cacheWarmupBatchDelay	= 0;
+
 	/**
 	 * If true, then the ORM startup will ignore CFCs that have compile time errors
 	 * in them.
@@ -286,6 +331,39 @@ public class ORMConfig {
 	 */
 	public boolean						proxyLazyLoading		= false;
 
+	/**
+	 * Whether to track property changes on entities as they happen, so that flush-time dirty checking only inspects entities (and properties) which
+	 * were actually modified via their setters. Off by default, in which case Hibernate compares every managed entity against its loaded snapshot.
+	 */
+	public boolean						changeTracking			= false;
+
+	/**
+	 * Named HQL queries declared in the ORM settings, keyed by query name. Each value is a struct with an `hql` string and the `datasource` the query
+	 * should be registered against.
+	 */
+	public IStruct						namedQueries			= new Struct();
+
+	/**
+	 * Named fetch profiles declared in the ORM settings, keyed by profile name. Each value is the parsed {@link FetchPlan}, selected per call with the
+	 * `fetchProfile` query option.
+	 */
+	public IStruct						fetchProfiles			= new Struct();
+
+	/**
+	 * Whether to count SQL statements and lazy initializations per request, and report requests which look like N+1 query storms.
+	 */
+	public boolean						loadMonitor				= false;
+
+	/**
+	 * Number of lazy initializations of a single entity or collection role in one request at which the load monitor reports it.
+	 */
+	public int							lazyLoadThreshold		= 20;
+
+	/**
+	 * Number of SQL statements in one request at which the load monitor reports the request.
+	 */
+	public int							statementThreshold		= 100;
+
 	/**
 	 * The instantiated naming strategy object.
 	 */
@@ -415,6 +493,9 @@ public class ORMConfig {
 		if ( properties.containsKey( ORMKeys.secondaryCacheEnabled ) && properties.get( ORMKeys.secondaryCacheEnabled ) != null ) {
 			secondaryCacheEnabled = BooleanCaster.cast( properties.get( ORMKeys.secondaryCacheEnabled ) );
 		}
+		if ( properties.containsKey( ORMKeys.cacheStatistics ) && properties.get( ORMKeys.cacheStatistics ) != null ) {
+			cacheStatistics = BooleanCaster.cast( properties.get( ORMKeys.cacheStatistics ) );
+		}
 		if ( properties.containsKey( ORMKeys.ignoreParseErrors ) && properties.get( ORMKeys.ignoreParseErrors ) != null ) {
 			ignoreParseErrors = BooleanCaster.cast( properties.get( ORMKeys.ignoreParseErrors ) );
 		}
@@ -505,6 +586,29 @@ public class ORMConfig {
 			proxyLazyLoading = BooleanCaster.cast( properties.get( ORMKeys.proxyLazyLoading ) );
 		}
 
+		if ( properties.containsKey( ORMKeys.changeTracking ) && properties.get( ORMKeys.changeTracking ) != null ) {
+			changeTracking = BooleanCaster.cast( properties.get( ORMKeys.changeTracking ) );
+		}
+
+		if ( properties.containsKey( ORMKeys.namedQueries ) && properties.get( ORMKeys.namedQueries ) != null ) {
+			setNamedQueries( properties.get( ORMKeys.namedQueries ) );
+		}
+
+		if ( properties.containsKey( ORMKeys.fetchProfiles ) && properties.get( ORMKeys.fetchProfiles ) != null ) {
+			if ( ! ( properties.get( ORMKeys.fetchProfiles ) instanceof IStruct profiles ) ) {
+				throw new BoxRuntimeException( "The ORM setting 'fetchProfiles' must be a struct of profile name to association paths." );
+			}
+			profiles.entrySet().forEach( entry -> this.fetchProfiles.put( entry.getKey(), FetchPlan.parse( entry.getValue() ) ) );
+		}
+
+		if ( properties.containsKey( ORMKeys.loadMonitor ) && properties.get( ORMKeys.loadMonitor ) != null ) {
+			setLoadMonitor( properties.get( ORMKeys.loadMonitor ) );
+		}
+
+		if ( properties.containsKey( ORMKeys.cacheWarmup ) && properties.get( ORMKeys.cacheWarmup ) != null ) {
+			setCacheWarmup( properties.get( ORMKeys.cacheWarmup ) );
+		}
+
 		if ( this.namingStrategy != null ) {
 			this.instantiatedNamingStrategy = getNamingStrategyForName( this.namingStrategy );
 		}
@@ -535,6 +639,121 @@ public class ORMConfig {
 		}
 	}
 
+	/**
+	 * Normalize the `namedQueries` setting into a struct of query name to `{ hql, datasource }`.
+	 * <p>
+	 * Each query may be declared as a plain HQL string, which is registered against the default ORM datasource, or as a struct with `hql` and
+	 * (optional) `datasource` keys.
+	 *
+	 * @param namedQueries The value of the `namedQueries` configuration setting.
+	 */
+	private void setNamedQueries( Object namedQueries ) {
+		if ( ! ( namedQueries instanceof IStruct queryStruct ) ) {
+			throw new BoxRuntimeException( "The ORM setting 'namedQueries' must be a struct of query name to HQL string." );
+		}
+		queryStruct.entrySet().forEach( entry -> {
+			Object	definition		= entry.getValue();
+			String	hql;
+			Key		queryDatasource	= this.datasource;
+			if ( definition instanceof IStruct definitionStruct ) {
+				hql = definitionStruct.getAsString( ORMKeys.hql );
+				if ( definitionStruct.get( ORMKeys.datasource ) instanceof String datasourceName && !datasourceName.isBlank() ) {
+					queryDatasource = Key.of( datasourceName );
+				}
+			} else {
+				hql = StringCaster.cast( definition );
+			}
+			if ( hql == null || hql.isBlank() ) {
+				throw new BoxRuntimeException( "Named query [%s] has no HQL.".formatted( entry.getKey().getName() ) );
+			}
+			this.namedQueries.put( entry.getKey(), Struct.of( ORMKeys.hql, hql, ORMKeys.datasource, queryDatasource ) );
+		} );
+	}
+
+	/**
+	 * Parse the `loadMonitor` setting.
+	 * <p>
+	 * Accepts a boolean, which enables the monitor with the default thresholds, or a struct with (optional) `enabled`, `lazyLoadThreshold` and
+	 * `statementThreshold` keys.
+	 *
+	 * @param setting The value of the `loadMonitor` configuration setting.
+	 */
+	private void setLoadMonitor( Object setting ) {
+		if ( ! ( setting instanceof IStruct monitorStruct ) ) {
+			this.loadMonitor = BooleanCaster.cast( setting );
+			return;
+		}
+		this.loadMonitor = BooleanCaster.cast( monitorStruct.getOrDefault( ORMKeys.enabled, true ) );
+		if ( monitorStruct.get( ORMKeys.lazyLoadThreshold ) != null ) {
+			this.lazyLoadThreshold = IntegerCaster.cast( monitorStruct.get( ORMKeys.lazyLoadThreshold ) );
+		}
+		if ( monitorStruct.get( ORMKeys.statementThreshold ) != null ) {
+			this.statementThreshold = IntegerCaster.cast( monitorStruct.get( ORMKeys.statementThreshold ) );
+		}
+		if ( this.lazyLoadThreshold < 1 || this.statementThreshold < 1 ) {
+			throw new BoxRuntimeException( "The ORM setting 'loadMonitor' thresholds must be positive integers." );
+		}
+	}
+
+	/**
+	 * Parse the `cacheWarmup` setting.
+	 * <p>
+	 * Accepts an array of warm-up targets, or a struct with a `targets` array and (optional) `batchSize`, `concurrency` and `batchDelay` keys. Each
+	 * target is an entity name, or a struct with either an `entity` name or an `hql` query, plus optional `params` and `datasource` keys.
+	 *
+	 * @param setting The value of the `cacheWarmup` configuration setting.
+	 */
+	private void setCacheWarmup( Object setting ) {
+		Object targets = setting;
+		if ( setting instanceof IStruct warmupStruct ) {
+			targets = warmupStruct.getOrDefault( ORMKeys.targets, new Array() );
+			if ( warmupStruct.get( ORMKeys.batchsize ) != null ) {
+				this.cacheWarmupBatchSize = IntegerCaster.cast( warmupStruct.get( ORMKeys.batchsize ) );
+			}
+			if ( warmupStruct.get( ORMKeys.concurrency ) != null ) {
+				this.cacheWarmupConcurrency = IntegerCaster.cast( warmupStruct.get( ORMKeys.concurrency ) );
+			}
+			if ( warmupStruct.get( ORMKeys.batchDelay ) != null ) {
+				this.cacheWarmupBatchDelay = IntegerCaster.cast( warmupStruct.get( ORMKeys.batchDelay ) );
+			}
+			if ( this.cacheWarmupBatchSize < 1 || this.cacheWarmupConcurrency < 1 || this.cacheWarmupBatchDelay < 0 ) {
+				throw new BoxRuntimeException(
+				    "The ORM setting 'cacheWarmup' needs a positive batchSize and concurrency, and a batchDelay of zero or more milliseconds." );
+			}
+		}
+		if ( ! ( targets instanceof Array targetArray ) ) {
+			throw new BoxRuntimeException( "The ORM setting 'cacheWarmup' must be an array of entity names or warm-up targets." );
+		}
+		for ( Object target : targetArray ) {
+			IStruct definition = target instanceof IStruct targetStruct
+			    ? targetStruct
+			    : Struct.of( ORMKeys.entity, StringCaster.cast( target ) );
+			if ( ! ( definition.get( ORMKeys.entity ) instanceof String entityName && !entityName.isBlank() )
+			    && ! ( definition.get( ORMKeys.hql ) instanceof String hql && !hql.isBlank() ) ) {
+				throw new BoxRuntimeException( "Each 'cacheWarmup' target needs an 'entity' name or an 'hql' query." );
+			}
+			this.cacheWarmup.add( definition );
+		}
+	}
+
+	/**
+	 * Get the named queries declared in the ORM settings for the given datasource.
+	 *
+	 * @param datasourceName The datasource to filter by.
+	 *
+	 * @return A struct of query name to HQL string.
+	 */
+	public IStruct getNamedQueries( Key datasourceName ) {
+		IStruct queries = new Struct();
+		this.namedQueries.entrySet().forEach( entry -> {
+			IStruct definition = ( IStruct ) entry.getValue();
+			if ( datasourceName.equals( definition.get( ORMKeys.datasource ) ) ) {
+				queries.put( entry.getKey(), definition.getAsString( ORMKeys.hql ) );
+			}
+		} );
+		return queries;
+	}
+
 	/**
 	 * Encapsulates the logic for setting the `entityPaths` configuration setting based on a string, list of strings, array, or null value.
 	 *
@@ -565,9 +784,12 @@ public class ORMConfig {
 		// Build the BootstrapServiceRegistry with the event listener integrator if an event handler class was specified. This registry will be closed by
 		// SessionFactoryBuilder if session factory construction fails to prevent leaks; on success it remains open as the root of the Hibernate service
 		// hierarchy and is closed transitively via SessionFactory.close().
-		this.bootstrapRegistry = new BootstrapServiceRegistryBuilder()
-		    .applyIntegrator( new EventListener( eventHandlerClass ) )
-		    .build();
+		BootstrapServiceRegistryBuilder registryBuilder = new BootstrapServiceRegistryBuilder()
+		    .applyIntegrator( new EventListener( eventHandlerClass ) );
+		if ( this.loadMonitor ) {
+			registryBuilder.applyIntegrator( new LoadMonitorListener() );
+		}
+		this.bootstrapRegistry = registryBuilder.build();
 		Configuration	configuration		= new Configuration( this.bootstrapRegistry );
 		var				sysEnvProps			= new Properties();
 		Field[]			availableSettings	= AvailableSettings.class.getFields();
@@ -612,17 +834,34 @@ public class ORMConfig {
 		// Default batch size for collections
 		configuration.setProperty( AvailableSettings.DEFAULT_BATCH_FETCH_SIZE, Integer.toString( ORMConfig.defaultBatchSize ) );
 
+		// Pad list parameters to the next power of two, so `IN (:ids)` compiles to a handful of query plans rather than one per list size
+		configuration.setProperty( AvailableSettings.IN_CLAUSE_PARAMETER_PADDING, "true" );
+
+		// Compile named queries while building the session factory, so a broken query fails ORM startup instead of the first request to run it
+		configuration.setProperty( AvailableSettings.QUERY_STARTUP_CHECKING, "true" );
+
 		configuration.setProperty( AvailableSettings.USE_SECOND_LEVEL_CACHE, Boolean.toString( this.secondaryCacheEnabled ) );
 		if ( this.secondaryCacheEnabled ) {
 			configuration.setProperty( AvailableSettings.USE_QUERY_CACHE, "true" );
-			configuration.setProperty( AvailableSettings.CACHE_REGION_FACTORY, "jcache" );
-			configuration.setProperty( "hibernate.javax.cache.missing_cache_strategy", "create" );
-			configuration.setProperty( "hibernate.javax.cache.provider", this.getJCacheProviderClassPath() );
-			if ( this.cacheConfigFile != null && !this.cacheConfigFile.isEmpty() ) {
-				configuration.setProperty( "hibernate.javax.cache.uri", this.cacheConfigFile );
+			if ( this.isHeapCacheProvider() ) {
+				configuration.getProperties().put( AvailableSettings.CACHE_REGION_FACTORY, new HeapRegionFactory( this.cacheConfigProperties, this.cacheStatistics ) );
+			} else if ( this.isEhcacheCacheProvider() ) {
+				configuration.getProperties().put( AvailableSettings.CACHE_REGION_FACTORY,
+				    new EhcacheRegionFactory( this.cacheConfigProperties, this.cacheStatistics ) );
+			} else {
+				configuration.setProperty( AvailableSettings.CACHE_REGION_FACTORY, BoxJCacheRegionFactory.class.getName() );
+				configuration.setProperty( "hibernate.javax.cache.missing_cache_strategy", "create" );
+				configuration.setProperty( "hibernate.javax.cache.provider", this.getJCacheProviderClassPath() );
+				if ( this.cacheConfigFile != null && !this.cacheConfigFile.isEmpty() ) {
+					configuration.setProperty( "hibernate.javax.cache.uri", this.cacheConfigFile );
+				}
 			}
 		}
 
+		if ( this.changeTracking ) {
+			configuration.setProperty( AvailableSettings.CUSTOM_ENTITY_DIRTINESS_STRATEGY, BoxEntityDirtinessStrategy.class.getName() );
+		}
+
 		if ( this.logSQL ) {
 			configuration.setProperty( AvailableSettings.SHOW_SQL, "true" );
 			configuration.setProperty( AvailableSettings.FORMAT_SQL, "true" );
@@ -746,6 +985,20 @@ public class ORMConfig {
 		}
 	}
 
+	/**
+	 * Whether the `cacheProvider` setting selects the built-in in-heap region factory.
+	 */
+	public boolean isHeapCacheProvider() {
+		return CACHEPROVIDER_HEAP.equalsIgnoreCase( this.cacheProvider );
+	}
+
+	/**
+	 * Whether the `cacheProvider` setting selects the built-in tiered Ehcache region factory.
+	 */
+	public boolean isEhcacheCacheProvider() {
+		return CACHEPROVIDER_EHCACHE.equalsIgnoreCase( this.cacheProvider );
+	}
+
 	/**
 	 * Get the `cacheProvider` setting as a path to a JCache provider.
 	 */
@@ -47,6 +47,18 @@ public class ORMKeys {
 	public static final Key	basePath					= Key.of( "basePath" );
 	public static final Key	cacheConfig					= Key.of( "cacheConfig" );
 	public static final Key	cacheProvider				= Key.of( "cacheProvider" );
+	public static final Key	maxObjects					= Key.of( "maxObjects" );
+	public static final Key	defaultTimeout				= Key.of( "defaultTimeout" );
+	public static final Key	regions						= Key.of( "regions" );
+	public static final Key	offHeapSize					= Key.of( "offHeapSize" );
+	public static final Key	diskSize					= Key.of( "diskSize" );
+	public static final Key	diskPath					= Key.of( "diskPath" );
+	public static final Key	diskPersistent				= Key.of( "diskPersistent" );
+	public static final Key	cacheStatistics				= Key.of( "cacheStatistics" );
+	public static final Key	cacheWarmup					= Key.of( "cacheWarmup" );
+	public static final Key	targets						= Key.of( "targets" );
+	public static final Key	concurrency					= Key.of( "concurrency" );
+	public static final Key	batchDelay					= Key.of( "batchDelay" );
 	public static final Key	classFQN					= Key.of( "classFQN" );
 	public static final Key	datasource					= Key.of( "datasource" );
 	public static final Key	dbcreate					= Key.of( "dbcreate" );
@@ -79,6 +91,13 @@ public class ORMKeys {
 	public static final Key	quoteIdentifiers			= Key.of( "quoteIdentifiers" );
 	public static final Key	defaultBatchSize			= Key.of( "defaultBatchSize" );
 	public static final Key	proxyLazyLoading			= Key.of( "proxyLazyLoading" );
+	public static final Key	changeTracking				= Key.of( "changeTracking" );
+	public static final Key	namedQueries				= Key.of( "namedQueries" );
+	public static final Key	fetchProfiles				= Key.of( "fetchProfiles" );
+	public static final Key	loadMonitor					= Key.of( "loadMonitor" );
+	public static final Key	lazyLoadThreshold			= Key.of( "lazyLoadThreshold" );
+	public static final Key	statementThreshold			= Key.of( "statementThreshold" );
+	public static final Key	enabled						= Key.of( "enabled" );
 
 	/**
 	 * OLD setting name. Deprecated. Use {@link ignoreParseErrors} instead.
@@ -142,6 +161,7 @@ public class ORMKeys {
 	public static final Key	update						= Key.of( "update" );
 	public static final Key	uniqueKeyName				= Key.of( "uniqueKeyName" );
 	public static final Key	timestamp					= Key.of( "timestamp" );
+	public static final Key	naturalId					= Key.of( "naturalId" );
 
 	// association keys
 	public static final Key	collectionType				= Key.of( "collectionType" );
@@ -195,6 +215,31 @@ public class ORMKeys {
 	public static final Key	uniqueOrOrder				= Key.of( "uniqueOrOrder" );
 	public static final Key	options						= Key.of( "options" );
 	public static final Key	maxResults					= Key.of( "maxResults" );
+	public static final Key	returnType					= Key.of( "returnType" );
+	public static final Key	cacheMode					= Key.of( "cacheMode" );
+	public static final Key	keyset						= Key.of( "keyset" );
+	public static final Key	keys						= Key.of( "keys" );
+	public static final Key	after						= Key.of( "after" );
+	public static final Key	results						= Key.of( "results" );
+	public static final Key	next						= Key.of( "next" );
+	public static final Key	filter						= Key.of( "filter" );
+	public static final Key	withTotal					= Key.of( "withTotal" );
+	public static final Key	total						= Key.of( "total" );
+	public static final Key	sql							= Key.of( "sql" );
+	public static final Key	scalars						= Key.of( "scalars" );
+	public static final Key	querySpaces					= Key.of( "querySpaces" );
+	public static final Key	returnNulls					= Key.of( "returnNulls" );
+	public static final Key	fetch						= Key.of( "fetch" );
+	public static final Key	fetchProfile				= Key.of( "fetchProfile" );
+
+	/**
+	 * Load monitor stats
+	 */
+	public static final Key	statements					= Key.of( "statements" );
+	public static final Key	proxyInitializations		= Key.of( "proxyInitializations" );
+	public static final Key	collectionInitializations	= Key.of( "collectionInitializations" );
+	public static final Key	stats						= Key.of( "stats" );
+	public static final Key	paths						= Key.of( "paths" );
 	public static final Key	cacheable					= Key.of( "cacheable" );
 	public static final Key	ascending					= Key.of( "ascending" );
 	public static final Key	hql							= Key.of( "hql" );
@@ -230,6 +275,7 @@ public class ORMKeys {
 	public static final Key	EVENT_POST_LOAD				= Key.of( "post_load" );
 	public static final Key	EVENT_ORM_PRE_CONFIG_LOAD	= Key.of( "ORMPreConfigLoad" );
 	public static final Key	EVENT_ORM_POST_CONFIG_LOAD	= Key.of( "ORMPostConfigLoad" );
+	public static final Key	EVENT_ORM_LOAD_THRESHOLD	= Key.of( "ORMLoadThresholdExceeded" );
 
 	/**
 	 * BoxLang Naming Strategy method names
@@ -246,4 +292,27 @@ public class ORMKeys {
 	public static final Key	sequenceName				= Key.of( "sequenceName" );
 	public static final Key	schemaName					= Key.of( "schemaName" );
 	public static final Key	catalogName					= Key.of( "catalogName" );
+
+	/**
+	 * Statistics keys
+	 */
+	public static final Key	hits						= Key.of( "hits" );
+	public static final Key	misses						= Key.of( "misses" );
+	public static final Key	size						= Key.of( "size" );
+	public static final Key	maxSize						= Key.of( "maxSize" );
+	public static final Key	puts						= Key.of( "puts" );
+	public static final Key	removals					= Key.of( "removals" );
+	public static final Key	evictions					= Key.of( "evictions" );
+	public static final Key	hitRatio					= Key.of( "hitRatio" );
+
+	/**
+	 * Cache warm-up progress keys
+	 */
+	public static final Key	state						= Key.of( "state" );
+	public static final Key	completed					= Key.of( "completed" );
+	public static final Key	failed						= Key.of( "failed" );
+	public static final Key	loaded						= Key.of( "loaded" );
+	public static final Key	batches						= Key.of( "batches" );
+	public static final Key	durationMs					= Key.of( "durationMs" );
+	public static final Key	error						= Key.of( "error" );
 }
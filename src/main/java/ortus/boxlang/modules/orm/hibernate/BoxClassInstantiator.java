@@ -48,7 +48,9 @@ import ortus.boxlang.runtime.scopes.VariablesScope;
 import ortus.boxlang.runtime.types.Argument;
 import ortus.boxlang.runtime.types.Array;
 import ortus.boxlang.runtime.types.DynamicFunction;
+import ortus.boxlang.runtime.types.Function;
 import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.Property;
 import ortus.boxlang.runtime.types.Struct;
 import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
 import ortus.boxlang.runtime.validation.Validator;
@@ -209,6 +211,11 @@ public class BoxClassInstantiator implements Instantiator {
 			    } );
 		}
 
+		ChangeTracker changeTracker = ChangeTracker.forContext( context != null ? context : RequestBoxContext.getCurrent() );
+		if ( changeTracker != null && injectTrackingSetters( theEntity, changeTracker ) ) {
+			changeTracker.track( theEntity, this.entityMetamodel.getPropertyNames() );
+		}
+
 		if ( properties != null && !properties.isEmpty() ) {
 			theEntity.getVariablesScope().putAll( properties );
 		}
@@ -216,6 +223,44 @@ public class BoxClassInstantiator implements Instantiator {
 		return theEntity;
 	}
 
+	/**
+	 * Inject change-tracking setters for every mapped property on the entity, each wrapping the property's generated setter.
+	 * <p>
+	 * If the entity class defines its own setter for any mapped property, nothing is injected: changes made through a custom setter can't be observed,
+	 * so the entity must be left to Hibernate's default dirty checking. Assignments made by the entity's own methods are caught by the tracker's value
+	 * snapshot instead.
+	 *
+	 * @param theEntity     The entity instance.
+	 * @param changeTracker The change tracker which will record property changes.
+	 *
+	 * @return True if the setters were injected and the entity can be tracked.
+	 */
+	private boolean injectTrackingSetters( IClassRunnable theEntity, ChangeTracker changeTracker ) {
+		String[] propertyNames = this.entityMetamodel.getPropertyNames();
+		for ( String propertyName : propertyNames ) {
+			if ( theEntity.getThisScope().containsKey( getSetterName( propertyName ) ) ) {
+				logger.trace( "Entity '{}' defines a custom setter for property '{}'; skipping change tracking", this.entityName, propertyName );
+				return false;
+			}
+		}
+		for ( String propertyName : propertyNames ) {
+			Property		property	= theEntity.getSetterLookup().get( getSetterName( propertyName ) );
+			DynamicFunction	setUDF		= getTrackingSetter( propertyName, property != null ? property.generatedSetter() : null, changeTracker );
+			theEntity.getThisScope().put( setUDF.getName(), setUDF );
+			theEntity.getVariablesScope().put( setUDF.getName(), setUDF );
+		}
+		return true;
+	}
+
+	/**
+	 * Assemble a setter name for the property, like `setManufacturer` for the property `manufacturer`.
+	 *
+	 * @param propertyName The property name.
+	 */
+	private Key getSetterName( String propertyName ) {
+		return Key.of( "set" + propertyName.substring( 0, 1 ).toUpperCase() + propertyName.substring( 1 ) );
+	}
+
 	/**
 	 * Assemble a method name for the association, like `addManufacturer` for the association `manufacturer`.
 	 *
@@ -383,6 +428,10 @@ public class BoxClassInstantiator implements Instantiator {
 			    // create collection if it doesn't exist
 			    if ( !variablesScope.containsKey( collectionKey ) || variablesScope.get( collectionKey ) == null ) {
 				    variablesScope.put( collectionKey, isArrayCollection ? new Array() : new Struct() );
+				    ChangeTracker changeTracker = ChangeTracker.forContext( context );
+				    if ( changeTracker != null ) {
+					    changeTracker.markDirty( context.getThisClass(), collectionKey.getName() );
+				    }
 			    }
 
 			    if ( isArrayCollection ) {
@@ -410,6 +459,54 @@ public class BoxClassInstantiator implements Instantiator {
 		);
 	}
 
+	/**
+	 * Create a `set*` method for the entity property, like `setName()`, which sets the property value and records the change in the change tracker.
+	 * <p>
+	 * When the property has a generated setter, the tracking setter delegates to it and declares the same arguments, so the property's declared
+	 * type is still validated.
+	 *
+	 * @param propertyName    The property name.
+	 * @param generatedSetter The setter BoxLang generated for the property, or null if there is none.
+	 * @param changeTracker   The change tracker of the ORM context which instantiated the entity.
+	 *
+	 * @return A DynamicFunction that can be injected into the entity class.
+	 */
+	public DynamicFunction getTrackingSetter( String propertyName, Function generatedSetter, ChangeTracker changeTracker ) {
+		Key	methodName	= getSetterName( propertyName );
+		Key	propertyKey	= Key.of( propertyName );
+		if ( generatedSetter != null ) {
+			return new DynamicFunction(
+			    methodName,
+			    ( context, function ) -> {
+				    Object result = generatedSetter.invoke( context );
+				    changeTracker.markDirty( context.getThisClass(), propertyName );
+				    return result;
+			    },
+			    generatedSetter.getArguments(),
+			    generatedSetter.getReturnType(),
+			    "Set the [" + propertyName + "] property, recording the change for flush-time dirty checking.",
+			    Struct.EMPTY
+			);
+		}
+		return new DynamicFunction(
+		    methodName,
+		    ( context, function ) -> {
+			    IClassRunnable entity = context.getThisClass();
+			    entity.getVariablesScope().put( propertyKey, context.getArgumentsScope().get( propertyKey ) );
+			    changeTracker.markDirty( entity, propertyName );
+
+			    // Return this for chainability.
+			    return entity;
+		    },
+		    new Argument[] {
+		        new Argument( false, "any", propertyKey, Set.of() )
+		    },
+		    "class",
+		    "Set the [" + propertyName + "] property, recording the change for flush-time dirty checking.",
+		    Struct.EMPTY
+		);
+	}
+
 	/**
 	 * Create an `remove*` method for the entity association, like `removeManufacturer()`, which removes the provided entity from the association, if
 	 * found.
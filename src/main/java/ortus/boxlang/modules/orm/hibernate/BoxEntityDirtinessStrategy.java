@@ -0,0 +1,79 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.modules.orm.hibernate;
+
+import java.util.Set;
+
+import org.hibernate.CustomEntityDirtinessStrategy;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+
+/**
+ * Dirtiness strategy used when the `changeTracking` ORM setting is enabled.
+ * <p>
+ * Rather than extracting every property value from every managed entity at flush and comparing it against the loaded snapshot, Hibernate will ask
+ * this strategy whether the entity is dirty. Clean entities are skipped entirely, and only the properties recorded in the session's
+ * {@link ChangeTracker} - set through a setter, or assigned a different value since the last load or flush - are reported as dirty for the rest.
+ * <p>
+ * Entities which are not tracked (or sessions opened without a {@link ChangeTrackingInterceptor}) fall back to Hibernate's default dirty checking.
+ *
+ * @since 1.7.0
+ */
+public class BoxEntityDirtinessStrategy implements CustomEntityDirtinessStrategy {
+
+	@Override
+	public boolean canDirtyCheck( Object entity, EntityPersister persister, Session session ) {
+		ChangeTracker tracker = getChangeTracker( session );
+		return tracker != null && tracker.isTracked( entity );
+	}
+
+	@Override
+	public boolean isDirty( Object entity, EntityPersister persister, Session session ) {
+		return getChangeTracker( session ).isDirty( entity );
+	}
+
+	@Override
+	public void resetDirty( Object entity, EntityPersister persister, Session session ) {
+		ChangeTracker tracker = getChangeTracker( session );
+		if ( tracker != null ) {
+			tracker.reset( entity );
+		}
+	}
+
+	@Override
+	public void findDirty( Object entity, EntityPersister persister, Session session, DirtyCheckContext dirtyCheckContext ) {
+		Set<String> dirtyProperties = getChangeTracker( session ).getDirtyProperties( entity );
+		dirtyCheckContext.doDirtyChecking( attribute -> dirtyProperties.contains( attribute.getName() ) );
+	}
+
+	/**
+	 * Retrieve the change tracker for the given session, if the session was opened with change tracking enabled.
+	 *
+	 * @param session The Hibernate session.
+	 *
+	 * @return The change tracker, or null.
+	 */
+	private static ChangeTracker getChangeTracker( Session session ) {
+		if ( session instanceof SharedSessionContractImplementor sessionImpl
+		    && sessionImpl.getInterceptor() instanceof ChangeTrackingInterceptor interceptor ) {
+			return interceptor.getChangeTracker();
+		}
+		return null;
+	}
+}
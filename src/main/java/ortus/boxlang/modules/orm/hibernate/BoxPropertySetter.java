@@ -27,6 +27,7 @@ import org.hibernate.property.access.spi.Setter;
 import ortus.boxlang.modules.orm.ORMService;
 import ortus.boxlang.modules.orm.config.ORMKeys;
 import ortus.boxlang.runtime.BoxRuntime;
+import ortus.boxlang.runtime.context.RequestBoxContext;
 import ortus.boxlang.runtime.logging.BoxLangLogger;
 import ortus.boxlang.runtime.runnables.IClassRunnable;
 import ortus.boxlang.runtime.scopes.Key;
@@ -96,6 +97,14 @@ public class BoxPropertySetter implements Setter {
 		if ( target instanceof IClassRunnable instance ) {
 			instance.getThisScope().put( propertyName, value );
 			instance.getVariablesScope().put( propertyName, value );
+
+			// Hibernate sets values on merge and refresh as well as on load; loads are reset to clean in the post-load event.
+			if ( factory != null && factory.getSessionFactoryOptions().getCustomEntityDirtinessStrategy() instanceof BoxEntityDirtinessStrategy ) {
+				ChangeTracker tracker = ChangeTracker.forContext( RequestBoxContext.getCurrent() );
+				if ( tracker != null ) {
+					tracker.markDirty( instance, mappedProperty.getName() );
+				}
+			}
 		}
 	}
 
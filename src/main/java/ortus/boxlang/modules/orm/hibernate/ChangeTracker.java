@@ -0,0 +1,278 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.modules.orm.hibernate;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import ortus.boxlang.modules.orm.ORMContext;
+import ortus.boxlang.modules.orm.config.ORMKeys;
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.context.IJDBCCapableContext;
+import ortus.boxlang.runtime.runnables.IClassRunnable;
+import ortus.boxlang.runtime.scopes.Key;
+
+/**
+ * Records which properties have been modified on which entities, for use by {@link BoxEntityDirtinessStrategy} at flush time.
+ * <p>
+ * Only entities explicitly registered via {@link #track(Object, String[])} are tracked; all others fall back to Hibernate's default snapshot comparison.
+ * Entities are keyed by identity, so overridden `equals()`/`hashCode()` implementations on the entity class have no effect.
+ * <p>
+ * Setters record their changes directly. Assignments to the variables scope from within the entity's own methods bypass the setters, so each
+ * tracked entity also keeps the value references of its properties as of the last reset: a property holding a different object than its
+ * snapshot is dirty as well. This is an identity comparison of the variables scope, far cheaper than Hibernate's typed comparison of the
+ * extracted state.
+ * <p>
+ * Entities are only weakly referenced: once an entity is evicted or cleared from its session and no longer referenced by application code, it is
+ * dropped from the tracker. Long-running batch jobs therefore do not keep every entity they ever loaded alive until the request ends.
+ * <p>
+ * One tracker is held per {@link ORMContext}, and is discarded along with it at the end of the request or thread.
+ *
+ * @since 1.7.0
+ */
+public class ChangeTracker {
+
+	/**
+	 * Dirty property names and value snapshots, keyed by a weak reference to the entity instance.
+	 */
+	private final Map<EntityReference, TrackedEntity>	changes		= new ConcurrentHashMap<>();
+
+	/**
+	 * Queue of references to entities which have been garbage collected, to be expunged from {@link #changes}.
+	 */
+	private final ReferenceQueue<Object>				collected	= new ReferenceQueue<>();
+
+	/**
+	 * Retrieve the change tracker for the ORM context attached to the given BoxLang context, if any.
+	 * <p>
+	 * Unlike {@link ORMContext#getForContext(IBoxContext)}, this will never create an ORM context.
+	 *
+	 * @param context The current BoxLang context. May be null.
+	 *
+	 * @return The change tracker, or null if there is no ORM context or change tracking is disabled.
+	 */
+	public static ChangeTracker forContext( IBoxContext context ) {
+		if ( context == null ) {
+			return null;
+		}
+		IBoxContext jdbcContext = context.getParentOfType( IJDBCCapableContext.class );
+		if ( jdbcContext == null || !jdbcContext.hasAttachment( ORMKeys.ORMContext ) ) {
+			return null;
+		}
+		ORMContext ormContext = jdbcContext.getAttachment( ORMKeys.ORMContext );
+		return ormContext.getChangeTracker();
+	}
+
+	/**
+	 * Begin tracking changes on the given entity.
+	 *
+	 * @param entity        The entity instance.
+	 * @param propertyNames The Hibernate property names of the entity, whose values are snapshot on each reset.
+	 */
+	public void track( Object entity, String[] propertyNames ) {
+		expungeCollected();
+		this.changes.putIfAbsent( new EntityReference( entity, this.collected ), new TrackedEntity( propertyNames ) );
+	}
+
+	/**
+	 * Stop tracking the given entity altogether.
+	 *
+	 * @param entity The entity instance.
+	 */
+	public void untrack( Object entity ) {
+		this.changes.remove( new EntityReference( entity, null ) );
+	}
+
+	/**
+	 * Whether changes on the given entity are being tracked.
+	 *
+	 * @param entity The entity instance.
+	 */
+	public boolean isTracked( Object entity ) {
+		return this.changes.containsKey( new EntityReference( entity, null ) );
+	}
+
+	/**
+	 * Record a modification to the named property. No-op if the entity is not tracked.
+	 *
+	 * @param entity       The entity instance.
+	 * @param propertyName The Hibernate property name.
+	 */
+	public void markDirty( Object entity, String propertyName ) {
+		TrackedEntity tracked = this.changes.get( new EntityReference( entity, null ) );
+		if ( tracked != null ) {
+			tracked.dirty.add( propertyName );
+		}
+	}
+
+	/**
+	 * Whether any property on the given entity has been modified since the last reset, through a setter or by assigning a different value.
+	 *
+	 * @param entity The entity instance.
+	 */
+	public boolean isDirty( Object entity ) {
+		TrackedEntity tracked = this.changes.get( new EntityReference( entity, null ) );
+		if ( tracked == null ) {
+			return false;
+		}
+		if ( !tracked.dirty.isEmpty() ) {
+			return true;
+		}
+		Object[] snapshot = tracked.snapshot;
+		if ( snapshot == null || ! ( entity instanceof IClassRunnable runnable ) ) {
+			return false;
+		}
+		for ( int i = 0; i < tracked.keys.length; i++ ) {
+			if ( runnable.getVariablesScope().get( tracked.keys[ i ] ) != snapshot[ i ] ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Get the names of all modified properties on the given entity, through a setter or by assigning a different value.
+	 *
+	 * @param entity The entity instance.
+	 *
+	 * @return Set of property names; empty if the entity is clean or untracked.
+	 */
+	public Set<String> getDirtyProperties( Object entity ) {
+		TrackedEntity tracked = this.changes.get( new EntityReference( entity, null ) );
+		if ( tracked == null ) {
+			return Set.of();
+		}
+		Object[] snapshot = tracked.snapshot;
+		if ( snapshot == null || ! ( entity instanceof IClassRunnable runnable ) ) {
+			return tracked.dirty;
+		}
+		Set<String> dirty = new HashSet<>( tracked.dirty );
+		for ( int i = 0; i < tracked.keys.length; i++ ) {
+			if ( runnable.getVariablesScope().get( tracked.keys[ i ] ) != snapshot[ i ] ) {
+				dirty.add( tracked.keys[ i ].getName() );
+			}
+		}
+		return dirty;
+	}
+
+	/**
+	 * Mark all properties on the given entity as clean, i.e. after a load or a flush, and snapshot their current values.
+	 *
+	 * @param entity The entity instance.
+	 */
+	public void reset( Object entity ) {
+		TrackedEntity tracked = this.changes.get( new EntityReference( entity, null ) );
+		if ( tracked == null ) {
+			return;
+		}
+		tracked.dirty.clear();
+		if ( entity instanceof IClassRunnable runnable ) {
+			Object[] snapshot = new Object[ tracked.keys.length ];
+			for ( int i = 0; i < tracked.keys.length; i++ ) {
+				snapshot[ i ] = runnable.getVariablesScope().get( tracked.keys[ i ] );
+			}
+			tracked.snapshot = snapshot;
+		}
+	}
+
+	/**
+	 * Stop tracking all entities.
+	 */
+	public void clear() {
+		this.changes.clear();
+	}
+
+	/**
+	 * Drop the entries of entities which have been garbage collected.
+	 */
+	private void expungeCollected() {
+		Reference<?> reference;
+		while ( ( reference = this.collected.poll() ) != null ) {
+			this.changes.remove( reference );
+		}
+	}
+
+	/**
+	 * The recorded changes of a tracked entity.
+	 */
+	private static final class TrackedEntity {
+
+		/**
+		 * Property names recorded as dirty by setters.
+		 */
+		private final Set<String>	dirty	= ConcurrentHashMap.newKeySet();
+
+		/**
+		 * The variables scope keys of the entity's Hibernate properties.
+		 */
+		private final Key[]			keys;
+
+		/**
+		 * The property values as of the last reset, in the order of {@link #keys}, or null if the entity was never reset.
+		 */
+		private volatile Object[]	snapshot;
+
+		private TrackedEntity( String[] propertyNames ) {
+			this.keys = new Key[ propertyNames.length ];
+			for ( int i = 0; i < propertyNames.length; i++ ) {
+				this.keys[ i ] = Key.of( propertyNames[ i ] );
+			}
+		}
+	}
+
+	/**
+	 * Weak reference to an entity, compared by the identity of the entity.
+	 */
+	private static final class EntityReference extends WeakReference<Object> {
+
+		private final int hash;
+
+		/**
+		 * Constructor
+		 *
+		 * @param entity The entity instance.
+		 * @param queue  The queue to register the reference with, or null for references only used for lookups.
+		 */
+		private EntityReference( Object entity, ReferenceQueue<Object> queue ) {
+			super( entity, queue );
+			this.hash = System.identityHashCode( entity );
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hash;
+		}
+
+		@Override
+		public boolean equals( Object other ) {
+			if ( this == other ) {
+				return true;
+			}
+			if ( ! ( other instanceof EntityReference reference ) || this.hash != reference.hash ) {
+				return false;
+			}
+			Object entity = get();
+			return entity != null && entity == reference.get();
+		}
+	}
+}
@@ -0,0 +1,67 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.modules.orm.hibernate;
+
+import java.io.Serializable;
+
+import org.hibernate.EmptyInterceptor;
+import org.hibernate.type.Type;
+
+/**
+ * Session-scoped Hibernate interceptor which exposes the owning ORM context's {@link ChangeTracker} to {@link BoxEntityDirtinessStrategy}.
+ * <p>
+ * Also clears tracked changes when an entity is saved or deleted, since its state at that point becomes the new baseline.
+ *
+ * @since 1.7.0
+ */
+public class ChangeTrackingInterceptor extends EmptyInterceptor {
+
+	private static final long				serialVersionUID	= 1L;
+
+	/**
+	 * The change tracker for the ORM context which opened this session.
+	 */
+	private final transient ChangeTracker	changeTracker;
+
+	/**
+	 * Constructor
+	 *
+	 * @param changeTracker The change tracker to expose to the dirtiness strategy.
+	 */
+	public ChangeTrackingInterceptor( ChangeTracker changeTracker ) {
+		this.changeTracker = changeTracker;
+	}
+
+	/**
+	 * Get the change tracker for this session.
+	 */
+	public ChangeTracker getChangeTracker() {
+		return this.changeTracker;
+	}
+
+	@Override
+	public boolean onSave( Object entity, Serializable id, Object[] state, String[] propertyNames, Type[] types ) {
+		this.changeTracker.reset( entity );
+		return false;
+	}
+
+	@Override
+	public void onDelete( Object entity, Serializable id, Object[] state, String[] propertyNames, Type[] types ) {
+		this.changeTracker.untrack( entity );
+	}
+}
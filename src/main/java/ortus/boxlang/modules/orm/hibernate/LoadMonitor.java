@@ -0,0 +1,254 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.modules.orm.hibernate;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import ortus.boxlang.modules.orm.ORMContext;
+import ortus.boxlang.modules.orm.config.ORMKeys;
+import ortus.boxlang.runtime.BoxRuntime;
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.logging.BoxLangLogger;
+import ortus.boxlang.runtime.services.InterceptorService;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.Struct;
+
+/**
+ * Counts SQL statements and lazy initializations for a single {@link ORMContext}, to flag requests which are likely suffering from N+1 queries.
+ * <p>
+ * Installed as the {@link StatementInspector} of each session the ORM context opens, so every statement prepared on those sessions is counted. A
+ * statement inspector configured on the session factory keeps running, chained after the count; see {@link #chain(StatementInspector)}. Lazy
+ * proxy and collection initializations are reported by {@link LoadMonitorListener}, which finds the monitor through the session's statement
+ * inspector. Proxy initializations are counted per owning association, like `Vehicle.manufacturer`, falling back to the entity name for proxies
+ * which were not loaded through an association. Collection initializations are counted per collection role, like `Manufacturer.vehicles`.
+ * <p>
+ * When the ORM context shuts down, any counts at or over the configured thresholds are logged and announced via the `ORMLoadThresholdExceeded`
+ * interception point.
+ *
+ * @since 1.7.0
+ */
+public class LoadMonitor implements StatementInspector {
+
+	private static final long				serialVersionUID			= 1L;
+
+	private final LongAdder					statements					= new LongAdder();
+	private final Map<String, LongAdder>	proxyInitializations		= new ConcurrentHashMap<>();
+	private final Map<String, LongAdder>	collectionInitializations	= new ConcurrentHashMap<>();
+	/**
+	 * The owning association of each uninitialized proxy, like `Vehicle.manufacturer`, keyed by `entityName#id`.
+	 */
+	private final Map<String, String>		proxyAssociations			= new ConcurrentHashMap<>();
+	private final int						lazyLoadThreshold;
+	private final int						statementThreshold;
+
+	/**
+	 * Constructor
+	 *
+	 * @param lazyLoadThreshold  Number of lazy initializations of a single association or collection role at which to report it.
+	 * @param statementThreshold Number of SQL statements at which to report the request.
+	 */
+	public LoadMonitor( int lazyLoadThreshold, int statementThreshold ) {
+		this.lazyLoadThreshold	= lazyLoadThreshold;
+		this.statementThreshold	= statementThreshold;
+	}
+
+	/**
+	 * Retrieve the load monitor for the given session, if it was opened by a monitored ORM context.
+	 *
+	 * @param session The Hibernate session.
+	 *
+	 * @return The load monitor, or null if the session is not monitored.
+	 */
+	public static LoadMonitor forSession( SharedSessionContractImplementor session ) {
+		if ( session == null ) {
+			return null;
+		}
+		StatementInspector inspector = session.getJdbcSessionContext().getStatementInspector();
+		if ( inspector instanceof LoadMonitor monitor ) {
+			return monitor;
+		}
+		if ( inspector instanceof ChainedInspector chained ) {
+			return chained.monitor;
+		}
+		return null;
+	}
+
+	/**
+	 * Get the statement inspector to install on a session, which counts each statement and then hands it to the session factory's own inspector.
+	 *
+	 * @param configured The statement inspector configured on the session factory, or null.
+	 *
+	 * @return This monitor if there is no inspector to chain to, otherwise an inspector running both.
+	 */
+	public StatementInspector chain( StatementInspector configured ) {
+		return configured == null || configured == this ? this : new ChainedInspector( this, configured );
+	}
+
+	@Override
+	public String inspect( String sql ) {
+		this.statements.increment();
+		return sql;
+	}
+
+	/**
+	 * Record the association an uninitialized proxy was loaded through, so its initialization is counted against that association.
+	 * <p>
+	 * Hibernate shares one proxy per entity instance in a session, so a proxy reached through several associations is counted against the first.
+	 *
+	 * @param entityName  The name of the proxied entity.
+	 * @param id          The identifier of the proxied entity.
+	 * @param association The owning association, i.e. `Entity.property`.
+	 */
+	public void recordProxyAssociation( String entityName, Object id, String association ) {
+		this.proxyAssociations.putIfAbsent( entityName + "#" + id, association );
+	}
+
+	/**
+	 * Record the lazy initialization of an entity proxy.
+	 *
+	 * @param entityName The name of the proxied entity.
+	 * @param id         The identifier of the proxied entity.
+	 */
+	public void recordProxyInitialization( String entityName, Object id ) {
+		String association = this.proxyAssociations.remove( entityName + "#" + id );
+		this.proxyInitializations.computeIfAbsent( association != null ? association : entityName, key -> new LongAdder() ).increment();
+	}
+
+	/**
+	 * Record the lazy initialization of a collection.
+	 *
+	 * @param role The collection role, i.e. `Entity.property`.
+	 */
+	public void recordCollectionInitialization( String role ) {
+		this.collectionInitializations.computeIfAbsent( role, key -> new LongAdder() ).increment();
+	}
+
+	/**
+	 * Get the counts recorded so far.
+	 *
+	 * @return Struct with the total number of `statements`, and structs of `proxyInitializations` by association (or entity name) and
+	 *         `collectionInitializations` by collection role.
+	 */
+	public IStruct getStats() {
+		return Struct.of(
+		    ORMKeys.statements, this.statements.sum(),
+		    ORMKeys.proxyInitializations, toStruct( this.proxyInitializations, 0 ),
+		    ORMKeys.collectionInitializations, toStruct( this.collectionInitializations, 0 )
+		);
+	}
+
+	/**
+	 * Get the associations and collection roles which were lazily initialized at least `lazyLoadThreshold` times.
+	 *
+	 * @return Struct of association, entity name or collection role to initialization count.
+	 */
+	public IStruct getLazyLoadViolations() {
+		IStruct violations = toStruct( this.proxyInitializations, this.lazyLoadThreshold );
+		violations.putAll( toStruct( this.collectionInitializations, this.lazyLoadThreshold ) );
+		return violations;
+	}
+
+	/**
+	 * Whether any threshold has been reached.
+	 */
+	public boolean isThresholdExceeded() {
+		return this.statements.sum() >= this.statementThreshold || !getLazyLoadViolations().isEmpty();
+	}
+
+	/**
+	 * Log and announce the recorded counts if any threshold has been reached.
+	 *
+	 * @param context The BoxLang context the ORM context belongs to.
+	 * @param logger  The ORM logger.
+	 */
+	public void report( IBoxContext context, BoxLangLogger logger ) {
+		if ( !isThresholdExceeded() ) {
+			return;
+		}
+		IStruct violations = getLazyLoadViolations();
+		logger.warn(
+		    "Possible N+1 queries: {} SQL statements were executed; lazy loads at or over the threshold of {}: {}",
+		    this.statements.sum(),
+		    this.lazyLoadThreshold,
+		    violations.isEmpty() ? "none" : violations.toString()
+		);
+		InterceptorService interceptorService = BoxRuntime.getInstance().getInterceptorService();
+		if ( interceptorService.hasState( ORMKeys.EVENT_ORM_LOAD_THRESHOLD ) ) {
+			IStruct stats = getStats();
+			interceptorService.announce(
+			    ORMKeys.EVENT_ORM_LOAD_THRESHOLD,
+			    () -> Struct.of(
+			        Key.context, context,
+			        ORMKeys.stats, stats,
+			        ORMKeys.paths, violations
+			    )
+			);
+		}
+	}
+
+	/**
+	 * Clear all counts, e.g. once they have been reported.
+	 */
+	public void reset() {
+		this.statements.reset();
+		this.proxyInitializations.clear();
+		this.collectionInitializations.clear();
+		this.proxyAssociations.clear();
+	}
+
+	/**
+	 * Counts a statement on the monitor, then passes it to the statement inspector configured on the session factory.
+	 */
+	private static final class ChainedInspector implements StatementInspector {
+
+		private static final long			serialVersionUID	= 1L;
+
+		private final LoadMonitor			monitor;
+		private final StatementInspector	configured;
+
+		private ChainedInspector( LoadMonitor monitor, StatementInspector configured ) {
+			this.monitor	= monitor;
+			this.configured	= configured;
+		}
+
+		@Override
+		public String inspect( String sql ) {
+			this.monitor.inspect( sql );
+			String inspected = this.configured.inspect( sql );
+			// Inspectors may return null to leave the statement unchanged
+			return inspected != null ? inspected : sql;
+		}
+	}
+
+	private static IStruct toStruct( Map<String, LongAdder> counts, int minimum ) {
+		IStruct result = new Struct( IStruct.TYPES.LINKED );
+		counts.forEach( ( name, count ) -> {
+			long sum = count.sum();
+			if ( sum >= minimum ) {
+				result.put( Key.of( name ), sum );
+			}
+		} );
+		return result;
+	}
+}
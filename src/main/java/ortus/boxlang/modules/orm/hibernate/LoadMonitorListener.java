@@ -0,0 +1,109 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.modules.orm.hibernate;
+
+import org.hibernate.HibernateException;
+import org.hibernate.boot.Metadata;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.InitializeCollectionEvent;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.LoadEvent;
+import org.hibernate.event.spi.LoadEventListener;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.proxy.LazyInitializer;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.hibernate.type.Type;
+
+/**
+ * Reports lazy proxy and collection initializations to the {@link LoadMonitor} of the session they happen in.
+ * <p>
+ * Hibernate does not say which association a proxy belongs to when it is initialized, so the to-one proxies of each loaded entity are recorded
+ * against their owning property as the entity loads. Collections initialized while a load is still in progress, i.e. the non-lazy collections of the
+ * entities being loaded, are not counted.
+ * <p>
+ * Only integrated when the `loadMonitor` ORM setting is enabled. Sessions opened without a monitor, such as those used by the asynchronous BIFs, are
+ * ignored.
+ *
+ * @since 1.7.0
+ */
+public class LoadMonitorListener implements Integrator, LoadEventListener, PostLoadEventListener, InitializeCollectionEventListener {
+
+	private static final long serialVersionUID = 1L;
+
+	@Override
+	public void integrate( Metadata metadata, SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry ) {
+		EventListenerRegistry eventListenerRegistry = serviceRegistry.getService( EventListenerRegistry.class );
+		eventListenerRegistry.appendListeners( EventType.LOAD, this );
+		eventListenerRegistry.appendListeners( EventType.POST_LOAD, this );
+		eventListenerRegistry.appendListeners( EventType.INIT_COLLECTION, this );
+	}
+
+	@Override
+	public void disintegrate( SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry ) {
+		// Nothing to clean up
+	}
+
+	@Override
+	public void onLoad( LoadEvent event, LoadType loadType ) throws HibernateException {
+		// Proxies are initialized via Session.immediateLoad(), which is the only source of IMMEDIATE_LOAD events
+		if ( loadType != LoadEventListener.IMMEDIATE_LOAD ) {
+			return;
+		}
+		LoadMonitor monitor = LoadMonitor.forSession( event.getSession() );
+		if ( monitor != null ) {
+			monitor.recordProxyInitialization( event.getEntityClassName(), event.getEntityId() );
+		}
+	}
+
+	@Override
+	public void onPostLoad( PostLoadEvent event ) {
+		LoadMonitor monitor = LoadMonitor.forSession( event.getSession() );
+		if ( monitor == null ) {
+			return;
+		}
+		EntityPersister	persister		= event.getPersister();
+		Type[]			propertyTypes	= persister.getPropertyTypes();
+		for ( int i = 0; i < propertyTypes.length; i++ ) {
+			if ( propertyTypes[ i ].isEntityType()
+			    && persister.getPropertyValue( event.getEntity(), i ) instanceof HibernateProxy proxy
+			    && proxy.getHibernateLazyInitializer().isUninitialized() ) {
+				LazyInitializer initializer = proxy.getHibernateLazyInitializer();
+				monitor.recordProxyAssociation(
+				    initializer.getEntityName(),
+				    initializer.getIdentifier(),
+				    persister.getEntityName() + "." + persister.getPropertyNames()[ i ]
+				);
+			}
+		}
+	}
+
+	@Override
+	public void onInitializeCollection( InitializeCollectionEvent event ) throws HibernateException {
+		LoadMonitor monitor = LoadMonitor.forSession( event.getSession() );
+		// Hibernate initializes non-lazy collections before the load which reached their owner finishes, so only count those initialized afterwards
+		if ( monitor != null && event.getSession().getPersistenceContextInternal().isLoadFinished() ) {
+			monitor.recordCollectionInitialization( event.getCollection().getRole() );
+		}
+	}
+}
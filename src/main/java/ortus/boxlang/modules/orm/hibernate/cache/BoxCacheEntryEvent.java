@@ -0,0 +1,98 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.modules.orm.hibernate.cache;
+
+import javax.cache.Cache;
+import javax.cache.event.CacheEntryEvent;
+import javax.cache.event.EventType;
+
+/**
+ * A created, updated or removed entry of a {@link BoxHibernateCache}, as delivered to JCache entry listeners.
+ *
+ * @since 1.7.0
+ */
+public class BoxCacheEntryEvent<K, V> extends CacheEntryEvent<K, V> {
+
+	private static final long	serialVersionUID	= 1L;
+
+	private final K				key;
+	private final V				value;
+	private final V				oldValue;
+	private final boolean		oldValueAvailable;
+
+	/**
+	 * Constructor
+	 *
+	 * @param source            The cache the event occurred on.
+	 * @param eventType         The event type.
+	 * @param key               The entry key.
+	 * @param value             The new value, or the removed value for removal events.
+	 * @param oldValue          The previous value, if known.
+	 * @param oldValueAvailable Whether the previous value is known.
+	 */
+	public BoxCacheEntryEvent( Cache<K, V> source, EventType eventType, K key, V value, V oldValue, boolean oldValueAvailable ) {
+		super( source, eventType );
+		this.key				= key;
+		this.value				= value;
+		this.oldValue			= oldValue;
+		this.oldValueAvailable	= oldValueAvailable;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public K getKey() {
+		return this.key;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public V getValue() {
+		return this.value;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public V getOldValue() {
+		return this.oldValue;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isOldValueAvailable() {
+		return this.oldValueAvailable;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public <T> T unwrap( Class<T> clazz ) {
+		if ( clazz.isInstance( this ) ) {
+			return clazz.cast( this );
+		}
+		throw new IllegalArgumentException( "Unwrapping to " + clazz + " is not supported by this implementation" );
+	}
+}
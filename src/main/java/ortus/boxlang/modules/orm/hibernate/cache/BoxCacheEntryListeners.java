@@ -0,0 +1,355 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.modules.orm.hibernate.cache;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.cache.Cache;
+import javax.cache.configuration.CacheEntryListenerConfiguration;
+import javax.cache.configuration.Factory;
+import javax.cache.event.CacheEntryCreatedListener;
+import javax.cache.event.CacheEntryEvent;
+import javax.cache.event.CacheEntryEventFilter;
+import javax.cache.event.CacheEntryExpiredListener;
+import javax.cache.event.CacheEntryListener;
+import javax.cache.event.CacheEntryListenerException;
+import javax.cache.event.CacheEntryRemovedListener;
+import javax.cache.event.CacheEntryUpdatedListener;
+import javax.cache.event.EventType;
+
+import ortus.boxlang.runtime.BoxRuntime;
+import ortus.boxlang.runtime.logging.BoxLangLogger;
+
+/**
+ * The JCache entry listeners registered on a {@link BoxHibernateCache}, and their event delivery.
+ * <p>
+ * Synchronous listeners are called on the writing thread before the cache operation returns. Events for asynchronous listeners are queued and
+ * delivered by a single drain task per cache on a virtual thread, which hands each listener every event queued since its last call as one batch.
+ * A cache write therefore only pays for a queue offer, however slow the asynchronous listeners are. Events are delivered to each listener in the
+ * order they occurred.
+ * <p>
+ * Expiry listeners are rejected: the backing BoxLang cache expires entries without notice, so they would never be called.
+ *
+ * @since 1.7.0
+ */
+public class BoxCacheEntryListeners<K, V> {
+
+	/**
+	 * Most events handed to the listeners in one drain pass.
+	 */
+	private static final int						MAX_BATCH_SIZE	= 512;
+
+	/**
+	 * Virtual thread per task executor shared by all caches.
+	 */
+	private static final ExecutorService			EXECUTOR		= Executors
+	    .newThreadPerTaskExecutor( Thread.ofVirtual().name( "bx-orm-cache-events-", 0 ).factory() );
+
+	private final Cache<K, V>						cache;
+	private final BoxLangLogger						logger;
+	private final List<Registration<K, V>>			registrations	= new CopyOnWriteArrayList<>();
+	private final Queue<PendingEvent<K, V>>			pending			= new ConcurrentLinkedQueue<>();
+	private final AtomicBoolean						draining		= new AtomicBoolean( false );
+
+	/**
+	 * Constructor
+	 *
+	 * @param cache The cache whose events are delivered.
+	 */
+	public BoxCacheEntryListeners( Cache<K, V> cache ) {
+		this.cache	= cache;
+		this.logger	= BoxRuntime.getInstance().getLoggingService().getLogger( "orm" );
+	}
+
+	/**
+	 * Create the listener and filter of the given configuration and start delivering events to it.
+	 *
+	 * @param configuration The listener configuration.
+	 *
+	 * @throws IllegalArgumentException If the listener is a {@link CacheEntryExpiredListener}, since expiry events are never published.
+	 */
+	@SuppressWarnings( "unchecked" )
+	public void register( CacheEntryListenerConfiguration<K, V> configuration ) {
+		CacheEntryListener<K, V>	listener		= ( CacheEntryListener<K, V> ) configuration.getCacheEntryListenerFactory().create();
+		Factory<?>					filterFactory	= configuration.getCacheEntryEventFilterFactory();
+		CacheEntryEventFilter<K, V>	filter			= filterFactory == null ? null : ( CacheEntryEventFilter<K, V> ) filterFactory.create();
+		Registration<K, V>			registration	= new Registration<>( configuration, listener, filter );
+		if ( listener instanceof CacheEntryExpiredListener ) {
+			closeListener( registration );
+			throw new IllegalArgumentException( "Cache [" + this.cache.getName() + "] does not publish expiry events, since its BoxLang cache expires"
+			    + " entries without notice. Listen for created, updated and removed events only." );
+		}
+		this.registrations.add( registration );
+	}
+
+	/**
+	 * Stop delivering events to the listener of the given configuration, and close it. Events already queued for it are dropped.
+	 *
+	 * @param configuration The listener configuration.
+	 */
+	public void deregister( CacheEntryListenerConfiguration<K, V> configuration ) {
+		for ( Registration<K, V> registration : this.registrations ) {
+			if ( registration.configuration.equals( configuration ) ) {
+				this.registrations.remove( registration );
+				closeListener( registration );
+			}
+		}
+	}
+
+	/**
+	 * Deregister and close every listener.
+	 */
+	public void close() {
+		for ( Registration<K, V> registration : this.registrations ) {
+			this.registrations.remove( registration );
+			closeListener( registration );
+		}
+		this.pending.clear();
+	}
+
+	/**
+	 * Whether no listener is registered, in which case cache writes need not produce events.
+	 */
+	public boolean isEmpty() {
+		return this.registrations.isEmpty();
+	}
+
+	/**
+	 * Publish the creation of an entry.
+	 *
+	 * @param key   The entry key.
+	 * @param value The new value.
+	 */
+	public void created( K key, V value ) {
+		publish( EventType.CREATED, key, value, null, false );
+	}
+
+	/**
+	 * Publish the update of an entry.
+	 *
+	 * @param key      The entry key.
+	 * @param value    The new value.
+	 * @param oldValue The previous value, or null if it was not read.
+	 */
+	public void updated( K key, V value, V oldValue ) {
+		publish( EventType.UPDATED, key, value, oldValue, oldValue != null );
+	}
+
+	/**
+	 * Publish the removal of an entry.
+	 *
+	 * @param key      The entry key.
+	 * @param oldValue The removed value, or null if it was not read.
+	 */
+	public void removed( K key, V oldValue ) {
+		publish( EventType.REMOVED, key, oldValue, oldValue, oldValue != null );
+	}
+
+	/**
+	 * Deliver an event to the synchronous listeners, and queue it for the asynchronous ones.
+	 */
+	private void publish( EventType type, K key, V value, V oldValue, boolean oldValueAvailable ) {
+		if ( this.registrations.isEmpty() ) {
+			return;
+		}
+		BoxCacheEntryEvent<K, V>	event		= new BoxCacheEntryEvent<>( this.cache, type, key, value, oldValue, oldValueAvailable );
+		boolean						queued		= false;
+		for ( Registration<K, V> registration : this.registrations ) {
+			if ( !registration.accepts( type ) ) {
+				continue;
+			}
+			if ( registration.configuration.isSynchronous() ) {
+				deliver( registration, type, List.of( event ) );
+			} else {
+				this.pending.offer( new PendingEvent<>( registration, event ) );
+				queued = true;
+			}
+		}
+		if ( queued ) {
+			scheduleDrain();
+		}
+	}
+
+	/**
+	 * Start a drain task, unless one is already running.
+	 */
+	private void scheduleDrain() {
+		if ( this.draining.compareAndSet( false, true ) ) {
+			EXECUTOR.execute( this::drain );
+		}
+	}
+
+	/**
+	 * Deliver the queued events in batches, until the queue is empty.
+	 */
+	private void drain() {
+		try {
+			List<PendingEvent<K, V>>	batch	= new ArrayList<>();
+			PendingEvent<K, V>			next;
+			while ( ( next = this.pending.poll() ) != null ) {
+				batch.add( next );
+				if ( batch.size() >= MAX_BATCH_SIZE ) {
+					deliverBatch( batch );
+					batch.clear();
+				}
+			}
+			deliverBatch( batch );
+		} finally {
+			this.draining.set( false );
+			// An event may have been queued after the last poll, but before the flag was cleared
+			if ( !this.pending.isEmpty() ) {
+				scheduleDrain();
+			}
+		}
+	}
+
+	/**
+	 * Hand the given events to their listeners, one call per run of consecutive events of the same type, so each listener still sees its events in
+	 * order.
+	 */
+	private void deliverBatch( List<PendingEvent<K, V>> batch ) {
+		Map<Registration<K, V>, List<BoxCacheEntryEvent<K, V>>> runs = new IdentityHashMap<>();
+		for ( PendingEvent<K, V> pendingEvent : batch ) {
+			Registration<K, V>				registration	= pendingEvent.registration;
+			List<BoxCacheEntryEvent<K, V>>	run				= runs.get( registration );
+			if ( run != null && run.get( 0 ).getEventType() != pendingEvent.event.getEventType() ) {
+				deliverQuietly( registration, run );
+				run = null;
+			}
+			if ( run == null ) {
+				run = new ArrayList<>();
+				runs.put( registration, run );
+			}
+			run.add( pendingEvent.event );
+		}
+		runs.forEach( this::deliverQuietly );
+	}
+
+	/**
+	 * Deliver a run of asynchronous events, logging rather than propagating listener failures.
+	 */
+	private void deliverQuietly( Registration<K, V> registration, List<BoxCacheEntryEvent<K, V>> run ) {
+		// Skip registrations removed since the events were queued
+		if ( !this.registrations.contains( registration ) ) {
+			return;
+		}
+		try {
+			deliver( registration, run.get( 0 ).getEventType(), run );
+		} catch ( RuntimeException e ) {
+			logger.error( "Cache entry listener failed on cache [{}]", this.cache.getName(), e );
+		}
+	}
+
+	/**
+	 * Filter the given events and call the listener method for their type.
+	 *
+	 * @throws CacheEntryListenerException If the filter or listener fails.
+	 */
+	private void deliver( Registration<K, V> registration, EventType type, List<BoxCacheEntryEvent<K, V>> events ) {
+		try {
+			List<CacheEntryEvent<? extends K, ? extends V>> accepted = new ArrayList<>( events.size() );
+			for ( BoxCacheEntryEvent<K, V> event : events ) {
+				if ( registration.filter == null || registration.filter.evaluate( event ) ) {
+					accepted.add( event );
+				}
+			}
+			if ( accepted.isEmpty() ) {
+				return;
+			}
+			switch ( type ) {
+				case CREATED -> ( ( CacheEntryCreatedListener<K, V> ) registration.listener ).onCreated( accepted );
+				case UPDATED -> ( ( CacheEntryUpdatedListener<K, V> ) registration.listener ).onUpdated( accepted );
+				case REMOVED -> ( ( CacheEntryRemovedListener<K, V> ) registration.listener ).onRemoved( accepted );
+				case EXPIRED -> throw new IllegalStateException( "Expiry events are never published" );
+			}
+		} catch ( CacheEntryListenerException e ) {
+			throw e;
+		} catch ( RuntimeException e ) {
+			throw new CacheEntryListenerException( e );
+		}
+	}
+
+	/**
+	 * Close the listener and filter of a registration, if they hold resources.
+	 */
+	private void closeListener( Registration<K, V> registration ) {
+		for ( Object closeable : new Object[] { registration.listener, registration.filter } ) {
+			if ( closeable instanceof Closeable resource ) {
+				try {
+					resource.close();
+				} catch ( IOException e ) {
+					logger.warn( "Unable to close cache entry listener on cache [{}]", this.cache.getName(), e );
+				}
+			}
+		}
+	}
+
+	/**
+	 * A registered listener configuration, with the listener and filter created from it.
+	 */
+	private static final class Registration<K, V> {
+
+		private final CacheEntryListenerConfiguration<K, V>	configuration;
+		private final CacheEntryListener<K, V>				listener;
+		private final CacheEntryEventFilter<K, V>			filter;
+
+		private Registration( CacheEntryListenerConfiguration<K, V> configuration, CacheEntryListener<K, V> listener,
+		    CacheEntryEventFilter<K, V> filter ) {
+			this.configuration	= configuration;
+			this.listener		= listener;
+			this.filter			= filter;
+		}
+
+		/**
+		 * Whether the listener handles events of the given type.
+		 */
+		private boolean accepts( EventType type ) {
+			return switch ( type ) {
+				case CREATED -> this.listener instanceof CacheEntryCreatedListener;
+				case UPDATED -> this.listener instanceof CacheEntryUpdatedListener;
+				case REMOVED -> this.listener instanceof CacheEntryRemovedListener;
+				case EXPIRED -> false;
+			};
+		}
+	}
+
+	/**
+	 * An event queued for an asynchronous listener.
+	 */
+	private static final class PendingEvent<K, V> {
+
+		private final Registration<K, V>		registration;
+		private final BoxCacheEntryEvent<K, V>	event;
+
+		private PendingEvent( Registration<K, V> registration, BoxCacheEntryEvent<K, V> event ) {
+			this.registration	= registration;
+			this.event			= event;
+		}
+	}
+}
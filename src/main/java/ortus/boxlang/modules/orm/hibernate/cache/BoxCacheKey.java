@@ -0,0 +1,262 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.modules.orm.hibernate.cache;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.type.Type;
+
+/**
+ * Compact second-level cache key for an entity or collection.
+ * <p>
+ * Holds the (root) entity name or collection role and the typed identifier, with a precomputed hash code. The string form stored in the BoxLang
+ * cache is built at most once per key instance, so a cache miss followed by the put of the loaded entry only encodes the key once.
+ *
+ * @since 1.7.0
+ */
+public final class BoxCacheKey implements Serializable {
+
+	private static final long	serialVersionUID	= 1L;
+
+	/**
+	 * The root entity name, or the collection role.
+	 */
+	private final String		name;
+
+	/**
+	 * The entity identifier, or the collection owner's key.
+	 */
+	private final Object		id;
+
+	/**
+	 * The Hibernate type of the identifier, used for equality.
+	 */
+	private final Type			type;
+
+	/**
+	 * The tenant identifier, or null if multi-tenancy is not in use.
+	 */
+	private final String		tenantId;
+
+	private final int			hashCode;
+
+	/**
+	 * The memoized string form of this key, along with the namespace it was encoded with.
+	 */
+	private transient Encoded	encoded;
+
+	/**
+	 * Constructor
+	 *
+	 * @param name     The root entity name or collection role.
+	 * @param id       The identifier.
+	 * @param type     The Hibernate type of the identifier.
+	 * @param tenantId The tenant identifier, or null.
+	 * @param factory  The session factory, used to hash the identifier.
+	 */
+	BoxCacheKey( String name, Object id, Type type, String tenantId, SessionFactoryImplementor factory ) {
+		this.name		= name;
+		this.id			= id;
+		this.type		= type;
+		this.tenantId	= tenantId;
+
+		int result = 31 * name.hashCode() + type.getHashCode( id, factory );
+		this.hashCode = tenantId == null ? result : 31 * result + tenantId.hashCode();
+	}
+
+	/**
+	 * Get the root entity name or collection role of this key.
+	 */
+	public String getName() {
+		return this.name;
+	}
+
+	/**
+	 * Get the identifier of this key.
+	 */
+	public Object getId() {
+		return this.id;
+	}
+
+	/**
+	 * Encode this key as a BoxLang cache key: the namespace, the entity name or role, and the identifier prefixed with a type marker, so
+	 * <code>1</code> and <code>"1"</code> never share an entry.
+	 * <p>
+	 * BoxLang cache keys are case-insensitive, so string identifiers are written with {@link #appendCaseSafe}, which keeps <code>"abc"</code> and
+	 * <code>"ABC"</code> apart. The encoding is reused for as long as the key is encoded under the same namespace.
+	 *
+	 * @param namespace The namespace of the session factory the key belongs to.
+	 *
+	 * @return The encoded key, e.g. <code>a1b2c3:Vehicle#s:ride-time</code>.
+	 */
+	public String encode( String namespace ) {
+		Encoded result = this.encoded;
+		if ( result == null || !result.namespace.equals( namespace ) ) {
+			result			= new Encoded( namespace, build( namespace ) );
+			this.encoded	= result;
+		}
+		return result.value;
+	}
+
+	/**
+	 * Build the string form of this key under the given namespace.
+	 *
+	 * @param namespace The namespace to prefix the key with.
+	 */
+	private String build( String namespace ) {
+		StringBuilder sb = new StringBuilder( namespace.length() + this.name.length() + 24 );
+		sb.append( namespace ).append( this.name ).append( '#' );
+		appendTypedId( sb, this.id );
+		if ( this.tenantId != null ) {
+			sb.append( '@' );
+			appendCaseSafe( sb, this.tenantId );
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Append an identifier value with a one-letter type marker. Composite identifiers are written in key order, so equal identifiers always encode
+	 * the same way.
+	 *
+	 * @param sb    The builder to append to.
+	 * @param value The identifier, or a component of a composite identifier.
+	 */
+	static void appendTypedId( StringBuilder sb, Object value ) {
+		if ( value instanceof String stringValue ) {
+			sb.append( "s:" );
+			appendCaseSafe( sb, stringValue );
+		} else if ( value instanceof Integer intValue ) {
+			sb.append( "i:" ).append( intValue.intValue() );
+		} else if ( value instanceof Long longValue ) {
+			sb.append( "l:" ).append( longValue.longValue() );
+		} else if ( value instanceof Map<?, ?> mapValue ) {
+			sb.append( "c:{" );
+			TreeMap<String, Object> sorted = new TreeMap<>();
+			mapValue.forEach( ( key, component ) -> sorted.put( String.valueOf( key ), component ) );
+			sorted.forEach( ( key, component ) -> {
+				sb.append( key ).append( '=' );
+				appendTypedId( sb, component );
+				sb.append( ';' );
+			} );
+			sb.append( '}' );
+		} else if ( value == null ) {
+			sb.append( "n:" );
+		} else {
+			sb.append( "o:" );
+			appendCaseSafe( sb, value.toString() );
+		}
+	}
+
+	/**
+	 * Append a string so that strings which differ only in case stay distinct under a case-insensitive comparison.
+	 * <p>
+	 * Strings of lower-case ASCII letters, digits, <code>-</code>, <code>_</code> and <code>.</code> are appended as-is, which covers slugs, UUIDs and
+	 * most generated keys. Any other string is appended as <code>%</code> followed by the lower-case hex of its UTF-8 bytes.
+	 *
+	 * @param sb    The builder to append to.
+	 * @param value The string to append.
+	 */
+	static void appendCaseSafe( StringBuilder sb, String value ) {
+		for ( int i = 0; i < value.length(); i++ ) {
+			if ( !isCaseSafe( value.charAt( i ) ) ) {
+				sb.append( '%' );
+				HexFormat.of().formatHex( sb, value.getBytes( StandardCharsets.UTF_8 ) );
+				return;
+			}
+		}
+		sb.append( value );
+	}
+
+	/**
+	 * Reverse {@link #appendCaseSafe} for a string which was encoded on its own.
+	 *
+	 * @param encoded The encoded string.
+	 *
+	 * @return The original string, or null if the given string is not the case-safe form of a single string, such as an encoded entity key.
+	 */
+	static String decodeCaseSafe( String encoded ) {
+		if ( encoded.startsWith( "%" ) ) {
+			try {
+				return new String( HexFormat.of().parseHex( encoded, 1, encoded.length() ), StandardCharsets.UTF_8 );
+			} catch ( IllegalArgumentException e ) {
+				return null;
+			}
+		}
+		for ( int i = 0; i < encoded.length(); i++ ) {
+			if ( !isCaseSafe( encoded.charAt( i ) ) ) {
+				return null;
+			}
+		}
+		return encoded;
+	}
+
+	private static boolean isCaseSafe( char c ) {
+		return ( c >= 'a' && c <= 'z' ) || ( c >= '0' && c <= '9' ) || c == '-' || c == '_' || c == '.';
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean equals( Object other ) {
+		if ( this == other ) {
+			return true;
+		}
+		if ( ! ( other instanceof BoxCacheKey otherKey ) || this.hashCode != otherKey.hashCode ) {
+			return false;
+		}
+		return this.name.equals( otherKey.name )
+		    && ( this.tenantId == null ? otherKey.tenantId == null : this.tenantId.equals( otherKey.tenantId ) )
+		    && this.type.isEqual( this.id, otherKey.id );
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int hashCode() {
+		return this.hashCode;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return build( "" );
+	}
+
+	/**
+	 * An encoded key and the namespace it was encoded under, published together so concurrent readers never see a mismatched pair.
+	 */
+	private static final class Encoded {
+
+		private final String	namespace;
+		private final String	value;
+
+		private Encoded( String namespace, String value ) {
+			this.namespace	= namespace;
+			this.value		= value;
+		}
+	}
+}
@@ -0,0 +1,85 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.modules.orm.hibernate.cache;
+
+import org.hibernate.cache.internal.DefaultCacheKeysFactory;
+import org.hibernate.cache.spi.CacheKeysFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.EntityPersister;
+
+/**
+ * Creates {@link BoxCacheKey} instances for entity and collection regions.
+ * <p>
+ * Natural id keys are left to Hibernate's default factory, which already memoizes their string form.
+ *
+ * @since 1.7.0
+ */
+public class BoxCacheKeysFactory implements CacheKeysFactory {
+
+	public static final BoxCacheKeysFactory INSTANCE = new BoxCacheKeysFactory();
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object createCollectionKey( Object id, CollectionPersister persister, SessionFactoryImplementor factory, String tenantIdentifier ) {
+		return new BoxCacheKey( persister.getRole(), id, persister.getKeyType(), tenantIdentifier, factory );
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object createEntityKey( Object id, EntityPersister persister, SessionFactoryImplementor factory, String tenantIdentifier ) {
+		return new BoxCacheKey( persister.getRootEntityName(), id, persister.getIdentifierType(), tenantIdentifier, factory );
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object createNaturalIdKey( Object[] naturalIdValues, EntityPersister persister, SharedSessionContractImplementor session ) {
+		return DefaultCacheKeysFactory.INSTANCE.createNaturalIdKey( naturalIdValues, persister, session );
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object getEntityId( Object cacheKey ) {
+		return ( ( BoxCacheKey ) cacheKey ).getId();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object getCollectionId( Object cacheKey ) {
+		return ( ( BoxCacheKey ) cacheKey ).getId();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object[] getNaturalIdValues( Object cacheKey ) {
+		return DefaultCacheKeysFactory.INSTANCE.getNaturalIdValues( cacheKey );
+	}
+}
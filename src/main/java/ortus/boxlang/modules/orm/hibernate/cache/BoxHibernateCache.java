@@ -17,21 +17,35 @@
  */
 package ortus.boxlang.modules.orm.hibernate.cache;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import javax.cache.Cache;
 import javax.cache.CacheManager;
 import javax.cache.configuration.CacheEntryListenerConfiguration;
 import javax.cache.configuration.CompleteConfiguration;
 import javax.cache.configuration.Configuration;
+import javax.cache.configuration.Factory;
 import javax.cache.configuration.MutableConfiguration;
+import javax.cache.integration.CacheLoader;
 import javax.cache.integration.CompletionListener;
 import javax.cache.processor.EntryProcessor;
 import javax.cache.processor.EntryProcessorException;
 import javax.cache.processor.EntryProcessorResult;
+import javax.cache.processor.MutableEntry;
+
+import org.hibernate.cache.spi.QueryKey;
 
 import ortus.boxlang.modules.orm.ORMApp;
 import ortus.boxlang.modules.orm.ORMService;
@@ -53,18 +67,37 @@ import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
  */
 public class BoxHibernateCache<K, V> implements Cache<K, V> {
 
-	private BoxRuntime					runtime							= BoxRuntime.getInstance();
-	private CacheService				cacheService					= runtime.getCacheService();
-	private ORMService					ormService;
-	private boolean						closed							= false;
-	private BoxHibernateCacheManager	cacheManager;
-	private MutableConfiguration<K, V>	configuration;
-	private ICacheProvider				cacheProvider;
-	private Key							cacheName;
+	private BoxRuntime							runtime							= BoxRuntime.getInstance();
+	private CacheService						cacheService					= runtime.getCacheService();
+	private ORMService							ormService;
+	private boolean								closed							= false;
+	private BoxHibernateCacheManager			cacheManager;
+	private MutableConfiguration<K, V>			configuration;
+	private Key									cacheName;
 
-	private static final String			LEGACY_CACHE_PROVIDER_MAP		= "ConcurrentHashMap";
-	private static final String			LEGACY_CACHE_PROVIDER_TABLE		= "HashTable";
-	private static final String			LEGACY_CACHE_PROVIDER_EHCACHE	= "ehcache";
+	/**
+	 * Prefix of every key this region writes, shared by all regions of the session factory.
+	 */
+	private final String						namespace;
+
+	/**
+	 * Hit, miss, put and removal counters of this region.
+	 */
+	private final RegionStatistics				statistics;
+
+	/**
+	 * Entry listeners registered on this region.
+	 */
+	private final BoxCacheEntryListeners<K, V>	listeners;
+
+	/**
+	 * The BoxLang cache backing this region, resolved on first access. Null until resolved, or after {@link #rebind()}.
+	 */
+	private volatile ICacheProvider				cacheProvider;
+
+	private static final String					LEGACY_CACHE_PROVIDER_MAP		= "ConcurrentHashMap";
+	private static final String					LEGACY_CACHE_PROVIDER_TABLE		= "HashTable";
+	private static final String					LEGACY_CACHE_PROVIDER_EHCACHE	= "ehcache";
 
 	/**
 	 * Constructs a cache.
@@ -82,6 +115,9 @@ public class BoxHibernateCache<K, V> implements Cache<K, V> {
 		this.ormService		= ( ORMService ) runtime.getGlobalService( ORMKeys.ORMService );
 		this.cacheManager	= cacheManager;
 		this.cacheName		= Key.of( cacheName );
+		this.namespace		= cacheManager.getNamespace();
+		this.statistics		= new RegionStatistics( cacheName, cacheManager.getStatisticsName(), this::countEntries, 0,
+		    cacheManager.isStatisticsEnabled() );
 
 		// we make a copy of the configuration here so that the provided one
 		// may be changed and or used independently for other caches. we do this
@@ -96,6 +132,11 @@ public class BoxHibernateCache<K, V> implements Cache<K, V> {
 			mutableConfiguration.setTypes( configuration.getKeyType(), configuration.getValueType() );
 			this.configuration = new MutableConfiguration<K, V>( mutableConfiguration );
 		}
+
+		this.listeners = new BoxCacheEntryListeners<>( this );
+		for ( CacheEntryListenerConfiguration<K, V> listenerConfiguration : this.configuration.getCacheEntryListenerConfigurations() ) {
+			this.listeners.register( listenerConfiguration );
+		}
 	}
 
 	/**
@@ -104,9 +145,12 @@ public class BoxHibernateCache<K, V> implements Cache<K, V> {
 	@Override
 	public V get( K key ) {
 		Attempt<Object> attempt = getCacheProvider().get( createCacheKey( key ) );
-		return attempt.wasSuccessful()
-		    ? vCast( attempt.get() )
-		    : null;
+		if ( attempt.wasSuccessful() ) {
+			this.statistics.recordHit();
+			return vCast( attempt.get() );
+		}
+		this.statistics.recordMiss();
+		return null;
 	}
 
 	/**
@@ -114,9 +158,19 @@ public class BoxHibernateCache<K, V> implements Cache<K, V> {
 	 */
 	@Override
 	public Map<K, V> getAll( Set<? extends K> keys ) {
-		return getCacheProvider().getKeys().stream().parallel()
-		    .map( key -> Map.entry( kCast( key ), get( kCast( key ) ) ) )
-		    .collect( Collectors.toMap( Map.Entry::getKey, Map.Entry::getValue ) );
+		// Look up each requested key on its own, so hits and misses are recorded per key and results map straight back to the Hibernate keys
+		ICacheProvider	provider	= getCacheProvider();
+		Map<K, V>		results		= new HashMap<>( keys.size() * 2 );
+		for ( K key : keys ) {
+			Attempt<Object> attempt = provider.get( createCacheKey( key ) );
+			if ( attempt.wasSuccessful() ) {
+				this.statistics.recordHit();
+				results.put( key, vCast( attempt.get() ) );
+			} else {
+				this.statistics.recordMiss();
+			}
+		}
+		return results;
 	}
 
 	/**
@@ -127,14 +181,57 @@ public class BoxHibernateCache<K, V> implements Cache<K, V> {
 		return getCacheProvider().lookup( createCacheKey( key ) );
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Loads through the configured {@link CacheLoader}, if the cache is read-through. Hibernate does not configure a loader, so this only completes
+	 * the listener for ORM regions.
+	 */
 	@Override
 	public void loadAll( Set<? extends K> keys, boolean replaceExistingValues, CompletionListener completionListener ) {
-
+		try {
+			Factory<CacheLoader<K, V>> loaderFactory = this.configuration.getCacheLoaderFactory();
+			if ( this.configuration.isReadThrough() && loaderFactory != null && !keys.isEmpty() ) {
+				Set<K> toLoad = new HashSet<>( keys );
+				if ( !replaceExistingValues ) {
+					toLoad.removeIf( this::containsKey );
+				}
+				if ( !toLoad.isEmpty() ) {
+					putAll( loaderFactory.create().loadAll( toLoad ) );
+				}
+			}
+			if ( completionListener != null ) {
+				completionListener.onCompletion();
+			}
+		} catch ( Exception e ) {
+			if ( completionListener == null ) {
+				throw e;
+			}
+			completionListener.onException( e );
+		}
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * When entry listeners are registered, the current value is read first to tell created entries from updated ones.
+	 */
 	@Override
 	public void put( K key, V value ) {
-		getCacheProvider().set( createCacheKey( key ), value );
+		String			cacheKey	= createCacheKey( key );
+		ICacheProvider	provider	= getCacheProvider();
+		if ( this.listeners.isEmpty() ) {
+			provider.set( cacheKey, value );
+		} else {
+			Attempt<Object> existing = provider.get( cacheKey );
+			provider.set( cacheKey, value );
+			if ( existing.wasSuccessful() ) {
+				this.listeners.updated( key, value, vCast( existing.get() ) );
+			} else {
+				this.listeners.created( key, value );
+			}
+		}
+		this.statistics.recordPut();
 	}
 
 	/**
@@ -173,7 +270,17 @@ public class BoxHibernateCache<K, V> implements Cache<K, V> {
 	 */
 	@Override
 	public boolean remove( K key ) {
-		return getCacheProvider().clear( createCacheKey( key ) );
+		String			cacheKey	= createCacheKey( key );
+		ICacheProvider	provider	= getCacheProvider();
+		Attempt<Object>	existing	= this.listeners.isEmpty() ? null : provider.get( cacheKey );
+		boolean			removed		= provider.clear( cacheKey );
+		if ( removed ) {
+			this.statistics.recordRemoval();
+			if ( existing != null ) {
+				this.listeners.removed( key, existing.wasSuccessful() ? vCast( existing.get() ) : null );
+			}
+		}
+		return removed;
 	}
 
 	/**
@@ -242,23 +349,48 @@ public class BoxHibernateCache<K, V> implements Cache<K, V> {
 	 */
 	@Override
 	public void removeAll( Set<? extends K> keys ) {
-		getCacheProvider().clearAll( key -> keys.contains( kCast( key ) ) );
+		if ( keys.isEmpty() ) {
+			return;
+		}
+		if ( !this.listeners.isEmpty() ) {
+			keys.forEach( this::remove );
+			return;
+		}
+		// Clear each key on its own, so only entries which were actually present are counted as removals
+		ICacheProvider provider = getCacheProvider();
+		for ( K key : keys ) {
+			if ( provider.clear( createCacheKey( key ) ) ) {
+				this.statistics.recordRemoval();
+			}
+		}
 	}
 
 	/**
 	 * {@inheritDoc}
+	 * <p>
+	 * When entry listeners are registered, entries are removed one by one so each removal is published, keyed as returned by {@link #iterator()}.
 	 */
 	@Override
 	public void removeAll() {
-		getCacheProvider().clearAll();
+		if ( this.listeners.isEmpty() ) {
+			clear();
+			return;
+		}
+		iterator().forEachRemaining( entry -> remove( entry.getKey() ) );
 	}
 
 	/**
 	 * {@inheritDoc}
+	 * <p>
+	 * Only this session factory's entries are removed when the region is namespaced, since the backing BoxLang cache may be shared.
 	 */
 	@Override
 	public void clear() {
-		getCacheProvider().clearAll();
+		if ( this.namespace.isEmpty() ) {
+			getCacheProvider().clearAll();
+		} else {
+			getCacheProvider().clearAll( key -> key.getName().startsWith( this.namespace ) );
+		}
 	}
 
 	/**
@@ -272,11 +404,29 @@ public class BoxHibernateCache<K, V> implements Cache<K, V> {
 
 	/**
 	 * {@inheritDoc}
+	 * <p>
+	 * The processor runs on the calling thread, and its changes to the entry are applied afterwards as a single put or remove. BoxLang caches have no
+	 * compare-and-set, so this is not atomic with respect to concurrent writers of the same key.
 	 */
 	@Override
 	public <T> T invoke( K key, EntryProcessor<K, V, T> entryProcessor, Object... arguments ) throws EntryProcessorException {
-		// TODO Auto-generated method stub
-		throw new UnsupportedOperationException( "Unimplemented method 'invoke'" );
+		Objects.requireNonNull( key, "The key may not be null" );
+		Objects.requireNonNull( entryProcessor, "The entry processor may not be null" );
+		ProcessorEntry	entry	= new ProcessorEntry( key );
+		T				result;
+		try {
+			result = entryProcessor.process( entry, arguments );
+		} catch ( EntryProcessorException e ) {
+			throw e;
+		} catch ( Exception e ) {
+			throw new EntryProcessorException( e );
+		}
+		if ( entry.removed ) {
+			remove( key );
+		} else if ( entry.updated ) {
+			put( key, entry.value );
+		}
+		return result;
 	}
 
 	/**
@@ -284,8 +434,20 @@ public class BoxHibernateCache<K, V> implements Cache<K, V> {
 	 */
 	@Override
 	public <T> Map<K, EntryProcessorResult<T>> invokeAll( Set<? extends K> keys, EntryProcessor<K, V, T> entryProcessor, Object... arguments ) {
-		// TODO Auto-generated method stub
-		throw new UnsupportedOperationException( "Unimplemented method 'invokeAll'" );
+		Map<K, EntryProcessorResult<T>> results = new HashMap<>( keys.size() * 2 );
+		for ( K key : keys ) {
+			try {
+				T result = invoke( key, entryProcessor, arguments );
+				if ( result != null ) {
+					results.put( key, () -> result );
+				}
+			} catch ( EntryProcessorException e ) {
+				results.put( key, () -> {
+					throw e;
+				} );
+			}
+		}
+		return results;
 	}
 
 	/**
@@ -293,7 +455,7 @@ public class BoxHibernateCache<K, V> implements Cache<K, V> {
 	 */
 	@Override
 	public String getName() {
-		return getClass().getSimpleName();
+		return this.cacheName.getName();
 	}
 
 	/**
@@ -310,6 +472,9 @@ public class BoxHibernateCache<K, V> implements Cache<K, V> {
 	@Override
 	public void close() {
 		this.closed = true;
+		this.listeners.close();
+		this.statistics.close();
+		rebind();
 	}
 
 	/**
@@ -323,19 +488,24 @@ public class BoxHibernateCache<K, V> implements Cache<K, V> {
 	/**
 	 * {@inheritDoc}
 	 */
-	@SuppressWarnings( "unchecked" )
 	@Override
 	public <T> T unwrap( Class<T> clazz ) {
-		return ( T ) clazz;
+		if ( clazz.isInstance( this ) ) {
+			return clazz.cast( this );
+		}
+		throw new IllegalArgumentException( "Unwrapping to " + clazz + " is not supported by this implementation" );
 	}
 
 	/**
 	 * {@inheritDoc}
+	 * <p>
+	 * Asynchronous listeners receive their events in batches on a background thread. Expiry listeners are rejected with an
+	 * {@link IllegalArgumentException}, since BoxLang caches expire entries without notice.
 	 */
 	@Override
 	public void registerCacheEntryListener( CacheEntryListenerConfiguration<K, V> cacheEntryListenerConfiguration ) {
-		// TODO Auto-generated method stub
-		throw new UnsupportedOperationException( "Unimplemented method 'registerCacheEntryListener'" );
+		this.listeners.register( cacheEntryListenerConfiguration );
+		this.configuration.addCacheEntryListenerConfiguration( cacheEntryListenerConfiguration );
 	}
 
 	/**
@@ -343,65 +513,157 @@ public class BoxHibernateCache<K, V> implements Cache<K, V> {
 	 */
 	@Override
 	public void deregisterCacheEntryListener( CacheEntryListenerConfiguration<K, V> cacheEntryListenerConfiguration ) {
-		// TODO Auto-generated method stub
-		throw new UnsupportedOperationException( "Unimplemented method 'deregisterCacheEntryListener'" );
+		this.configuration.removeCacheEntryListenerConfiguration( cacheEntryListenerConfiguration );
+		this.listeners.deregister( cacheEntryListenerConfiguration );
 	}
 
 	/**
 	 * {@inheritDoc}
+	 * <p>
+	 * Iterates a snapshot of this region's entries. The Hibernate key objects are not stored, so plain string keys are decoded back to the original
+	 * string, and other keys are returned in their stored form without the namespace. Either way the keys are accepted back by {@link #get(Object)}
+	 * and {@link #remove(Object)}.
 	 */
 	@Override
 	public Iterator<Entry<K, V>> iterator() {
-		throw new UnsupportedOperationException( "Unimplemented method 'deregisterCacheEntryListener'" );
-		// return getCacheProvider().getKeys().stream().map( key -> new WrappedCacheEntry<K, V>( key, get( key ) ) ).iterator();
+		ICacheProvider		provider	= getCacheProvider();
+		List<Entry<K, V>>	entries		= new ArrayList<>();
+		for ( Object storedKey : provider.getKeys( key -> key.getName().startsWith( this.namespace ) ) ) {
+			String			cacheKey	= String.valueOf( storedKey );
+			Attempt<Object>	attempt		= provider.get( cacheKey );
+			if ( attempt.wasSuccessful() ) {
+				entries.add( new StoredEntry<>( kCast( toIteratorKey( cacheKey.substring( this.namespace.length() ) ) ), vCast( attempt.get() ) ) );
+			}
+		}
+		return Collections.unmodifiableList( entries ).iterator();
+	}
+
+	/**
+	 * Get the statistics of this region.
+	 */
+	public RegionStatistics getStatistics() {
+		return this.statistics;
 	}
 
 	/**
-	 * Returns the configured cache provider in a lazy fashion
+	 * Count the entries of this region. Only entries under this region's namespace are counted when the backing BoxLang cache is shared.
+	 */
+	private long countEntries() {
+		if ( this.namespace.isEmpty() ) {
+			return getCacheProvider().getSize();
+		}
+		return getCacheProvider().getKeys( key -> key.getName().startsWith( this.namespace ) ).size();
+	}
+
+	/**
+	 * Drop the resolved cache provider, so the next cache access resolves it again. Used when the ORM application is reloaded or the region is
+	 * closed.
+	 */
+	public void rebind() {
+		this.cacheProvider = null;
+	}
+
+	/**
+	 * Returns the configured cache provider, resolving it on first access.
+	 * <p>
+	 * The provider is resolved once per region and published through a volatile field, so cache hits read it without locking or looking up the
+	 * ORM application.
 	 *
-	 * @return
+	 * @return The BoxLang cache backing this region.
 	 */
 	private ICacheProvider getCacheProvider() {
-		if ( this.cacheProvider == null ) {
+		ICacheProvider provider = this.cacheProvider;
+		if ( provider == null ) {
+			synchronized ( this ) {
+				provider = this.cacheProvider;
+				if ( provider == null ) {
+					provider			= resolveCacheProvider();
+					this.cacheProvider	= provider;
+				}
+			}
+		}
+		return provider;
+	}
+
+	/**
+	 * Look up or create the BoxLang cache for this region, according to the ORM configuration.
+	 * <p>
+	 * The configuration is taken from the cache manager when it is bound to one, and from the current request's ORM application otherwise.
+	 */
+	private ICacheProvider resolveCacheProvider() {
+		ORMConfig config = this.cacheManager.getORMConfig();
+		if ( config == null ) {
 			IBoxContext context = RequestBoxContext.getCurrent();
 			if ( context == null ) {
 				throw new BoxRuntimeException( "A Hibernate Cache may not be created outside of a BoxLang application context" );
 			}
+			ORMApp ormApp = ormService.getORMAppByContext( context );
+			config = ormApp.getConfig();
+		}
 
-			ORMApp		ormApp				= ormService.getORMAppByContext( context );
-			ORMConfig	config				= ormApp.getConfig();
-			Key			cacheProviderKey	= Key.of( config.cacheProvider );
-
-			if ( cacheService.hasCache( this.cacheName ) ) {
-				return cacheService.getCache( this.cacheName );
-			} else if ( config.cacheProvider == null
-			    || config.cacheProvider.equalsIgnoreCase( LEGACY_CACHE_PROVIDER_MAP )
-			    || config.cacheProvider.equalsIgnoreCase( LEGACY_CACHE_PROVIDER_TABLE )
-			    || cacheProviderKey.equals( Key.of( ORMConfig.DEFAULT_CACHEPROVIDER ) ) ) {
-				return cacheService.createDefaultCache( this.cacheName );
-			} else if ( cacheService.hasProvider( cacheProviderKey ) ) {
-				return cacheService.createCache( this.cacheName, Key.of( config.cacheProvider ), config.cacheConfigProperties );
-			} else {
-				throw new BoxRuntimeException( "No BoxLang cache provider found with a name of [" + config.cacheProvider + "]." );
-			}
+		Key cacheProviderKey = config.cacheProvider == null ? null : Key.of( config.cacheProvider );
+		if ( cacheService.hasCache( this.cacheName ) ) {
+			return cacheService.getCache( this.cacheName );
+		} else if ( config.cacheProvider == null
+		    || config.cacheProvider.equalsIgnoreCase( LEGACY_CACHE_PROVIDER_MAP )
+		    || config.cacheProvider.equalsIgnoreCase( LEGACY_CACHE_PROVIDER_TABLE )
+		    || cacheProviderKey.equals( Key.of( ORMConfig.DEFAULT_CACHEPROVIDER ) ) ) {
+			return cacheService.createDefaultCache( this.cacheName );
+		} else if ( cacheService.hasProvider( cacheProviderKey ) ) {
+			return cacheService.createCache( this.cacheName, cacheProviderKey, config.cacheConfigProperties );
+		} else {
+			throw new BoxRuntimeException( "No BoxLang cache provider found with a name of [" + config.cacheProvider + "]." );
 		}
+	}
 
-		return this.cacheProvider;
+	/**
+	 * Creates a namespaced string cache key from the provided value.
+	 * <p>
+	 * BoxLang cache keys are case-insensitive, so every key is encoded case-safely. Entity and collection keys use their compact, memoized
+	 * encoding. Query keys are reduced to a digest of their SQL and parameters, so large queries are not retained in full as cache keys.
+	 *
+	 * @param key The Hibernate cache key.
+	 *
+	 * @return The key to store the entry under in the BoxLang cache.
+	 */
+	private String createCacheKey( Object key ) {
+		if ( key instanceof BoxCacheKey boxKey ) {
+			return boxKey.encode( this.namespace );
+		} else if ( key instanceof QueryKey ) {
+			return this.namespace + "q:" + digest( key.toString() );
+		} else if ( key instanceof StoredKey storedKey ) {
+			return this.namespace + storedKey.value;
+		}
+		StringBuilder sb = new StringBuilder( this.namespace );
+		BoxCacheKey.appendCaseSafe( sb, key.toString() );
+		return sb.toString();
+	}
 
+	/**
+	 * Turn a stored key, without its namespace, back into a key for {@link #iterator()}.
+	 *
+	 * @param storedKey The stored key.
+	 *
+	 * @return The original string for a plain string key, or else the stored form wrapped in a {@link StoredKey}.
+	 */
+	private static Object toIteratorKey( String storedKey ) {
+		String decoded = BoxCacheKey.decodeCaseSafe( storedKey );
+		return decoded != null ? decoded : new StoredKey( storedKey );
 	}
 
 	/**
-	 * Creates a string cache key from the provided value
+	 * Hash the given string with SHA-256.
 	 *
-	 * @param key
+	 * @param value The string to hash.
 	 *
-	 * @return
+	 * @return The lower-case hex form of the digest, which is safe to use as a case-insensitive key.
 	 */
-	private String createCacheKey( K key ) {
-		if ( key instanceof String stringKey ) {
-			return stringKey;
-		} else {
-			return key.toString();
+	private static String digest( String value ) {
+		try {
+			byte[] hash = MessageDigest.getInstance( "SHA-256" ).digest( value.getBytes( StandardCharsets.UTF_8 ) );
+			return HexFormat.of().formatHex( hash );
+		} catch ( NoSuchAlgorithmException e ) {
+			throw new BoxRuntimeException( "SHA-256 is not available to hash query cache keys", e );
 		}
 	}
 
@@ -429,4 +691,122 @@ public class BoxHibernateCache<K, V> implements Cache<K, V> {
 		return ( K ) value;
 	}
 
+	/**
+	 * A key read by {@link #iterator()} which is not a plain string, like an entity key, kept in its stored form.
+	 */
+	private static final class StoredKey {
+
+		private final String value;
+
+		private StoredKey( String value ) {
+			this.value = value;
+		}
+
+		@Override
+		public boolean equals( Object other ) {
+			return other instanceof StoredKey otherKey && this.value.equals( otherKey.value );
+		}
+
+		@Override
+		public int hashCode() {
+			return this.value.hashCode();
+		}
+
+		@Override
+		public String toString() {
+			return this.value;
+		}
+	}
+
+	/**
+	 * A cache entry read by {@link #iterator()}.
+	 */
+	private static final class StoredEntry<K, V> implements Entry<K, V> {
+
+		private final K	key;
+		private final V	value;
+
+		private StoredEntry( K key, V value ) {
+			this.key	= key;
+			this.value	= value;
+		}
+
+		@Override
+		public K getKey() {
+			return this.key;
+		}
+
+		@Override
+		public V getValue() {
+			return this.value;
+		}
+
+		@Override
+		public <T> T unwrap( Class<T> clazz ) {
+			if ( clazz.isInstance( this ) ) {
+				return clazz.cast( this );
+			}
+			throw new IllegalArgumentException( "Unwrapping to " + clazz + " is not supported by this implementation" );
+		}
+	}
+
+	/**
+	 * The entry handed to an entry processor. The current value is read on first access, and changes are recorded for {@link #invoke} to apply.
+	 */
+	private final class ProcessorEntry implements MutableEntry<K, V> {
+
+		private final K	key;
+		private V		value;
+		private boolean	loaded;
+		private boolean	updated;
+		private boolean	removed;
+
+		private ProcessorEntry( K key ) {
+			this.key = key;
+		}
+
+		@Override
+		public K getKey() {
+			return this.key;
+		}
+
+		@Override
+		public V getValue() {
+			if ( !this.loaded ) {
+				this.value	= BoxHibernateCache.this.get( this.key );
+				this.loaded	= true;
+			}
+			return this.value;
+		}
+
+		@Override
+		public boolean exists() {
+			return getValue() != null;
+		}
+
+		@Override
+		public void remove() {
+			this.value		= null;
+			this.loaded		= true;
+			this.updated	= false;
+			this.removed	= true;
+		}
+
+		@Override
+		public void setValue( V value ) {
+			Objects.requireNonNull( value, "The value may not be null" );
+			this.value		= value;
+			this.loaded		= true;
+			this.updated	= true;
+			this.removed	= false;
+		}
+
+		@Override
+		public <T> T unwrap( Class<T> clazz ) {
+			if ( clazz.isInstance( this ) ) {
+				return clazz.cast( this );
+			}
+			throw new IllegalArgumentException( "Unwrapping to " + clazz + " is not supported by this implementation" );
+		}
+	}
 }
@@ -23,6 +23,8 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Properties;
 
 import javax.cache.Cache;
@@ -32,6 +34,7 @@ import javax.cache.configuration.CompleteConfiguration;
 import javax.cache.configuration.Configuration;
 import javax.cache.spi.CachingProvider;
 
+import ortus.boxlang.modules.orm.config.ORMConfig;
 import ortus.boxlang.runtime.BoxRuntime;
 import ortus.boxlang.runtime.logging.BoxLangLogger;
 
@@ -40,7 +43,7 @@ import ortus.boxlang.runtime.logging.BoxLangLogger;
  * 
  * @since 1.0.0
  */
-public class BoxHibernateCacheManager implements CacheManager {
+public class BoxHibernateCacheManager implements CacheManager, RegionStatisticsProvider {
 
 	private static final BoxLangLogger						logger	= BoxRuntime.getInstance().getLoggingService()
 	    .getLogger( BoxHibernateCacheManager.class.getSimpleName() );
@@ -52,6 +55,21 @@ public class BoxHibernateCacheManager implements CacheManager {
 	private final WeakReference<ClassLoader>				classLoaderReference;
 	private final Properties								properties;
 
+	/**
+	 * The ORM configuration the caches of this manager belong to, or null if the manager was obtained through the caching provider.
+	 */
+	private final ORMConfig									ormConfig;
+
+	/**
+	 * Prefix for every key written by the caches of this manager. Empty if the manager is not bound to a session factory.
+	 */
+	private final String									namespace;
+
+	/**
+	 * Whether caches collect statistics, including caches created after it was last changed.
+	 */
+	private volatile boolean								statisticsEnabled;
+
 	private volatile boolean								isClosed;
 
 	/**
@@ -65,7 +83,30 @@ public class BoxHibernateCacheManager implements CacheManager {
 	 * @throws NullPointerException if the URI and/or classLoader is null.
 	 */
 	public BoxHibernateCacheManager( BoxHibernateCachingProvider cachingProvider, URI uri, ClassLoader classLoader, Properties properties ) {
-		this.cachingProvider = cachingProvider;
+		this( cachingProvider, uri, classLoader, properties, null, "" );
+	}
+
+	/**
+	 * Constructs a new BoxHibernateCacheManager bound to an ORM configuration.
+	 * <p>
+	 * Caches created by a bound manager resolve their BoxLang cache provider from the given configuration, so they can be used from threads without a
+	 * request context.
+	 *
+	 * @param cachingProvider the CachingProvider that created the CacheManager
+	 * @param uri             the name of this cache manager
+	 * @param classLoader     the ClassLoader that should be used in converting values into Java Objects.
+	 * @param properties      the vendor specific Properties for the CacheManager
+	 * @param ormConfig       the ORM configuration of the session factory using this manager, or null to resolve it from the current request.
+	 * @param namespace       the prefix for every key written by this manager's caches, which keeps session factories sharing a BoxLang cache apart.
+	 *
+	 * @throws NullPointerException if the URI and/or classLoader is null.
+	 */
+	public BoxHibernateCacheManager( BoxHibernateCachingProvider cachingProvider, URI uri, ClassLoader classLoader, Properties properties,
+	    ORMConfig ormConfig, String namespace ) {
+		this.cachingProvider	= cachingProvider;
+		this.ormConfig			= ormConfig;
+		this.namespace			= namespace == null ? "" : namespace;
+		this.statisticsEnabled	= ormConfig != null && ormConfig.cacheStatistics;
 
 		if ( uri == null ) {
 			throw new NullPointerException( "No CacheManager URI specified" );
@@ -125,6 +166,59 @@ public class BoxHibernateCacheManager implements CacheManager {
 		}
 	}
 
+	/**
+	 * Get the ORM configuration this manager is bound to.
+	 *
+	 * @return The ORM configuration, or null if the manager is not bound to one.
+	 */
+	public ORMConfig getORMConfig() {
+		return this.ormConfig;
+	}
+
+	/**
+	 * Get the prefix for every key written by the caches of this manager.
+	 *
+	 * @return The key namespace, or an empty string if the manager is not bound to a session factory.
+	 */
+	public String getNamespace() {
+		return this.namespace;
+	}
+
+	/**
+	 * Get the name of this manager in the statistics MXBean names of its caches: the manager URI, plus the key namespace if it has one.
+	 */
+	public String getStatisticsName() {
+		return this.namespace.isEmpty() ? this.uri.toString() : this.uri + "@" + this.namespace;
+	}
+
+	/**
+	 * Whether newly created caches collect statistics.
+	 */
+	public boolean isStatisticsEnabled() {
+		return this.statisticsEnabled;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Map<String, RegionStatistics> getRegionStatistics() {
+		Map<String, RegionStatistics> statistics = new LinkedHashMap<>();
+		synchronized ( caches ) {
+			caches.forEach( ( cacheName, cache ) -> statistics.put( cacheName, cache.getStatistics() ) );
+		}
+		return statistics;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void setStatisticsEnabled( boolean enabled ) {
+		this.statisticsEnabled = enabled;
+		getRegionStatistics().values().forEach( statistics -> statistics.setEnabled( enabled ) );
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -303,7 +397,19 @@ public class BoxHibernateCacheManager implements CacheManager {
 	 */
 	@Override
 	public void enableStatistics( String cacheName, boolean enabled ) {
-		logger.warn( "A request to enable statistics for cache " + cacheName + " was ignored. Statistics are not supported by this implementation." );
+		if ( isClosed() ) {
+			throw new IllegalStateException();
+		}
+		if ( cacheName == null ) {
+			throw new NullPointerException();
+		}
+		BoxHibernateCache<?, ?> cache;
+		synchronized ( caches ) {
+			cache = caches.get( cacheName );
+		}
+		if ( cache != null ) {
+			cache.getStatistics().setEnabled( enabled );
+		}
 	}
 
 	/**
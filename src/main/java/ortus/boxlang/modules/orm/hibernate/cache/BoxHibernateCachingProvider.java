@@ -28,6 +28,10 @@ import javax.cache.CacheManager;
 import javax.cache.configuration.OptionalFeature;
 import javax.cache.spi.CachingProvider;
 
+import ortus.boxlang.modules.orm.config.ORMConfig;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.util.EncryptionUtil;
+
 /**
  * BoxLang Hibernate implementation of the {@link CachingProvider}.
  * 
@@ -77,6 +81,31 @@ public class BoxHibernateCachingProvider implements CachingProvider {
 		return cacheManager;
 	}
 
+	/**
+	 * Create a cache manager bound to the given ORM configuration.
+	 * <p>
+	 * The manager is not tracked by this provider. It is passed to Hibernate as an explicit cache manager, and closed along with the session factory.
+	 *
+	 * @param ormConfig The ORM configuration whose caches the manager will create.
+	 */
+	public CacheManager createCacheManager( ORMConfig ormConfig ) {
+		return createCacheManager( ormConfig, null );
+	}
+
+	/**
+	 * Create a cache manager bound to the given ORM configuration, whose caches namespace their keys by the given session factory name.
+	 * <p>
+	 * Regions are backed by BoxLang caches named after the region, which every ORM application and datasource shares. The namespace is a short hash
+	 * of the session factory name, so the same region name in two applications never reads the other's entries.
+	 *
+	 * @param ormConfig          The ORM configuration whose caches the manager will create.
+	 * @param sessionFactoryName The unique name of the session factory using the manager, or null to leave keys unprefixed.
+	 */
+	public CacheManager createCacheManager( ORMConfig ormConfig, Key sessionFactoryName ) {
+		String namespace = sessionFactoryName == null ? "" : String.valueOf( EncryptionUtil.generate64BitHash( sessionFactoryName.getName() ) ) + ":";
+		return new BoxHibernateCacheManager( this, getDefaultURI(), getDefaultClassLoader(), new Properties(), ormConfig, namespace );
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
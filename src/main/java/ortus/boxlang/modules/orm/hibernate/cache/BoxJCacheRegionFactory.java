@@ -0,0 +1,58 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.modules.orm.hibernate.cache;
+
+import java.util.Map;
+
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+
+/**
+ * JCache region factory which builds entity and collection cache keys with {@link BoxCacheKeysFactory}, and exposes the region statistics of its
+ * cache manager.
+ *
+ * @since 1.7.0
+ */
+public class BoxJCacheRegionFactory extends JCacheRegionFactory implements RegionStatisticsProvider {
+
+	/**
+	 * Constructor
+	 */
+	public BoxJCacheRegionFactory() {
+		super( BoxCacheKeysFactory.INSTANCE );
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Empty unless the cache manager is a {@link BoxHibernateCacheManager}.
+	 */
+	@Override
+	public Map<String, RegionStatistics> getRegionStatistics() {
+		return getCacheManager() instanceof BoxHibernateCacheManager manager ? manager.getRegionStatistics() : Map.of();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void setStatisticsEnabled( boolean enabled ) {
+		if ( getCacheManager() instanceof BoxHibernateCacheManager manager ) {
+			manager.setStatisticsEnabled( enabled );
+		}
+	}
+}
@@ -0,0 +1,473 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.modules.orm.hibernate.cache;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.ehcache.Cache;
+import org.ehcache.CacheManager;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.CacheEventListenerConfigurationBuilder;
+import org.ehcache.config.builders.CacheManagerBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.config.units.EntryUnit;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.core.spi.service.StatisticsService;
+import org.ehcache.core.statistics.TierStatistics;
+import org.ehcache.event.CacheEventListener;
+import org.ehcache.event.EventType;
+import org.ehcache.impl.internal.statistics.DefaultStatisticsService;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.spi.CacheKeysFactory;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.RegionFactoryTemplate;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import ortus.boxlang.modules.orm.config.ORMKeys;
+import ortus.boxlang.runtime.BoxRuntime;
+import ortus.boxlang.runtime.dynamic.casters.BooleanCaster;
+import ortus.boxlang.runtime.dynamic.casters.IntegerCaster;
+import ortus.boxlang.runtime.dynamic.casters.StringCaster;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.Struct;
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
+
+/**
+ * Hibernate region factory which stores every second-level cache region in a native Ehcache 3 cache with tiered storage, selected with
+ * <code>cacheProvider: "ehcache"</code>.
+ * <p>
+ * Each region keeps its most used entries on the heap and can overflow into an off-heap tier, outside the reach of the garbage collector, and a
+ * disk tier. Tiers are sized from the <code>cacheConfig</code> struct, in entries for the heap and in megabytes for the others:
+ *
+ * <pre>
+ * cacheConfig : {
+ *   maxObjects     : 1000,                 // entries kept on the heap per region
+ *   offHeapSize    : 512,                  // MB off-heap per region, 0 for no off-heap tier
+ *   diskSize       : 4096,                 // MB on disk per region, 0 for no disk tier. Must exceed offHeapSize.
+ *   diskPath       : "/var/cache/bx-orm",  // root directory of the disk tiers, defaults to the system temp directory
+ *   diskPersistent : true,                 // keep the disk tier across restarts
+ *   defaultTimeout : 3600,                 // seconds an entry lives after it is written, 0 for no expiry
+ *   regions        : {
+ *     "Vehicle" : { maxObjects : 5000, offHeapSize : 2048, diskSize : 16384, defaultTimeout : 0 }
+ *   }
+ * }
+ * </pre>
+ *
+ * Entries in the off-heap and disk tiers are serialized, see {@link EhcacheStorageAccess}.
+ * <p>
+ * Every session factory stores its regions under its own cache manager, keyed by application and datasource name and versioned by a hash of its
+ * entity mappings, and its disk tiers under a directory of that name and version in <code>diskPath</code>. A persistent disk tier is only
+ * reloaded after the cache manager was closed cleanly, on ORM or runtime shutdown, and only while the mappings are unchanged; Ehcache discards it
+ * otherwise, and the disk tiers of previous mapping versions are deleted. During an ORM reload which keeps the mappings, the new session factory
+ * shares the cache manager and regions of the one it replaces, so changes to tier sizes apply once the cache manager is rebuilt.
+ * <p>
+ * The update timestamps region is never expired and is not bounded on the heap, since losing a timestamp could serve stale query results.
+ *
+ * @since 1.7.0
+ */
+public class EhcacheRegionFactory extends RegionFactoryTemplate implements RegionStatisticsProvider {
+
+	/**
+	 * Hibernate setting holding the storage name of the factory: the unique name of its session factory.
+	 */
+	public static final String								STORAGE_NAME			= "boxlang.orm.cache.ehcache.storage_name";
+
+	/**
+	 * Hibernate setting holding the storage version of the factory: a hash of the entity mappings of its session factory. Entries are
+	 * disassembled per mapping, so storage of a different version is never reused.
+	 */
+	public static final String								STORAGE_VERSION			= "boxlang.orm.cache.ehcache.storage_version";
+
+	public static final int									DEFAULT_MAX_OBJECTS		= HeapRegionFactory.DEFAULT_MAX_OBJECTS;
+	public static final int									DEFAULT_TIMEOUT			= HeapRegionFactory.DEFAULT_TIMEOUT;
+	public static final int									DEFAULT_OFF_HEAP_SIZE	= 0;
+	public static final int									DEFAULT_DISK_SIZE		= 0;
+	public static final boolean								DEFAULT_DISK_PERSISTENT	= true;
+
+	/**
+	 * Tiers whose statistics count the entries of a region, lowest first. Every entry is held by the lowest tier of a region, the tiers above only
+	 * hold copies of the most used ones.
+	 */
+	private static final List<String>						AUTHORITATIVE_TIERS		= List.of( "Disk", "OffHeap", "OnHeap" );
+
+	/**
+	 * Cache managers in use, by storage name and version. Guarded by itself.
+	 */
+	private static final Map<String, SharedCacheManager>	MANAGERS				= new HashMap<>();
+
+	private final IStruct									config;
+	private final Map<String, EhcacheStorageAccess>			regions					= new ConcurrentHashMap<>();
+
+	/**
+	 * Whether regions collect statistics, including regions built after it was last changed.
+	 */
+	private volatile boolean								statisticsEnabled;
+
+	/**
+	 * The storage name, storage version and cache manager of this factory, set while it is in use.
+	 */
+	private String											storageName;
+	private String											storageVersion;
+	private SharedCacheManager								manager;
+
+	/**
+	 * Constructor
+	 *
+	 * @param config The <code>cacheConfig</code> struct of the ORM settings.
+	 */
+	public EhcacheRegionFactory( IStruct config ) {
+		this( config, false );
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param config            The <code>cacheConfig</code> struct of the ORM settings.
+	 * @param statisticsEnabled Whether regions collect statistics from startup.
+	 */
+	public EhcacheRegionFactory( IStruct config, boolean statisticsEnabled ) {
+		this.config				= config == null ? new Struct() : config;
+		this.statisticsEnabled	= statisticsEnabled;
+	}
+
+	/**
+	 * Get the storage backing the given region.
+	 *
+	 * @param regionName The (qualified) region name.
+	 *
+	 * @return The region storage, or null if no such region was built.
+	 */
+	public EhcacheStorageAccess getRegion( String regionName ) {
+		return this.regions.get( regionName );
+	}
+
+	/**
+	 * Get the storage of every region built by this factory, keyed by region name.
+	 */
+	public Map<String, EhcacheStorageAccess> getRegions() {
+		return this.regions;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Map<String, RegionStatistics> getRegionStatistics() {
+		Map<String, RegionStatistics> statistics = new LinkedHashMap<>();
+		this.regions.forEach( ( regionName, region ) -> statistics.put( regionName, region.getStatistics() ) );
+		return statistics;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void setStatisticsEnabled( boolean enabled ) {
+		this.statisticsEnabled = enabled;
+		this.regions.values().forEach( region -> region.getStatistics().setEnabled( enabled ) );
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected CacheKeysFactory getImplicitCacheKeysFactory() {
+		return BoxCacheKeysFactory.INSTANCE;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@SuppressWarnings( "rawtypes" )
+	@Override
+	protected void prepareForUse( SessionFactoryOptions settings, Map configValues ) {
+		Object	storageName		= configValues.get( STORAGE_NAME );
+		Object	storageVersion	= configValues.get( STORAGE_VERSION );
+		this.storageName	= storageName == null ? "ehcache@" + Integer.toHexString( System.identityHashCode( this ) ) : storageName.toString();
+		this.storageVersion	= storageVersion == null ? "default" : storageVersion.toString();
+		synchronized ( MANAGERS ) {
+			this.manager = MANAGERS.computeIfAbsent( getManagerKey( this.storageName, this.storageVersion ), key -> buildCacheManager() );
+			this.manager.references++;
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void releaseFromUse() {
+		synchronized ( MANAGERS ) {
+			if ( --this.manager.references == 0 ) {
+				MANAGERS.remove( getManagerKey( this.storageName, this.storageVersion ) );
+				this.manager.regions.values().forEach( region -> region.getStatistics().close() );
+				// Closing the cache manager is what makes persistent disk tiers reloadable on the next startup
+				this.manager.cacheManager.close();
+			}
+		}
+		this.regions.clear();
+		this.manager = null;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected DomainDataStorageAccess createDomainDataStorageAccess( DomainDataRegionConfig regionConfig,
+	    DomainDataRegionBuildingContext buildingContext ) {
+		return buildRegion( regionConfig.getRegionName(), false );
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected StorageAccess createQueryResultsRegionStorageAccess( String regionName, SessionFactoryImplementor sessionFactory ) {
+		return buildRegion( regionName, false );
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected StorageAccess createTimestampsRegionStorageAccess( String regionName, SessionFactoryImplementor sessionFactory ) {
+		return buildRegion( regionName, true );
+	}
+
+	/**
+	 * Get the storage of a region, creating its cache in the cache manager if no session factory sharing it did so yet.
+	 *
+	 * @param regionName The region name.
+	 * @param timestamps Whether this is the update timestamps region.
+	 */
+	private EhcacheStorageAccess buildRegion( String regionName, boolean timestamps ) {
+		SharedCacheManager manager = this.manager;
+		return this.regions.computeIfAbsent( regionName,
+		    key -> manager.regions.computeIfAbsent( key, alias -> createRegion( manager, alias, timestamps ) ) );
+	}
+
+	/**
+	 * Create the cache for a region, with the tiers of the region's entry in <code>cacheConfig.regions</code> or the <code>cacheConfig</code>
+	 * defaults.
+	 *
+	 * @param manager    The cache manager to create the cache in.
+	 * @param regionName The region name.
+	 * @param timestamps Whether this is the update timestamps region.
+	 */
+	private EhcacheStorageAccess createRegion( SharedCacheManager manager, String regionName, boolean timestamps ) {
+		IStruct	regionConfig	= timestamps ? this.config : getRegionConfig( regionName );
+		int		maxObjects		= timestamps ? Integer.MAX_VALUE : getInt( regionConfig, ORMKeys.maxObjects, DEFAULT_MAX_OBJECTS );
+		int		offHeapSize		= timestamps ? 0 : getInt( regionConfig, ORMKeys.offHeapSize, DEFAULT_OFF_HEAP_SIZE );
+		int		diskSize		= getInt( regionConfig, ORMKeys.diskSize, DEFAULT_DISK_SIZE );
+		int		timeout			= timestamps ? 0 : getInt( regionConfig, ORMKeys.defaultTimeout, DEFAULT_TIMEOUT );
+		boolean	persistent		= BooleanCaster.cast( this.config.getOrDefault( ORMKeys.diskPersistent, DEFAULT_DISK_PERSISTENT ) );
+
+		// Only bounded on the heap: Ehcache can not tell how many entries fit in the other tiers
+		RegionStatistics								statistics	= new RegionStatistics( regionName, this.storageName,
+		    () -> countEntries( manager.statisticsService, regionName ),
+		    offHeapSize == 0 && diskSize == 0 && !timestamps ? maxObjects : 0, this.statisticsEnabled );
+		CacheEventListener<Serializable, Serializable>	evictions	= event -> statistics.recordEviction();
+
+		try {
+			ResourcePoolsBuilder pools = ResourcePoolsBuilder.newResourcePoolsBuilder().heap( maxObjects, EntryUnit.ENTRIES );
+			if ( offHeapSize > 0 ) {
+				pools = pools.offheap( offHeapSize, MemoryUnit.MB );
+			}
+			if ( diskSize > 0 ) {
+				pools = pools.disk( diskSize, MemoryUnit.MB, persistent );
+			}
+
+			Cache<Serializable, Serializable> cache = manager.cacheManager.createCache( regionName, CacheConfigurationBuilder
+			    .newCacheConfigurationBuilder( Serializable.class, Serializable.class, pools )
+			    .withExpiry( timeout > 0 ? ExpiryPolicyBuilder.timeToLiveExpiration( Duration.ofSeconds( timeout ) ) : ExpiryPolicyBuilder.noExpiration() )
+			    .withService( CacheEventListenerConfigurationBuilder
+			        .newEventListenerConfiguration( evictions, EventType.EVICTED, EventType.EXPIRED )
+			        .unordered()
+			        .asynchronous() ) );
+			return new EhcacheStorageAccess( cache, statistics );
+		} catch ( IllegalArgumentException | IllegalStateException e ) {
+			statistics.close();
+			throw new BoxRuntimeException( "Unable to create the Ehcache cache for second-level cache region [" + regionName + "]: " + e.getMessage(), e );
+		}
+	}
+
+	/**
+	 * Build and start the cache manager for this factory's storage name and version, with a persistence directory if any region has a disk tier.
+	 * Must hold the {@link #MANAGERS} lock.
+	 */
+	private SharedCacheManager buildCacheManager() {
+		StatisticsService	statisticsService	= new DefaultStatisticsService();
+		ClassLoader			classLoader			= EhcacheRegionFactory.class.getClassLoader();
+		if ( !usesDisk() ) {
+			return new SharedCacheManager(
+			    CacheManagerBuilder.newCacheManagerBuilder().withClassLoader( classLoader ).using( statisticsService ).build( true ),
+			    statisticsService
+			);
+		}
+		String	diskPath	= this.config.containsKey( ORMKeys.diskPath )
+		    ? StringCaster.cast( this.config.get( ORMKeys.diskPath ) )
+		    : Path.of( System.getProperty( "java.io.tmpdir" ), "bx-orm-ehcache" ).toString();
+		Path	storageRoot	= Path.of( diskPath, toDirectoryName( this.storageName ) );
+		deleteStaleVersions( storageRoot );
+		return new SharedCacheManager( CacheManagerBuilder.newCacheManagerBuilder()
+		    .withClassLoader( classLoader )
+		    .using( statisticsService )
+		    .with( CacheManagerBuilder.persistence( storageRoot.resolve( toDirectoryName( this.storageVersion ) ).toFile() ) )
+		    .build( true ), statisticsService );
+	}
+
+	/**
+	 * Delete the disk tiers of this storage name left by other mapping versions, unless a cache manager still uses them, as the session factory
+	 * being replaced during an ORM reload does. Must hold the {@link #MANAGERS} lock.
+	 *
+	 * @param storageRoot The directory holding a directory per storage version.
+	 */
+	private void deleteStaleVersions( Path storageRoot ) {
+		if ( !Files.isDirectory( storageRoot ) ) {
+			return;
+		}
+		String		prefix	= getManagerKey( this.storageName, "" );
+		Set<String>	inUse	= MANAGERS.keySet().stream()
+		    .filter( key -> key.startsWith( prefix ) )
+		    .map( key -> toDirectoryName( key.substring( prefix.length() ) ) )
+		    .collect( Collectors.toCollection( HashSet::new ) );
+		inUse.add( toDirectoryName( this.storageVersion ) );
+		try ( Stream<Path> versions = Files.list( storageRoot ) ) {
+			for ( Path version : versions.toList() ) {
+				if ( !inUse.contains( version.getFileName().toString() ) ) {
+					deleteRecursively( version );
+				}
+			}
+		} catch ( IOException e ) {
+			BoxRuntime.getInstance().getLoggingService().getLogger( "orm" )
+			    .warn( "Unable to delete stale Ehcache disk tiers under [{}]: {}", storageRoot, e.getMessage() );
+		}
+	}
+
+	private static void deleteRecursively( Path directory ) throws IOException {
+		try ( Stream<Path> paths = Files.walk( directory ) ) {
+			for ( Path path : paths.sorted( Comparator.reverseOrder() ).toList() ) {
+				Files.delete( path );
+			}
+		}
+	}
+
+	private static String getManagerKey( String storageName, String storageVersion ) {
+		return storageName + "@" + storageVersion;
+	}
+
+	private static String toDirectoryName( String name ) {
+		return name.replaceAll( "[^A-Za-z0-9._-]", "_" );
+	}
+
+	/**
+	 * Whether the defaults or any region configure a disk tier.
+	 */
+	private boolean usesDisk() {
+		if ( getInt( this.config, ORMKeys.diskSize, DEFAULT_DISK_SIZE ) > 0 ) {
+			return true;
+		}
+		return this.config.get( ORMKeys.regions ) instanceof IStruct regionConfigs
+		    && regionConfigs.values().stream()
+		        .anyMatch( regionConfig -> regionConfig instanceof IStruct namedConfig && getInt( namedConfig, ORMKeys.diskSize, DEFAULT_DISK_SIZE ) > 0 );
+	}
+
+	/**
+	 * Get the region's entry in <code>cacheConfig.regions</code>, or the <code>cacheConfig</code> struct itself.
+	 *
+	 * @param regionName The region name.
+	 */
+	private IStruct getRegionConfig( String regionName ) {
+		return this.config.get( ORMKeys.regions ) instanceof IStruct regionConfigs
+		    && regionConfigs.get( Key.of( regionName ) ) instanceof IStruct namedConfig
+		        ? namedConfig
+		        : this.config;
+	}
+
+	/**
+	 * Get an integer setting from a region configuration, falling back to the <code>cacheConfig</code> defaults.
+	 *
+	 * @param regionConfig The region configuration.
+	 * @param key          The setting.
+	 * @param defaultValue The value to use when neither configures the setting.
+	 */
+	private int getInt( IStruct regionConfig, Key key, int defaultValue ) {
+		return IntegerCaster.cast( regionConfig.getOrDefault( key, this.config.getOrDefault( key, defaultValue ) ) );
+	}
+
+	/**
+	 * Count the entries of a region from the occupancy of its lowest tier, as tracked by Ehcache, without reading any entry.
+	 *
+	 * @param statisticsService The statistics service of the cache manager holding the region.
+	 * @param regionName        The region name.
+	 *
+	 * @return The number of entries, or 0 once the cache manager is closed.
+	 */
+	private static long countEntries( StatisticsService statisticsService, String regionName ) {
+		try {
+			Map<String, TierStatistics> tiers = statisticsService.getCacheStatistics( regionName ).getTierStatistics();
+			for ( String tier : AUTHORITATIVE_TIERS ) {
+				TierStatistics statistics = tiers.get( tier );
+				if ( statistics != null ) {
+					return statistics.getMappings();
+				}
+			}
+		} catch ( IllegalArgumentException | IllegalStateException e ) {
+			// The cache manager was closed
+		}
+		return 0;
+	}
+
+	/**
+	 * A cache manager and its regions, shared by the session factories using the same storage name.
+	 */
+	private static final class SharedCacheManager {
+
+		private final CacheManager						cacheManager;
+		private final StatisticsService					statisticsService;
+		private final Map<String, EhcacheStorageAccess>	regions		= new ConcurrentHashMap<>();
+
+		/**
+		 * Number of factories using the cache manager. Guarded by {@link EhcacheRegionFactory#MANAGERS}.
+		 */
+		private int										references	= 0;
+
+		private SharedCacheManager( CacheManager cacheManager, StatisticsService statisticsService ) {
+			this.cacheManager		= cacheManager;
+			this.statisticsService	= statisticsService;
+		}
+	}
+}
@@ -0,0 +1,137 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.modules.orm.hibernate.cache;
+
+import java.io.Serializable;
+
+import org.ehcache.Cache;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+/**
+ * Hibernate storage access for a native Ehcache 3 cache built by {@link EhcacheRegionFactory}. Used for every region type: entity, collection,
+ * natural id, query results and timestamps.
+ * <p>
+ * Off-heap and disk tiers store entries in serialized form, so only serializable keys and values are cached. Hibernate's own cache entries,
+ * query keys and {@link BoxCacheKey}s all are; anything else is treated as uncacheable and dropped from the region instead.
+ *
+ * @since 1.7.0
+ */
+public class EhcacheStorageAccess implements DomainDataStorageAccess {
+
+	private final Cache<Serializable, Serializable>	cache;
+	private final RegionStatistics					statistics;
+
+	/**
+	 * Constructor
+	 *
+	 * @param cache      The Ehcache cache to store entries in.
+	 * @param statistics The statistics of the region.
+	 */
+	public EhcacheStorageAccess( Cache<Serializable, Serializable> cache, RegionStatistics statistics ) {
+		this.cache		= cache;
+		this.statistics	= statistics;
+	}
+
+	/**
+	 * Get the Ehcache cache backing this storage.
+	 */
+	public Cache<Serializable, Serializable> getCache() {
+		return this.cache;
+	}
+
+	/**
+	 * Get the statistics of this region.
+	 */
+	public RegionStatistics getStatistics() {
+		return this.statistics;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object getFromCache( Object key, SharedSessionContractImplementor session ) {
+		Object value = key instanceof Serializable serializableKey ? this.cache.get( serializableKey ) : null;
+		if ( value == null ) {
+			this.statistics.recordMiss();
+		} else {
+			this.statistics.recordHit();
+		}
+		return value;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void putIntoCache( Object key, Object value, SharedSessionContractImplementor session ) {
+		if ( ! ( key instanceof Serializable serializableKey ) ) {
+			return;
+		}
+		if ( value instanceof Serializable serializableValue ) {
+			this.cache.put( serializableKey, serializableValue );
+			this.statistics.recordPut();
+		} else {
+			// Never leave a previous value behind for a key whose new value can not be stored
+			this.cache.remove( serializableKey );
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean contains( Object key ) {
+		return key instanceof Serializable serializableKey && this.cache.containsKey( serializableKey );
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void evictData() {
+		this.cache.clear();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void evictData( Object key ) {
+		if ( ! ( key instanceof Serializable serializableKey ) ) {
+			return;
+		}
+		// Ehcache's plain remove does not report whether anything was removed, so remove the current value conditionally instead
+		Serializable existing = this.cache.get( serializableKey );
+		if ( existing != null && this.cache.remove( serializableKey, existing ) ) {
+			this.statistics.recordRemoval();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Entries are kept: the cache may be persistent, or shared with the session factory replacing this one during a reload. The region factory
+	 * closes the cache once nothing uses it anymore.
+	 */
+	@Override
+	public void release() {
+		// Nothing to release
+	}
+}
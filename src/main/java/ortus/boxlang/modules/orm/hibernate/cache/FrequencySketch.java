@@ -0,0 +1,131 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.modules.orm.hibernate.cache;
+
+/**
+ * A count-min sketch of 4-bit counters, estimating how often each key of a {@link HeapRegionCache} has been accessed.
+ * <p>
+ * Each key maps to four counters spread over the table, and its frequency is the smallest of them. Once the number of increments reaches ten times
+ * the cache size, every counter is halved so the sketch favours recent popularity.
+ * <p>
+ * Not thread safe: callers must hold the cache's eviction lock.
+ *
+ * @since 1.7.0
+ */
+final class FrequencySketch {
+
+	private static final long[]	SEED		= { 0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L };
+	private static final long	RESET_MASK	= 0x7777777777777777L;
+	private static final long	ONE_MASK	= 0x1111111111111111L;
+
+	private final long[]		table;
+	private final int			tableMask;
+	private final int			sampleSize;
+	private int					size;
+
+	/**
+	 * Constructor
+	 *
+	 * @param maximumSize The maximum number of entries of the cache the sketch tracks.
+	 */
+	FrequencySketch( int maximumSize ) {
+		int capacity = Math.max( 16, Integer.highestOneBit( Math.min( Math.max( maximumSize, 1 ), 1 << 24 ) - 1 ) << 1 );
+		this.table		= new long[ capacity ];
+		this.tableMask	= capacity - 1;
+		this.sampleSize	= ( int ) Math.min( 10L * Math.max( maximumSize, 1 ), Integer.MAX_VALUE );
+	}
+
+	/**
+	 * Estimate how often the given key has been accessed, from 0 to 15.
+	 *
+	 * @param key The cache key.
+	 */
+	int frequency( Object key ) {
+		int	hash	= spread( key.hashCode() );
+		int	start	= ( hash & 3 ) << 2;
+		int	result	= Integer.MAX_VALUE;
+		for ( int i = 0; i < 4; i++ ) {
+			int	index	= indexOf( hash, i );
+			int	count	= ( int ) ( ( this.table[ index ] >>> ( ( start + i ) << 2 ) ) & 0xfL );
+			result = Math.min( result, count );
+		}
+		return result;
+	}
+
+	/**
+	 * Record an access to the given key.
+	 *
+	 * @param key The cache key.
+	 */
+	void increment( Object key ) {
+		int		hash	= spread( key.hashCode() );
+		int		start	= ( hash & 3 ) << 2;
+		boolean	added	= false;
+		for ( int i = 0; i < 4; i++ ) {
+			added |= incrementAt( indexOf( hash, i ), start + i );
+		}
+		if ( added && ++this.size >= this.sampleSize ) {
+			reset();
+		}
+	}
+
+	/**
+	 * Increment the given 4-bit counter of a table slot, unless it is saturated.
+	 *
+	 * @return True if the counter was incremented.
+	 */
+	private boolean incrementAt( int index, int counter ) {
+		int		offset	= counter << 2;
+		long	mask	= 0xfL << offset;
+		if ( ( this.table[ index ] & mask ) != mask ) {
+			this.table[ index ] += 1L << offset;
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Halve every counter, so old accesses weigh less than recent ones.
+	 */
+	private void reset() {
+		int odd = 0;
+		for ( int i = 0; i < this.table.length; i++ ) {
+			odd				+= Long.bitCount( this.table[ i ] & ONE_MASK );
+			this.table[ i ]	= ( this.table[ i ] >>> 1 ) & RESET_MASK;
+		}
+		this.size = ( this.size - ( odd >>> 2 ) ) >>> 1;
+	}
+
+	/**
+	 * Get the table slot of the given counter of a key.
+	 */
+	private int indexOf( int hash, int counter ) {
+		long slot = ( hash + SEED[ counter ] ) * SEED[ counter ];
+		slot += slot >>> 32;
+		return ( int ) slot & this.tableMask;
+	}
+
+	/**
+	 * Mix a hash code, so keys with poor hash codes still spread over the table.
+	 */
+	private static int spread( int hash ) {
+		hash	= ( ( hash >>> 16 ) ^ hash ) * 0x45d9f3b;
+		hash	= ( ( hash >>> 16 ) ^ hash ) * 0x45d9f3b;
+		return ( hash >>> 16 ) ^ hash;
+	}
+}
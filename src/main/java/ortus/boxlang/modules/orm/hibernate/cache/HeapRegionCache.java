@@ -0,0 +1,412 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.modules.orm.hibernate.cache;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A size-bounded, in-heap cache region with W-TinyLFU eviction and an optional time to live.
+ * <p>
+ * Entries live in a {@link ConcurrentHashMap}, so reads never block. The eviction policy is kept in three access-ordered queues: a small window
+ * (1% of the size) which absorbs new entries, and a main space split into probation and protected segments. When the window overflows, its oldest
+ * entry competes with the oldest probation entry and the one accessed less often according to a {@link FrequencySketch} is evicted, so one-off
+ * loads can not flush out popular entries.
+ * <p>
+ * Policy updates are guarded by a lock. Reads only record their access if the lock is free, and skip it otherwise: under contention the policy
+ * loses a little accuracy rather than making readers wait. Expired entries are removed when they are read or picked for eviction.
+ *
+ * @since 1.7.0
+ */
+public class HeapRegionCache {
+
+	private static final byte						NONE				= 0;
+	private static final byte						WINDOW				= 1;
+	private static final byte						PROBATION			= 2;
+	private static final byte						PROTECTED			= 3;
+
+	private final String							name;
+	private final int								maximumSize;
+	private final long								timeToLiveNanos;
+	private final ConcurrentHashMap<Object, Node>	data				= new ConcurrentHashMap<>();
+
+	/**
+	 * Guards the access queues and the frequency sketch.
+	 */
+	private final ReentrantLock						evictionLock		= new ReentrantLock();
+	private final FrequencySketch					sketch;
+	private final AccessQueue						window				= new AccessQueue( WINDOW );
+	private final AccessQueue						probation			= new AccessQueue( PROBATION );
+	private final AccessQueue						protectedQueue		= new AccessQueue( PROTECTED );
+	private final int								windowMaximum;
+	private final int								mainMaximum;
+	private final int								protectedMaximum;
+	private final RegionStatistics					statistics;
+
+	/**
+	 * Constructor
+	 *
+	 * @param name              The region name.
+	 * @param maximumSize       The maximum number of entries, or 0 for an unbounded region.
+	 * @param timeToLiveSeconds The number of seconds an entry lives after it is written, or 0 to never expire entries.
+	 */
+	public HeapRegionCache( String name, int maximumSize, long timeToLiveSeconds ) {
+		this( name, maximumSize, timeToLiveSeconds, "heap", false );
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param name              The region name.
+	 * @param maximumSize       The maximum number of entries, or 0 for an unbounded region.
+	 * @param timeToLiveSeconds The number of seconds an entry lives after it is written, or 0 to never expire entries.
+	 * @param factoryName       The name of the owning region factory, used to publish the region's statistics.
+	 * @param statsEnabled      Whether to collect statistics from the start.
+	 */
+	public HeapRegionCache( String name, int maximumSize, long timeToLiveSeconds, String factoryName, boolean statsEnabled ) {
+		this.name				= name;
+		this.maximumSize		= Math.max( maximumSize, 0 );
+		this.timeToLiveNanos	= timeToLiveSeconds > 0 ? TimeUnit.SECONDS.toNanos( timeToLiveSeconds ) : 0;
+		this.sketch				= this.maximumSize > 0 ? new FrequencySketch( this.maximumSize ) : null;
+		this.windowMaximum		= Math.max( 1, this.maximumSize / 100 );
+		this.mainMaximum		= Math.max( 0, this.maximumSize - this.windowMaximum );
+		this.protectedMaximum	= this.mainMaximum * 4 / 5;
+		this.statistics			= new RegionStatistics( name, factoryName, this::size, this.maximumSize, statsEnabled );
+	}
+
+	/**
+	 * Get the region name.
+	 */
+	public String getName() {
+		return this.name;
+	}
+
+	/**
+	 * Get the maximum number of entries, or 0 if the region is unbounded.
+	 */
+	public int getMaximumSize() {
+		return this.maximumSize;
+	}
+
+	/**
+	 * Get the statistics of this region.
+	 */
+	public RegionStatistics getStatistics() {
+		return this.statistics;
+	}
+
+	/**
+	 * Get the current number of entries, including any expired entries not yet removed.
+	 */
+	public int size() {
+		return this.data.size();
+	}
+
+	/**
+	 * Get the value cached under the given key.
+	 *
+	 * @param key The cache key.
+	 *
+	 * @return The value, or null if the key is missing or expired.
+	 */
+	public Object get( Object key ) {
+		Node node = this.data.get( key );
+		if ( node != null && isExpired( node ) ) {
+			evict( node );
+			node = null;
+		}
+		recordAccess( key, node );
+		if ( node == null ) {
+			this.statistics.recordMiss();
+			return null;
+		}
+		this.statistics.recordHit();
+		return node.value;
+	}
+
+	/**
+	 * Check whether a live value is cached under the given key, without recording an access.
+	 *
+	 * @param key The cache key.
+	 */
+	public boolean containsKey( Object key ) {
+		Node node = this.data.get( key );
+		return node != null && !isExpired( node );
+	}
+
+	/**
+	 * Cache a value, evicting other entries if the region is full.
+	 *
+	 * @param key   The cache key.
+	 * @param value The value to cache.
+	 */
+	public void put( Object key, Object value ) {
+		Node	node		= new Node( key, value, this.timeToLiveNanos > 0 ? System.nanoTime() + this.timeToLiveNanos : 0 );
+		Node	previous	= this.data.put( key, node );
+		this.statistics.recordPut();
+		if ( this.sketch == null ) {
+			return;
+		}
+		this.evictionLock.lock();
+		try {
+			if ( previous != null ) {
+				unlink( previous );
+			}
+			this.sketch.increment( key );
+			// A concurrent put or remove of the same key may have replaced the node already, in which case it must not enter the policy
+			if ( this.data.get( key ) == node ) {
+				this.window.addLast( node );
+				evictOverflow();
+			}
+		} finally {
+			this.evictionLock.unlock();
+		}
+	}
+
+	/**
+	 * Remove the value cached under the given key.
+	 *
+	 * @param key The cache key.
+	 */
+	public void remove( Object key ) {
+		Node node = this.data.remove( key );
+		if ( node == null ) {
+			return;
+		}
+		this.statistics.recordRemoval();
+		if ( this.sketch != null ) {
+			this.evictionLock.lock();
+			try {
+				unlink( node );
+			} finally {
+				this.evictionLock.unlock();
+			}
+		}
+	}
+
+	/**
+	 * Remove every entry.
+	 */
+	public void clear() {
+		this.evictionLock.lock();
+		try {
+			this.data.clear();
+			this.window.clear();
+			this.probation.clear();
+			this.protectedQueue.clear();
+		} finally {
+			this.evictionLock.unlock();
+		}
+	}
+
+	/**
+	 * Record a read in the frequency sketch and the access order, if the policy lock is free.
+	 *
+	 * @param key  The key which was read.
+	 * @param node The entry which was found, or null on a miss.
+	 */
+	private void recordAccess( Object key, Node node ) {
+		if ( this.sketch == null || !this.evictionLock.tryLock() ) {
+			return;
+		}
+		try {
+			this.sketch.increment( key );
+			if ( node == null ) {
+				return;
+			}
+			switch ( node.queue ) {
+				case WINDOW -> this.window.moveToLast( node );
+				case PROTECTED -> this.protectedQueue.moveToLast( node );
+				case PROBATION -> {
+					// A second hit promotes the entry, demoting the oldest protected entries if that segment is full
+					this.probation.remove( node );
+					this.protectedQueue.addLast( node );
+					while ( this.protectedQueue.size > this.protectedMaximum ) {
+						Node demoted = this.protectedQueue.first;
+						this.protectedQueue.remove( demoted );
+						this.probation.addLast( demoted );
+					}
+				}
+				default -> {
+					// Not (or no longer) part of the policy
+				}
+			}
+		} finally {
+			this.evictionLock.unlock();
+		}
+	}
+
+	/**
+	 * Move entries overflowing the window into the main space, evicting either the candidate or the main space's oldest entry once it is full.
+	 * Must hold the eviction lock.
+	 */
+	private void evictOverflow() {
+		while ( this.window.size > this.windowMaximum ) {
+			Node candidate = this.window.first;
+			this.window.remove( candidate );
+			if ( this.probation.size + this.protectedQueue.size < this.mainMaximum ) {
+				this.probation.addLast( candidate );
+				continue;
+			}
+			Node victim = this.probation.first != null ? this.probation.first : this.protectedQueue.first;
+			if ( victim == null || isExpired( candidate ) ) {
+				removeEntry( candidate );
+			} else if ( isExpired( victim ) || this.sketch.frequency( candidate.key ) > this.sketch.frequency( victim.key ) ) {
+				unlink( victim );
+				removeEntry( victim );
+				this.probation.addLast( candidate );
+			} else {
+				removeEntry( candidate );
+			}
+		}
+	}
+
+	/**
+	 * Remove an expired entry from the map, and from the policy if the lock is free. Readers never wait on the lock: a node left linked is
+	 * dropped by the next put or overflow pass, where removing it from the map again is a no-op.
+	 */
+	private void evict( Node node ) {
+		if ( !this.data.remove( node.key, node ) ) {
+			return;
+		}
+		this.statistics.recordEviction();
+		if ( this.sketch == null || !this.evictionLock.tryLock() ) {
+			return;
+		}
+		try {
+			unlink( node );
+		} finally {
+			this.evictionLock.unlock();
+		}
+	}
+
+	/**
+	 * Remove an entry from the map, unless it was replaced in the meantime. Must hold the eviction lock.
+	 */
+	private void removeEntry( Node node ) {
+		if ( this.data.remove( node.key, node ) ) {
+			this.statistics.recordEviction();
+		}
+	}
+
+	/**
+	 * Remove an entry from whichever access queue holds it. Must hold the eviction lock.
+	 */
+	private void unlink( Node node ) {
+		switch ( node.queue ) {
+			case WINDOW -> this.window.remove( node );
+			case PROBATION -> this.probation.remove( node );
+			case PROTECTED -> this.protectedQueue.remove( node );
+			default -> {
+				// Not linked
+			}
+		}
+	}
+
+	private boolean isExpired( Node node ) {
+		return node.expiresAt != 0 && node.expiresAt - System.nanoTime() <= 0;
+	}
+
+	/**
+	 * A cache entry, which is also a link in one of the access queues.
+	 */
+	private static final class Node {
+
+		private final Object	key;
+		private final Object	value;
+		private final long		expiresAt;
+
+		// Guarded by the eviction lock
+		private byte			queue	= NONE;
+		private Node			prev;
+		private Node			next;
+
+		private Node( Object key, Object value, long expiresAt ) {
+			this.key		= key;
+			this.value		= value;
+			this.expiresAt	= expiresAt;
+		}
+	}
+
+	/**
+	 * An intrusive, access-ordered queue of entries: the first entry is the least recently used. Guarded by the eviction lock.
+	 */
+	private static final class AccessQueue {
+
+		private final byte	id;
+		private Node		first;
+		private Node		last;
+		private int			size;
+
+		private AccessQueue( byte id ) {
+			this.id = id;
+		}
+
+		private void addLast( Node node ) {
+			node.queue	= this.id;
+			node.prev	= this.last;
+			node.next	= null;
+			if ( this.last == null ) {
+				this.first = node;
+			} else {
+				this.last.next = node;
+			}
+			this.last = node;
+			this.size++;
+		}
+
+		private void remove( Node node ) {
+			if ( node.prev == null ) {
+				this.first = node.next;
+			} else {
+				node.prev.next = node.next;
+			}
+			if ( node.next == null ) {
+				this.last = node.prev;
+			} else {
+				node.next.prev = node.prev;
+			}
+			node.prev	= null;
+			node.next	= null;
+			node.queue	= NONE;
+			this.size--;
+		}
+
+		private void moveToLast( Node node ) {
+			if ( this.last != node ) {
+				remove( node );
+				addLast( node );
+			}
+		}
+
+		private void clear() {
+			Node node = this.first;
+			while ( node != null ) {
+				Node next = node.next;
+				node.prev	= null;
+				node.next	= null;
+				node.queue	= NONE;
+				node		= next;
+			}
+			this.first	= null;
+			this.last	= null;
+			this.size	= 0;
+		}
+	}
+}
@@ -0,0 +1,211 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.modules.orm.hibernate.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.spi.CacheKeysFactory;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.RegionFactoryTemplate;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import ortus.boxlang.modules.orm.config.ORMKeys;
+import ortus.boxlang.runtime.dynamic.casters.IntegerCaster;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.Struct;
+
+/**
+ * Hibernate region factory which keeps every second-level cache region in a bounded {@link HeapRegionCache}, selected with
+ * <code>cacheProvider: "heap"</code>.
+ * <p>
+ * Unlike the JCache path, regions are not backed by BoxLang caches: Hibernate talks to the region's map directly, with its own keys. Each session
+ * factory gets its own factory instance, so regions of different applications and datasources never share entries.
+ * <p>
+ * Region sizes and lifetimes come from the <code>cacheConfig</code> struct:
+ *
+ * <pre>
+ * cacheConfig : {
+ *   maxObjects     : 1000,  // maximum entries per region
+ *   defaultTimeout : 3600,  // seconds an entry lives after it is written, 0 for no expiry
+ *   regions        : {
+ *     "Vehicle" : { maxObjects : 5000, defaultTimeout : 600 }
+ *   }
+ * }
+ * </pre>
+ *
+ * The update timestamps region is never bounded nor expired, since losing a timestamp could serve stale query results.
+ *
+ * @since 1.7.0
+ */
+public class HeapRegionFactory extends RegionFactoryTemplate implements RegionStatisticsProvider {
+
+	public static final int						DEFAULT_MAX_OBJECTS	= 1000;
+	public static final int						DEFAULT_TIMEOUT		= 3600;
+
+	private final IStruct						config;
+	private final Map<String, HeapRegionCache>	regions				= new ConcurrentHashMap<>();
+
+	/**
+	 * Name of this factory in the statistics MXBean names of its regions.
+	 */
+	private final String						name				= "heap@" + Integer.toHexString( System.identityHashCode( this ) );
+
+	/**
+	 * Whether regions collect statistics, including regions built after it was last changed.
+	 */
+	private volatile boolean					statisticsEnabled;
+
+	/**
+	 * Constructor
+	 *
+	 * @param config The <code>cacheConfig</code> struct of the ORM settings.
+	 */
+	public HeapRegionFactory( IStruct config ) {
+		this( config, false );
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param config            The <code>cacheConfig</code> struct of the ORM settings.
+	 * @param statisticsEnabled Whether regions collect statistics from startup.
+	 */
+	public HeapRegionFactory( IStruct config, boolean statisticsEnabled ) {
+		this.config				= config == null ? new Struct() : config;
+		this.statisticsEnabled	= statisticsEnabled;
+	}
+
+	/**
+	 * Get the cache backing the given region.
+	 *
+	 * @param regionName The (qualified) region name.
+	 *
+	 * @return The region cache, or null if no such region was built.
+	 */
+	public HeapRegionCache getRegion( String regionName ) {
+		return this.regions.get( regionName );
+	}
+
+	/**
+	 * Get the caches of every region built by this factory, keyed by region name.
+	 */
+	public Map<String, HeapRegionCache> getRegions() {
+		return this.regions;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Map<String, RegionStatistics> getRegionStatistics() {
+		Map<String, RegionStatistics> statistics = new LinkedHashMap<>();
+		this.regions.forEach( ( regionName, region ) -> statistics.put( regionName, region.getStatistics() ) );
+		return statistics;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void setStatisticsEnabled( boolean enabled ) {
+		this.statisticsEnabled = enabled;
+		this.regions.values().forEach( region -> region.getStatistics().setEnabled( enabled ) );
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected CacheKeysFactory getImplicitCacheKeysFactory() {
+		return BoxCacheKeysFactory.INSTANCE;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@SuppressWarnings( "rawtypes" )
+	@Override
+	protected void prepareForUse( SessionFactoryOptions settings, Map configValues ) {
+		// Nothing to start: regions are created as Hibernate builds them
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void releaseFromUse() {
+		this.regions.values().forEach( region -> {
+			region.clear();
+			region.getStatistics().close();
+		} );
+		this.regions.clear();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected DomainDataStorageAccess createDomainDataStorageAccess( DomainDataRegionConfig regionConfig,
+	    DomainDataRegionBuildingContext buildingContext ) {
+		return new HeapStorageAccess( buildRegion( regionConfig.getRegionName() ) );
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected StorageAccess createQueryResultsRegionStorageAccess( String regionName, SessionFactoryImplementor sessionFactory ) {
+		return new HeapStorageAccess( buildRegion( regionName ) );
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected StorageAccess createTimestampsRegionStorageAccess( String regionName, SessionFactoryImplementor sessionFactory ) {
+		return new HeapStorageAccess(
+		    this.regions.computeIfAbsent( regionName, key -> new HeapRegionCache( key, 0, 0, this.name, this.statisticsEnabled ) )
+		);
+	}
+
+	/**
+	 * Create the cache for a region, sized from the region's entry in <code>cacheConfig.regions</code> or the <code>cacheConfig</code> defaults.
+	 *
+	 * @param regionName The region name.
+	 */
+	private HeapRegionCache buildRegion( String regionName ) {
+		return this.regions.computeIfAbsent( regionName, key -> {
+			IStruct	regionConfig	= this.config.get( ORMKeys.regions ) instanceof IStruct regionConfigs
+			    && regionConfigs.get( Key.of( key ) ) instanceof IStruct namedConfig
+			        ? namedConfig
+			        : this.config;
+			int		maxObjects		= IntegerCaster.cast( regionConfig.getOrDefault( ORMKeys.maxObjects,
+			    this.config.getOrDefault( ORMKeys.maxObjects, DEFAULT_MAX_OBJECTS ) ) );
+			int		timeout			= IntegerCaster.cast( regionConfig.getOrDefault( ORMKeys.defaultTimeout,
+			    this.config.getOrDefault( ORMKeys.defaultTimeout, DEFAULT_TIMEOUT ) ) );
+			return new HeapRegionCache( key, maxObjects, timeout, this.name, this.statisticsEnabled );
+		} );
+	}
+}
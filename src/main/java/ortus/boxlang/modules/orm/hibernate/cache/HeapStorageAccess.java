@@ -0,0 +1,96 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.modules.orm.hibernate.cache;
+
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+/**
+ * Hibernate storage access for a {@link HeapRegionCache}. Used for every region type: entity, collection, natural id, query results and
+ * timestamps.
+ *
+ * @since 1.7.0
+ */
+public class HeapStorageAccess implements DomainDataStorageAccess {
+
+	private final HeapRegionCache cache;
+
+	/**
+	 * Constructor
+	 *
+	 * @param cache The region cache to store entries in.
+	 */
+	public HeapStorageAccess( HeapRegionCache cache ) {
+		this.cache = cache;
+	}
+
+	/**
+	 * Get the region cache backing this storage.
+	 */
+	public HeapRegionCache getCache() {
+		return this.cache;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object getFromCache( Object key, SharedSessionContractImplementor session ) {
+		return this.cache.get( key );
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void putIntoCache( Object key, Object value, SharedSessionContractImplementor session ) {
+		this.cache.put( key, value );
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean contains( Object key ) {
+		return this.cache.containsKey( key );
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void evictData() {
+		this.cache.clear();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void evictData( Object key ) {
+		this.cache.remove( key );
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void release() {
+		this.cache.clear();
+	}
+}
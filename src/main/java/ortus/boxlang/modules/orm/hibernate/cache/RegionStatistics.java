@@ -0,0 +1,315 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.modules.orm.hibernate.cache;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import javax.cache.management.CacheStatisticsMXBean;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import ortus.boxlang.modules.orm.config.ORMKeys;
+import ortus.boxlang.runtime.BoxRuntime;
+import ortus.boxlang.runtime.logging.BoxLangLogger;
+import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.Struct;
+
+/**
+ * Hit, miss, put, removal and eviction counters of a single second-level cache region.
+ * <p>
+ * Counters are {@link LongAdder}s, so concurrent requests recording hits on a popular region do not contend on a single value. While statistics
+ * are enabled, the counters are also published as a JCache {@link CacheStatisticsMXBean} on the platform MBean server, under
+ * <code>javax.cache:type=CacheStatistics,CacheManager=...,Cache=...</code>. Disabling statistics stops counting and unregisters the MXBean, but keeps
+ * the counts collected so far.
+ * <p>
+ * Average operation times are not measured, to keep timers off the cache path, and are always reported as 0.
+ *
+ * @since 1.7.0
+ */
+public class RegionStatistics implements CacheStatisticsMXBean {
+
+	private static final BoxLangLogger	logger				= BoxRuntime.getInstance().getLoggingService().getLogger( "orm" );
+
+	private final String				regionName;
+	private final String				cacheManagerName;
+	private final LongSupplier			sizeSupplier;
+	private final long					maxSize;
+
+	private final LongAdder				hits				= new LongAdder();
+	private final LongAdder				misses				= new LongAdder();
+	private final LongAdder				puts				= new LongAdder();
+	private final LongAdder				removals			= new LongAdder();
+	private final LongAdder				evictions			= new LongAdder();
+
+	private volatile boolean			enabled				= false;
+
+	/**
+	 * The name the MXBean is registered under, or null while it is not registered. Guarded by this.
+	 */
+	private ObjectName					objectName;
+
+	/**
+	 * Constructor
+	 *
+	 * @param regionName       The region name.
+	 * @param cacheManagerName The name of the cache manager or region factory owning the region, used in the MXBean name.
+	 * @param sizeSupplier     Supplies the current number of entries in the region.
+	 * @param maxSize          The maximum number of entries in the region, or 0 if it is not bounded by this module.
+	 * @param enabled          Whether to collect statistics from the start.
+	 */
+	public RegionStatistics( String regionName, String cacheManagerName, LongSupplier sizeSupplier, long maxSize, boolean enabled ) {
+		this.regionName			= regionName;
+		this.cacheManagerName	= cacheManagerName;
+		this.sizeSupplier		= sizeSupplier;
+		this.maxSize			= maxSize;
+		setEnabled( enabled );
+	}
+
+	/**
+	 * Whether statistics are being collected.
+	 */
+	public boolean isEnabled() {
+		return this.enabled;
+	}
+
+	/**
+	 * Start or stop collecting statistics, registering or unregistering the region's MXBean accordingly.
+	 *
+	 * @param enabled Whether to collect statistics.
+	 */
+	public synchronized void setEnabled( boolean enabled ) {
+		this.enabled = enabled;
+		if ( enabled ) {
+			registerMXBean();
+		} else {
+			unregisterMXBean();
+		}
+	}
+
+	/**
+	 * Record a read which found a value.
+	 */
+	public void recordHit() {
+		if ( this.enabled ) {
+			this.hits.increment();
+		}
+	}
+
+	/**
+	 * Record a read which found no value.
+	 */
+	public void recordMiss() {
+		if ( this.enabled ) {
+			this.misses.increment();
+		}
+	}
+
+	/**
+	 * Record a write.
+	 */
+	public void recordPut() {
+		if ( this.enabled ) {
+			this.puts.increment();
+		}
+	}
+
+	/**
+	 * Record an explicit removal, such as an entity eviction by Hibernate.
+	 */
+	public void recordRemoval() {
+		if ( this.enabled ) {
+			this.removals.increment();
+		}
+	}
+
+	/**
+	 * Record an entry dropped by the region itself, because it was full or the entry expired.
+	 */
+	public void recordEviction() {
+		if ( this.enabled ) {
+			this.evictions.increment();
+		}
+	}
+
+	/**
+	 * Get the statistics as a struct.
+	 *
+	 * @return Struct with the keys `enabled`, `hits`, `misses`, `hitRatio`, `puts`, `removals`, `evictions`, `size` and `maxSize`.
+	 */
+	public IStruct getStats() {
+		return Struct.of(
+		    ORMKeys.enabled, this.enabled,
+		    ORMKeys.hits, getCacheHits(),
+		    ORMKeys.misses, getCacheMisses(),
+		    ORMKeys.hitRatio, getCacheHitPercentage() / 100,
+		    ORMKeys.puts, getCachePuts(),
+		    ORMKeys.removals, getCacheRemovals(),
+		    ORMKeys.evictions, getCacheEvictions(),
+		    ORMKeys.size, this.sizeSupplier.getAsLong(),
+		    ORMKeys.maxSize, this.maxSize
+		);
+	}
+
+	/**
+	 * Stop publishing the MXBean, when the region is closed.
+	 */
+	public synchronized void close() {
+		unregisterMXBean();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void clear() {
+		this.hits.reset();
+		this.misses.reset();
+		this.puts.reset();
+		this.removals.reset();
+		this.evictions.reset();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long getCacheHits() {
+		return this.hits.sum();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public float getCacheHitPercentage() {
+		long gets = getCacheGets();
+		return gets == 0 ? 0 : getCacheHits() * 100f / gets;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long getCacheMisses() {
+		return this.misses.sum();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public float getCacheMissPercentage() {
+		long gets = getCacheGets();
+		return gets == 0 ? 0 : getCacheMisses() * 100f / gets;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long getCacheGets() {
+		return getCacheHits() + getCacheMisses();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long getCachePuts() {
+		return this.puts.sum();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long getCacheRemovals() {
+		return this.removals.sum();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long getCacheEvictions() {
+		return this.evictions.sum();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public float getAverageGetTime() {
+		return 0;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public float getAveragePutTime() {
+		return 0;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public float getAverageRemoveTime() {
+		return 0;
+	}
+
+	/**
+	 * Register this region's MXBean, unless it is registered already. Registration failures are logged, not thrown: monitoring must not break the
+	 * cache. Must hold the lock on this.
+	 */
+	private void registerMXBean() {
+		if ( this.objectName != null ) {
+			return;
+		}
+		try {
+			ObjectName	name	= new ObjectName( "javax.cache:type=CacheStatistics,CacheManager=" + ObjectName.quote( this.cacheManagerName )
+			    + ",Cache=" + ObjectName.quote( this.regionName ) );
+			MBeanServer	server	= ManagementFactory.getPlatformMBeanServer();
+			if ( !server.isRegistered( name ) ) {
+				server.registerMBean( this, name );
+				this.objectName = name;
+			}
+		} catch ( JMException e ) {
+			logger.warn( "Unable to register the cache statistics MXBean for region [" + this.regionName + "]", e );
+		}
+	}
+
+	/**
+	 * Unregister this region's MXBean, if it is registered. Must hold the lock on this.
+	 */
+	private void unregisterMXBean() {
+		if ( this.objectName == null ) {
+			return;
+		}
+		try {
+			ManagementFactory.getPlatformMBeanServer().unregisterMBean( this.objectName );
+		} catch ( JMException e ) {
+			logger.debug( "Unable to unregister the cache statistics MXBean for region [" + this.regionName + "]", e );
+		}
+		this.objectName = null;
+	}
+}
@@ -0,0 +1,40 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.modules.orm.hibernate.cache;
+
+import java.util.Map;
+
+/**
+ * A Hibernate region factory (or cache manager) which collects {@link RegionStatistics} for its regions.
+ *
+ * @since 1.7.0
+ */
+public interface RegionStatisticsProvider {
+
+	/**
+	 * Get the statistics of every region built so far, keyed by region name.
+	 */
+	Map<String, RegionStatistics> getRegionStatistics();
+
+	/**
+	 * Start or stop collecting statistics on every region, including regions built afterwards.
+	 *
+	 * @param enabled Whether to collect statistics.
+	 */
+	void setStatisticsEnabled( boolean enabled );
+}
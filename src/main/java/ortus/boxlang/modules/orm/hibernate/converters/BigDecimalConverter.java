@@ -29,6 +29,9 @@ public class BigDecimalConverter implements AttributeConverter<Object, BigDecima
 
 	@Override
 	public BigDecimal convertToDatabaseColumn( Object attribute ) {
+		if ( attribute instanceof BigDecimal decimal ) {
+			return decimal;
+		}
 		return attribute != null ? BigDecimalCaster.cast( attribute ) : null;
 	}
 
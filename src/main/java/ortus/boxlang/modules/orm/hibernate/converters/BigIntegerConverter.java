@@ -29,6 +29,9 @@ public class BigIntegerConverter implements AttributeConverter<Object, BigIntege
 
 	@Override
 	public BigInteger convertToDatabaseColumn( Object attribute ) {
+		if ( attribute instanceof BigInteger bigInteger ) {
+			return bigInteger;
+		}
 		return attribute != null ? BigIntegerCaster.cast( attribute ) : null;
 	}
 
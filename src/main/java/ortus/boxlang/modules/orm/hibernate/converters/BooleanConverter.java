@@ -27,12 +27,15 @@ public class BooleanConverter implements AttributeConverter<Object, Boolean> {
 
 	@Override
 	public Boolean convertToDatabaseColumn( Object attribute ) {
+		if ( attribute instanceof Boolean bool ) {
+			return bool;
+		}
 		return attribute != null ? BooleanCaster.cast( attribute ) : null;
 	}
 
 	@Override
 	public Object convertToEntityAttribute( Boolean dbData ) {
-		return dbData != null ? BooleanCaster.cast( dbData ) : null;
+		return dbData;
 	}
 
 }
\ No newline at end of file
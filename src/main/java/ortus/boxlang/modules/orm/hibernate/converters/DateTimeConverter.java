@@ -17,24 +17,57 @@
  */
 package ortus.boxlang.modules.orm.hibernate.converters;
 
+import java.time.Instant;
+import java.time.ZonedDateTime;
 import java.util.Date;
 
 import javax.persistence.AttributeConverter;
 import javax.persistence.Converter;
 
+import ortus.boxlang.runtime.BoxRuntime;
+import ortus.boxlang.runtime.context.IBoxContext;
+import ortus.boxlang.runtime.context.RequestBoxContext;
 import ortus.boxlang.runtime.dynamic.casters.DateTimeCaster;
+import ortus.boxlang.runtime.types.DateTime;
+import ortus.boxlang.runtime.util.LocalizationUtil;
 
+/**
+ * Binds date/time properties as {@link Instant}s, converting to and from the wrapped {@link ZonedDateTime} of a BoxLang {@link DateTime} without
+ * going through {@link Date}. Loaded values are placed in the timezone of the current request, falling back to the runtime's configured timezone.
+ */
 @Converter( autoApply = true )
-public class DateTimeConverter implements AttributeConverter<Object, Date> {
+public class DateTimeConverter implements AttributeConverter<Object, Instant> {
 
 	@Override
-	public Date convertToDatabaseColumn( Object attribute ) {
-		return attribute != null ? DateTimeCaster.cast( attribute ).toDate() : null;
+	public Instant convertToDatabaseColumn( Object attribute ) {
+		if ( attribute == null ) {
+			return null;
+		}
+		if ( attribute instanceof DateTime dateTime ) {
+			return dateTime.getWrapped().toInstant();
+		}
+		if ( attribute instanceof ZonedDateTime zonedDateTime ) {
+			return zonedDateTime.toInstant();
+		}
+		if ( attribute instanceof Instant instant ) {
+			return instant;
+		}
+		if ( attribute instanceof Date date ) {
+			return date.toInstant();
+		}
+		return DateTimeCaster.cast( attribute ).getWrapped().toInstant();
 	}
 
 	@Override
-	public Object convertToEntityAttribute( Date dbData ) {
-		return dbData != null ? DateTimeCaster.cast( dbData ) : dbData;
+	public Object convertToEntityAttribute( Instant dbData ) {
+		if ( dbData == null ) {
+			return null;
+		}
+		IBoxContext context = RequestBoxContext.getCurrent();
+		if ( context == null ) {
+			context = BoxRuntime.getInstance().getRuntimeContext();
+		}
+		return new DateTime( dbData.atZone( LocalizationUtil.parseZoneId( null, context ) ) );
 	}
 
 }
\ No newline at end of file
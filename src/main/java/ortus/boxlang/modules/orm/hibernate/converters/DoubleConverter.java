@@ -27,6 +27,9 @@ public class DoubleConverter implements AttributeConverter<Object, Double> {
 
 	@Override
 	public Double convertToDatabaseColumn( Object attribute ) {
+		if ( attribute instanceof Double doubleValue ) {
+			return doubleValue;
+		}
 		return attribute != null ? DoubleCaster.cast( attribute ) : null;
 	}
 
@@ -27,6 +27,9 @@ public class IntegerConverter implements AttributeConverter<Object, Integer> {
 
 	@Override
 	public Integer convertToDatabaseColumn( Object attribute ) {
+		if ( attribute instanceof Integer integer ) {
+			return integer;
+		}
 		return attribute != null ? IntegerCaster.cast( attribute ) : null;
 	}
 
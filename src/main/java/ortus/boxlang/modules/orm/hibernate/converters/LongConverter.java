@@ -27,6 +27,9 @@ public class LongConverter implements AttributeConverter<Object, Long> {
 
 	@Override
 	public Long convertToDatabaseColumn( Object attribute ) {
+		if ( attribute instanceof Long longValue ) {
+			return longValue;
+		}
 		return attribute != null ? LongCaster.cast( attribute ) : null;
 	}
 
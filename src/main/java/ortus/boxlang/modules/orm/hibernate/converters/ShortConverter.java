@@ -27,6 +27,9 @@ public class ShortConverter implements AttributeConverter<Object, Short> {
 
 	@Override
 	public Short convertToDatabaseColumn( Object attribute ) {
+		if ( attribute instanceof Short shortValue ) {
+			return shortValue;
+		}
 		return attribute != null ? ShortCaster.cast( attribute ) : null;
 	}
 
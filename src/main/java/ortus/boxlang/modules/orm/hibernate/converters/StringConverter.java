@@ -27,6 +27,9 @@ public class StringConverter implements AttributeConverter<Object, String> {
 
 	@Override
 	public String convertToDatabaseColumn( Object attribute ) {
+		if ( attribute instanceof String string ) {
+			return string;
+		}
 		return attribute != null ? StringCaster.cast( attribute ) : null;
 	}
 
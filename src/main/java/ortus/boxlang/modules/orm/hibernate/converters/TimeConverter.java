@@ -30,6 +30,9 @@ public class TimeConverter implements AttributeConverter<Object, LocalTime> {
 
 	@Override
 	public LocalTime convertToDatabaseColumn( Object attribute ) {
+		if ( attribute instanceof LocalTime localTime ) {
+			return localTime;
+		}
 		return attribute != null ? TimeCaster.cast( attribute ) : null;
 	}
 
@@ -19,6 +19,9 @@ package ortus.boxlang.modules.orm.mapping;
 
 import java.nio.file.Path;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
 import ortus.boxlang.modules.orm.config.ORMKeys;
 import ortus.boxlang.modules.orm.mapping.inspectors.IEntityMeta;
 import ortus.boxlang.runtime.loader.ClassLocator;
@@ -36,43 +39,48 @@ public class EntityRecord {
 	/**
 	 * The name of the entity. NOT necessarily the class name, but the entity name as defined by the entity annotations.
 	 */
-	private String		entityName;
+	private String					entityName;
 
 	/**
 	 * The fully qualified class name of the entity, like `models.User`.
 	 */
-	private String		classFQN;
+	private String					classFQN;
 
 	/**
 	 * The simple class name of the entity, like `User`.
 	 */
-	private String		className;
+	private String					className;
 
 	/**
 	 * Name of the datasource which this entity should use to connect to the DB.
 	 */
-	private Key			datasource;
+	private Key						datasource;
 
 	/**
 	 * Struct of metadata for the entity. Includes annotations, file path, etc.
 	 */
-	private IStruct		metadata;
+	private IStruct					metadata;
 
 	/**
 	 * The path to the generated XML file for this entity.
 	 */
-	private Path		xmlFilePath;
+	private Path					xmlFilePath;
 	/**
 	 * Stores all generated entity metadata for a given entity.
 	 *
 	 * Used to construct the hibernate mapping XML.
 	 */
-	private IEntityMeta	entityMeta;
+	private IEntityMeta				entityMeta;
 
 	/**
 	 * Box class resolver prefix, either `cfc` or `bx`, used when instantiating the entity.
 	 */
-	private String		resolverPrefix;
+	private String					resolverPrefix;
+
+	/**
+	 * Index of persistent properties, built from the Hibernate metadata on first use.
+	 */
+	private volatile PropertyIndex	propertyIndex;
 
 	public EntityRecord( String entityName, String classFQN ) {
 		this( entityName, classFQN, null );
@@ -181,6 +189,21 @@ public class EntityRecord {
 		return xmlFilePath;
 	}
 
+	/**
+	 * Retrieve the persistent property index for this entity, building it on first use.
+	 *
+	 * @param sessionFactory The session factory this entity is mapped in, used to resolve the property types.
+	 */
+	public PropertyIndex getPropertyIndex( SessionFactory sessionFactory ) {
+		if ( this.propertyIndex == null ) {
+			this.propertyIndex = PropertyIndex.build(
+			    this.entityMeta,
+			    ( ( SessionFactoryImplementor ) sessionFactory ).getMetamodel().entityPersister( this.entityName )
+			);
+		}
+		return this.propertyIndex;
+	}
+
 	/**
 	 * Retrieve the Box class resolver prefix, i.e. `bx`.
 	 */
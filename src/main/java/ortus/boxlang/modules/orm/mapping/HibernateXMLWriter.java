@@ -238,6 +238,9 @@ public class HibernateXMLWriter {
 		// TODO: Track execution time and record in an XML comment prepended to the document.
 		// comment with: source, compilation-time, datasource
 		this.document.getDocumentElement().appendChild( generateClassElement() );
+		// Named queries must follow the class element
+		entity.getNamedQueries().entrySet().forEach( entry -> this.document.getDocumentElement()
+		    .appendChild( generateQueryElement( entry.getKey().getName(), StringCaster.cast( entry.getValue() ) ) ) );
 		return this.document;
 	}
 
@@ -780,8 +783,17 @@ public class HibernateXMLWriter {
 			}
 		}
 
+		// Natural ids are only supported on the root class of a hierarchy
+		List<IPropertyMeta> naturalIdProperties = entity.isSubclass()
+		    ? List.of()
+		    : entity.getAllPersistentProperties().stream().filter( HibernateXMLWriter::isNaturalId ).toList();
+
 		if ( !entity.getCache().isEmpty() && !entity.isSubclass() ) {
 			classElement.appendChild( generateCacheElement( entity.getCache() ) );
+			if ( !naturalIdProperties.isEmpty() ) {
+				// Cache natural id to primary key resolutions alongside the entity itself
+				classElement.appendChild( this.document.createElement( "natural-id-cache" ) );
+			}
 		}
 
 		if ( entity.isDynamicInsert() ) {
@@ -842,6 +854,10 @@ public class HibernateXMLWriter {
 			}
 
 			addDiscriminatorData( entityElement, entity.getDiscriminator() );
+
+			if ( !naturalIdProperties.isEmpty() ) {
+				entityElement.appendChild( generateNaturalIdElement( naturalIdProperties ) );
+			}
 		}
 
 		// Both fieldtype=version and fieldtype=timestamp translate to a single <version> xml node.
@@ -853,6 +869,7 @@ public class HibernateXMLWriter {
 		// generate properties, aka <property> elements
 		entity.getProperties()
 		    .stream()
+		    .filter( ( propertyMeta ) -> !naturalIdProperties.contains( propertyMeta ) )
 		    .map( ( propertyMeta ) -> generatePropertyElement( propertyMeta ) )
 		    .forEach( entityElement::appendChild );
 
@@ -860,6 +877,7 @@ public class HibernateXMLWriter {
 		final Element entityElementFinal = entityElement;
 		entity.getAssociations()
 		    .stream()
+		    .filter( ( propertyMeta ) -> !naturalIdProperties.contains( propertyMeta ) )
 		    .map( ( propertyMeta ) -> {
 			    switch ( propertyMeta.getFieldType() ) {
 				    case ONE_TO_ONE :
@@ -905,6 +923,48 @@ public class HibernateXMLWriter {
 		return classElement;
 	}
 
+	/**
+	 * Generate a &lt;natural-id/&gt; element for the given properties.
+	 * <p>
+	 * Column properties and many-to-one associations may be annotated with `naturalid`. The natural id is immutable unless any of its properties are
+	 * annotated with `naturalid="mutable"`.
+	 *
+	 * @param naturalIdProperties The properties which make up the natural id.
+	 *
+	 * @return A &lt;natural-id/&gt; element ready to add to a Hibernate mapping document
+	 */
+	public Element generateNaturalIdElement( List<IPropertyMeta> naturalIdProperties ) {
+		Element	theNode	= this.document.createElement( "natural-id" );
+		boolean	mutable	= false;
+		for ( IPropertyMeta prop : naturalIdProperties ) {
+			if ( "mutable".equalsIgnoreCase( StringCaster.cast( prop.getAnnotations().get( ORMKeys.naturalId ) ) ) ) {
+				mutable = true;
+			}
+			theNode.appendChild( prop.isAssociationType() ? generateToOneAssociation( prop ) : generatePropertyElement( prop ) );
+		}
+		if ( mutable ) {
+			theNode.setAttribute( "mutable", "true" );
+		}
+		return theNode;
+	}
+
+	/**
+	 * Whether the given property is annotated as (part of) the natural id. A bare `naturalid` annotation, `naturalid="immutable"` and
+	 * `naturalid="mutable"` all mark the property; `naturalid="false"` does not.
+	 *
+	 * @param prop Property metadata
+	 */
+	private static boolean isNaturalId( IPropertyMeta prop ) {
+		if ( !prop.getAnnotations().containsKey( ORMKeys.naturalId ) ) {
+			return false;
+		}
+		if ( prop.getFieldType() != IPropertyMeta.FIELDTYPE.COLUMN && prop.getFieldType() != IPropertyMeta.FIELDTYPE.MANY_TO_ONE ) {
+			return false;
+		}
+		Object value = prop.getAnnotations().get( ORMKeys.naturalId );
+		return value == null || !"false".equalsIgnoreCase( StringCaster.cast( value ).trim() );
+	}
+
 	/**
 	 * Generate a &lt;cache/&gt; element for the given cache metadata.
 	 * <p>
@@ -927,6 +987,24 @@ public class HibernateXMLWriter {
 		return theNode;
 	}
 
+	/**
+	 * Generate a &lt;query/&gt; element for the given named HQL query.
+	 * <p>
+	 * Named queries are compiled and validated by Hibernate when the session factory is built, so a malformed query will fail ORM startup rather than
+	 * the first request which executes it.
+	 *
+	 * @param name The query name, unique across the session factory.
+	 * @param hql  The HQL query string.
+	 *
+	 * @return A &lt;query /&gt; element ready to add to a Hibernate mapping document
+	 */
+	public Element generateQueryElement( String name, String hql ) {
+		Element theNode = this.document.createElement( "query" );
+		theNode.setAttribute( "name", name );
+		theNode.appendChild( this.document.createCDATASection( hql ) );
+		return theNode;
+	}
+
 	/**
 	 * Generate a &lt;version/&gt; element for the given column metadata.
 	 * <p>
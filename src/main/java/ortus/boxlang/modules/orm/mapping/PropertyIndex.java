@@ -0,0 +1,155 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.modules.orm.mapping;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.hibernate.HibernateException;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.Type;
+import org.hibernate.type.descriptor.converter.AttributeConverterTypeAdapter;
+
+import ortus.boxlang.modules.orm.mapping.inspectors.IEntityMeta;
+import ortus.boxlang.runtime.dynamic.casters.BigDecimalCaster;
+import ortus.boxlang.runtime.dynamic.casters.BooleanCaster;
+import ortus.boxlang.runtime.dynamic.casters.DateTimeCaster;
+import ortus.boxlang.runtime.dynamic.casters.DoubleCaster;
+import ortus.boxlang.runtime.dynamic.casters.IntegerCaster;
+import ortus.boxlang.runtime.dynamic.casters.KeyCaster;
+import ortus.boxlang.runtime.dynamic.casters.LongCaster;
+import ortus.boxlang.runtime.dynamic.casters.StringCaster;
+import ortus.boxlang.runtime.scopes.Key;
+
+/**
+ * Immutable, case-insensitive index of an entity's persistent properties.
+ * <p>
+ * Maps each property name (including properties inherited from a persistent parent) to its Hibernate property path and a caster for the property's
+ * Java type, so filter keys can be validated with a single hash lookup and filter values coerced before they are bound.
+ *
+ * @since 1.7.0
+ */
+public final class PropertyIndex {
+
+	/**
+	 * Casters for the basic Java types which BoxLang values commonly need coercing to. Other types are bound as-is.
+	 */
+	private static final Map<Class<?>, Function<Object, Object>>	CASTERS	= Map.of(
+	    String.class, StringCaster::cast,
+	    Integer.class, IntegerCaster::cast,
+	    Long.class, LongCaster::cast,
+	    Double.class, DoubleCaster::cast,
+	    Boolean.class, BooleanCaster::cast,
+	    BigDecimal.class, BigDecimalCaster::cast,
+	    Instant.class, value -> DateTimeCaster.cast( value ).getWrapped().toInstant()
+	);
+
+	/**
+	 * A single indexed property.
+	 *
+	 * @param path     The Hibernate property path, as declared on the entity.
+	 * @param javaType The Java type Hibernate binds for the property, or null if unknown.
+	 * @param caster   Caster to the property's Java type, or null if values are bound unchanged.
+	 */
+	public record IndexedProperty( String path, Class<?> javaType, Function<Object, Object> caster ) {
+
+		/**
+		 * Coerce a filter value to the property's Java type.
+		 *
+		 * @param value The value to coerce. Null values are returned as-is.
+		 */
+		public Object coerce( Object value ) {
+			if ( value == null || this.caster == null || this.javaType.isInstance( value ) ) {
+				return value;
+			}
+			return this.caster.apply( value );
+		}
+	}
+
+	private final Map<Key, IndexedProperty> properties;
+
+	private PropertyIndex( Map<Key, IndexedProperty> properties ) {
+		this.properties = Map.copyOf( properties );
+	}
+
+	/**
+	 * Build the index for an entity.
+	 *
+	 * @param entityMeta The parsed entity metadata, which supplies the persistent property names.
+	 * @param persister  The Hibernate persister for the entity, which supplies the property types.
+	 */
+	public static PropertyIndex build( IEntityMeta entityMeta, EntityPersister persister ) {
+		Map<Key, IndexedProperty> properties = new HashMap<>();
+		for ( Object name : entityMeta.getPropertyNamesArray() ) {
+			Key		propertyKey	= KeyCaster.cast( name );
+			String	path		= propertyKey.getName();
+			Type	type		= resolveType( persister, path );
+			if ( type == null || type.isAssociationType() || type.isComponentType() ) {
+				properties.putIfAbsent( propertyKey, new IndexedProperty( path, null, null ) );
+			} else {
+				Class<?> javaType = resolveJavaType( type );
+				properties.putIfAbsent( propertyKey, new IndexedProperty( path, javaType, CASTERS.get( javaType ) ) );
+			}
+		}
+		return new PropertyIndex( properties );
+	}
+
+	private static Type resolveType( EntityPersister persister, String path ) {
+		if ( persister == null ) {
+			return null;
+		}
+		try {
+			return persister.getPropertyType( path );
+		} catch ( HibernateException e ) {
+			// Not a mapped property path; bind filter values unchanged
+			return null;
+		}
+	}
+
+	/**
+	 * Resolve the Java type a property's values are bound as. Converted properties are mapped as `Object`, so for those this is the column type of
+	 * the attribute converter, like `Integer` for the {@link ortus.boxlang.modules.orm.hibernate.converters.IntegerConverter}.
+	 */
+	private static Class<?> resolveJavaType( Type type ) {
+		if ( type instanceof AttributeConverterTypeAdapter<?> convertedType ) {
+			return convertedType.getAttributeConverter().getRelationalJavaTypeDescriptor().getJavaType();
+		}
+		return type.getReturnedClass();
+	}
+
+	/**
+	 * Look up a property by name, case-insensitively.
+	 *
+	 * @param name The property name.
+	 *
+	 * @return The indexed property, or null if the entity has no persistent property of that name.
+	 */
+	public IndexedProperty get( Key name ) {
+		return this.properties.get( name );
+	}
+
+	/**
+	 * Whether the entity has a persistent property of the given name.
+	 */
+	public boolean contains( Key name ) {
+		return this.properties.containsKey( name );
+	}
+}
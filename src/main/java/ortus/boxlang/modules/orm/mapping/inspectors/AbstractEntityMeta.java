@@ -115,6 +115,10 @@ public abstract class AbstractEntityMeta implements IEntityMeta {
 
 	protected IStruct				cache			= Struct.EMPTY;
 
+	protected IStruct				namedQueries	= Struct.EMPTY;
+
+	protected boolean				cacheWarmup		= false;
+
 	public AbstractEntityMeta( IStruct entityMeta ) {
 
 		this.logger			= runtime.getLoggingService().getLogger( "orm" );
@@ -353,6 +357,24 @@ public abstract class AbstractEntityMeta implements IEntityMeta {
 		return this.cache;
 	}
 
+	/**
+	 * Gets the named HQL queries declared on the entity.
+	 *
+	 * @return the named queries of the entity, keyed by query name.
+	 */
+	public IStruct getNamedQueries() {
+		return this.namedQueries;
+	}
+
+	/**
+	 * Whether the entity is preloaded into the second-level cache after startup.
+	 *
+	 * @return true if the entity has the <code>cacheWarmup</code> annotation.
+	 */
+	public boolean isCacheWarmup() {
+		return this.cacheWarmup;
+	}
+
 	/**
 	 * Gets the batch size for the entity.
 	 *
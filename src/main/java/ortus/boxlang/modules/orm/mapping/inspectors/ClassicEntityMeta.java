@@ -21,7 +21,9 @@ import java.util.stream.Collectors;
 
 import ortus.boxlang.modules.orm.config.ORMKeys;
 import ortus.boxlang.runtime.dynamic.casters.BooleanCaster;
+import ortus.boxlang.runtime.dynamic.casters.CastAttempt;
 import ortus.boxlang.runtime.dynamic.casters.IntegerCaster;
+import ortus.boxlang.runtime.dynamic.casters.StructCaster;
 import ortus.boxlang.runtime.scopes.Key;
 import ortus.boxlang.runtime.types.IStruct;
 import ortus.boxlang.runtime.types.Struct;
@@ -76,6 +78,21 @@ public class ClassicEntityMeta extends AbstractEntityMeta {
 			this.cache.computeIfAbsent( ORMKeys.include, key -> this.annotations.getAsString( ORMKeys.cacheInclude ) );
 		}
 
+		if ( this.annotations.containsKey( ORMKeys.cacheWarmup ) ) {
+			Object warmup = this.annotations.get( ORMKeys.cacheWarmup );
+			// A bare `@cacheWarmup` annotation has an empty value
+			this.cacheWarmup = "".equals( warmup ) || Boolean.TRUE.equals( BooleanCaster.cast( warmup, false ) );
+		}
+
+		if ( this.annotations.containsKey( ORMKeys.namedQueries ) ) {
+			CastAttempt<IStruct> queriesAttempt = StructCaster.attempt( this.annotations.get( ORMKeys.namedQueries ) );
+			if ( queriesAttempt.wasSuccessful() ) {
+				this.namedQueries = queriesAttempt.get();
+			} else {
+				logger.warn( "Entity {} has a namedQueries annotation which is not a struct of query name to HQL; ignoring it.", this.entityName );
+			}
+		}
+
 		this.allPersistentProperties	= this.allProperties.stream()
 		    .map( IStruct.class::cast )
 		    .filter( ( IStruct prop ) -> {
@@ -109,6 +109,18 @@ public interface IEntityMeta {
 	 */
 	public IStruct getCache();
 
+	/**
+	 * Get the named HQL queries declared on this entity.
+	 *
+	 * @return A struct of query name to HQL string - EMPTY if none defined.
+	 */
+	public IStruct getNamedQueries();
+
+	/**
+	 * Whether this entity should be preloaded into the second-level cache after startup, via the <code>cacheWarmup</code> annotation.
+	 */
+	public boolean isCacheWarmup();
+
 	public Integer getBatchSize();
 
 	public String getRowID();
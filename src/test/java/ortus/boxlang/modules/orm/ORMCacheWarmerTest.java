@@ -0,0 +1,83 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.modules.orm;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ortus.boxlang.modules.orm.config.ORMConfig;
+import ortus.boxlang.modules.orm.config.ORMKeys;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.types.Array;
+import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.Struct;
+import tools.BaseORMTest;
+
+public class ORMCacheWarmerTest extends BaseORMTest {
+
+	@DisplayName( "It preloads entities and queries into the second-level cache in batches" )
+	@Test
+	public void testCacheWarmup() throws Exception {
+		ORMApp			ormApp	= ( ( ORMService ) instance.getGlobalService( ORMKeys.ORMService ) ).getORMAppByContext( context );
+		ORMConfig		config	= new ORMConfig( Struct.of(
+		    ORMKeys.datasource, "TestDB",
+		    ORMKeys.secondaryCacheEnabled, true,
+		    ORMKeys.cacheWarmup, Struct.of(
+		        ORMKeys.targets, Array.of(
+		            "cbAuthor",
+		            Struct.of( ORMKeys.hql, "from cbAuthor where firstName = :name", Key.params, Struct.of( "name", "Luis" ) ),
+		            "Vehicle"
+		        ),
+		        ORMKeys.batchsize, 2
+		    )
+		), context );
+		SessionFactory	factory	= ormApp.getDefaultSessionFactoryOrThrow();
+		factory.getCache().evictAllRegions();
+
+		ORMCacheWarmer	warmer	= new ORMCacheWarmer( ormApp, config, context ).start();
+		assertThat( warmer.await( 30, TimeUnit.SECONDS ) ).isTrue();
+
+		IStruct status = warmer.getStatus();
+		// The Vehicle target fails, so the warm-up as a whole only partially succeeded
+		assertThat( status.getAsString( ORMKeys.state ) ).isEqualTo( ORMCacheWarmer.STATE_PARTIAL );
+		assertThat( status.get( ORMKeys.total ) ).isEqualTo( 3 );
+		assertThat( status.get( ORMKeys.completed ) ).isEqualTo( 3 );
+		assertThat( status.get( ORMKeys.failed ) ).isEqualTo( 1 );
+
+		Array	targets	= status.getAsArray( ORMKeys.targets );
+		IStruct	authors	= ( IStruct ) targets.get( 0 );
+		assertThat( authors.getAsString( ORMKeys.state ) ).isEqualTo( ORMCacheWarmer.STATE_COMPLETED );
+		assertThat( authors.get( ORMKeys.loaded ) ).isEqualTo( 5L );
+		assertThat( authors.get( ORMKeys.batches ) ).isEqualTo( 3 );
+		assertThat( factory.getCache().containsEntity( "cbAuthor", "77abddba-a444-11eb-ab6f-0290cc502ae3" ) ).isTrue();
+
+		IStruct query = ( IStruct ) targets.get( 1 );
+		assertThat( query.getAsString( ORMKeys.state ) ).isEqualTo( ORMCacheWarmer.STATE_COMPLETED );
+		assertThat( query.get( ORMKeys.loaded ) ).isEqualTo( 1L );
+
+		// Vehicles are not cached, so there is nothing to warm
+		IStruct vehicles = ( IStruct ) targets.get( 2 );
+		assertThat( vehicles.getAsString( ORMKeys.state ) ).isEqualTo( ORMCacheWarmer.STATE_FAILED );
+		assertThat( vehicles.getAsString( ORMKeys.error ) ).contains( "not cached" );
+	}
+}
@@ -0,0 +1,73 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.modules.orm.bifs;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
+import tools.BaseORMTest;
+
+public class EntityCountTest extends BaseORMTest {
+
+	@DisplayName( "It can count all entities of a type" )
+	@Test
+	public void testEntityCount() {
+		// @formatter:off
+		instance.executeSource( """
+			result = entityCount( "Vehicle" );
+		""", context );
+		// @formatter:on
+		assertThat( ( ( Number ) variables.get( result ) ).longValue() ).isEqualTo( 5L );
+	}
+
+	@DisplayName( "It can count entities matching a filter" )
+	@Test
+	public void testEntityCountWithFilter() {
+		// @formatter:off
+		instance.executeSource( """
+			result = entityCount( "Vehicle", { make : "Honda" } );
+		""", context );
+		// @formatter:on
+		assertThat( ( ( Number ) variables.get( result ) ).longValue() ).isEqualTo( 3L );
+	}
+
+	@DisplayName( "It can count entities on the non-default datasource" )
+	@Test
+	public void testEntityCountAlternateDatasource() {
+		// @formatter:off
+		instance.executeSource( """
+			result = entityCount( "AlternateDS" );
+		""", context );
+		// @formatter:on
+		assertThat( ( ( Number ) variables.get( result ) ).longValue() ).isEqualTo( 2L );
+	}
+
+	@DisplayName( "It throws on an unknown filter property" )
+	@Test
+	public void testEntityCountInvalidFilter() {
+		// @formatter:off
+		assertThrows( BoxRuntimeException.class, () -> instance.executeSource( """
+			result = entityCount( "Vehicle", { color : "red" } );
+		""", context ) );
+		// @formatter:on
+	}
+}
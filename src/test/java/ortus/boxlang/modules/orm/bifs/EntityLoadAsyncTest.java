@@ -0,0 +1,56 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.modules.orm.bifs;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ortus.boxlang.runtime.runnables.IClassRunnable;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.types.Array;
+import tools.BaseORMTest;
+
+public class EntityLoadAsyncTest extends BaseORMTest {
+
+	@DisplayName( "It can load entities by filter asynchronously" )
+	@Test
+	public void testLoadByFilter() {
+		// @formatter:off
+		instance.executeSource( """
+		result = entityLoadAsync( "Vehicle", { make : "Honda" } ).get();
+		""", context );
+		// @formatter:on
+		Array vehicles = ( Array ) variables.get( result );
+		assertThat( vehicles.size() ).isGreaterThan( 0 );
+		vehicles.forEach( vehicle -> assertThat( ( ( IClassRunnable ) vehicle ).get( Key.of( "make" ) ) ).isEqualTo( "Honda" ) );
+	}
+
+	@DisplayName( "It can load a unique entity by id asynchronously" )
+	@Test
+	public void testLoadById() {
+		// @formatter:off
+		instance.executeSource( """
+		result = entityLoadAsync( "Vehicle", "1HGCM82633A123456", true ).get();
+		""", context );
+		// @formatter:on
+		assertThat( variables.get( result ) ).isInstanceOf( IClassRunnable.class );
+		assertThat( ( ( IClassRunnable ) variables.get( result ) ).get( Key.of( "model" ) ) ).isEqualTo( "Accord" );
+	}
+}
@@ -0,0 +1,103 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.modules.orm.bifs;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ortus.boxlang.modules.orm.ORMService;
+import ortus.boxlang.modules.orm.config.ORMKeys;
+import ortus.boxlang.runtime.runnables.IClassRunnable;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
+import tools.BaseORMTest;
+
+public class EntityLoadByNaturalIdTest extends BaseORMTest {
+
+	@DisplayName( "It can load an entity by natural id" )
+	@Test
+	public void testEntityLoadByNaturalId() {
+		// @formatter:off
+		instance.executeSource( """
+			queryExecute( "DELETE FROM dealers" );
+			queryExecute( "INSERT INTO dealers ( id, slug, name ) VALUES ( 1, 'ride-time', 'Ride Time Motors' )" );
+			result = entityLoadByNaturalId( "Dealer", "ride-time" );
+			byStruct = entityLoadByNaturalId( "Dealer", { slug : "ride-time" } );
+		""", context );
+		// @formatter:on
+		assertThat( variables.get( result ) ).isInstanceOf( IClassRunnable.class );
+		IClassRunnable dealer = ( IClassRunnable ) variables.get( result );
+		assertThat( dealer.get( Key.of( "name" ) ) ).isEqualTo( "Ride Time Motors" );
+		assertThat( variables.get( Key.of( "byStruct" ) ) ).isSameInstanceAs( dealer );
+	}
+
+	@DisplayName( "It resolves a cached natural id without SQL" )
+	@Test
+	public void testEntityLoadByNaturalIdCached() {
+		ORMService	ormService	= ( ORMService ) instance.getGlobalService( ORMKeys.ORMService );
+		Statistics	statistics	= ormService.getORMAppByContext( context ).getDefaultSessionFactoryOrThrow().getStatistics();
+		// @formatter:off
+		instance.executeSource( """
+			queryExecute( "DELETE FROM dealers WHERE id = 2" );
+			queryExecute( "INSERT INTO dealers ( id, slug, name ) VALUES ( 2, 'cached-cars', 'Cached Cars' )" );
+			first = entityLoadByNaturalId( "Dealer", "cached-cars" );
+			ormClearSession();
+		""", context );
+		// @formatter:on
+		statistics.setStatisticsEnabled( true );
+		try {
+			long	statements	= statistics.getPrepareStatementCount();
+			long	hits		= statistics.getNaturalIdCacheHitCount();
+			// @formatter:off
+			instance.executeSource( """
+				result = entityLoadByNaturalId( "Dealer", "cached-cars" );
+			""", context );
+			// @formatter:on
+			assertThat( statistics.getPrepareStatementCount() ).isEqualTo( statements );
+			assertThat( statistics.getNaturalIdCacheHitCount() ).isGreaterThan( hits );
+		} finally {
+			statistics.setStatisticsEnabled( false );
+		}
+		assertThat( ( ( IClassRunnable ) variables.get( result ) ).get( Key.of( "name" ) ) ).isEqualTo( "Cached Cars" );
+	}
+
+	@DisplayName( "It returns null when no entity matches the natural id" )
+	@Test
+	public void testEntityLoadByNaturalIdMissing() {
+		// @formatter:off
+		instance.executeSource( """
+			result = entityLoadByNaturalId( "Dealer", "no-such-dealer" );
+		""", context );
+		// @formatter:on
+		assertThat( variables.get( result ) ).isNull();
+	}
+
+	@DisplayName( "It throws on entities without a natural id" )
+	@Test
+	public void testEntityLoadByNaturalIdWithoutNaturalId() {
+		// @formatter:off
+		assertThrows( BoxRuntimeException.class, () -> instance.executeSource( """
+			entityLoadByNaturalId( "Manufacturer", "Honda Motor Co." );
+		""", context ) );
+		// @formatter:on
+	}
+}
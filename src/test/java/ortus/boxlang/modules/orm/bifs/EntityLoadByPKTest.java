@@ -12,6 +12,7 @@ import org.junit.jupiter.api.Test;
 import ortus.boxlang.runtime.context.ApplicationBoxContext;
 import ortus.boxlang.runtime.runnables.IClassRunnable;
 import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.types.Array;
 import tools.BaseORMTest;
 
 public class EntityLoadByPKTest extends BaseORMTest {
@@ -244,4 +245,22 @@ public class EntityLoadByPKTest extends BaseORMTest {
 		// @formatter:on
 		assertEquals( "Entry", variables.get( result ) );
 	}
+
+	@DisplayName( "It can load multiple entities by an array of keys, in key order" )
+	@Test
+	public void testEntityLoadByPKArray() {
+		// @formatter:off
+		instance.executeSource(
+			"""
+				result = entityLoadByPK( "Vehicle", [ "9ABAZ85656A776723", "does-not-exist", "1HGCM82633A123456" ] )
+					.map( ( vehicle ) => vehicle.getVin() );
+			""",
+			context
+		);
+		// @formatter:on
+		Array vins = variables.getAsArray( result );
+		assertThat( vins.size() ).isEqualTo( 2 );
+		assertThat( vins.get( 0 ) ).isEqualTo( "9ABAZ85656A776723" );
+		assertThat( vins.get( 1 ) ).isEqualTo( "1HGCM82633A123456" );
+	}
 }
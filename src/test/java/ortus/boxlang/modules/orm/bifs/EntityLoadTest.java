@@ -18,13 +18,20 @@
 package ortus.boxlang.modules.orm.bifs;
 
 import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import ortus.boxlang.modules.orm.ORMApp;
+import ortus.boxlang.modules.orm.ORMService;
+import ortus.boxlang.modules.orm.config.ORMKeys;
+import ortus.boxlang.modules.orm.mapping.PropertyIndex.IndexedProperty;
 import ortus.boxlang.runtime.runnables.IClassRunnable;
 import ortus.boxlang.runtime.scopes.Key;
 import ortus.boxlang.runtime.types.Array;
+import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
 import tools.BaseORMTest;
 
 public class EntityLoadTest extends BaseORMTest {
@@ -257,4 +264,131 @@ public class EntityLoadTest extends BaseORMTest {
 		assertThat( ( ( IClassRunnable ) first.get( "creator" ) ).get( "username" ) ).isEqualTo( "lmajano" );
 	}
 
+	@DisplayName( "It can page through entities with a keyset" )
+	@Test
+	public void testKeysetPagination() {
+		// @formatter:off
+		instance.executeSource( """
+			first = entityLoad( "Vehicle", {}, { maxResults : 3, keyset : { keys : "vin" } } );
+			second = entityLoad( "Vehicle", {}, { maxResults : 3, keyset : { keys : "vin", after : first.next } } );
+			result = first.results.map( ( v ) => v.getVin() ).append( second.results.map( ( v ) => v.getVin() ), true );
+		""", context );
+		// @formatter:on
+
+		IStruct	first	= variables.getAsStruct( Key.of( "first" ) );
+		IStruct	second	= variables.getAsStruct( Key.of( "second" ) );
+		assertThat( first.get( Key.of( "next" ) ) ).isNotNull();
+		assertThat( second.get( Key.of( "next" ) ) ).isNull();
+
+		Array vins = variables.getAsArray( result );
+		assertThat( vins.size() ).isEqualTo( 5 );
+		assertThat( vins.stream().distinct().count() ).isEqualTo( 5 );
+	}
+
+	@DisplayName( "It coerces filter values to the property type" )
+	@Test
+	public void testEntityLoadFilterCoercesValues() {
+		// @formatter:off
+		instance.executeSource( """
+			result = entityLoad( 'Manufacturer', { ID : '1' }, true );
+			entitySave( entityNew( "Games", { teamGameNum : "coerce-1", gameUserID : "coerce", fieldID : 7 } ) );
+			ormFlush();
+			games = entityLoad( "Games", { fieldID : "7" } );
+			entityDelete( games.first() );
+			ormFlush();
+		""", context );
+		// @formatter:on
+		assertThat( variables.get( result ) ).isInstanceOf( IClassRunnable.class );
+		assertThat( ( ( IClassRunnable ) variables.get( result ) ).get( "address" ) ).isEqualTo( "202 Ford Way, Dearborn MI" );
+		assertThat( variables.getAsArray( Key.of( "games" ) ).size() ).isEqualTo( 1 );
+
+		// fieldID is mapped through the integer attribute converter, so Hibernate reports its type as Object
+		ORMApp			ormApp	= ( ( ORMService ) instance.getGlobalService( ORMKeys.ORMService ) ).getORMAppByContext( context );
+		IndexedProperty	fieldID	= ormApp.lookupEntity( "Games", true )
+		    .getPropertyIndex( ormApp.getDefaultSessionFactoryOrThrow() )
+		    .get( Key.of( "fieldID" ) );
+		assertThat( fieldID.javaType() ).isEqualTo( Integer.class );
+		assertThat( fieldID.coerce( "7" ) ).isEqualTo( 7 );
+	}
+
+	@DisplayName( "It can load entities by an array of IDs, returning nulls for missing IDs" )
+	@Test
+	public void testEntityLoadByIdArray() {
+		// @formatter:off
+		instance.executeSource( """
+			cached = entityLoadByPK( "Vehicle", "2HGCM82633A654321" );
+			result = entityLoad( "Vehicle", [ "2HGCM82633A654321", "does-not-exist", "0SB123" ], { returnNulls : true, batchsize : 1 } );
+		""", context );
+		// @formatter:on
+		Array vehicles = variables.getAsArray( result );
+		assertThat( vehicles.size() ).isEqualTo( 3 );
+		assertThat( vehicles.get( 0 ) ).isSameInstanceAs( variables.get( Key.of( "cached" ) ) );
+		assertThat( vehicles.get( 1 ) ).isNull();
+		assertThat( ( ( IClassRunnable ) vehicles.get( 2 ) ).get( "vin" ) ).isEqualTo( "0SB123" );
+	}
+
+	@DisplayName( "It rejects a sort order when loading by an array of IDs" )
+	@Test
+	public void testEntityLoadByIdArrayWithOrder() {
+		// @formatter:off
+		assertThrows( BoxRuntimeException.class, () -> instance.executeSource( """
+			result = entityLoad( "Vehicle", [ "2HGCM82633A654321", "0SB123" ], "model desc" );
+		""", context ) );
+		// @formatter:on
+	}
+
+	@DisplayName( "It can join-fetch a lazy association per call" )
+	@Test
+	public void testEntityLoadFetchJoin() {
+		// @formatter:off
+		instance.executeSource( """
+			vehicles = entityLoad( "Vehicle", { make : "Honda" }, { fetch : "manufacturer" } );
+			ormClearSession();
+			result = vehicles.map( ( vehicle ) => vehicle.getManufacturer().getName() );
+		""", context );
+		// @formatter:on
+		Array names = variables.getAsArray( result );
+		assertThat( names.size() ).isEqualTo( 3 );
+		names.forEach( name -> assertThat( name ).isEqualTo( "Honda Motor Co." ) );
+	}
+
+	@DisplayName( "It can subselect-fetch a lazy collection per call" )
+	@Test
+	public void testEntityLoadFetchSubselect() {
+		// @formatter:off
+		instance.executeSource( """
+			manufacturers = entityLoad( "Manufacturer", { name : "Honda Motor Co." }, { fetch : { vehicles : "subselect" } } );
+			ormClearSession();
+			result = manufacturers.first().getVehicles().len();
+		""", context );
+		// @formatter:on
+		assertThat( variables.get( result ) ).isEqualTo( 3 );
+	}
+
+	@DisplayName( "It pages by root entity when fetching a collection" )
+	@Test
+	public void testEntityLoadFetchCollectionPaginated() {
+		// @formatter:off
+		instance.executeSource( """
+			manufacturers = entityLoad( "Manufacturer", {}, "name DESC", { maxResults : 2, fetch : "vehicles" } );
+			ormClearSession();
+			result = manufacturers.map( ( manufacturer ) => manufacturer.getVehicles().len() );
+		""", context );
+		// @formatter:on
+		Array counts = variables.getAsArray( result );
+		// Joined, the first two rows would both be Honda's, giving one manufacturer with two of its three vehicles
+		assertThat( counts.size() ).isEqualTo( 2 );
+		assertThat( counts.get( 0 ) ).isEqualTo( 3 );
+		assertThat( counts.get( 1 ) ).isEqualTo( 0 );
+	}
+
+	@DisplayName( "It throws on an invalid fetch style" )
+	@Test
+	public void testEntityLoadFetchInvalidStyle() {
+		// @formatter:off
+		assertThrows( BoxRuntimeException.class, () -> instance.executeSource( """
+			result = entityLoad( "Manufacturer", {}, { fetch : { vehicles : "eager" } } );
+		""", context ) );
+		// @formatter:on
+	}
 }
@@ -22,6 +22,7 @@ import static com.google.common.truth.Truth.assertThat;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import ortus.boxlang.runtime.scopes.Key;
 import ortus.boxlang.runtime.types.IStruct;
 import ortus.boxlang.runtime.types.Query;
 import tools.BaseORMTest;
@@ -113,4 +114,44 @@ public class EntityToQueryTest extends BaseORMTest {
 		assertThat( variables.get( result ) ).isInstanceOf( Query.class );
 		assertThat( variables.getAsQuery( result ).size() ).isEqualTo( 0 );
 	}
+
+	@DisplayName( "It can query an entity name and filter straight into a query" )
+	@Test
+	public void testEntityToQueryByFilter() {
+		// @formatter:off
+		instance.executeSource( """
+			result = entityToQuery( "Vehicle", { "make" : "Honda" } );
+		""", context );
+		// @formatter:on
+
+		assertThat( variables.get( result ) ).isInstanceOf( Query.class );
+		Query query = variables.getAsQuery( result );
+		assertThat( query.size() ).isEqualTo( 3 );
+		assertThat( query.hasColumn( Key.of( "vin" ) ) ).isTrue();
+		assertThat( query.hasColumn( Key.of( "manufacturer" ) ) ).isTrue();
+
+		IStruct row = query.getRowAsStruct( 0 );
+		assertThat( row.get( "make" ) ).isEqualTo( "Honda" );
+		assertThat( row.get( "manufacturer" ) ).isNull();
+	}
+
+	@DisplayName( "It returns the same columns as converting the loaded entities" )
+	@Test
+	public void testEntityToQueryByFilterMatchesEntities() {
+		// @formatter:off
+		instance.executeSource( """
+			fromEntities = entityToQuery( entityLoad( "Vehicle", { "make" : "Honda" }, "model ASC" ) );
+			result = entityLoad( "Vehicle", { "make" : "Honda" }, "model ASC", { returnType : "query" } );
+		""", context );
+		// @formatter:on
+
+		Query	fromEntities	= variables.getAsQuery( Key.of( "fromEntities" ) );
+		Query	query			= variables.getAsQuery( result );
+		assertThat( query.size() ).isEqualTo( fromEntities.size() );
+		assertThat( query.getColumnList() ).isEqualTo( fromEntities.getColumnList() );
+		for ( int i = 0; i < query.size(); i++ ) {
+			assertThat( query.getRowAsStruct( i ).get( "vin" ) ).isEqualTo( fromEntities.getRowAsStruct( i ).get( "vin" ) );
+			assertThat( query.getRowAsStruct( i ).get( "model" ) ).isEqualTo( fromEntities.getRowAsStruct( i ).get( "model" ) );
+		}
+	}
 }
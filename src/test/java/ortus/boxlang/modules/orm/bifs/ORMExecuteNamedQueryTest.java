@@ -0,0 +1,105 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.modules.orm.bifs;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ortus.boxlang.modules.orm.ORMApp;
+import ortus.boxlang.modules.orm.config.ORMConfig;
+import ortus.boxlang.modules.orm.config.ORMKeys;
+import ortus.boxlang.runtime.runnables.IClassRunnable;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.types.Array;
+import ortus.boxlang.runtime.types.Struct;
+import ortus.boxlang.runtime.types.exceptions.DatabaseException;
+import tools.BaseORMTest;
+
+public class ORMExecuteNamedQueryTest extends BaseORMTest {
+
+	@DisplayName( "It can execute a named query with named params" )
+	@Test
+	public void testNamedParams() {
+		// @formatter:off
+		instance.executeSource( """
+		result = ormExecuteNamedQuery( "vehiclesByMake", { make : "Honda" } );
+		""", context );
+		// @formatter:on
+		Object array = variables.get( result );
+		assertThat( array ).isInstanceOf( Array.class );
+		Array vehicles = ( Array ) array;
+		assertThat( vehicles.size() ).isGreaterThan( 0 );
+		vehicles.forEach( vehicle -> assertThat( ( ( IClassRunnable ) vehicle ).get( Key.of( "make" ) ) ).isEqualTo( "Honda" ) );
+	}
+
+	@DisplayName( "It can execute a named query with positional params and the unique option" )
+	@Test
+	public void testPositionalParamsAndUnique() {
+		// @formatter:off
+		instance.executeSource( """
+		result = ormExecuteNamedQuery( "vehicleByVin", [ "1HGCM82633A123456" ], { unique : true } );
+		""", context );
+		// @formatter:on
+		Object item = variables.get( result );
+		assertThat( item ).isInstanceOf( IClassRunnable.class );
+		assertThat( ( ( IClassRunnable ) item ).get( Key.of( "model" ) ) ).isEqualTo( "Accord" );
+	}
+
+	@DisplayName( "It throws on an unknown named query" )
+	@Test
+	public void testUnknownQuery() {
+		// @formatter:off
+		assertThrows( DatabaseException.class, () -> instance.executeSource( """
+		result = ormExecuteNamedQuery( "doesNotExist" );
+		""", context ) );
+		// @formatter:on
+	}
+
+	@DisplayName( "It can execute a named query declared in an entity annotation" )
+	@Test
+	public void testEntityAnnotationQuery() {
+		// @formatter:off
+		instance.executeSource( """
+		result = ormExecuteNamedQuery( "manufacturerByName", { name : "Honda Motor Co." }, { unique : true } );
+		""", context );
+		// @formatter:on
+		Object item = variables.get( result );
+		assertThat( item ).isInstanceOf( IClassRunnable.class );
+		assertThat( ( ( IClassRunnable ) item ).get( Key.of( "id" ) ) ).isEqualTo( 42 );
+	}
+
+	@DisplayName( "It fails ORM startup on an invalid named query declared in an entity annotation" )
+	@Test
+	public void testEntityAnnotationQueryValidation() {
+		ORMConfig	config	= new ORMConfig( Struct.of(
+		    ORMKeys.datasource, "TestDB",
+		    ORMKeys.entityPaths, Array.of( "/root/invalid" ),
+		    ORMKeys.dbcreate, "none"
+		), context );
+		Throwable	error	= assertThrows( Throwable.class, () -> new ORMApp( config, Key.of( "namedQueryValidation" ) ).startup( context ) );
+
+		StringBuilder messages = new StringBuilder();
+		for ( Throwable cause = error; cause != null; cause = cause.getCause() ) {
+			messages.append( cause.getMessage() ).append( '\n' );
+		}
+		assertThat( messages.toString() ).contains( "brokenNamedQuery" );
+	}
+}
@@ -0,0 +1,62 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.modules.orm.bifs;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.types.Array;
+import ortus.boxlang.runtime.types.Query;
+import tools.BaseORMTest;
+
+public class ORMExecuteQueryAsyncTest extends BaseORMTest {
+
+	@DisplayName( "It can run an HQL query asynchronously" )
+	@Test
+	public void testAsyncQuery() {
+		// @formatter:off
+		instance.executeSource( """
+		future = ormExecuteQueryAsync( "FROM Vehicle" );
+		result = future.get();
+		""", context );
+		// @formatter:on
+		assertThat( variables.get( result ) ).isInstanceOf( Array.class );
+		assertThat( ( ( Array ) variables.get( result ) ).size() ).isEqualTo( 5 );
+	}
+
+	@DisplayName( "It can run several queries concurrently with params and options" )
+	@Test
+	public void testConcurrentQueries() {
+		// @formatter:off
+		instance.executeSource( """
+		hondas = ormExecuteQueryAsync( "FROM Vehicle WHERE make = :make", { make : "Honda" } );
+		report = ormExecuteQueryAsync( "SELECT v.make AS make FROM Vehicle v", [], { returnType : "query" } );
+		alternate = ormExecuteQueryAsync( "FROM AlternateDS", [], { datasource : "dsn2" } );
+		result = [ hondas.get(), report.get(), alternate.get() ];
+		""", context );
+		// @formatter:on
+		Array results = ( Array ) variables.get( result );
+		assertThat( ( ( Array ) results.get( 0 ) ).size() ).isGreaterThan( 0 );
+		assertThat( results.get( 1 ) ).isInstanceOf( Query.class );
+		assertThat( ( ( Query ) results.get( 1 ) ).hasColumn( Key.of( "make" ) ) ).isTrue();
+		assertThat( ( ( Array ) results.get( 2 ) ).size() ).isEqualTo( 2 );
+	}
+}
@@ -18,14 +18,23 @@
 package ortus.boxlang.modules.orm.bifs;
 
 import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import ortus.boxlang.modules.orm.HQLTemplateCache;
+import ortus.boxlang.modules.orm.ORMService;
+import ortus.boxlang.modules.orm.config.ORMKeys;
 import ortus.boxlang.runtime.dynamic.casters.ArrayCaster;
 import ortus.boxlang.runtime.runnables.IClassRunnable;
 import ortus.boxlang.runtime.scopes.Key;
 import ortus.boxlang.runtime.types.Array;
+import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.Query;
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
 import tools.BaseORMTest;
 
 public class ORMExecuteQueryTest extends BaseORMTest {
@@ -527,4 +536,297 @@ public class ORMExecuteQueryTest extends BaseORMTest {
 		assertThat( vehicleType.get( Key.of( "description" ) ) ).isEqualTo( "Compact sedan" );
 	}
 
+	@DisplayName( "It reuses the parsed HQL template on repeated executions" )
+	@Test
+	public void testHQLTemplateCache() {
+		HQLTemplateCache templateCache = ( ( ORMService ) instance.getGlobalService( ORMKeys.ORMService ) ).getHQLTemplateCache();
+		// @formatter:off
+		instance.executeSource( """
+		first = ormExecuteQuery( "FROM Vehicle WHERE make=:make AND model IN (:models)", { make : "Honda", models : { value: ['Civic','Accord'], list : true } } );
+		""", context );
+		long	hits	= templateCache.getHits();
+		long	misses	= templateCache.getMisses();
+		instance.executeSource( """
+		result = ormExecuteQuery( "FROM Vehicle WHERE make=:make AND model IN (:models)", { make : "Honda", models : { value: ['Civic'], list : true } } );
+		""", context );
+		// @formatter:on
+		assertThat( templateCache.getHits() ).isEqualTo( hits + 1 );
+		assertThat( templateCache.getMisses() ).isEqualTo( misses );
+		assertThat( ArrayCaster.cast( variables.get( Key.of( "first" ) ) ).size() ).isEqualTo( 2 );
+		assertThat( ArrayCaster.cast( variables.get( result ) ).size() ).isEqualTo( 1 );
+	}
+
+	@DisplayName( "It pads list parameters so Hibernate compiles one query plan per power of two" )
+	@Test
+	public void testListParameterPlanCache() {
+		// @formatter:off
+		String script = """
+		models = [ "Accord", "Civic", "Ridgeline", "Fusion", "Studious", "Prelude", "Pilot", "Odyssey" ];
+		for ( size = 1; size <= models.len(); size++ ) {
+			ormExecuteQuery( "FROM Vehicle WHERE make IS NOT NULL AND model IN (:models)", { models : { value : models.slice( 1, size ), list : true } } );
+		}
+		""";
+		// @formatter:on
+		ORMService	ormService	= ( ORMService ) instance.getGlobalService( ORMKeys.ORMService );
+		Statistics	statistics	= ormService.getORMAppByContext( context ).getDefaultSessionFactoryOrThrow().getStatistics();
+		statistics.setStatisticsEnabled( true );
+		try {
+			long misses = statistics.getQueryPlanCacheMissCount();
+			instance.executeSource( script, context );
+			// One plan for the HQL as written, plus one per padded list size: 1, 2, 4 and 8
+			assertThat( statistics.getQueryPlanCacheMissCount() - misses ).isAtMost( 5 );
+
+			misses = statistics.getQueryPlanCacheMissCount();
+			instance.executeSource( script, context );
+			assertThat( statistics.getQueryPlanCacheMissCount() ).isEqualTo( misses );
+		} finally {
+			statistics.setStatisticsEnabled( false );
+		}
+	}
+
+	@DisplayName( "It can return a scalar projection as a query" )
+	@Test
+	public void testReturnTypeQuery() {
+		// @formatter:off
+		instance.executeSource( """
+		result = ormExecuteQuery(
+			"SELECT v.make AS make, v.model AS model FROM Vehicle v WHERE v.make = :make ORDER BY v.model",
+			{ make : "Honda" },
+			{ returnType : "query" }
+		);
+		""", context );
+		// @formatter:on
+		Object query = variables.get( result );
+		assertThat( query ).isInstanceOf( Query.class );
+		Query q = ( Query ) query;
+		assertThat( q.hasColumn( Key.of( "make" ) ) ).isTrue();
+		assertThat( q.hasColumn( Key.of( "model" ) ) ).isTrue();
+		assertThat( q.size() ).isGreaterThan( 0 );
+		assertThat( q.getRowAsStruct( 0 ).get( Key.of( "make" ) ) ).isEqualTo( "Honda" );
+	}
+
+	@DisplayName( "It can return a scalar projection as an array of structs" )
+	@Test
+	public void testReturnTypeStruct() {
+		// @formatter:off
+		instance.executeSource( """
+		result = ormExecuteQuery( "SELECT v.vin, v.model AS model FROM Vehicle v ORDER BY v.model", [], { returnType : "struct" } );
+		""", context );
+		// @formatter:on
+		Array rows = ( Array ) variables.get( result );
+		assertThat( rows.size() ).isEqualTo( 5 );
+		IStruct first = ( IStruct ) rows.getFirst();
+		assertThat( first.containsKey( Key.of( "column_1" ) ) ).isTrue();
+		assertThat( first.containsKey( Key.of( "model" ) ) ).isTrue();
+	}
+
+	@DisplayName( "It can cache query results in a named region with a cache mode" )
+	@Test
+	public void testNamedCacheRegion() {
+		ORMService	ormService	= ( ORMService ) instance.getGlobalService( ORMKeys.ORMService );
+		Statistics	statistics	= ormService.getORMAppByContext( context ).getDefaultSessionFactoryOrThrow().getStatistics();
+		statistics.setStatisticsEnabled( true );
+		try {
+			statistics.clear();
+			// @formatter:off
+			instance.executeSource( """
+			ormEvictQueries( "vehicleQueries" );
+			result = ormExecuteQuery( "FROM Vehicle WHERE make = :make", { make : "Honda" }, { cacheable : true, cacheName : "vehicleQueries" } );
+			cached = ormExecuteQuery( "FROM Vehicle WHERE make = :make", { make : "Honda" }, { cacheable : true, cacheName : "vehicleQueries" } );
+			""", context );
+			// @formatter:on
+			Array first = ( Array ) variables.get( result );
+			assertThat( first.size() ).isGreaterThan( 0 );
+			assertThat( ( ( Array ) variables.get( Key.of( "cached" ) ) ).size() ).isEqualTo( first.size() );
+
+			// The first run misses and fills the named region, the second is served from it
+			CacheRegionStatistics region = statistics.getQueryRegionStatistics( "vehicleQueries" );
+			assertThat( region ).isNotNull();
+			assertThat( region.getMissCount() ).isEqualTo( 1 );
+			assertThat( region.getPutCount() ).isEqualTo( 1 );
+			assertThat( region.getHitCount() ).isEqualTo( 1 );
+
+			// @formatter:off
+			instance.executeSource( """
+			refreshed = ormExecuteQuery( "FROM Vehicle WHERE make = :make", { make : "Honda" }, { cacheable : true, cacheName : "vehicleQueries", cacheMode : "refresh" } );
+			""", context );
+			// @formatter:on
+			assertThat( ( ( Array ) variables.get( Key.of( "refreshed" ) ) ).size() ).isEqualTo( first.size() );
+			// Refreshing writes the region without reading it
+			assertThat( region.getPutCount() ).isEqualTo( 2 );
+			assertThat( region.getHitCount() ).isEqualTo( 1 );
+
+			// @formatter:off
+			instance.executeSource( """
+			ormEvictQueries( "vehicleQueries" );
+			evicted = ormExecuteQuery( "FROM Vehicle WHERE make = :make", { make : "Honda" }, { cacheable : true, cacheName : "vehicleQueries" } );
+			""", context );
+			// @formatter:on
+			assertThat( ( ( Array ) variables.get( Key.of( "evicted" ) ) ).size() ).isEqualTo( first.size() );
+			assertThat( region.getMissCount() ).isEqualTo( 2 );
+			assertThat( region.getHitCount() ).isEqualTo( 1 );
+		} finally {
+			statistics.setStatisticsEnabled( false );
+		}
+	}
+
+	@DisplayName( "It rejects an unknown cache mode" )
+	@Test
+	public void testInvalidCacheMode() {
+		// @formatter:off
+		assertThrows( BoxRuntimeException.class, () -> instance.executeSource( """
+		result = ormExecuteQuery( "FROM Vehicle", [], { cacheMode : "sometimes" } );
+		""", context ) );
+		// @formatter:on
+	}
+
+	@DisplayName( "It can page through results with a keyset" )
+	@Test
+	public void testKeysetPagination() {
+		// @formatter:off
+		instance.executeSource( """
+		seen = [];
+		cursor = javaCast( "null", "" );
+		pages = 0;
+		do {
+			page = ormExecuteQuery( "FROM Vehicle v WHERE v.make IS NOT NULL", [], { maxResults : 2, keyset : { keys : "v.make desc, v.vin desc", after : cursor } } );
+			page.results.each( ( vehicle ) => seen.append( vehicle.getVin() ) );
+			cursor = page.next;
+			pages++;
+		} while ( !isNull( cursor ) && pages < 10 );
+		result = seen;
+		""", context );
+		// @formatter:on
+		Array seen = ( Array ) variables.get( result );
+		assertThat( seen.size() ).isEqualTo( 5 );
+		assertThat( seen.stream().distinct().count() ).isEqualTo( 5 );
+		assertThat( ( ( Number ) variables.get( Key.of( "pages" ) ) ).intValue() ).isEqualTo( 3 );
+	}
+
+	@DisplayName( "It can page through results with a keyset on an association path" )
+	@Test
+	public void testKeysetPaginationAssociationPath() {
+		// @formatter:off
+		instance.executeSource( """
+		seen = [];
+		cursor = javaCast( "null", "" );
+		pages = 0;
+		do {
+			page = ormExecuteQuery( "FROM Vehicle v WHERE v.manufacturer IS NOT NULL", [], { maxResults : 2, keyset : { keys : "v.manufacturer.name desc, v.vin desc", after : cursor } } );
+			page.results.each( ( vehicle ) => seen.append( vehicle.getVin() ) );
+			cursor = page.next;
+			pages++;
+		} while ( !isNull( cursor ) && pages < 10 );
+		result = seen;
+		""", context );
+		// @formatter:on
+		// Each cursor holds the manufacturer name of the last vehicle, so every page seeks past the previous one
+		assertThat( variables.getAsArray( result ) ).containsExactly( "2HGCM82633A654321", "1HGCM82633A789012", "1HGCM82633A123456", "9ABAZ85656A776723" )
+		    .inOrder();
+		assertThat( ( ( Number ) variables.get( Key.of( "pages" ) ) ).intValue() ).isEqualTo( 3 );
+	}
+
+	@DisplayName( "It rejects keyset sort keys which are not property paths, and null cursor values" )
+	@Test
+	public void testKeysetRejectsInvalidKeys() {
+		// @formatter:off
+		BoxRuntimeException e = assertThrows( BoxRuntimeException.class, () -> instance.executeSource( """
+		result = ormExecuteQuery( "FROM Vehicle v", [], { maxResults : 2, keyset : { keys : "v.vin) or (1=1" } } );
+		""", context ) );
+		assertThat( e.getMessage() ).contains( "Invalid keyset sort key" );
+		e = assertThrows( BoxRuntimeException.class, () -> instance.executeSource( """
+		result = ormExecuteQuery( "FROM Vehicle v", [], { maxResults : 2, keyset : { keys : "v.vin dsc" } } );
+		""", context ) );
+		assertThat( e.getMessage() ).contains( "Invalid keyset sort key" );
+		e = assertThrows( BoxRuntimeException.class, () -> instance.executeSource( """
+		result = ormExecuteQuery( "FROM Vehicle v", [], { maxResults : 2, keyset : { keys : "v.make, v.vin", after : [ javaCast( "null", "" ), "0SB123" ] } } );
+		""", context ) );
+		// @formatter:on
+		assertThat( e.getMessage() ).contains( "must not be null" );
+	}
+
+	@DisplayName( "It can return the total row count alongside a page of results" )
+	@Test
+	public void testWithTotal() {
+		// @formatter:off
+		instance.executeSource( """
+		result = ormExecuteQuery( "FROM Vehicle v WHERE v.make = :make ORDER BY v.model", { make : "Honda" }, { maxResults : 2, withTotal : true } );
+		""", context );
+		// @formatter:on
+		IStruct page = variables.getAsStruct( result );
+		assertThat( page.getAsArray( Key.of( "results" ) ).size() ).isEqualTo( 2 );
+		assertThat( ( ( Number ) page.get( Key.of( "total" ) ) ).longValue() ).isEqualTo( 3L );
+	}
+
+	@DisplayName( "It can count a distinct projection without parameters" )
+	@Test
+	public void testWithTotalDistinct() {
+		// @formatter:off
+		instance.executeSource( """
+		result = ormExecuteQuery( "SELECT DISTINCT v.make FROM Vehicle v", [], { withTotal : true } );
+		""", context );
+		// @formatter:on
+		IStruct page = variables.getAsStruct( result );
+		assertThat( page.getAsArray( Key.of( "results" ) ).size() ).isEqualTo( 3 );
+		assertThat( ( ( Number ) page.get( Key.of( "total" ) ) ).longValue() ).isEqualTo( 3L );
+	}
+
+	@DisplayName( "It can count a query which fetch joins a collection" )
+	@Test
+	public void testWithTotalJoinFetch() {
+		// @formatter:off
+		instance.executeSource( """
+		result = ormExecuteQuery( "FROM Manufacturer m JOIN FETCH m.vehicles WHERE m.id = :id", { id : 42 }, { withTotal : true } );
+		""", context );
+		// @formatter:on
+		IStruct page = variables.getAsStruct( result );
+		assertThat( ( ( Number ) page.get( Key.of( "total" ) ) ).longValue() ).isEqualTo( page.getAsArray( Key.of( "results" ) ).size() );
+	}
+
+	@DisplayName( "It rejects counting a distinct select of more than one column" )
+	@Test
+	public void testWithTotalMultiColumnDistinct() {
+		// @formatter:off
+		BoxRuntimeException e = assertThrows( BoxRuntimeException.class, () -> instance.executeSource( """
+		result = ormExecuteQuery( "SELECT DISTINCT v.make, v.model FROM Vehicle v", [], { withTotal : true } );
+		""", context ) );
+		// @formatter:on
+		assertThat( e.getMessage() ).contains( "more than one column" );
+	}
+
+	@DisplayName( "It can fetch a lazy collection for the query results" )
+	@Test
+	public void testFetch() {
+		// @formatter:off
+		instance.executeSource( """
+		manufacturers = ormExecuteQuery( "FROM Manufacturer WHERE id = :id", { id : 42 }, { fetch : "vehicles" } );
+		ormClearSession();
+		result = manufacturers.first().getVehicles().len();
+		""", context );
+		// @formatter:on
+		assertThat( variables.get( result ) ).isEqualTo( 3 );
+	}
+
+	@DisplayName( "It can fetch associations from a named fetch profile" )
+	@Test
+	public void testFetchProfile() {
+		// @formatter:off
+		instance.executeSource( """
+		manufacturers = ormExecuteQuery( "FROM Manufacturer WHERE id = 42", [], { fetchProfile : "manufacturerWithVehicles" } );
+		ormClearSession();
+		result = manufacturers.first().getVehicles().len();
+		""", context );
+		// @formatter:on
+		assertThat( variables.get( result ) ).isEqualTo( 3 );
+	}
+
+	@DisplayName( "It throws on an undefined fetch profile" )
+	@Test
+	public void testFetchProfileNotDefined() {
+		// @formatter:off
+		assertThrows( BoxRuntimeException.class, () -> instance.executeSource( """
+		result = ormExecuteQuery( "FROM Manufacturer", [], { fetchProfile : "nope" } );
+		""", context ) );
+		// @formatter:on
+	}
 }
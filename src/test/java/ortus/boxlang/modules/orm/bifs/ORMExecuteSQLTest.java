@@ -0,0 +1,176 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.modules.orm.bifs;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ortus.boxlang.modules.orm.HQLTemplate;
+import ortus.boxlang.runtime.runnables.IClassRunnable;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.types.Array;
+import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.Query;
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
+import ortus.boxlang.runtime.types.exceptions.DatabaseException;
+import tools.BaseORMTest;
+
+public class ORMExecuteSQLTest extends BaseORMTest {
+
+	@DisplayName( "It can map native SQL rows to entities" )
+	@Test
+	public void testEntityMapping() {
+		// @formatter:off
+		instance.executeSource( """
+		result = ormExecuteSQL( "SELECT * FROM vehicles WHERE make = :make", { make : "Honda" }, { entity : "Vehicle" } );
+		""", context );
+		// @formatter:on
+		Array vehicles = variables.getAsArray( result );
+		assertThat( vehicles.size() ).isEqualTo( 3 );
+		vehicles.forEach( vehicle -> {
+			assertThat( vehicle ).isInstanceOf( IClassRunnable.class );
+			assertThat( ( ( IClassRunnable ) vehicle ).get( "make" ) ).isEqualTo( "Honda" );
+		} );
+	}
+
+	@DisplayName( "It can return a unique entity with positional params" )
+	@Test
+	public void testUniqueEntity() {
+		// @formatter:off
+		instance.executeSource( """
+		result = ormExecuteSQL( "SELECT * FROM vehicles WHERE vin = ?", [ "1HGCM82633A123456" ], { entity : "Vehicle", unique : true } );
+		""", context );
+		// @formatter:on
+		assertThat( variables.get( result ) ).isInstanceOf( IClassRunnable.class );
+		assertThat( ( ( IClassRunnable ) variables.get( result ) ).get( "model" ) ).isEqualTo( "Accord" );
+	}
+
+	@DisplayName( "It can return scalar columns" )
+	@Test
+	public void testScalars() {
+		// @formatter:off
+		instance.executeSource( """
+		result = ormExecuteSQL( "SELECT model FROM vehicles WHERE make = ? ORDER BY model", [ "Honda" ], { scalars : "model" } );
+		""", context );
+		// @formatter:on
+		Array models = variables.getAsArray( result );
+		assertThat( models.size() ).isEqualTo( 3 );
+		assertThat( models.get( 0 ) ).isEqualTo( "Accord" );
+	}
+
+	@DisplayName( "It can return native SQL rows as a query" )
+	@Test
+	public void testReturnTypeQuery() {
+		// @formatter:off
+		instance.executeSource( """
+		result = ormExecuteSQL( "SELECT make, COUNT(*) AS total FROM vehicles GROUP BY make ORDER BY make", [], { returnType : "query" } );
+		""", context );
+		// @formatter:on
+		Query query = ( Query ) variables.get( result );
+		assertThat( query.size() ).isEqualTo( 3 );
+		assertThat( query.hasColumn( Key.of( "make" ) ) ).isTrue();
+		assertThat( query.hasColumn( Key.of( "total" ) ) ).isTrue();
+	}
+
+	@DisplayName( "It names query columns from the declared scalars when no rows match" )
+	@Test
+	public void testReturnTypeQueryWithoutRows() {
+		// @formatter:off
+		instance.executeSource( """
+		result = ormExecuteSQL( "SELECT make, model FROM vehicles WHERE make = :make", { make : "Yugo" }, { returnType : "query", scalars : "make,model" } );
+		""", context );
+		// @formatter:on
+		Query query = ( Query ) variables.get( result );
+		assertThat( query.size() ).isEqualTo( 0 );
+		assertThat( query.hasColumn( Key.of( "make" ) ) ).isTrue();
+		assertThat( query.hasColumn( Key.of( "model" ) ) ).isTrue();
+	}
+
+	@DisplayName( "It can return native SQL rows as structs" )
+	@Test
+	public void testReturnTypeStruct() {
+		// @formatter:off
+		instance.executeSource( """
+		result = ormExecuteSQL( "SELECT vin, model FROM vehicles WHERE make = :make ORDER BY model", { make : "Honda" }, { returnType : "struct", maxResults : 2 } );
+		""", context );
+		// @formatter:on
+		Array rows = variables.getAsArray( result );
+		assertThat( rows.size() ).isEqualTo( 2 );
+		assertThat( ( ( IStruct ) rows.get( 0 ) ).get( Key.of( "model" ) ) ).isEqualTo( "Accord" );
+	}
+
+	@DisplayName( "It rejects keyset pagination" )
+	@Test
+	public void testKeysetNotSupported() {
+		// @formatter:off
+		assertThrows( DatabaseException.class, () -> instance.executeSource( """
+		result = ormExecuteSQL( "SELECT * FROM vehicles", [], { keyset : { keys : "vin" } } );
+		""", context ) );
+		// @formatter:on
+	}
+
+	@DisplayName( "It does not treat casts, assignments or quoted identifiers as named parameters" )
+	@Test
+	public void testColonsWithBindings() {
+		HQLTemplate template = HQLTemplate.parse( "SELECT model::varchar, \"a:b\", `c:d` FROM vehicles WHERE make = :make", false, true );
+		assertThat( template.getParameterRefs() ).containsExactly( Key.of( "make" ) );
+		assertThat( template.getHQL() ).isEqualTo( "SELECT model::varchar, \"a:b\", `c:d` FROM vehicles WHERE make = ?1" );
+
+		// The test database is MySQL, which has := rather than the :: cast
+		// @formatter:off
+		instance.executeSource( """
+		result = ormExecuteSQL( "SELECT model, @n := 1 AS flag FROM vehicles WHERE make = :make ORDER BY model", { make : "Honda" }, { returnType : "struct" } );
+		""", context );
+		// @formatter:on
+		Array rows = variables.getAsArray( result );
+		assertThat( rows.size() ).isEqualTo( 3 );
+		assertThat( ( ( IStruct ) rows.get( 0 ) ).get( Key.of( "model" ) ) ).isEqualTo( "Accord" );
+	}
+
+	@DisplayName( "It rejects a cacheable scalar query without query spaces" )
+	@Test
+	public void testCacheableRequiresQuerySpaces() {
+		// @formatter:off
+		assertThrows( BoxRuntimeException.class, () -> instance.executeSource( """
+		result = ormExecuteSQL( "SELECT model FROM vehicles", [], { scalars : "model", cacheable : true } );
+		""", context ) );
+		// @formatter:on
+	}
+
+	@DisplayName( "It invalidates cached scalar results when a query space is written" )
+	@Test
+	public void testCacheableQuerySpaces() {
+		// @formatter:off
+		instance.executeSource( """
+		options = { scalars : "model", cacheable : true, querySpaces : "vehicles", unique : true };
+		before = ormExecuteSQL( "SELECT model FROM vehicles WHERE vin = :vin", { vin : "0SB123" }, options );
+		vehicle = entityLoadByPK( "Vehicle", "0SB123" );
+		vehicle.setModel( "Studious II" );
+		ormFlush();
+		result = ormExecuteSQL( "SELECT model FROM vehicles WHERE vin = :vin", { vin : "0SB123" }, options );
+		vehicle.setModel( before );
+		ormFlush();
+		""", context );
+		// @formatter:on
+		assertThat( variables.get( Key.of( "before" ) ) ).isEqualTo( "Studious" );
+		assertThat( variables.get( result ) ).isEqualTo( "Studious II" );
+	}
+}
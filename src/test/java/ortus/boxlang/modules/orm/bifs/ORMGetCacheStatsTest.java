@@ -0,0 +1,60 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.modules.orm.bifs;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ortus.boxlang.modules.orm.config.ORMKeys;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.types.IStruct;
+import tools.BaseORMTest;
+
+public class ORMGetCacheStatsTest extends BaseORMTest {
+
+	@DisplayName( "It can report per-region cache statistics once enabled at runtime" )
+	@Test
+	public void testCacheStats() {
+		// @formatter:off
+		instance.executeSource(
+			"""
+			toggled = ormEnableCacheStats();
+			ormExecuteQuery( "from Vehicle", {}, { cacheable : true } );
+			ormExecuteQuery( "from Vehicle", {}, { cacheable : true } );
+			result = ormGetCacheStats();
+			ormEnableCacheStats( false );
+			disabled = ormGetCacheStats();
+			""",
+			context
+		);
+		// @formatter:on
+		assertThat( variables.getAsBoolean( Key.of( "toggled" ) ) ).isTrue();
+		IStruct result = variables.getAsStruct( result );
+		assertThat( result.containsKey( Key.of( "default-query-results-region" ) ) ).isTrue();
+
+		IStruct queryRegion = result.getAsStruct( Key.of( "default-query-results-region" ) );
+		assertThat( queryRegion.getAsBoolean( ORMKeys.enabled ) ).isTrue();
+		assertThat( ( Long ) queryRegion.get( ORMKeys.puts ) ).isAtLeast( 1L );
+		assertThat( ( Long ) queryRegion.get( ORMKeys.hits ) ).isAtLeast( 1L );
+
+		IStruct disabledRegion = variables.getAsStruct( Key.of( "disabled" ) ).getAsStruct( Key.of( "default-query-results-region" ) );
+		assertThat( disabledRegion.getAsBoolean( ORMKeys.enabled ) ).isFalse();
+	}
+}
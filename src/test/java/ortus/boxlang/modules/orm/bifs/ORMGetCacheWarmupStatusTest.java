@@ -0,0 +1,48 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.modules.orm.bifs;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ortus.boxlang.modules.orm.ORMCacheWarmer;
+import ortus.boxlang.modules.orm.config.ORMKeys;
+import ortus.boxlang.runtime.types.IStruct;
+import tools.BaseORMTest;
+
+public class ORMGetCacheWarmupStatusTest extends BaseORMTest {
+
+	@DisplayName( "It reports a finished warm-up when nothing is configured to be warmed" )
+	@Test
+	public void testWarmupStatus() {
+		// @formatter:off
+		instance.executeSource(
+			"""
+			result = ormGetCacheWarmupStatus();
+			""",
+			context
+		);
+		// @formatter:on
+		IStruct status = variables.getAsStruct( result );
+		assertThat( status.getAsString( ORMKeys.state ) ).isEqualTo( ORMCacheWarmer.STATE_COMPLETED );
+		assertThat( status.get( ORMKeys.total ) ).isEqualTo( 0 );
+		assertThat( status.getAsArray( ORMKeys.targets ) ).isEmpty();
+	}
+}
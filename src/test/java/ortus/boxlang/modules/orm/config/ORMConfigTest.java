@@ -19,13 +19,18 @@ package ortus.boxlang.modules.orm.config;
 
 import static com.google.common.truth.Truth.assertThat;
 import static org.junit.Assert.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import org.hibernate.cfg.AvailableSettings;
 import org.hibernate.cfg.Configuration;
 import org.junit.jupiter.api.Test;
 
+import ortus.boxlang.modules.orm.hibernate.cache.EhcacheRegionFactory;
+import ortus.boxlang.modules.orm.hibernate.cache.HeapRegionFactory;
 import ortus.boxlang.runtime.types.Array;
+import ortus.boxlang.runtime.types.IStruct;
 import ortus.boxlang.runtime.types.Struct;
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
 import tools.BaseORMTest;
 
 public class ORMConfigTest extends BaseORMTest {
@@ -196,4 +201,114 @@ public class ORMConfigTest extends BaseORMTest {
 		assertThat( config.autoGenMap ).isTrue();
 		assertThat( config.generateMappings ).isTrue();
 	}
+
+	@Test
+	public void testChangeTracking() {
+		Configuration config = new ORMConfig( Struct.of(
+		    ORMKeys.datasource, "TestDB"
+		), context ).toHibernateConfig();
+		assertThat( config.getProperty( AvailableSettings.CUSTOM_ENTITY_DIRTINESS_STRATEGY ) ).isNull();
+
+		config = new ORMConfig( Struct.of(
+		    ORMKeys.datasource, "TestDB",
+		    ORMKeys.changeTracking, true
+		), context ).toHibernateConfig();
+		assertEquals( "ortus.boxlang.modules.orm.hibernate.BoxEntityDirtinessStrategy",
+		    config.getProperty( AvailableSettings.CUSTOM_ENTITY_DIRTINESS_STRATEGY ) );
+	}
+
+	@Test
+	public void testInClauseParameterPadding() {
+		Configuration config = new ORMConfig( Struct.of(
+		    ORMKeys.datasource, "TestDB"
+		), context ).toHibernateConfig();
+		assertEquals( "true", config.getProperty( AvailableSettings.IN_CLAUSE_PARAMETER_PADDING ) );
+	}
+
+	@Test
+	public void testHeapCacheProvider() {
+		Configuration config = new ORMConfig( Struct.of(
+		    ORMKeys.datasource, "TestDB",
+		    ORMKeys.secondaryCacheEnabled, true
+		), context ).toHibernateConfig();
+		assertEquals( "ortus.boxlang.modules.orm.hibernate.cache.BoxJCacheRegionFactory", config.getProperty( AvailableSettings.CACHE_REGION_FACTORY ) );
+
+		config = new ORMConfig( Struct.of(
+		    ORMKeys.datasource, "TestDB",
+		    ORMKeys.secondaryCacheEnabled, true,
+		    ORMKeys.cacheProvider, "heap",
+		    ORMKeys.cacheConfig, Struct.of( ORMKeys.maxObjects, 500 )
+		), context ).toHibernateConfig();
+		assertThat( config.getProperties().get( AvailableSettings.CACHE_REGION_FACTORY ) ).isInstanceOf( HeapRegionFactory.class );
+		assertThat( config.getProperty( "hibernate.javax.cache.provider" ) ).isNull();
+	}
+
+	@Test
+	public void testEhcacheCacheProvider() {
+		Configuration config = new ORMConfig( Struct.of(
+		    ORMKeys.datasource, "TestDB",
+		    ORMKeys.secondaryCacheEnabled, true,
+		    ORMKeys.cacheProvider, "ehcache",
+		    ORMKeys.cacheConfig, Struct.of( ORMKeys.maxObjects, 500, ORMKeys.offHeapSize, 64 )
+		), context ).toHibernateConfig();
+		assertThat( config.getProperties().get( AvailableSettings.CACHE_REGION_FACTORY ) ).isInstanceOf( EhcacheRegionFactory.class );
+		assertThat( config.getProperty( "hibernate.javax.cache.provider" ) ).isNull();
+	}
+
+	@Test
+	public void testLoadMonitor() {
+		ORMConfig config = new ORMConfig( Struct.of(
+		    ORMKeys.datasource, "TestDB"
+		), context );
+		assertThat( config.loadMonitor ).isFalse();
+
+		config = new ORMConfig( Struct.of(
+		    ORMKeys.datasource, "TestDB",
+		    ORMKeys.loadMonitor, true
+		), context );
+		assertThat( config.loadMonitor ).isTrue();
+		assertThat( config.lazyLoadThreshold ).isEqualTo( 20 );
+		assertThat( config.statementThreshold ).isEqualTo( 100 );
+
+		config = new ORMConfig( Struct.of(
+		    ORMKeys.datasource, "TestDB",
+		    ORMKeys.loadMonitor, Struct.of(
+		        ORMKeys.lazyLoadThreshold, 5,
+		        ORMKeys.statementThreshold, 50
+		    )
+		), context );
+		assertThat( config.loadMonitor ).isTrue();
+		assertThat( config.lazyLoadThreshold ).isEqualTo( 5 );
+		assertThat( config.statementThreshold ).isEqualTo( 50 );
+	}
+
+	@Test
+	public void testCacheWarmup() {
+		ORMConfig config = new ORMConfig( Struct.of(
+		    ORMKeys.datasource, "TestDB",
+		    ORMKeys.cacheWarmup, Array.of( "Vehicle", Struct.of( ORMKeys.hql, "from Manufacturer" ) )
+		), context );
+		assertThat( config.cacheWarmup ).hasSize( 2 );
+		assertThat( ( ( IStruct ) config.cacheWarmup.get( 0 ) ).getAsString( ORMKeys.entity ) ).isEqualTo( "Vehicle" );
+		assertThat( config.cacheWarmupBatchSize ).isEqualTo( 500 );
+
+		config = new ORMConfig( Struct.of(
+		    ORMKeys.datasource, "TestDB",
+		    ORMKeys.cacheWarmup, Struct.of(
+		        ORMKeys.targets, Array.of( "Vehicle" ),
+		        ORMKeys.batchsize, 50,
+		        ORMKeys.concurrency, 1,
+		        ORMKeys.batchDelay, 10
+		    )
+		), context );
+		assertThat( config.cacheWarmup ).hasSize( 1 );
+		assertThat( config.cacheWarmupBatchSize ).isEqualTo( 50 );
+		assertThat( config.cacheWarmupConcurrency ).isEqualTo( 1 );
+		assertThat( config.cacheWarmupBatchDelay ).isEqualTo( 10 );
+
+		assertThrows( BoxRuntimeException.class, () -> new ORMConfig( Struct.of(
+		    ORMKeys.datasource, "TestDB",
+		    ORMKeys.cacheWarmup, Array.of( Struct.of( ORMKeys.datasource, "TestDB" ) )
+		), context ) );
+	}
 }
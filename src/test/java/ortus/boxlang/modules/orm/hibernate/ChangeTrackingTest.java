@@ -0,0 +1,153 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.modules.orm.hibernate;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ortus.boxlang.runtime.context.RequestBoxContext;
+import ortus.boxlang.runtime.context.ScriptingRequestBoxContext;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.scopes.VariablesScope;
+import ortus.boxlang.runtime.types.Query;
+import tools.BaseORMTest;
+
+/**
+ * Runs against a second application, with `changeTracking` enabled, which shares the tables of the main test application.
+ */
+public class ChangeTrackingTest extends BaseORMTest {
+
+	private static final Key APP_NAME = Key.of( "BXORMChangeTrackingTest" );
+
+	@BeforeEach
+	@Override
+	public void setupEach() {
+		context = new ScriptingRequestBoxContext( instance.getRuntimeContext(), false );
+		RequestBoxContext.setCurrent( context );
+		context.loadApplicationDescriptor( Path.of( "src/test/resources/app/changetracking/index.bxs" ).toAbsolutePath().toUri() );
+		context.getApplicationListener().onRequestStart( context, null );
+		variables = context.getScopeNearby( VariablesScope.name );
+	}
+
+	@AfterAll
+	@Override
+	public void teardown() {
+		instance.getApplicationService().shutdownApplication( APP_NAME );
+		super.teardown();
+	}
+
+	@DisplayName( "It only updates entities with tracked changes on flush" )
+	@Test
+	public void testFlushUpdatesTrackedChanges() {
+		// @formatter:off
+		instance.executeSource(
+			"""
+			accord = entityLoadByPK( "Vehicle", "1HGCM82633A123456" );
+			civic = entityLoadByPK( "Vehicle", "2HGCM82633A654321" );
+			queryExecute( "UPDATE vehicles SET model = 'Changed elsewhere' WHERE vin IN ( '1HGCM82633A123456', '2HGCM82633A654321' )" );
+			accord.setMake( "Acura" );
+			""",
+			context
+		);
+		// @formatter:on
+
+		ChangeTracker	tracker	= ChangeTracker.forContext( context );
+		Object			accord	= variables.get( Key.of( "accord" ) );
+		Object			civic	= variables.get( Key.of( "civic" ) );
+		assertThat( tracker.isTracked( accord ) ).isTrue();
+		assertThat( tracker.getDirtyProperties( accord ) ).containsExactly( "make" );
+		assertThat( tracker.isTracked( civic ) ).isTrue();
+		assertThat( tracker.isDirty( civic ) ).isFalse();
+
+		// @formatter:off
+		instance.executeSource(
+			"""
+			ormFlush();
+			result = queryExecute( "SELECT vin, make, model FROM vehicles WHERE vin IN ( '1HGCM82633A123456', '2HGCM82633A654321' ) ORDER BY vin" );
+			""",
+			context
+		);
+		// @formatter:on
+
+		Query rows = variables.getAsQuery( result );
+		assertThat( rows.getRowAsStruct( 0 ).get( "make" ) ).isEqualTo( "Acura" );
+		// The civic was never changed, so the row written behind Hibernate's back is left alone
+		assertThat( rows.getRowAsStruct( 1 ).get( "make" ) ).isEqualTo( "Honda" );
+		assertThat( rows.getRowAsStruct( 1 ).get( "model" ) ).isEqualTo( "Changed elsewhere" );
+	}
+
+	@DisplayName( "It flushes changes assigned by entity methods without a setter" )
+	@Test
+	public void testFlushUpdatesDirectAssignments() {
+		// @formatter:off
+		instance.executeSource(
+			"""
+			ridgeline = entityLoadByPK( "Vehicle", "1HGCM82633A789012" );
+			ridgeline.renameModel( "Ridgeline Sport" );
+			""",
+			context
+		);
+		// @formatter:on
+
+		ChangeTracker	tracker		= ChangeTracker.forContext( context );
+		Object			ridgeline	= variables.get( Key.of( "ridgeline" ) );
+		assertThat( tracker.isDirty( ridgeline ) ).isTrue();
+		assertThat( tracker.getDirtyProperties( ridgeline ) ).containsExactly( "model" );
+
+		// @formatter:off
+		instance.executeSource(
+			"""
+			ormFlush();
+			result = queryExecute( "SELECT model FROM vehicles WHERE vin = '1HGCM82633A789012'" );
+			queryExecute( "UPDATE vehicles SET model = 'Ridgeline' WHERE vin = '1HGCM82633A789012'" );
+			""",
+			context
+		);
+		// @formatter:on
+
+		assertThat( variables.getAsQuery( result ).getRowAsStruct( 0 ).get( "model" ) ).isEqualTo( "Ridgeline Sport" );
+	}
+
+	@DisplayName( "It keeps the declared type validation of generated setters" )
+	@Test
+	public void testTrackingSetterValidatesType() {
+		// @formatter:off
+		instance.executeSource(
+			"""
+			ridgeline = entityLoadByPK( "Vehicle", "1HGCM82633A789012" );
+			try {
+				ridgeline.setMake( {} );
+				result = "accepted";
+			} catch ( any e ) {
+				result = "rejected";
+			}
+			""",
+			context
+		);
+		// @formatter:on
+
+		assertThat( variables.getAsString( result ) ).isEqualTo( "rejected" );
+		assertThat( ChangeTracker.forContext( context ).isDirty( variables.get( Key.of( "ridgeline" ) ) ) ).isFalse();
+	}
+}
@@ -0,0 +1,115 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.modules.orm.hibernate;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Date;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ortus.boxlang.modules.orm.hibernate.converters.BigDecimalConverter;
+import ortus.boxlang.modules.orm.hibernate.converters.BigIntegerConverter;
+import ortus.boxlang.modules.orm.hibernate.converters.BooleanConverter;
+import ortus.boxlang.modules.orm.hibernate.converters.DateTimeConverter;
+import ortus.boxlang.modules.orm.hibernate.converters.DoubleConverter;
+import ortus.boxlang.modules.orm.hibernate.converters.IntegerConverter;
+import ortus.boxlang.modules.orm.hibernate.converters.LongConverter;
+import ortus.boxlang.modules.orm.hibernate.converters.ShortConverter;
+import ortus.boxlang.modules.orm.hibernate.converters.StringConverter;
+import ortus.boxlang.modules.orm.hibernate.converters.TimeConverter;
+import ortus.boxlang.runtime.types.DateTime;
+import ortus.boxlang.runtime.util.LocalizationUtil;
+import tools.BaseORMTest;
+
+public class ConvertersTest extends BaseORMTest {
+
+	@DisplayName( "Values already of the column type are passed through as-is" )
+	@Test
+	public void testPassThrough() {
+		Integer		integer	= 42;
+		String		string	= "foo";
+		BigDecimal	decimal	= new BigDecimal( "12.50" );
+		LocalTime	time	= LocalTime.of( 13, 45 );
+
+		assertThat( new IntegerConverter().convertToDatabaseColumn( integer ) ).isSameInstanceAs( integer );
+		assertThat( new StringConverter().convertToDatabaseColumn( string ) ).isSameInstanceAs( string );
+		assertThat( new BigDecimalConverter().convertToDatabaseColumn( decimal ) ).isSameInstanceAs( decimal );
+		assertThat( new BooleanConverter().convertToDatabaseColumn( Boolean.TRUE ) ).isSameInstanceAs( Boolean.TRUE );
+		assertThat( new TimeConverter().convertToDatabaseColumn( time ) ).isSameInstanceAs( time );
+	}
+
+	@DisplayName( "Values of other types are still cast" )
+	@Test
+	public void testCasting() {
+		assertThat( new IntegerConverter().convertToDatabaseColumn( "42" ) ).isEqualTo( 42 );
+		assertThat( new StringConverter().convertToDatabaseColumn( 42 ) ).isEqualTo( "42" );
+		assertThat( new BigDecimalConverter().convertToDatabaseColumn( "12.50" ) ).isEqualTo( new BigDecimal( "12.50" ) );
+		assertThat( new BooleanConverter().convertToDatabaseColumn( "yes" ) ).isTrue();
+		assertThat( new IntegerConverter().convertToDatabaseColumn( null ) ).isNull();
+	}
+
+	@DisplayName( "Numeric values round-trip through their converters" )
+	@Test
+	public void testNumericRoundTrip() {
+		LongConverter		longConverter		= new LongConverter();
+		ShortConverter		shortConverter		= new ShortConverter();
+		DoubleConverter		doubleConverter		= new DoubleConverter();
+		BigIntegerConverter	bigIntegerConverter	= new BigIntegerConverter();
+		Long				longValue			= 9007199254740993L;
+		Short				shortValue			= ( short ) 42;
+		Double				doubleValue			= 12.5d;
+		BigInteger			bigInteger			= new BigInteger( "123456789012345678901234567890" );
+
+		assertThat( longConverter.convertToEntityAttribute( longConverter.convertToDatabaseColumn( longValue ) ) ).isEqualTo( longValue );
+		assertThat( longConverter.convertToEntityAttribute( longConverter.convertToDatabaseColumn( "9007199254740993" ) ) ).isEqualTo( longValue );
+		assertThat( shortConverter.convertToEntityAttribute( shortConverter.convertToDatabaseColumn( shortValue ) ) ).isEqualTo( shortValue );
+		assertThat( shortConverter.convertToEntityAttribute( shortConverter.convertToDatabaseColumn( "42" ) ) ).isEqualTo( shortValue );
+		assertThat( doubleConverter.convertToEntityAttribute( doubleConverter.convertToDatabaseColumn( doubleValue ) ) ).isEqualTo( doubleValue );
+		assertThat( doubleConverter.convertToEntityAttribute( doubleConverter.convertToDatabaseColumn( "12.5" ) ) ).isEqualTo( doubleValue );
+		assertThat( bigIntegerConverter.convertToEntityAttribute( bigIntegerConverter.convertToDatabaseColumn( bigInteger ) ) ).isEqualTo( bigInteger );
+		assertThat( bigIntegerConverter.convertToEntityAttribute( bigIntegerConverter.convertToDatabaseColumn( "123456789012345678901234567890" ) ) )
+		    .isEqualTo( bigInteger );
+		assertThat( longConverter.convertToDatabaseColumn( null ) ).isNull();
+	}
+
+	@DisplayName( "Date/time values are bound as instants" )
+	@Test
+	public void testDateTimeBinding() {
+		DateTimeConverter	converter	= new DateTimeConverter();
+		ZonedDateTime		zoned		= ZonedDateTime.of( 2024, 3, 1, 10, 30, 0, 0, ZoneId.of( "UTC" ) );
+		Instant				expected	= zoned.toInstant();
+
+		assertThat( converter.convertToDatabaseColumn( new DateTime( zoned ) ) ).isEqualTo( expected );
+		assertThat( converter.convertToDatabaseColumn( zoned ) ).isEqualTo( expected );
+		assertThat( converter.convertToDatabaseColumn( Date.from( expected ) ) ).isEqualTo( expected );
+		assertThat( converter.convertToDatabaseColumn( expected ) ).isEqualTo( expected );
+
+		Object entityValue = converter.convertToEntityAttribute( expected );
+		assertThat( entityValue ).isInstanceOf( DateTime.class );
+		assertThat( ( ( DateTime ) entityValue ).getWrapped().toInstant() ).isEqualTo( expected );
+		assertThat( ( ( DateTime ) entityValue ).getWrapped().getZone() ).isEqualTo( LocalizationUtil.parseZoneId( null, context ) );
+	}
+}
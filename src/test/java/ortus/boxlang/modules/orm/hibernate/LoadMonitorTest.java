@@ -0,0 +1,121 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.modules.orm.hibernate;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.nio.file.Path;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ortus.boxlang.modules.orm.ORMContext;
+import ortus.boxlang.modules.orm.config.ORMKeys;
+import ortus.boxlang.runtime.context.RequestBoxContext;
+import ortus.boxlang.runtime.context.ScriptingRequestBoxContext;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.scopes.VariablesScope;
+import ortus.boxlang.runtime.types.Array;
+import ortus.boxlang.runtime.types.IStruct;
+import tools.BaseORMTest;
+
+/**
+ * Runs against a second application, with `loadMonitor` enabled and low thresholds, which shares the tables of the main test application.
+ */
+public class LoadMonitorTest extends BaseORMTest {
+
+	private static final Key APP_NAME = Key.of( "BXORMLoadMonitorTest" );
+
+	@BeforeEach
+	@Override
+	public void setupEach() {
+		context = new ScriptingRequestBoxContext( instance.getRuntimeContext(), false );
+		RequestBoxContext.setCurrent( context );
+		context.loadApplicationDescriptor( Path.of( "src/test/resources/app/loadmonitor/index.bxs" ).toAbsolutePath().toUri() );
+		context.getApplicationListener().onRequestStart( context, null );
+		variables = context.getScopeNearby( VariablesScope.name );
+	}
+
+	@AfterAll
+	@Override
+	public void teardown() {
+		instance.getApplicationService().shutdownApplication( APP_NAME );
+		super.teardown();
+	}
+
+	@DisplayName( "It counts lazy loads by association and announces them over the threshold" )
+	@Test
+	public void testThresholdExceeded() {
+		// @formatter:off
+		instance.executeSource(
+			"""
+			announced = [];
+			listener = ( data ) => announced.append( data );
+			boxRegisterInterceptor( listener, "ORMLoadThresholdExceeded" );
+
+			// Vehicles of two manufacturers, so two manufacturer proxies are initialized
+			entityLoad( "Vehicle" ).each( ( vehicle ) => {
+				if ( !isNull( vehicle.getManufacturer() ) ) {
+					vehicle.getManufacturer().getName();
+				}
+			} );
+			// One vehicles collection per manufacturer
+			entityLoad( "Manufacturer" ).each( ( manufacturer ) => manufacturer.getVehicles().len() );
+			""",
+			context
+		);
+		// @formatter:on
+
+		ORMContext	ormContext	= ORMContext.getForContext( context );
+		IStruct		stats		= ormContext.getLoadMonitor().getStats();
+		assertThat( stats.getAsStruct( ORMKeys.proxyInitializations ).get( Key.of( "Vehicle.manufacturer" ) ) ).isEqualTo( 2L );
+		assertThat( stats.getAsStruct( ORMKeys.collectionInitializations ).get( Key.of( "Manufacturer.vehicles" ) ) ).isEqualTo( 3L );
+		// Vehicle.features is not lazy, so it is initialized as each vehicle loads rather than lazily
+		assertThat( stats.getAsStruct( ORMKeys.collectionInitializations ).containsKey( Key.of( "Vehicle.features" ) ) ).isFalse();
+		assertThat( ( Long ) stats.get( ORMKeys.statements ) ).isAtLeast( 7L );
+
+		try {
+			ormContext.shutdown();
+		} finally {
+			instance.executeSource( "boxUnregisterInterceptor( listener, \"ORMLoadThresholdExceeded\" );", context );
+		}
+
+		Array announced = variables.getAsArray( Key.of( "announced" ) );
+		assertThat( announced.size() ).isEqualTo( 1 );
+		IStruct paths = ( ( IStruct ) announced.get( 0 ) ).getAsStruct( ORMKeys.paths );
+		assertThat( paths.get( Key.of( "Vehicle.manufacturer" ) ) ).isEqualTo( 2L );
+		assertThat( paths.get( Key.of( "Manufacturer.vehicles" ) ) ).isEqualTo( 3L );
+		// The counts are reset once reported
+		assertThat( ( Long ) ormContext.getLoadMonitor().getStats().get( ORMKeys.statements ) ).isEqualTo( 0L );
+	}
+
+	@DisplayName( "It chains to the statement inspector configured on the session factory" )
+	@Test
+	public void testChainedStatementInspector() {
+		LoadMonitor			monitor		= new LoadMonitor( 2, 3 );
+		StatementInspector	inspector	= monitor.chain( sql -> sql + " /* inspected */" );
+
+		assertThat( inspector.inspect( "select 1" ) ).isEqualTo( "select 1 /* inspected */" );
+		assertThat( monitor.chain( sql -> null ).inspect( "select 2" ) ).isEqualTo( "select 2" );
+		assertThat( monitor.chain( null ) ).isSameInstanceAs( monitor );
+		assertThat( monitor.getStats().get( ORMKeys.statements ) ).isEqualTo( 2L );
+	}
+}
@@ -0,0 +1,329 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.modules.orm.hibernate.cache;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.configuration.CacheEntryListenerConfiguration;
+import javax.cache.configuration.MutableCacheEntryListenerConfiguration;
+import javax.cache.configuration.MutableConfiguration;
+import javax.cache.event.CacheEntryCreatedListener;
+import javax.cache.event.CacheEntryEvent;
+import javax.cache.event.CacheEntryEventFilter;
+import javax.cache.event.CacheEntryExpiredListener;
+import javax.cache.event.CacheEntryRemovedListener;
+import javax.cache.event.CacheEntryUpdatedListener;
+import javax.cache.processor.EntryProcessorException;
+import javax.cache.processor.EntryProcessorResult;
+import javax.management.ObjectName;
+
+import org.hibernate.type.IntegerType;
+import org.hibernate.type.StringType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ortus.boxlang.modules.orm.config.ORMConfig;
+import ortus.boxlang.modules.orm.config.ORMKeys;
+import ortus.boxlang.runtime.context.RequestBoxContext;
+import ortus.boxlang.runtime.scopes.Key;
+import ortus.boxlang.runtime.types.Struct;
+import tools.BaseORMTest;
+
+public class BoxHibernateCacheTest extends BaseORMTest {
+
+	@DisplayName( "It can use a cache region from a thread without a request context" )
+	@Test
+	public void testCacheWithoutRequestContext() throws Exception {
+		ORMConfig				config	= new ORMConfig( Struct.of(
+		    ORMKeys.datasource, "TestDB"
+		), context );
+		CacheManager			manager	= new BoxHibernateCachingProvider().createCacheManager( config );
+		Cache<Object, Object>	cache	= manager.createCache( "BoxHibernateCacheTest", new MutableConfiguration<>() );
+		AtomicReference<Object>	value	= new AtomicReference<>();
+
+		Thread					worker	= new Thread( () -> {
+											RequestBoxContext.removeCurrent();
+											cache.put( "key", "value" );
+											value.set( cache.get( "key" ) );
+										} );
+		worker.start();
+		worker.join();
+
+		assertThat( value.get() ).isEqualTo( "value" );
+		assertThat( cache.getName() ).isEqualTo( "BoxHibernateCacheTest" );
+		assertThat( manager.getCache( "BoxHibernateCacheTest" ) ).isSameInstanceAs( cache );
+		manager.close();
+	}
+
+	@DisplayName( "It can get, put and remove several keys at once" )
+	@Test
+	public void testBulkOperations() {
+		ORMConfig				config	= new ORMConfig( Struct.of(
+		    ORMKeys.datasource, "TestDB"
+		), context );
+		CacheManager			manager	= new BoxHibernateCachingProvider().createCacheManager( config );
+		Cache<Object, Object>	cache	= manager.createCache( "BoxHibernateCacheBulkTest", new MutableConfiguration<>() );
+
+		// BoxLang cache keys are case-insensitive, so the keys are encoded case-safely to keep these apart
+		cache.putAll( Map.of( "Vehicle#abc", 1, "Vehicle#ABC", 2, "Vehicle#def", 3 ) );
+		Map<Object, Object> results = cache.getAll( Set.of( "Vehicle#abc", "Vehicle#ABC", "Vehicle#missing" ) );
+		assertThat( results ).containsExactly( "Vehicle#abc", 1, "Vehicle#ABC", 2 );
+
+		cache.removeAll( Set.of( "Vehicle#abc", "Vehicle#def" ) );
+		assertThat( cache.containsKey( "Vehicle#abc" ) ).isFalse();
+		assertThat( cache.containsKey( "Vehicle#def" ) ).isFalse();
+		assertThat( cache.get( "Vehicle#ABC" ) ).isEqualTo( 2 );
+		manager.close();
+	}
+
+	@DisplayName( "It keeps the entries of different session factories apart in a shared region" )
+	@Test
+	public void testNamespacedKeys() {
+		ORMConfig				config		= new ORMConfig( Struct.of(
+		    ORMKeys.datasource, "TestDB"
+		), context );
+		CacheManager			managerA	= new BoxHibernateCachingProvider().createCacheManager( config, Key.of( "appA_TestDB" ) );
+		CacheManager			managerB	= new BoxHibernateCachingProvider().createCacheManager( config, Key.of( "appB_TestDB" ) );
+		Cache<Object, Object>	cacheA		= managerA.createCache( "BoxHibernateCacheNamespaceTest", new MutableConfiguration<>() );
+		Cache<Object, Object>	cacheB		= managerB.createCache( "BoxHibernateCacheNamespaceTest", new MutableConfiguration<>() );
+
+		cacheA.put( "Vehicle#1", "fromA" );
+		cacheB.put( "Vehicle#1", "fromB" );
+		assertThat( cacheA.get( "Vehicle#1" ) ).isEqualTo( "fromA" );
+		assertThat( cacheB.get( "Vehicle#1" ) ).isEqualTo( "fromB" );
+
+		cacheA.clear();
+		assertThat( cacheA.containsKey( "Vehicle#1" ) ).isFalse();
+		assertThat( cacheB.get( "Vehicle#1" ) ).isEqualTo( "fromB" );
+		managerA.close();
+		managerB.close();
+	}
+
+	@DisplayName( "It encodes entity keys compactly with a typed id" )
+	@Test
+	public void testCacheKeyEncoding() {
+		BoxCacheKey	intKey		= new BoxCacheKey( "Manufacturer", 42, IntegerType.INSTANCE, null, null );
+		BoxCacheKey	sameKey		= new BoxCacheKey( "Manufacturer", 42, IntegerType.INSTANCE, null, null );
+		BoxCacheKey	stringKey	= new BoxCacheKey( "Manufacturer", "42", StringType.INSTANCE, null, null );
+
+		assertThat( intKey ).isEqualTo( sameKey );
+		assertThat( intKey.hashCode() ).isEqualTo( sameKey.hashCode() );
+		assertThat( intKey.encode( "ns:" ) ).isEqualTo( "ns:Manufacturer#i:42" );
+		assertThat( intKey.encode( "ns:" ) ).isSameInstanceAs( intKey.encode( "ns:" ) );
+		assertThat( stringKey.encode( "ns:" ) ).isEqualTo( "ns:Manufacturer#s:42" );
+
+		// String ids which differ only in case must not share a case-insensitive BoxLang key
+		BoxCacheKey	lowerKey	= new BoxCacheKey( "Vehicle", "abc", StringType.INSTANCE, null, null );
+		BoxCacheKey	upperKey	= new BoxCacheKey( "Vehicle", "ABC", StringType.INSTANCE, null, null );
+		assertThat( lowerKey.encode( "ns:" ) ).isEqualTo( "ns:Vehicle#s:abc" );
+		assertThat( upperKey.encode( "ns:" ) ).isEqualTo( "ns:Vehicle#s:%414243" );
+		assertThat( Key.of( upperKey.encode( "ns:" ) ) ).isNotEqualTo( Key.of( lowerKey.encode( "ns:" ) ) );
+
+		// The memoized encoding is only reused under the same namespace
+		assertThat( intKey.encode( "other:" ) ).isEqualTo( "other:Manufacturer#i:42" );
+		assertThat( intKey.encode( "ns:" ) ).isEqualTo( "ns:Manufacturer#i:42" );
+
+		StringBuilder composite = new StringBuilder();
+		BoxCacheKey.appendTypedId( composite, Map.of( "vin", "abc", "make", 7 ) );
+		assertThat( composite.toString() ).isEqualTo( "c:{make=i:7;vin=s:abc;}" );
+	}
+
+	@DisplayName( "It counts hits, misses, puts and removals once statistics are enabled" )
+	@Test
+	public void testStatistics() throws Exception {
+		ORMConfig				config	= new ORMConfig( Struct.of(
+		    ORMKeys.datasource, "TestDB"
+		), context );
+		CacheManager			manager	= new BoxHibernateCachingProvider().createCacheManager( config, Key.of( "statsApp_TestDB" ) );
+		Cache<Object, Object>	cache	= manager.createCache( "BoxHibernateCacheStatsTest", new MutableConfiguration<>() );
+		RegionStatistics		stats	= ( ( BoxHibernateCache<?, ?> ) cache ).getStatistics();
+
+		cache.put( "Vehicle#1", "ignored" );
+		assertThat( stats.getCachePuts() ).isEqualTo( 0 );
+
+		manager.enableStatistics( "BoxHibernateCacheStatsTest", true );
+		cache.put( "Vehicle#1", "accord" );
+		cache.get( "Vehicle#1" );
+		cache.get( "Vehicle#2" );
+		cache.remove( "Vehicle#1" );
+
+		assertThat( stats.getCachePuts() ).isEqualTo( 1 );
+		assertThat( stats.getCacheHits() ).isEqualTo( 1 );
+		assertThat( stats.getCacheMisses() ).isEqualTo( 1 );
+		assertThat( stats.getCacheRemovals() ).isEqualTo( 1 );
+		assertThat( stats.getStats().get( ORMKeys.size ) ).isEqualTo( 0L );
+		assertThat( ManagementFactory.getPlatformMBeanServer().queryNames(
+		    new ObjectName( "javax.cache:type=CacheStatistics,Cache=\"BoxHibernateCacheStatsTest\",*" ), null ) ).hasSize( 1 );
+
+		manager.close();
+		assertThat( ManagementFactory.getPlatformMBeanServer().queryNames(
+		    new ObjectName( "javax.cache:type=CacheStatistics,Cache=\"BoxHibernateCacheStatsTest\",*" ), null ) ).isEmpty();
+	}
+
+	@DisplayName( "It publishes entry events to synchronous and asynchronous listeners" )
+	@Test
+	public void testEntryListeners() throws Exception {
+		ORMConfig										config			= new ORMConfig( Struct.of(
+		    ORMKeys.datasource, "TestDB"
+		), context );
+		CacheManager									manager			= new BoxHibernateCachingProvider().createCacheManager( config );
+		Cache<Object, Object>							cache			= manager.createCache( "BoxHibernateCacheListenerTest", new MutableConfiguration<>() );
+		RecordingListener								syncListener	= new RecordingListener();
+		RecordingListener								asyncListener	= new RecordingListener();
+		CacheEntryEventFilter<Object, Object>			filter			= event -> !"ignored".equals( event.getKey() );
+		CacheEntryListenerConfiguration<Object, Object>	syncConfig		= new MutableCacheEntryListenerConfiguration<Object, Object>(
+		    () -> syncListener, null, true, true );
+
+		cache.registerCacheEntryListener( syncConfig );
+		cache.registerCacheEntryListener( new MutableCacheEntryListenerConfiguration<Object, Object>(
+		    () -> asyncListener, () -> filter, false, false ) );
+
+		cache.put( "a", 1 );
+		cache.put( "a", 2 );
+		cache.put( "ignored", 3 );
+		cache.remove( "a" );
+
+		assertThat( syncListener.events ).containsExactly( "CREATED:a=1", "UPDATED:a=2(1)", "CREATED:ignored=3", "REMOVED:a=2(2)" ).inOrder();
+
+		long deadline = System.currentTimeMillis() + 5000;
+		while ( asyncListener.events.size() < 3 && System.currentTimeMillis() < deadline ) {
+			Thread.sleep( 10 );
+		}
+		assertThat( asyncListener.events ).containsExactly( "CREATED:a=1", "UPDATED:a=2(1)", "REMOVED:a=2(2)" ).inOrder();
+
+		cache.deregisterCacheEntryListener( syncConfig );
+		cache.put( "b", 1 );
+		assertThat( syncListener.events ).hasSize( 4 );
+		manager.close();
+	}
+
+	@DisplayName( "It rejects expiry listeners, since expiry events are never published" )
+	@Test
+	public void testRejectsExpiryListeners() {
+		ORMConfig				config		= new ORMConfig( Struct.of(
+		    ORMKeys.datasource, "TestDB"
+		), context );
+		CacheManager			manager		= new BoxHibernateCachingProvider().createCacheManager( config );
+		Cache<Object, Object>	cache		= manager.createCache( "BoxHibernateCacheExpiryTest", new MutableConfiguration<>() );
+		ExpiryListener			listener	= new ExpiryListener();
+
+		assertThrows( IllegalArgumentException.class, () -> cache.registerCacheEntryListener(
+		    new MutableCacheEntryListenerConfiguration<Object, Object>( () -> listener, null, false, true ) ) );
+		assertThat( cache.getConfiguration( MutableConfiguration.class ).getCacheEntryListenerConfigurations() ).isEmpty();
+
+		// Other listeners still register and receive events
+		RecordingListener recording = new RecordingListener();
+		cache.registerCacheEntryListener( new MutableCacheEntryListenerConfiguration<Object, Object>( () -> recording, null, false, true ) );
+		cache.put( "a", 1 );
+		assertThat( recording.events ).containsExactly( "CREATED:a=1" );
+		manager.close();
+	}
+
+	@DisplayName( "It can run entry processors and iterate its entries" )
+	@Test
+	public void testEntryProcessorsAndIterator() {
+		ORMConfig				config	= new ORMConfig( Struct.of(
+		    ORMKeys.datasource, "TestDB"
+		), context );
+		CacheManager			manager	= new BoxHibernateCachingProvider().createCacheManager( config );
+		Cache<Object, Object>	cache	= manager.createCache( "BoxHibernateCacheProcessorTest", new MutableConfiguration<>() );
+
+		cache.put( "a", 1 );
+		cache.put( "b", 2 );
+
+		Object result = cache.invoke( "a", ( entry, args ) -> {
+			entry.setValue( ( Integer ) entry.getValue() + ( Integer ) args[ 0 ] );
+			return entry.getValue();
+		}, 10 );
+		assertThat( result ).isEqualTo( 11 );
+		assertThat( cache.get( "a" ) ).isEqualTo( 11 );
+
+		cache.invoke( "b", ( entry, args ) -> {
+			entry.remove();
+			return null;
+		} );
+		assertThat( cache.containsKey( "b" ) ).isFalse();
+
+		assertThrows( EntryProcessorException.class, () -> cache.invoke( "a", ( entry, args ) -> {
+			throw new IllegalStateException( "boom" );
+		} ) );
+
+		Map<Object, EntryProcessorResult<Boolean>> exists = cache.invokeAll( Set.of( "a", "missing" ), ( entry, args ) -> entry.exists() );
+		assertThat( exists.get( "a" ).get() ).isTrue();
+		assertThat( exists.get( "missing" ).get() ).isFalse();
+		assertThat( cache.containsKey( "missing" ) ).isFalse();
+
+		cache.put( "c", 3 );
+		Set<Object> keys = new HashSet<>();
+		cache.iterator().forEachRemaining( entry -> keys.add( entry.getKey() ) );
+		assertThat( keys ).containsExactly( "a", "c" );
+		manager.close();
+	}
+
+	/**
+	 * Listens for expiry events only.
+	 */
+	private static class ExpiryListener implements CacheEntryExpiredListener<Object, Object> {
+
+		@Override
+		public void onExpired( Iterable<CacheEntryEvent<? extends Object, ? extends Object>> cacheEntryEvents ) {
+		}
+	}
+
+	/**
+	 * Records every event it receives as <code>TYPE:key=value(oldValue)</code>.
+	 */
+	private static class RecordingListener implements CacheEntryCreatedListener<Object, Object>, CacheEntryUpdatedListener<Object, Object>,
+	    CacheEntryRemovedListener<Object, Object> {
+
+		private final List<String> events = new CopyOnWriteArrayList<>();
+
+		@Override
+		public void onCreated( Iterable<CacheEntryEvent<? extends Object, ? extends Object>> cacheEntryEvents ) {
+			record( cacheEntryEvents );
+		}
+
+		@Override
+		public void onUpdated( Iterable<CacheEntryEvent<? extends Object, ? extends Object>> cacheEntryEvents ) {
+			record( cacheEntryEvents );
+		}
+
+		@Override
+		public void onRemoved( Iterable<CacheEntryEvent<? extends Object, ? extends Object>> cacheEntryEvents ) {
+			record( cacheEntryEvents );
+		}
+
+		private void record( Iterable<CacheEntryEvent<? extends Object, ? extends Object>> cacheEntryEvents ) {
+			for ( CacheEntryEvent<?, ?> event : cacheEntryEvents ) {
+				events.add( event.getEventType() + ":" + event.getKey() + "=" + event.getValue()
+				    + ( event.isOldValueAvailable() ? "(" + event.getOldValue() + ")" : "" ) );
+			}
+		}
+	}
+}
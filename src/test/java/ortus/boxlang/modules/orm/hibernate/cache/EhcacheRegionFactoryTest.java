@@ -0,0 +1,132 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.modules.orm.hibernate.cache;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import ortus.boxlang.modules.orm.config.ORMKeys;
+import ortus.boxlang.runtime.types.IStruct;
+import ortus.boxlang.runtime.types.Struct;
+import ortus.boxlang.runtime.types.exceptions.BoxRuntimeException;
+
+public class EhcacheRegionFactoryTest {
+
+	@TempDir
+	Path diskPath;
+
+	@DisplayName( "It overflows entries beyond the heap tier into the off-heap and disk tiers" )
+	@Test
+	public void testTieredStorage() {
+		EhcacheRegionFactory factory = new EhcacheRegionFactory( Struct.of(
+		    ORMKeys.maxObjects, 10,
+		    ORMKeys.offHeapSize, 2,
+		    ORMKeys.diskSize, 4,
+		    ORMKeys.diskPath, diskPath.toString(),
+		    ORMKeys.defaultTimeout, 0
+		), true );
+		factory.start( null, Map.of( EhcacheRegionFactory.STORAGE_NAME, "tiered_TestDB" ) );
+		try {
+			EhcacheStorageAccess region = ( EhcacheStorageAccess ) factory.createQueryResultsRegionStorageAccess( "Vehicle", null );
+			for ( int i = 0; i < 100; i++ ) {
+				region.putIntoCache( "key" + i, "value" + i, null );
+			}
+			for ( int i = 0; i < 100; i++ ) {
+				assertThat( region.getFromCache( "key" + i, null ) ).isEqualTo( "value" + i );
+			}
+			assertThat( region.getStatistics().getStats().get( ORMKeys.size ) ).isEqualTo( 100L );
+			assertThat( region.getStatistics().getCacheHits() ).isEqualTo( 100L );
+
+			region.evictData( "key0" );
+			assertThat( region.contains( "key0" ) ).isFalse();
+			assertThat( factory.getRegionStatistics() ).containsKey( "Vehicle" );
+		} finally {
+			factory.stop();
+		}
+	}
+
+	@DisplayName( "It reloads a persistent disk tier after a clean shutdown" )
+	@Test
+	public void testPersistentDiskTier() {
+		IStruct				config		= Struct.of(
+		    ORMKeys.maxObjects, 10,
+		    ORMKeys.diskSize, 2,
+		    ORMKeys.diskPath, diskPath.toString(),
+		    ORMKeys.diskPersistent, true
+		);
+		Map<String, Object>	settings	= Map.of( EhcacheRegionFactory.STORAGE_NAME, "persistent_TestDB" );
+
+		EhcacheRegionFactory factory = new EhcacheRegionFactory( config );
+		factory.start( null, settings );
+		( ( EhcacheStorageAccess ) factory.createQueryResultsRegionStorageAccess( "Vehicle", null ) ).putIntoCache( "key", "value", null );
+		factory.stop();
+
+		EhcacheRegionFactory restarted = new EhcacheRegionFactory( config );
+		restarted.start( null, settings );
+		try {
+			EhcacheStorageAccess region = ( EhcacheStorageAccess ) restarted.createQueryResultsRegionStorageAccess( "Vehicle", null );
+			assertThat( region.getFromCache( "key", null ) ).isEqualTo( "value" );
+		} finally {
+			restarted.stop();
+		}
+	}
+
+	@DisplayName( "It shares regions with the factory it replaces during a reload" )
+	@Test
+	public void testSharedDuringReload() {
+		IStruct				config		= Struct.of( ORMKeys.maxObjects, 10 );
+		Map<String, Object>	settings	= Map.of( EhcacheRegionFactory.STORAGE_NAME, "reload_TestDB" );
+
+		EhcacheRegionFactory current = new EhcacheRegionFactory( config );
+		current.start( null, settings );
+		( ( EhcacheStorageAccess ) current.createQueryResultsRegionStorageAccess( "Vehicle", null ) ).putIntoCache( "key", "value", null );
+
+		EhcacheRegionFactory replacement = new EhcacheRegionFactory( config );
+		replacement.start( null, settings );
+		current.stop();
+		try {
+			EhcacheStorageAccess region = ( EhcacheStorageAccess ) replacement.createQueryResultsRegionStorageAccess( "Vehicle", null );
+			assertThat( region.getFromCache( "key", null ) ).isEqualTo( "value" );
+		} finally {
+			replacement.stop();
+		}
+	}
+
+	@DisplayName( "It rejects a disk tier no larger than the off-heap tier" )
+	@Test
+	public void testTieringInversion() {
+		EhcacheRegionFactory factory = new EhcacheRegionFactory( Struct.of(
+		    ORMKeys.offHeapSize, 4,
+		    ORMKeys.diskSize, 2,
+		    ORMKeys.diskPath, diskPath.toString()
+		) );
+		factory.start( null, Map.of( EhcacheRegionFactory.STORAGE_NAME, "inverted_TestDB" ) );
+		try {
+			assertThrows( BoxRuntimeException.class, () -> factory.createQueryResultsRegionStorageAccess( "Vehicle", null ) );
+		} finally {
+			factory.stop();
+		}
+	}
+}
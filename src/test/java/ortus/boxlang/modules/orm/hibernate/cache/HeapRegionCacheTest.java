@@ -0,0 +1,130 @@
+/**
+ * [BoxLang]
+ *
+ * Copyright [2023] [Ortus Solutions, Corp]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ortus.boxlang.modules.orm.hibernate.cache;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ortus.boxlang.modules.orm.config.ORMKeys;
+import ortus.boxlang.runtime.types.Struct;
+
+public class HeapRegionCacheTest {
+
+	@DisplayName( "It can get, put and remove entries" )
+	@Test
+	public void testBasicOperations() {
+		HeapRegionCache cache = new HeapRegionCache( "Vehicle", 100, 0 );
+		cache.put( "a", 1 );
+		cache.put( "b", 2 );
+		cache.put( "a", 3 );
+
+		assertThat( cache.get( "a" ) ).isEqualTo( 3 );
+		assertThat( cache.containsKey( "b" ) ).isTrue();
+		assertThat( cache.size() ).isEqualTo( 2 );
+
+		cache.remove( "b" );
+		assertThat( cache.get( "b" ) ).isNull();
+
+		cache.clear();
+		assertThat( cache.size() ).isEqualTo( 0 );
+		assertThat( cache.get( "a" ) ).isNull();
+	}
+
+	@DisplayName( "It keeps frequently read entries when one-off entries overflow the region" )
+	@Test
+	public void testFrequencyAwareEviction() {
+		HeapRegionCache cache = new HeapRegionCache( "Vehicle", 100, 0 );
+		for ( int i = 0; i < 10; i++ ) {
+			cache.put( "hot" + i, i );
+		}
+		for ( int read = 0; read < 5; read++ ) {
+			for ( int i = 0; i < 10; i++ ) {
+				cache.get( "hot" + i );
+			}
+		}
+		for ( int i = 0; i < 1000; i++ ) {
+			cache.put( "scan" + i, i );
+		}
+
+		assertThat( cache.size() ).isAtMost( 100 );
+		for ( int i = 0; i < 10; i++ ) {
+			assertThat( cache.get( "hot" + i ) ).isEqualTo( i );
+		}
+	}
+
+	@DisplayName( "It counts evictions when statistics are enabled" )
+	@Test
+	public void testEvictionStatistics() {
+		HeapRegionCache cache = new HeapRegionCache( "Vehicle", 10, 0, "heap@test", true );
+		for ( int i = 0; i < 50; i++ ) {
+			cache.put( i, i );
+		}
+		cache.get( 49 );
+		cache.get( "missing" );
+
+		RegionStatistics stats = cache.getStatistics();
+		assertThat( stats.getCachePuts() ).isEqualTo( 50 );
+		assertThat( stats.getCacheEvictions() ).isEqualTo( 50 - cache.size() );
+		assertThat( stats.getCacheMisses() ).isEqualTo( 1 );
+		stats.close();
+	}
+
+	@DisplayName( "It does not bound a region with a maximum size of 0" )
+	@Test
+	public void testUnbounded() {
+		HeapRegionCache cache = new HeapRegionCache( "timestamps", 0, 0 );
+		for ( int i = 0; i < 5000; i++ ) {
+			cache.put( i, i );
+		}
+		assertThat( cache.size() ).isEqualTo( 5000 );
+	}
+
+	@DisplayName( "It expires entries after their time to live" )
+	@Test
+	public void testTimeToLive() throws InterruptedException {
+		HeapRegionCache cache = new HeapRegionCache( "Vehicle", 100, 1 );
+		cache.put( "a", 1 );
+		assertThat( cache.get( "a" ) ).isEqualTo( 1 );
+
+		Thread.sleep( 1100 );
+		assertThat( cache.containsKey( "a" ) ).isFalse();
+		assertThat( cache.get( "a" ) ).isNull();
+		assertThat( cache.size() ).isEqualTo( 0 );
+	}
+
+	@DisplayName( "It sizes regions from the cacheConfig struct" )
+	@Test
+	public void testRegionConfig() {
+		HeapRegionFactory factory = new HeapRegionFactory( Struct.of(
+		    ORMKeys.maxObjects, 500,
+		    ORMKeys.regions, Struct.of(
+		        "Vehicle", Struct.of( ORMKeys.maxObjects, 5000 )
+		    )
+		) );
+
+		factory.createQueryResultsRegionStorageAccess( "Vehicle", null );
+		factory.createQueryResultsRegionStorageAccess( "Manufacturer", null );
+		factory.createTimestampsRegionStorageAccess( "default-update-timestamps-region", null );
+
+		assertThat( factory.getRegion( "Vehicle" ).getMaximumSize() ).isEqualTo( 5000 );
+		assertThat( factory.getRegion( "Manufacturer" ).getMaximumSize() ).isEqualTo( 500 );
+		assertThat( factory.getRegion( "default-update-timestamps-region" ).getMaximumSize() ).isEqualTo( 0 );
+	}
+}
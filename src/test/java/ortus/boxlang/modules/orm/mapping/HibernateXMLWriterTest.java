@@ -20,6 +20,7 @@ package ortus.boxlang.modules.orm.mapping;
 import static com.google.common.truth.Truth.assertThat;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 
 import java.io.IOException;
 import java.io.StringWriter;
@@ -1044,6 +1045,63 @@ public class HibernateXMLWriterTest {
 		// assertThat( manyToOneAttrs.getNamedItem( "column" ).getTextContent() ).isEqualTo( "FK_manufacturer" );
 	}
 
+	// @formatter:off
+	@DisplayName( "It maps natural id properties" )
+	@ParameterizedTest
+	@ValueSource( strings = {
+	    """
+	    class persistent cacheuse="read-write" {
+	        property name="id" fieldtype="id";
+	        property name="slug" naturalid;
+	        property name="name";
+	    }
+	    """
+	} )
+	// @formatter:on
+	public void testNaturalId( String sourceCode ) {
+		IStruct		meta		= getClassMetaFromCode( sourceCode );
+
+		IEntityMeta	entityMeta	= AbstractEntityMeta.autoDiscoverMetaType( meta );
+		Document	doc			= new HibernateXMLWriter( entityMeta, null, ormConfig ).generateXML();
+
+		Node		classEL		= doc.getDocumentElement().getFirstChild();
+		assertEquals( "natural-id-cache", classEL.getChildNodes().item( 1 ).getNodeName() );
+
+		Node naturalIdNode = classEL.getChildNodes().item( 3 );
+		assertEquals( "natural-id", naturalIdNode.getNodeName() );
+		assertNull( naturalIdNode.getAttributes().getNamedItem( "mutable" ) );
+		assertEquals( 1, naturalIdNode.getChildNodes().getLength() );
+		assertEquals( "slug", naturalIdNode.getFirstChild().getAttributes().getNamedItem( "name" ).getTextContent() );
+
+		// the natural id property is not mapped a second time
+		Node propertyNode = classEL.getChildNodes().item( 4 );
+		assertEquals( "name", propertyNode.getAttributes().getNamedItem( "name" ).getTextContent() );
+	}
+
+	// @formatter:off
+	@DisplayName( "It maps mutable natural ids" )
+	@ParameterizedTest
+	@ValueSource( strings = {
+	    """
+	    class persistent {
+	        property name="id" fieldtype="id";
+	        property name="email" naturalid="mutable";
+	    }
+	    """
+	} )
+	// @formatter:on
+	public void testMutableNaturalId( String sourceCode ) {
+		IStruct		meta			= getClassMetaFromCode( sourceCode );
+
+		IEntityMeta	entityMeta		= AbstractEntityMeta.autoDiscoverMetaType( meta );
+		Document	doc				= new HibernateXMLWriter( entityMeta, null, ormConfig ).generateXML();
+
+		Node		classEL			= doc.getDocumentElement().getFirstChild();
+		Node		naturalIdNode	= classEL.getChildNodes().item( 1 );
+		assertEquals( "natural-id", naturalIdNode.getNodeName() );
+		assertEquals( "true", naturalIdNode.getAttributes().getNamedItem( "mutable" ).getTextContent() );
+	}
+
 	// @formatter:off
 	@DisplayName( "It maps cache meta at the entity level" )
 	@ParameterizedTest